@@ -0,0 +1,252 @@
+package pl.czyzlowie.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.czyzlowie.modules.fish.entity.ActivityCalendar;
+import pl.czyzlowie.modules.fish.entity.FishAlgorithmParams;
+import pl.czyzlowie.modules.fish.entity.enums.ActivityLevel;
+import pl.czyzlowie.modules.fish.entity.enums.FishCategory;
+import pl.czyzlowie.modules.fish.entity.enums.PressureTrend;
+import pl.czyzlowie.modules.fish.entity.enums.TimeOfDay;
+import pl.czyzlowie.modules.fish.entity.enums.WaterLevelTrend;
+import pl.czyzlowie.modules.fish_forecast.domain.analyzer.AnalyzerResult;
+import pl.czyzlowie.modules.fish_forecast.domain.analyzer.PressureAnalyzer;
+import pl.czyzlowie.modules.fish_forecast.domain.analyzer.SolunarAnalyzer;
+import pl.czyzlowie.modules.fish_forecast.domain.analyzer.WaterThermalAnalyzer;
+import pl.czyzlowie.modules.fish_forecast.domain.analyzer.WeatherAnalyzer;
+import pl.czyzlowie.modules.fish_forecast.domain.analyzer.WindStealthAnalyzer;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.BiteCurve;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.ForecastEngine;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.GlobalForecastResult;
+import pl.czyzlowie.modules.fish_forecast.domain.model.FishProfile;
+import pl.czyzlowie.modules.fish_forecast.domain.model.HydroSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.MoonSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.SynopSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.WeatherContext;
+import pl.czyzlowie.modules.moon.entity.Enums.MoonPhaseType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fish forecast engine before and after batch scoring, and measures the hourly bite curve.
+ *
+ * The {@code legacyFanOut} benchmark is the replaced scoring: four futures per profile, one per analyzer,
+ * each scoring a single profile on the compute executor. It stops once the analyzer results are joined, so
+ * it leaves out the tactical reports and the global result which {@code batch} includes. The
+ * {@code batch} benchmark runs {@link ForecastEngine#calculate} to the finished result. {@code biteCurve}
+ * runs {@link ForecastEngine#calculateBiteCurve} over the whole loaded span, and {@code perHourCurve} scores
+ * the same hours one at a time with {@link WeatherAnalyzer#analyzeAll}, as a caller without the series
+ * methods would.
+ *
+ * The weather context holds hourly synoptic and hydrological readings over {@code hours} hours around the
+ * target time and a daily moon timeline; the profiles cover every species category with varied parameters.
+ * The compute executor has one thread per processor, as {@code forecastComputeExecutor} does by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForecastEngineBenchmark {
+
+    private static final LocalDateTime TARGET = LocalDateTime.of(2026, 6, 12, 12, 0);
+
+    @Param({"72", "144"})
+    public int hours;
+
+    @Param({"10", "40"})
+    public int species;
+
+    private ExecutorService executor;
+    private List<WeatherAnalyzer> analyzers;
+    private ForecastEngine engine;
+    private WeatherContext context;
+    private List<FishProfile> profiles;
+    private List<LocalDateTime> curveHours;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        PressureAnalyzer pressure = new PressureAnalyzer();
+        WaterThermalAnalyzer thermal = new WaterThermalAnalyzer();
+        SolunarAnalyzer solunar = new SolunarAnalyzer();
+        WindStealthAnalyzer wind = new WindStealthAnalyzer();
+        analyzers = List.of(pressure, thermal, solunar, wind);
+        engine = new ForecastEngine(pressure, thermal, solunar, wind, executor, 32);
+
+        context = weatherContext(hours);
+        profiles = profiles(species);
+        curveHours = context.synopTimeline().stream().map(SynopSnapshot::timestamp).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<AnalyzerResult> legacyFanOut() {
+        List<CompletableFuture<AnalyzerResult>> futures = new ArrayList<>(profiles.size() * analyzers.size());
+        for (FishProfile profile : profiles) {
+            for (WeatherAnalyzer analyzer : analyzers) {
+                futures.add(CompletableFuture.supplyAsync(() -> analyzer.analyze(context, profile, TARGET), executor));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Benchmark
+    public GlobalForecastResult batch() {
+        return engine.calculate(context, profiles, TARGET).join();
+    }
+
+    @Benchmark
+    public BiteCurve biteCurve() {
+        return engine.calculateBiteCurve(context, profiles);
+    }
+
+    @Benchmark
+    public List<List<AnalyzerResult>> perHourCurve() {
+        List<List<AnalyzerResult>> results = new ArrayList<>(curveHours.size() * analyzers.size());
+        for (LocalDateTime hour : curveHours) {
+            for (WeatherAnalyzer analyzer : analyzers) {
+                results.add(analyzer.analyzeAll(context, profiles, hour));
+            }
+        }
+        return results;
+    }
+
+    private static WeatherContext weatherContext(int hours) {
+        LocalDateTime first = TARGET.minusHours(hours / 2);
+        List<SynopSnapshot> synop = new ArrayList<>(hours);
+        List<HydroSnapshot> hydro = new ArrayList<>(hours);
+        for (int h = 0; h < hours; h++) {
+            double phase = h * Math.PI / 12;
+            synop.add(SynopSnapshot.builder()
+                    .timestamp(first.plusHours(h))
+                    .temperature(decimal(16 + 6 * Math.sin(phase)))
+                    .pressure(decimal(1012 + 8 * Math.sin(h * Math.PI / 36)))
+                    .windSpeed(decimal(12 + 9 * Math.cos(phase / 2)))
+                    .windDirection((h * 15) % 360)
+                    .humidity(decimal(70 + 20 * Math.cos(phase)))
+                    .precipitation(decimal(h % 17 == 0 ? 1.2 : 0))
+                    .windGusts(decimal(20 + 12 * Math.cos(phase / 2)))
+                    .cloudCover((h * 7) % 101)
+                    .apparentTemperature(decimal(15 + 6 * Math.sin(phase)))
+                    .uvIndex(decimal(Math.max(0, 6 * Math.sin(phase))))
+                    .build());
+            hydro.add(HydroSnapshot.builder()
+                    .timestamp(first.plusHours(h))
+                    .waterLevel(180 + (int) (15 * Math.sin(h * Math.PI / 48)))
+                    .waterTemperature(decimal(17 + 2 * Math.sin(phase)))
+                    .discharge(decimal(35 + 10 * Math.sin(h * Math.PI / 48)))
+                    .icePhenomenon(0)
+                    .overgrowthPhenomenon(0)
+                    .build());
+        }
+
+        MoonPhaseType[] phases = MoonPhaseType.values();
+        List<MoonSnapshot> moon = new ArrayList<>();
+        for (LocalDate day = first.toLocalDate(); !day.isAfter(first.plusHours(hours).toLocalDate()); day = day.plusDays(1)) {
+            int age = day.getDayOfYear() % 30;
+            moon.add(MoonSnapshot.builder()
+                    .date(day)
+                    .phaseName(phases[age * phases.length / 30].name())
+                    .illuminationPct(decimal(50 - 50 * Math.cos(age * Math.PI / 15)))
+                    .moonAgeDays(decimal(age))
+                    .isSuperMoon(false)
+                    .moonrise(day.atTime(8, 0).plusMinutes(50L * age))
+                    .moonset(day.atTime(20, 0).plusMinutes(50L * age))
+                    .transit(day.atTime(14, 0).plusMinutes(50L * age))
+                    .sunrise(day.atTime(4, 20))
+                    .sunset(day.atTime(21, 0))
+                    .build());
+        }
+
+        return WeatherContext.builder()
+                .synopTimeline(synop)
+                .hydroTimeline(hydro)
+                .meteoTimeline(List.of())
+                .moonTimeline(moon)
+                .build();
+    }
+
+    private static List<FishProfile> profiles(int count) {
+        FishCategory[] categories = FishCategory.values();
+        PressureTrend[] pressureTrends = PressureTrend.values();
+        WaterLevelTrend[] levelTrends = WaterLevelTrend.values();
+        MoonPhaseType[] moonPhases = MoonPhaseType.values();
+        TimeOfDay[] timesOfDay = TimeOfDay.values();
+        ActivityLevel[] levels = ActivityLevel.values();
+
+        List<FishProfile> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ActivityCalendar calendar = new ActivityCalendar();
+            calendar.setMayActivity(levels[i % levels.length]);
+            calendar.setJunActivity(levels[(i + 2) % levels.length]);
+            calendar.setJulActivity(levels[(i + 3) % levels.length]);
+
+            FishAlgorithmParams params = FishAlgorithmParams.builder()
+                    .tempMinActive(decimal(4 + i % 5))
+                    .tempMaxActive(decimal(24 + i % 6))
+                    .tempOptimalMin(decimal(12 + i % 4))
+                    .tempOptimalMax(decimal(20 + i % 4))
+                    .preferredWaterLevelTrend(levelTrends[i % levelTrends.length])
+                    .preferredPressureTrend(pressureTrends[i % pressureTrends.length])
+                    .pressureMin(decimal(1000 + i % 5))
+                    .pressureMax(decimal(1022 + i % 5))
+                    .windSpeedMin(decimal(i % 4))
+                    .windSpeedMax(decimal(18 + i % 10))
+                    .cloudCoverMin(i % 3 * 10)
+                    .cloudCoverMax(70 + i % 4 * 10)
+                    .toleratesRain(i % 2 == 0)
+                    .preferredMoonPhase(moonPhases[i % moonPhases.length])
+                    .illuminationMinPct(decimal(i % 4 * 10))
+                    .illuminationMaxPct(decimal(60 + i % 5 * 10))
+                    .preferredTimeOfDay(timesOfDay[i % timesOfDay.length])
+                    .windGustMax(decimal(35 + i % 10))
+                    .dischargeMax(decimal(60 + i % 20))
+                    .rainMax(decimal(2 + i % 3))
+                    .weightWaterTemp(3 + i % 3)
+                    .weightPressure(2 + i % 4)
+                    .weightWind(1 + i % 3)
+                    .weightWaterLevel(1 + i % 2)
+                    .build();
+
+            result.add(FishProfile.builder()
+                    .id((long) i + 1)
+                    .name("Gatunek " + (i + 1))
+                    .isGeneralBiomass(false)
+                    .category(categories[i % categories.length])
+                    .calendar(calendar)
+                    .params(params)
+                    .build());
+        }
+        return result;
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP);
+    }
+}
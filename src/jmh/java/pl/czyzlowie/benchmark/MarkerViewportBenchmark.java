@@ -0,0 +1,153 @@
+package pl.czyzlowie.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.projection.MapMarkerRow;
+import pl.czyzlowie.modules.map.snapshot.ETaggedResult;
+import pl.czyzlowie.modules.map.snapshot.MarkerSnapshot;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares answering a viewport request for map markers before and after the in-memory marker snapshot,
+ * on the spots seeded by the Liquibase changelogs ({@link SeedSpots}).
+ *
+ * The {@code legacy} benchmark scans every marker with the predicate of the removed
+ * {@code MapSpotRepository.findInBounds} query, which returned restrictions, slips, shops and rentals
+ * regardless of the bounds, and maps each match to a DTO. The {@code snapshot} benchmark runs
+ * {@link MarkerSnapshot#inBounds}. Both are measured without the database, so the legacy numbers are a lower
+ * bound of the query they stand for. The {@code Response} benchmarks add JSON serialisation of the body,
+ * and {@code notModified} measures a conditional request answered with 304: the weak entity tag is built
+ * from the snapshot fingerprint and compared without materialising the body.
+ *
+ * The viewport is a 1280x800 px screen centred on Warsaw at the given Web Mercator zoom level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkerViewportBenchmark {
+
+    private static final Set<String> UNBOUNDED_TYPES = Set.of("RESTRICTION", "SLIP", "FISHING_SHOP", "RENTALS");
+    private static final double CENTER_LAT = 52.23;
+    private static final double CENTER_LNG = 21.01;
+    private static final int SCREEN_WIDTH = 1280;
+    private static final int SCREEN_HEIGHT = 800;
+
+    @Param({"6", "9", "12", "15"})
+    public int zoom;
+
+    private List<MapMarkerRow> rows;
+    private MarkerSnapshot snapshot;
+    private ObjectWriter writer;
+    private double north;
+    private double south;
+    private double east;
+    private double west;
+    private String clientETag;
+
+    @Setup
+    public void setUp() {
+        rows = seedRows();
+        snapshot = MarkerSnapshot.build(1, 0, LocalDate.now(), rows, 0.25);
+        writer = new ObjectMapper().findAndRegisterModules().writer();
+
+        double width = SCREEN_WIDTH * 360.0 / (256 * Math.pow(2, zoom));
+        double height = width * SCREEN_HEIGHT / SCREEN_WIDTH * Math.cos(Math.toRadians(CENTER_LAT));
+        north = CENTER_LAT + height / 2;
+        south = CENTER_LAT - height / 2;
+        east = CENTER_LNG + width / 2;
+        west = CENTER_LNG - width / 2;
+        clientETag = ETaggedResult.weakETag(snapshot.fingerprint(), north, south, east, west);
+
+        verifySameMarkersInBounds();
+    }
+
+    @Benchmark
+    public List<MapMarkerDto> legacy() {
+        List<MapMarkerDto> result = new ArrayList<>();
+        for (MapMarkerRow row : rows) {
+            boolean inside = row.latitude() >= south && row.latitude() <= north
+                    && row.longitude() >= west && row.longitude() <= east;
+            if (inside || UNBOUNDED_TYPES.contains(row.type())) {
+                result.add(MapMarkerDto.builder()
+                        .id(row.id())
+                        .type(row.type())
+                        .name(row.name())
+                        .slug(row.slug())
+                        .lat(row.latitude())
+                        .lng(row.longitude())
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<MapMarkerDto> snapshot() {
+        return snapshot.inBounds(north, south, east, west);
+    }
+
+    @Benchmark
+    public byte[] legacyResponse() throws IOException {
+        return writer.writeValueAsBytes(legacy());
+    }
+
+    @Benchmark
+    public byte[] snapshotResponse() throws IOException {
+        ETaggedResult<List<MapMarkerDto>> result = new ETaggedResult<>(
+                ETaggedResult.weakETag(snapshot.fingerprint(), north, south, east, west), this::snapshot);
+        return writer.writeValueAsBytes(result.body().get());
+    }
+
+    @Benchmark
+    public boolean notModified() {
+        ETaggedResult<List<MapMarkerDto>> result = new ETaggedResult<>(
+                ETaggedResult.weakETag(snapshot.fingerprint(), north, south, east, west), this::snapshot);
+        return result.eTag().equals(clientETag);
+    }
+
+    /**
+     * Checks that both paths agree: the snapshot returns exactly the markers the legacy predicate matches by
+     * position, the legacy one adding only the types it returned regardless of the bounds.
+     */
+    private void verifySameMarkersInBounds() {
+        Set<String> snapshotIds = snapshot().stream().map(MapMarkerDto::getId).collect(Collectors.toSet());
+        Set<String> legacyIds = legacy().stream()
+                .filter(marker -> marker.getLat() >= south && marker.getLat() <= north
+                        && marker.getLng() >= west && marker.getLng() <= east)
+                .map(MapMarkerDto::getId)
+                .collect(Collectors.toSet());
+        if (!snapshotIds.equals(legacyIds)) {
+            throw new IllegalStateException("Migawka i zapytanie zwróciły różne punkty dla przybliżenia " + zoom);
+        }
+    }
+
+    private static List<MapMarkerRow> seedRows() {
+        return SeedSpots.load().stream()
+                .map(spot -> new MapMarkerRow("SPOT_" + spot.id(), spot.type(), spot.name(), spot.slug(),
+                        spot.latitude(), spot.longitude(),
+                        null, null, null, null, null, null, null, null, null, null, null, null, null))
+                .toList();
+    }
+}
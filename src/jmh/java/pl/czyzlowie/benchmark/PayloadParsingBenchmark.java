@@ -0,0 +1,224 @@
+package pl.czyzlowie.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestClient;
+import pl.czyzlowie.core.http.ResilientCalls;
+import pl.czyzlowie.modules.forecast.client.dto.OpenMeteoResponse;
+import pl.czyzlowie.modules.imgw_api.client.ImgwClient;
+import pl.czyzlowie.modules.imgw_api.client.ImgwFetchResult;
+import pl.czyzlowie.modules.imgw_api.client.dto.ImgwHydroResponseDto;
+import pl.czyzlowie.modules.imgw_api.mapper.ImgwTypeConverter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ingestion path of one IMGW hydro feed and one 192-hour Open-Meteo forecast before and after
+ * the switch to streaming parsing.
+ *
+ * The {@code legacy} benchmarks bind the whole body with the message converters of {@code RestClient} and
+ * convert the values with string trimming and {@code BigDecimal} round-trips, or bind the forecast columns to
+ * boxed lists. The {@code streaming} benchmarks run the production {@link ImgwClient} and
+ * {@link ImgwTypeConverter}, and the {@link OpenMeteoResponse} with its {@code NumericSeries} columns.
+ * Responses are served from memory, so only parsing and conversion are measured. Run with the GC profiler
+ * to compare the allocation per operation ({@code gc.alloc.rate.norm}).
+ *
+ * The payloads in {@code src/jmh/resources/payloads} follow the field layout of the IMGW hydro feed (900
+ * stations) and of an Open-Meteo forecast with the hourly and daily columns the application requests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadParsingBenchmark {
+
+    private static final String HYDRO_URL = "https://danepubliczne.imgw.pl/api/data/hydro";
+    private static final ParameterizedTypeReference<List<ImgwHydroResponseDto>> HYDRO_LIST =
+            new ParameterizedTypeReference<>() {};
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private byte[] hydroPayload;
+    private byte[] forecastPayload;
+
+    private RestClient restClient;
+    private ImgwClient imgwClient;
+    private ImgwTypeConverter converter;
+    private ObjectReader forecastReader;
+    private ObjectReader legacyForecastReader;
+
+    @Setup
+    public void setUp() {
+        hydroPayload = payload("imgw-hydro.json");
+        forecastPayload = payload("open-meteo-forecast.json");
+
+        restClient = RestClient.builder()
+                .requestFactory((uri, method) -> {
+                    MockClientHttpResponse response = new MockClientHttpResponse(hydroPayload, HttpStatus.OK);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+                    request.setResponse(response);
+                    return request;
+                })
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ResilientCalls resilientCalls = new ResilientCalls(
+                CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+        imgwClient = new ImgwClient(restClient, objectMapper, resilientCalls);
+        converter = new ImgwTypeConverter();
+
+        forecastReader = objectMapper.readerFor(OpenMeteoResponse.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        legacyForecastReader = objectMapper.readerFor(LegacyForecast.class);
+    }
+
+    @Benchmark
+    public void legacyImgwHydro(Blackhole blackhole) {
+        List<ImgwHydroResponseDto> items = restClient.get()
+                .uri(HYDRO_URL)
+                .retrieve()
+                .body(HYDRO_LIST);
+        for (ImgwHydroResponseDto dto : items) {
+            blackhole.consume(legacyDecimal(dto.getLatitude()));
+            blackhole.consume(legacyDecimal(dto.getLongitude()));
+            blackhole.consume(legacyInteger(dto.getWaterLevel()));
+            blackhole.consume(legacyDateTime(dto.getWaterLevelDate()));
+            blackhole.consume(legacyDecimal(dto.getWaterTemperature()));
+            blackhole.consume(legacyDecimal(dto.getDischarge()));
+            blackhole.consume(legacyDateTime(dto.getDischargeDate()));
+            blackhole.consume(legacyInteger(dto.getIcePhenomenon()));
+        }
+    }
+
+    @Benchmark
+    public void streamingImgwHydro(Blackhole blackhole) {
+        ImgwFetchResult<ImgwHydroResponseDto> result = imgwClient.fetchListIfChanged(HYDRO_URL, HYDRO_LIST);
+        for (ImgwHydroResponseDto dto : result.items()) {
+            blackhole.consume(converter.parseDecimal(dto.getLatitude()));
+            blackhole.consume(converter.parseDecimal(dto.getLongitude()));
+            blackhole.consume(converter.parseInteger(dto.getWaterLevel()));
+            blackhole.consume(converter.parseDateTime(dto.getWaterLevelDate()));
+            blackhole.consume(converter.parseDecimal(dto.getWaterTemperature()));
+            blackhole.consume(converter.parseDecimal(dto.getDischarge()));
+            blackhole.consume(converter.parseDateTime(dto.getDischargeDate()));
+            blackhole.consume(converter.parseInteger(dto.getIcePhenomenon()));
+        }
+    }
+
+    @Benchmark
+    public Object legacyOpenMeteoForecast() throws IOException {
+        return legacyForecastReader.readValue(forecastPayload);
+    }
+
+    @Benchmark
+    public Object streamingOpenMeteoForecast() throws IOException {
+        return forecastReader.readValue(forecastPayload);
+    }
+
+    private static byte[] payload(String name) {
+        try (InputStream in = PayloadParsingBenchmark.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Brak pliku z danymi: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BigDecimal legacyDecimal(String value) {
+        if (value == null || value.trim().isEmpty()) return null;
+        try {
+            return new BigDecimal(value.trim().replace(",", "."));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Integer legacyInteger(String value) {
+        if (value == null || value.trim().isEmpty()) return null;
+        try {
+            if (value.contains(".")) {
+                return new BigDecimal(value.trim().replace(",", ".")).intValue();
+            }
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime legacyDateTime(String value) {
+        if (value == null || value.trim().isEmpty()) return null;
+        try {
+            return LocalDateTime.parse(value.trim(), DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The forecast response shape used before {@code NumericSeries}: boxed lists for every column.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LegacyForecast {
+        public Double latitude;
+        public Double longitude;
+        public LegacyHourly hourly;
+        public LegacyDaily daily;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LegacyHourly {
+        public List<String> time;
+        @JsonProperty("temperature_2m") public List<Double> temperature2m;
+        @JsonProperty("apparent_temperature") public List<Double> apparentTemperature;
+        @JsonProperty("pressure_msl") public List<Double> surfacePressure;
+        @JsonProperty("rain") public List<Double> rain;
+        @JsonProperty("cloud_cover") public List<Integer> cloudCover;
+        @JsonProperty("relative_humidity_2m") public List<Integer> relativeHumidity2m;
+        @JsonProperty("wind_speed_10m") public List<Double> windSpeed10m;
+        @JsonProperty("wind_gusts_10m") public List<Double> windGusts10m;
+        @JsonProperty("wind_direction_10m") public List<Integer> windDirection10m;
+        @JsonProperty("uv_index") public List<Double> uvIndex;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LegacyDaily {
+        public List<String> time;
+        public List<String> sunrise;
+        public List<String> sunset;
+        @JsonProperty("uv_index_max") public List<Double> uvIndexMax;
+    }
+}
@@ -0,0 +1,80 @@
+package pl.czyzlowie.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the map spots seeded by the Liquibase insert scripts, so benchmarks run on the same data set as a
+ * freshly migrated database (about 5 800 spots across Poland).
+ *
+ * Only the leading columns of every {@code map_spots} row are parsed: identifier, name, slug, type,
+ * position, voivodeship and nearest city.
+ */
+final class SeedSpots {
+
+    private static final List<String> SEED_FILES = List.of(
+            "map_spots_inserts.sql", "map_lakes_inserts.sql", "oxbow_inserts.sql", "river_inserts.sql",
+            "slip_inserts.sql", "fishing_shops_inserts.sql", "rentals_inserts.sql");
+    private static final String TEXT = "'((?:[^']|'')*)'";
+    private static final String NULLABLE_TEXT = "(?:" + TEXT + "|NULL)";
+    private static final Pattern SPOT_VALUES = Pattern.compile("\\((\\d+),\\s*" + TEXT + ",\\s*" + TEXT
+            + ",\\s*'([A-Z_]+)',\\s*(-?[\\d.]+),\\s*(-?[\\d.]+),\\s*" + NULLABLE_TEXT + ",\\s*" + NULLABLE_TEXT);
+
+    /**
+     * A seeded spot.
+     *
+     * @param id          the spot identifier
+     * @param name        the display name
+     * @param slug        the URL slug
+     * @param type        the name of the spot type
+     * @param latitude    the latitude in decimal degrees
+     * @param longitude   the longitude in decimal degrees
+     * @param province    the voivodeship, may be {@code null}
+     * @param nearestCity the nearest city, may be {@code null}
+     */
+    record Spot(long id, String name, String slug, String type, double latitude, double longitude,
+                String province, String nearestCity) {}
+
+    private SeedSpots() {
+    }
+
+    /**
+     * Parses the spots of all insert scripts, in script order.
+     *
+     * @return the seeded spots
+     */
+    static List<Spot> load() {
+        List<Spot> result = new ArrayList<>();
+        for (String file : SEED_FILES) {
+            Matcher matcher = SPOT_VALUES.matcher(script(file));
+            while (matcher.find()) {
+                result.add(new Spot(
+                        Long.parseLong(matcher.group(1)), text(matcher.group(2)), text(matcher.group(3)),
+                        matcher.group(4), Double.parseDouble(matcher.group(5)), Double.parseDouble(matcher.group(6)),
+                        text(matcher.group(7)), text(matcher.group(8))));
+            }
+        }
+        return result;
+    }
+
+    private static String text(String literal) {
+        return literal == null ? null : literal.replace("''", "'");
+    }
+
+    private static String script(String name) {
+        try (InputStream in = SeedSpots.class.getResourceAsStream("/db/changelog/inserts/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Brak pliku z danymi: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package pl.czyzlowie.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.czyzlowie.modules.map.entity.SpotType;
+import pl.czyzlowie.modules.spot.search.SpotSearchFilter;
+import pl.czyzlowie.modules.spot.search.SpotSearchIndex;
+import pl.czyzlowie.modules.spot.search.SpotSearchRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures spot typeahead on the spots seeded by the Liquibase changelogs ({@link SeedSpots}).
+ *
+ * The {@code legacy} benchmark stands for the replaced {@code lower(name) LIKE '%query%'} filter: a scan of
+ * every name lower-cased, keeping the first {@code LIMIT} matches without ranking or diacritic folding. The
+ * {@code index} benchmarks run {@link SpotSearchIndex#search} with the limit of the typeahead endpoint, without
+ * a filter and restricted to one voivodeship and type. {@code build} measures a full rebuild of the index.
+ *
+ * The queries cover a single letter, a common word prefix, two words, a folded name ("wisla" for "Wisła"),
+ * which the legacy filter cannot match, and a fragment from the middle of a word.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpotSearchBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final SpotSearchFilter ANY = new SpotSearchFilter(null, null, null);
+    private static final SpotSearchFilter LAKES_IN_WARMIA = new SpotSearchFilter(
+            Set.of(SpotType.LAKE), "Warmińsko-Mazurskie", null);
+
+    @Param({"j", "jez", "jezioro b", "wisla", "lodzk"})
+    public String query;
+
+    private List<SpotSearchRow> rows;
+    private String[] lowerCaseNames;
+    private SpotSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        rows = SeedSpots.load().stream()
+                .map(spot -> new SpotSearchRow(spot.id(), spot.name(), spot.slug(), SpotType.valueOf(spot.type()),
+                        spot.province(), spot.nearestCity(), 0))
+                .toList();
+        lowerCaseNames = rows.stream().map(row -> row.name().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+        index = SpotSearchIndex.build(rows);
+        if (index.search(query, ANY, LIMIT).isEmpty()) {
+            throw new IllegalStateException("Brak wyników dla zapytania: " + query);
+        }
+    }
+
+    @Benchmark
+    public List<SpotSearchRow> legacy() {
+        String pattern = query.toLowerCase(Locale.ROOT);
+        List<SpotSearchRow> result = new ArrayList<>();
+        for (int i = 0; i < lowerCaseNames.length; i++) {
+            if (lowerCaseNames[i].contains(pattern)) {
+                result.add(rows.get(i));
+            }
+        }
+        return result.subList(0, Math.min(LIMIT, result.size()));
+    }
+
+    @Benchmark
+    public List<SpotSearchRow> index() {
+        return index.search(query, ANY, LIMIT);
+    }
+
+    @Benchmark
+    public List<SpotSearchRow> indexFiltered() {
+        return index.search(query, LAKES_IN_WARMIA, LIMIT);
+    }
+
+    @Benchmark
+    public SpotSearchIndex build() {
+        return SpotSearchIndex.build(rows);
+    }
+}
@@ -0,0 +1,130 @@
+package pl.czyzlowie.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.czyzlowie.modules.barometer.entity.StationType;
+import pl.czyzlowie.modules.location.index.StationKdTree;
+import pl.czyzlowie.modules.location.index.StationPoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the nearest-station lookup of {@code LocationFinderService} before and after the k-d tree index.
+ *
+ * The {@code scan} benchmark is the replaced lookup: a stream over every station taking the minimum of the
+ * Haversine distance, which is then computed once more for the winner. The {@code tree} benchmarks run
+ * {@link StationKdTree}. The stations are the first {@code stations} positions of the IMGW hydro payload in
+ * {@code src/jmh/resources/payloads} (60 is about the size of the synoptic network, 900 of the hydrological
+ * one), and the queries are a fixed set of random points within the bounds of Poland.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StationLookupBenchmark {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"60", "900"})
+    public int stations;
+
+    private List<StationPoint> points;
+    private StationKdTree tree;
+    private double[] queryLats;
+    private double[] queryLons;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        points = hydroStations().subList(0, stations);
+        tree = StationKdTree.build(points);
+
+        SplittableRandom random = new SplittableRandom(42);
+        queryLats = new double[QUERY_COUNT];
+        queryLons = new double[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queryLats[i] = random.nextDouble(49.0, 54.8);
+            queryLons[i] = random.nextDouble(14.1, 24.1);
+            StationPoint scanned = scanNearest(queryLats[i], queryLons[i]);
+            if (!scanned.equals(tree.nearest(queryLats[i], queryLons[i]).station())) {
+                throw new IllegalStateException("Indeks i przeszukiwanie liniowe zwróciły różne stacje dla punktu " + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public double scan() {
+        int i = nextQuery();
+        StationPoint nearest = scanNearest(queryLats[i], queryLons[i]);
+        return haversine(queryLats[i], queryLons[i], nearest.lat(), nearest.lon());
+    }
+
+    @Benchmark
+    public StationKdTree.Neighbour tree() {
+        int i = nextQuery();
+        return tree.nearest(queryLats[i], queryLons[i]);
+    }
+
+    @Benchmark
+    public List<StationKdTree.Neighbour> treeThreeNearest() {
+        int i = nextQuery();
+        return tree.kNearest(queryLats[i], queryLons[i], 3);
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERY_COUNT - 1);
+        return next;
+    }
+
+    private StationPoint scanNearest(double lat, double lon) {
+        return points.stream()
+                .min(Comparator.comparingDouble(s -> haversine(lat, lon, s.lat(), s.lon())))
+                .orElseThrow();
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static List<StationPoint> hydroStations() {
+        try (InputStream in = StationLookupBenchmark.class.getResourceAsStream("/payloads/imgw-hydro.json")) {
+            if (in == null) {
+                throw new IllegalStateException("Brak pliku z danymi: imgw-hydro.json");
+            }
+            List<StationPoint> result = new ArrayList<>();
+            for (JsonNode station : new ObjectMapper().readTree(in)) {
+                result.add(new StationPoint(station.get("id_stacji").asText(), StationType.IMGW_HYDRO,
+                        station.get("lat").asDouble(), station.get("lon").asDouble()));
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
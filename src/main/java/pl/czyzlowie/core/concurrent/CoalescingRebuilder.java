@@ -0,0 +1,55 @@
+package pl.czyzlowie.core.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the rebuild of an in-memory index in the background, coalescing bursts of requests.
+ *
+ * A request starts the rebuild on a virtual thread unless one is already waiting to start. Rebuilds run
+ * one at a time; the pending flag is cleared only once the lock is held, so requests arriving while a
+ * rebuild is loading data cause exactly one more rebuild, which cannot be overtaken by the older one.
+ * A failed rebuild is logged and leaves the previously published index in place.
+ */
+@Slf4j
+public final class CoalescingRebuilder {
+
+    private final String threadName;
+    private final String failureMessage;
+    private final Runnable rebuild;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param threadName the name of the virtual thread running the rebuild
+     * @param failureMessage the message logged when a rebuild fails
+     * @param rebuild the rebuild itself
+     */
+    public CoalescingRebuilder(String threadName, String failureMessage, Runnable rebuild) {
+        this.threadName = threadName;
+        this.failureMessage = failureMessage;
+        this.rebuild = rebuild;
+    }
+
+    /**
+     * Requests a rebuild. Returns at once; the rebuild runs on its own virtual thread.
+     */
+    public void request() {
+        if (!pending.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name(threadName).start(() -> {
+            lock.lock();
+            try {
+                pending.set(false);
+                rebuild.run();
+            } catch (Exception e) {
+                log.error(failureMessage, e);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+}
@@ -1,32 +1,70 @@
 package pl.czyzlowie.core.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
+import pl.czyzlowie.core.http.GzipResponseInterceptor;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
 
 
+/**
+ * Configures the HTTP clients used for all outbound integrations.
+ *
+ * Both {@link RestClient} and {@link RestTemplate} share one JDK {@link HttpClient}, which keeps a pool of
+ * open connections per host and reuses them between requests, so repeated calls to the same API skip the
+ * TCP and TLS handshakes. HTTP/2 is negotiated with servers which support it, with a fallback to HTTP/1.1,
+ * and responses are requested and decoded with gzip compression by {@link GzipResponseInterceptor}.
+ */
 @Configuration
 public class RestClientConfig {
 
+    @Bean(destroyMethod = "close")
+    public HttpClient outboundHttpClient(@Value("${http.client.connect-timeout:PT5S}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
     @Bean
-    public RestClient restClient() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(5000);
+    public ClientHttpRequestFactory outboundRequestFactory(HttpClient outboundHttpClient,
+                                                           @Value("${http.client.read-timeout:PT5S}") Duration readTimeout) {
+        return requestFactory(outboundHttpClient, readTimeout);
+    }
 
+    @Bean
+    public RestClient restClient(ClientHttpRequestFactory outboundRequestFactory) {
         return RestClient.builder()
-                .requestFactory(factory)
+                .requestFactory(outboundRequestFactory)
                 .build();
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(5000);
-        return new RestTemplate(factory);
+    public RestTemplate restTemplate(ClientHttpRequestFactory outboundRequestFactory) {
+        return new RestTemplate(outboundRequestFactory);
+    }
+
+    /**
+     * Creates a request factory on the shared {@link HttpClient} with its own read timeout, for integrations
+     * whose responses take longer than the default {@code http.client.read-timeout}.
+     *
+     * @param httpClient the shared outbound client
+     * @param readTimeout the time to wait for the response of a single request
+     * @return the request factory
+     */
+    public static ClientHttpRequestFactory requestFactory(HttpClient httpClient, Duration readTimeout) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(readTimeout);
+        factory.enableCompression(false);
+        return new InterceptingClientHttpRequestFactory(factory, List.of(new GzipResponseInterceptor()));
     }
-}
\ No newline at end of file
+}
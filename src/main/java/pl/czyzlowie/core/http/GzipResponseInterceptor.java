@@ -0,0 +1,89 @@
+package pl.czyzlowie.core.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Requests gzip-compressed responses and decodes them.
+ *
+ * The decoding built into {@code JdkClientHttpRequestFactory} closes the response stream as soon as the
+ * gzip trailer has been read, before the JDK client has seen the end of the body, and the client then
+ * drops the connection instead of returning it to its pool. Here the raw body is drained to its end
+ * before it is closed, so compressed responses keep their connections alive.
+ */
+public class GzipResponseInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!request.getHeaders().containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        return GZIP.equalsIgnoreCase(encoding) ? new GzipResponse(response) : response;
+    }
+
+    /**
+     * A response whose body is decoded on the fly. Closing it closes the raw response first, which drains
+     * the rest of the compressed body.
+     */
+    private static final class GzipResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        private GzipResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            this.headers = HttpHeaders.copyOf(delegate.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new GZIPInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+            if (body != null) {
+                try {
+                    body.close();
+                } catch (IOException ignored) {
+                    // the raw body is already closed, only the inflater is released here
+                }
+            }
+        }
+    }
+}
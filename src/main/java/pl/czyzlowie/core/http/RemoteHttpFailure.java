@@ -0,0 +1,29 @@
+package pl.czyzlowie.core.http;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides which failures of an outbound HTTP call count against the health of the remote service.
+ *
+ * Every failure counts except client errors, which are caused by the request rather than the service.
+ * {@code 429 Too Many Requests} still counts, so a circuit opens while the service is throttling calls.
+ * Rejections by the local bulkhead or by an open circuit never reached the service, so they do not count
+ * either; otherwise a burst of local load would open the circuit of a healthy service.
+ *
+ * Referenced by the {@code record-failure-predicate} of the resilience4j circuit breaker instances.
+ */
+public class RemoteHttpFailure implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable failure) {
+        if (failure instanceof BulkheadFullException || failure instanceof CallNotPermittedException) {
+            return false;
+        }
+        return !(failure instanceof HttpClientErrorException)
+                || failure instanceof HttpClientErrorException.TooManyRequests;
+    }
+}
@@ -0,0 +1,51 @@
+package pl.czyzlowie.core.http;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs outbound calls through the resilience4j bulkhead, circuit breaker and retry of their integration.
+ *
+ * The instances are looked up by the integration name, so each integration is configured separately under
+ * {@code resilience4j.bulkhead.instances}, {@code resilience4j.circuitbreaker.instances} and
+ * {@code resilience4j.retry.instances}. The bulkhead limits concurrent calls, the circuit breaker fails
+ * calls fast while the remote service keeps failing, and the retry repeats transient failures with a
+ * randomised backoff. Every attempt of a retry passes through the circuit breaker and the bulkhead again.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilientCalls {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    /**
+     * Runs the call with the resilience policies of the given integration.
+     *
+     * @param <T> the result type of the call
+     * @param integration the name of the integration, used as the name of the resilience4j instances
+     * @param call the outbound call
+     * @return the result of the call
+     * @throws io.github.resilience4j.circuitbreaker.CallNotPermittedException if the circuit is open
+     * @throws io.github.resilience4j.bulkhead.BulkheadFullException if too many calls are in progress
+     */
+    public <T> T call(String integration, Supplier<T> call) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(integration);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(integration);
+        Retry retry = retryRegistry.retry(integration);
+
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkhead, call);
+        guarded = CircuitBreaker.decorateSupplier(circuitBreaker, guarded);
+        guarded = Retry.decorateSupplier(retry, guarded);
+        return guarded.get();
+    }
+}
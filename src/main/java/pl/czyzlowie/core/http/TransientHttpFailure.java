@@ -0,0 +1,37 @@
+package pl.czyzlowie.core.http;
+
+import com.fasterxml.jackson.core.JacksonException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Decides which failures of an outbound HTTP call are worth retrying.
+ *
+ * Server errors, {@code 429 Too Many Requests} and I/O errors such as refused or reset connections are
+ * treated as transient. Timeouts are not retried, because the callers enforce their own deadlines and a
+ * repeated slow call would only overrun them. Malformed bodies and other client errors will not change
+ * on a retry.
+ *
+ * Referenced by the {@code retry-exception-predicate} of the resilience4j retry instances.
+ */
+public class TransientHttpFailure implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable failure) {
+        if (failure instanceof HttpServerErrorException || failure instanceof HttpClientErrorException.TooManyRequests) {
+            return true;
+        }
+        Throwable cause = failure instanceof ResourceAccessException ? failure.getCause() : failure;
+        return cause instanceof IOException && !isTimeout(cause) && !(cause instanceof JacksonException);
+    }
+
+    private static boolean isTimeout(Throwable failure) {
+        return failure instanceof HttpTimeoutException || failure instanceof InterruptedIOException;
+    }
+}
@@ -0,0 +1,79 @@
+package pl.czyzlowie.core.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Builds the {@code VALUES} lists of multi-row JDBC statements.
+ *
+ * A bulk write is cut into chunks of at most {@value #MAX_ROWS_PER_STATEMENT} rows, each sent as one
+ * statement whose {@code VALUES} list holds one placeholder group per row and whose arguments are the
+ * row values flattened in the same order.
+ */
+public final class MultiRowValues {
+
+    /**
+     * The largest number of rows sent in a single statement, keeping the bind parameters of the widest
+     * table well below the driver limit of 32767.
+     */
+    public static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private MultiRowValues() {
+    }
+
+    /**
+     * Returns the {@code VALUES} list for the given number of rows, without the keyword itself.
+     *
+     * @param columnCount the number of placeholders in every row
+     * @param rowCount the number of rows
+     * @return the placeholder groups separated by commas, such as {@code (?, ?), (?, ?)}
+     */
+    public static String placeholders(int columnCount, int rowCount) {
+        if (columnCount < 1 || rowCount < 1) {
+            throw new IllegalArgumentException("Liczba kolumn i wierszy musi być dodatnia");
+        }
+        String row = "(" + "?, ".repeat(columnCount - 1) + "?)";
+        StringBuilder values = new StringBuilder(rowCount * (row.length() + 2));
+        for (int i = 0; i < rowCount; i++) {
+            values.append(i == 0 ? "" : ", ").append(row);
+        }
+        return values.toString();
+    }
+
+    /**
+     * Passes the rows to the action in consecutive chunks of at most {@value #MAX_ROWS_PER_STATEMENT} rows.
+     *
+     * @param rows the rows to write
+     * @param action the action writing one chunk
+     * @param <T> the row type
+     */
+    public static <T> void forEachChunk(List<T> rows, Consumer<List<T>> action) {
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            action.accept(rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size())));
+        }
+    }
+
+    /**
+     * Flattens the values of the rows into the argument array of a multi-row statement.
+     *
+     * @param rows the rows of one statement
+     * @param columnCount the number of values of every row
+     * @param binder returns the values of a row in column order
+     * @param <T> the row type
+     * @return the values of all rows, row after row
+     */
+    public static <T> Object[] arguments(List<T> rows, int columnCount, Function<T, Object[]> binder) {
+        List<Object> args = new ArrayList<>(rows.size() * columnCount);
+        for (T row : rows) {
+            Object[] values = binder.apply(row);
+            if (values.length != columnCount) {
+                throw new IllegalStateException("Wiersz ma " + values.length + " wartości, oczekiwano " + columnCount);
+            }
+            args.addAll(Arrays.asList(values));
+        }
+        return args.toArray();
+    }
+}
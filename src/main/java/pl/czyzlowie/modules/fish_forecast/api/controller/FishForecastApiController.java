@@ -0,0 +1,60 @@
+package pl.czyzlowie.modules.fish_forecast.api.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pl.czyzlowie.modules.fish_forecast.api.dto.FishForecastRequestDto;
+import pl.czyzlowie.modules.fish_forecast.application.FishForecastOrchestrator;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.BiteCurve;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST API of the fish forecast module, serving data for interactive charts.
+ */
+@Validated
+@RestController
+@RequestMapping("/api/prognoza")
+@RequiredArgsConstructor
+public class FishForecastApiController {
+
+    private static final ZoneId FORECAST_ZONE = ZoneId.of("Europe/Warsaw");
+
+    private final FishForecastOrchestrator orchestrator;
+
+    /**
+     * Returns the hourly bite index of the requested species for every hour of the history and forecast
+     * span loaded around the target time, so the best fishing window can be found with a single request.
+     *
+     * @param lat the latitude of the location
+     * @param lon the longitude of the location
+     * @param targetTime the time around which the data is loaded; defaults to the current time
+     * @param species the identifiers of the species to score; the general biomass profile is used when empty
+     * @param ignoreHydro whether hydrological data should be ignored
+     * @param ignoreMeteo whether meteorological data should be ignored
+     * @return a CompletableFuture containing the hourly bite index curve
+     */
+    @GetMapping("/krzywa")
+    public CompletableFuture<BiteCurve> getBiteCurve(
+            @RequestParam @Min(-90) @Max(90) Double lat,
+            @RequestParam @Min(-180) @Max(180) Double lon,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime targetTime,
+            @RequestParam(required = false) List<Integer> species,
+            @RequestParam(defaultValue = "false") boolean ignoreHydro,
+            @RequestParam(defaultValue = "false") boolean ignoreMeteo
+    ) {
+        ZonedDateTime time = targetTime != null ? targetTime : ZonedDateTime.now(FORECAST_ZONE);
+        FishForecastRequestDto request = new FishForecastRequestDto(lat, lon, time, null, species, ignoreHydro, ignoreMeteo);
+
+        return orchestrator.calculateBiteCurve(request);
+    }
+}
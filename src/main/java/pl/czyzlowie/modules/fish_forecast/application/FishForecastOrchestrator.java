@@ -2,6 +2,7 @@ package pl.czyzlowie.modules.fish_forecast.application;
 
 import pl.czyzlowie.modules.fish_forecast.api.dto.FishForecastRequestDto;
 import pl.czyzlowie.modules.fish_forecast.api.dto.FishForecastResponseDto;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.BiteCurve;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -22,7 +23,11 @@ import java.util.concurrent.CompletableFuture;
  * - `calculateFishForecast`: Processes a fish forecast request and returns a
  *   CompletableFuture providing the forecast response once the asynchronous
  *   calculation is complete.
+ * - `calculateBiteCurve`: Computes the hourly bite index of the requested species
+ *   over the whole history and forecast span loaded around the target time.
  */
 public interface FishForecastOrchestrator {
     CompletableFuture<FishForecastResponseDto> calculateFishForecast(FishForecastRequestDto request);
+
+    CompletableFuture<BiteCurve> calculateBiteCurve(FishForecastRequestDto request);
 }
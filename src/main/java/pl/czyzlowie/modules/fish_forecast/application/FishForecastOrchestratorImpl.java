@@ -6,9 +6,12 @@ import org.springframework.stereotype.Service;
 import pl.czyzlowie.modules.barometer.entity.StationType;
 import pl.czyzlowie.modules.fish_forecast.api.dto.FishForecastRequestDto;
 import pl.czyzlowie.modules.fish_forecast.api.dto.FishForecastResponseDto;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.BiteCurve;
 import pl.czyzlowie.modules.fish_forecast.domain.engine.ForecastEngine;
 import pl.czyzlowie.modules.fish_forecast.domain.engine.GlobalForecastResult;
 import pl.czyzlowie.modules.fish_forecast.domain.model.*;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.cache.ForecastCacheKey;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.cache.ForecastResultCache;
 import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.fish.FishProfileIntegrationService;
 import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.hydro.HydroIntegrationService;
 import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.location.LocationIntegrationService;
@@ -17,8 +20,11 @@ import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.meteo.Meteo
 import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.moon.MoonIntegrationService;
 import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.synop.SynopIntegrationService;
 
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Implementation of the FishForecastOrchestrator interface responsible for orchestrating
@@ -45,6 +51,7 @@ import java.util.concurrent.CompletableFuture;
  * - SynopIntegrationService: Supplies synoptical weather data.
  * - FishProfileIntegrationService: Retrieves profiles for targeted fish species.
  * - ForecastEngine: Performs the forecast calculations based on the gathered data.
+ * - ForecastResultCache: Reuses and coalesces results of identical forecast requests.
  *
  * Logging:
  * - Logs the start and completion status of the forecast generation processes.
@@ -62,12 +69,17 @@ public class FishForecastOrchestratorImpl implements FishForecastOrchestrator {
     private final SynopIntegrationService synopIntegrationService;
     private final FishProfileIntegrationService fishProfileIntegrationService;
     private final ForecastEngine forecastEngine;
+    private final ForecastResultCache forecastResultCache;
 
     /**
      * Calculates a fish forecast based on the given request data. The method integrates
      * various external services to gather weather, hydrological, and other environmental
      * data, processes it, and computes a fishing forecast using a forecasting engine.
      *
+     * The target time is truncated to a full hour. Once the nearest stations are resolved,
+     * the result is looked up in the {@link ForecastResultCache}; the data pipeline and the
+     * engine run only on a cache miss, and concurrent identical requests share one computation.
+     *
      * @param req the request data containing information such as latitude, longitude, target
      *            time, and specific fish species identifiers for the forecast.
      * @return a CompletableFuture containing the result of the fish forecast calculation
@@ -78,58 +90,130 @@ public class FishForecastOrchestratorImpl implements FishForecastOrchestrator {
 
         log.info("Rozpoczęto generowanie prognozy NASA dla lat: {}, lon: {}, cel czasowy: {}", req.lat(), req.lon(), req.targetTime());
 
-        CompletableFuture<List<FishProfile>> profilesFuture = fishProfileIntegrationService
-                .fetchTargetProfiles(req.targetFishSpeciesIds());
-
-        CompletableFuture<NearestStations> stationsFuture = locationIntegrationService
-                .findNearestStations(req.lat(), req.lon(), req.ignoreHydro());
+        ZonedDateTime targetHour = req.targetTime().truncatedTo(ChronoUnit.HOURS);
 
-        CompletableFuture<WeatherContext> weatherContextFuture = stationsFuture.thenCompose(stations -> {
-
-            Long hydroId = (stations.hydro() != null) ? Long.valueOf(stations.hydro().stationId()) : null;
-            Long meteoId = (stations.meteo() != null) ? Long.valueOf(stations.meteo().stationId()) : null;
-            String synopStationIdStr = null;
-            boolean isSynopVirtual = false;
-            String moonStationId = null;
+        return locationIntegrationService.findNearestStations(req.lat(), req.lon(), req.ignoreHydro())
+                .thenCompose(stations -> forecastResultCache.getOrCompute(
+                        buildCacheKey(req, stations, targetHour),
+                        () -> computeForecast(req, stations, targetHour)))
+                .thenApply(result -> new FishForecastResponseDto("SUCCESS", "Prognoza wędkarska została wygenerowana pomyślnie!", result));
+    }
 
-            if (stations.synopStation() != null) {
-                isSynopVirtual = (stations.synopStation().type() == StationType.VIRTUAL);
-                synopStationIdStr = stations.synopStation().stationId();
-                moonStationId = stations.synopStation().stationId();
-            }
+    /**
+     * Builds the cache key identifying the forecast for the resolved stations and request parameters.
+     *
+     * @param req the forecast request
+     * @param stations the nearest stations resolved for the request location
+     * @param targetHour the target time truncated to a full hour
+     * @return the key under which the forecast is cached
+     */
+    private ForecastCacheKey buildCacheKey(FishForecastRequestDto req, NearestStations stations, ZonedDateTime targetHour) {
+        return new ForecastCacheKey(
+                stations.synopStation() != null ? stations.synopStation().stationId() : null,
+                stations.synopStation() != null && stations.synopStation().type() == StationType.VIRTUAL,
+                stations.meteo() != null ? stations.meteo().stationId() : null,
+                stations.hydro() != null ? stations.hydro().stationId() : null,
+                targetHour.toInstant(),
+                req.targetFishSpeciesIds(),
+                req.ignoreHydro(),
+                req.ignoreMeteo()
+        );
+    }
 
-            CompletableFuture<List<HydroSnapshot>> hydroF = req.ignoreHydro()
-                    ? CompletableFuture.completedFuture(List.of())
-                    : hydroIntegrationService.fetchHydroTimeline(hydroId, req.targetTime());
+    /**
+     * Calculates the hourly bite index curve of the requested species over the whole history and
+     * forecast span loaded around the target time. The weather context is loaded once and all hours
+     * are scored by the engine in a single pass.
+     *
+     * @param req the request data containing the location, the target time around which the data
+     *            is loaded, the fish species identifiers and the data source flags
+     * @return a CompletableFuture containing the hourly bite index curve
+     */
+    @Override
+    public CompletableFuture<BiteCurve> calculateBiteCurve(FishForecastRequestDto req) {
+        log.info("Rozpoczęto wyliczanie krzywej brań dla lat: {}, lon: {}, cel czasowy: {}", req.lat(), req.lon(), req.targetTime());
 
-            CompletableFuture<List<MeteoSnapshot>> meteoF = req.ignoreMeteo()
-                    ? CompletableFuture.completedFuture(List.of())
-                    : meteoIntegrationService.fetchMeteoTimeline(meteoId, req.targetTime());
+        ZonedDateTime targetHour = req.targetTime().truncatedTo(ChronoUnit.HOURS);
 
-            String moonStationType = isSynopVirtual ? "VIRTUAL" : "SYNOP";
+        CompletableFuture<List<FishProfile>> profilesFuture = fishProfileIntegrationService
+                .fetchTargetProfiles(req.targetFishSpeciesIds());
 
-            CompletableFuture<List<MoonSnapshot>> moonF = moonIntegrationService
-                    .fetchMoonTimeline(moonStationId, moonStationType, req.targetTime());
+        return locationIntegrationService.findNearestStations(req.lat(), req.lon(), req.ignoreHydro())
+                .thenCompose(stations -> loadWeatherContext(req, stations, targetHour))
+                .thenCombine(profilesFuture, forecastEngine::calculateBiteCurveAsync)
+                .thenCompose(Function.identity());
+    }
 
-            CompletableFuture<List<SynopSnapshot>> synopF = synopIntegrationService
-                    .fetchSynopTimeline(synopStationIdStr, isSynopVirtual, req.targetTime());
+    /**
+     * Gathers the weather context and fish profiles for the resolved stations and runs the forecast engine.
+     *
+     * @param req the forecast request
+     * @param stations the nearest stations resolved for the request location
+     * @param targetHour the target time truncated to a full hour
+     * @return a CompletableFuture containing the computed forecast result
+     */
+    private CompletableFuture<GlobalForecastResult> computeForecast(FishForecastRequestDto req, NearestStations stations, ZonedDateTime targetHour) {
 
-            return CompletableFuture.allOf(hydroF, meteoF, moonF, synopF)
-                    .thenApply(v -> WeatherContext.builder()
-                            .hydroTimeline(hydroF.join())
-                            .meteoTimeline(meteoF.join())
-                            .moonTimeline(moonF.join())
-                            .synopTimeline(synopF.join())
-                            .build()
-                    );
-        });
+        CompletableFuture<List<FishProfile>> profilesFuture = fishProfileIntegrationService
+                .fetchTargetProfiles(req.targetFishSpeciesIds());
 
-        return weatherContextFuture.thenCombine(profilesFuture, (context, profiles) -> {
-            log.info("Zbudowano WeatherContext. Rozpoczynam kalkulacje w ForecastEngine...");
-            GlobalForecastResult result = forecastEngine.calculate(context, profiles, req.targetTime().toLocalDateTime()).join();
-            log.info("Zakończono kalkulacje! Wynik globalny (Bite Index): {}%", result.generalBiteIndex());
+        return loadWeatherContext(req, stations, targetHour)
+                .thenCombine(profilesFuture, (context, profiles) -> {
+                    log.info("Zbudowano WeatherContext. Rozpoczynam kalkulacje w ForecastEngine...");
+                    return forecastEngine.calculate(context, profiles, targetHour.toLocalDateTime());
+                })
+                .thenCompose(Function.identity())
+                .thenApply(result -> {
+                    log.info("Zakończono kalkulacje! Wynik globalny (Bite Index): {}%", result.generalBiteIndex());
+                    return result;
+                });
+    }
 
-            return new FishForecastResponseDto("SUCCESS", "Prognoza wędkarska została wygenerowana pomyślnie!", result);
-        });
+    /**
+     * Loads the hydrological, meteorological, lunar and synoptic timelines of the resolved stations
+     * in parallel and combines them into a single weather context.
+     *
+     * @param req the forecast request providing the data source flags
+     * @param stations the nearest stations resolved for the request location
+     * @param targetHour the target time truncated to a full hour
+     * @return a CompletableFuture containing the built weather context
+     */
+    private CompletableFuture<WeatherContext> loadWeatherContext(FishForecastRequestDto req, NearestStations stations, ZonedDateTime targetHour) {
+        Long hydroId = (stations.hydro() != null) ? Long.valueOf(stations.hydro().stationId()) : null;
+        Long meteoId = (stations.meteo() != null) ? Long.valueOf(stations.meteo().stationId()) : null;
+        String synopStationIdStr = null;
+        boolean isSynopVirtual = false;
+        String moonStationId = null;
+
+        if (stations.synopStation() != null) {
+            isSynopVirtual = (stations.synopStation().type() == StationType.VIRTUAL);
+            synopStationIdStr = stations.synopStation().stationId();
+            moonStationId = stations.synopStation().stationId();
+        }
+
+        CompletableFuture<List<HydroSnapshot>> hydroF = req.ignoreHydro()
+                ? CompletableFuture.completedFuture(List.of())
+                : hydroIntegrationService.fetchHydroTimeline(hydroId, targetHour);
+
+        CompletableFuture<List<MeteoSnapshot>> meteoF = req.ignoreMeteo()
+                ? CompletableFuture.completedFuture(List.of())
+                : meteoIntegrationService.fetchMeteoTimeline(meteoId, targetHour);
+
+        String moonStationType = isSynopVirtual ? "VIRTUAL" : "SYNOP";
+
+        CompletableFuture<List<MoonSnapshot>> moonF = moonIntegrationService
+                .fetchMoonTimeline(moonStationId, moonStationType, targetHour);
+
+        CompletableFuture<List<SynopSnapshot>> synopF = synopIntegrationService
+                .fetchSynopTimeline(synopStationIdStr, isSynopVirtual, targetHour);
+
+        return CompletableFuture.allOf(hydroF, meteoF, moonF, synopF)
+                .thenApply(v -> WeatherContext.builder()
+                        .hydroTimeline(hydroF.join())
+                        .meteoTimeline(meteoF.join())
+                        .moonTimeline(moonF.join())
+                        .synopTimeline(synopF.join())
+                        .build()
+                );
     }
-}
\ No newline at end of file
+}
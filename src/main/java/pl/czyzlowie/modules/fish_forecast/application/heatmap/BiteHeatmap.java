@@ -0,0 +1,82 @@
+package pl.czyzlowie.modules.fish_forecast.application.heatmap;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the precomputed national bite index grid for the upcoming hours.
+ *
+ * The grid is a regular latitude/longitude lattice covering Poland. Nodes are stored row by row,
+ * starting from the north-west corner: the node in row {@code r} and column {@code c} lies at
+ * latitude {@code north - r * step} and longitude {@code west + c * step}. Every hour holds one
+ * layer of {@code rows * cols} values in the range 0-100, where {@link #NO_DATA} marks nodes
+ * without any station data nearby.
+ *
+ * The layers are shared between readers and must not be modified once the heatmap is published.
+ *
+ * Components:
+ * - startHour: The full hour the first layer refers to.
+ * - north, south, west, east: The coordinates of the outermost grid nodes in decimal degrees.
+ * - step: The distance between neighbouring nodes in decimal degrees.
+ * - rows, cols: The dimensions of the grid.
+ * - layers: The bite index values of every hour, indexed [hour][row * cols + col].
+ */
+public record BiteHeatmap(
+        LocalDateTime startHour,
+        double north,
+        double south,
+        double west,
+        double east,
+        double step,
+        int rows,
+        int cols,
+        byte[][] layers
+) {
+
+    public static final byte NO_DATA = -1;
+
+    /**
+     * Creates a heatmap without any layers, used until the first computation completes.
+     *
+     * @return an empty heatmap
+     */
+    public static BiteHeatmap empty() {
+        return new BiteHeatmap(null, 0, 0, 0, 0, 0, 0, 0, new byte[0][]);
+    }
+
+    /**
+     * Returns the number of hourly layers held by the heatmap.
+     *
+     * @return the number of hours covered by the heatmap
+     */
+    public int hourCount() {
+        return layers.length;
+    }
+
+    /**
+     * Checks whether the heatmap holds no layers.
+     *
+     * @return true if no heatmap has been computed yet, otherwise false
+     */
+    public boolean isEmpty() {
+        return layers.length == 0;
+    }
+
+    /**
+     * Returns the grid values of the given hour converted to integers.
+     *
+     * @param hourOffset the number of hours after {@code startHour}
+     * @return a new array of {@code rows * cols} values in the range 0-100, or -1 for nodes without data
+     * @throws IllegalArgumentException if the offset is outside of the covered hours
+     */
+    public int[] layer(int hourOffset) {
+        if (hourOffset < 0 || hourOffset >= layers.length) {
+            throw new IllegalArgumentException("Brak warstwy mapy brań dla godziny: " + hourOffset);
+        }
+        byte[] source = layers[hourOffset];
+        int[] values = new int[source.length];
+        for (int i = 0; i < source.length; i++) {
+            values[i] = source[i];
+        }
+        return values;
+    }
+}
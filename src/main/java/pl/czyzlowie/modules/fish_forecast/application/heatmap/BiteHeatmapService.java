@@ -0,0 +1,235 @@
+package pl.czyzlowie.modules.fish_forecast.application.heatmap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import pl.czyzlowie.modules.barometer.entity.StationType;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.BiteCurve;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.ForecastEngine;
+import pl.czyzlowie.modules.fish_forecast.domain.model.FishProfile;
+import pl.czyzlowie.modules.fish_forecast.domain.model.WeatherContext;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.fish.FishProfileIntegrationService;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.moon.MoonIntegrationService;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.synop.SynopIntegrationService;
+import pl.czyzlowie.modules.location.enums.StationCategory;
+import pl.czyzlowie.modules.location.index.StationKdTree;
+import pl.czyzlowie.modules.location.index.StationPoint;
+import pl.czyzlowie.modules.location.service.LocationFinderService;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service responsible for precomputing the national bite index heatmap displayed on the map.
+ *
+ * The general biomass bite index is calculated for every synoptic and virtual station for each
+ * of the upcoming hours. Every station is scored with a single {@link ForecastEngine#calculateBiteCurve}
+ * pass over its indexed timelines, so the whole horizon costs one context load per station.
+ * The station values are then interpolated onto a regular grid covering Poland using inverse
+ * distance weighting over the nearest stations.
+ *
+ * Only synoptic and astronomical data are taken into account: hydrological and meteorological
+ * readings describe a single river or gauge and cannot be meaningfully spread over an area.
+ *
+ * The finished heatmap is published through an {@link AtomicReference}, so map requests always read
+ * a complete grid and never wait for a recomputation in progress.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BiteHeatmapService {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Warsaw");
+    private static final int HOURS = 72;
+    private static final double NORTH = 54.9;
+    private static final double SOUTH = 49.0;
+    private static final double WEST = 14.1;
+    private static final double EAST = 24.2;
+    private static final double STEP = 0.1;
+    private static final int NEIGHBOURS = 6;
+    private static final double MAX_DISTANCE_KM = 100.0;
+    private static final double MIN_DISTANCE_KM = 1.0;
+    private static final int BATCH_SIZE = 16;
+
+    private final LocationFinderService locationFinderService;
+    private final SynopIntegrationService synopIntegrationService;
+    private final MoonIntegrationService moonIntegrationService;
+    private final FishProfileIntegrationService fishProfileIntegrationService;
+    private final ForecastEngine forecastEngine;
+    private final AtomicReference<BiteHeatmap> heatmap = new AtomicReference<>(BiteHeatmap.empty());
+
+    /**
+     * Returns the most recently computed heatmap.
+     *
+     * @return the current heatmap, empty if no computation has completed yet
+     */
+    public BiteHeatmap getHeatmap() {
+        return heatmap.get();
+    }
+
+    /**
+     * Recomputes the heatmap for the upcoming hours starting from the current full hour and publishes
+     * it once complete. Stations are scored in small batches so that the job does not crowd out
+     * interactive forecast requests sharing the same data fetch bulkhead. Stations whose data could
+     * not be loaded are skipped.
+     */
+    public void recompute() {
+        List<StationPoint> stations = locationFinderService.getStations(StationCategory.SYNOPTIC);
+        if (stations.isEmpty()) {
+            log.warn("Brak stacji synoptycznych w pamięci. Pomijam przeliczanie mapy brań.");
+            return;
+        }
+
+        ZonedDateTime now = ZonedDateTime.now(ZONE).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime startHour = now.toLocalDateTime();
+        List<FishProfile> profiles = fishProfileIntegrationService.fetchTargetProfiles(List.of()).join();
+
+        List<StationPoint> scoredStations = new ArrayList<>(stations.size());
+        List<float[]> stationValues = new ArrayList<>(stations.size());
+
+        for (int from = 0; from < stations.size(); from += BATCH_SIZE) {
+            List<StationPoint> batch = stations.subList(from, Math.min(from + BATCH_SIZE, stations.size()));
+            List<CompletableFuture<float[]>> futures = batch.stream()
+                    .map(station -> scoreStation(station, profiles, now))
+                    .toList();
+
+            for (int i = 0; i < batch.size(); i++) {
+                float[] values = futures.get(i).join();
+                if (values != null) {
+                    scoredStations.add(batch.get(i));
+                    stationValues.add(values);
+                }
+            }
+        }
+
+        if (scoredStations.isEmpty()) {
+            log.warn("Nie udało się wyliczyć indeksu brań dla żadnej stacji. Mapa brań pozostaje bez zmian.");
+            return;
+        }
+
+        heatmap.set(interpolate(startHour, scoredStations, stationValues));
+        log.info("Przeliczono mapę brań od {}: {} z {} stacji, {} godzin",
+                startHour, scoredStations.size(), stations.size(), HOURS);
+    }
+
+    /**
+     * Loads the synoptic and lunar timelines of a single station and calculates its hourly general
+     * bite index for the upcoming hours.
+     *
+     * @param station the synoptic or virtual station to score
+     * @param profiles the general biomass profiles
+     * @param now the current full hour
+     * @return a CompletableFuture containing the bite index of every upcoming hour, with NaN for hours
+     * not covered by the station data, or {@code null} if the station data could not be loaded
+     */
+    private CompletableFuture<float[]> scoreStation(StationPoint station, List<FishProfile> profiles, ZonedDateTime now) {
+        boolean isVirtual = station.type() == StationType.VIRTUAL;
+
+        return synopIntegrationService.fetchSynopTimeline(station.id(), isVirtual, now)
+                .thenCombine(moonIntegrationService.fetchMoonTimeline(station.id(), isVirtual ? "VIRTUAL" : "SYNOP", now),
+                        (synop, moon) -> WeatherContext.builder()
+                                .synopTimeline(synop)
+                                .moonTimeline(moon)
+                                .hydroTimeline(List.of())
+                                .meteoTimeline(List.of())
+                                .build())
+                .thenCompose(context -> forecastEngine.calculateBiteCurveAsync(context, profiles))
+                .thenApply(curve -> toHourlyValues(curve, now.toLocalDateTime()))
+                .exceptionally(ex -> {
+                    log.warn("Błąd wyliczania indeksu brań dla stacji {} ({}): {}", station.id(), station.type(), ex.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Extracts the upcoming hours from a bite index curve. The curve covers consecutive full hours,
+     * so the value of a given hour is found by its offset from the first hour of the curve.
+     *
+     * @param curve the bite index curve of the station
+     * @param startHour the first hour to extract
+     * @return the bite index of every upcoming hour, with NaN for hours not covered by the curve
+     */
+    private float[] toHourlyValues(BiteCurve curve, LocalDateTime startHour) {
+        float[] values = new float[HOURS];
+        Arrays.fill(values, Float.NaN);
+        if (curve.hours().isEmpty()) {
+            return values;
+        }
+
+        long offset = ChronoUnit.HOURS.between(curve.hours().get(0), startHour);
+        for (int h = 0; h < HOURS; h++) {
+            long index = offset + h;
+            if (index >= 0 && index < curve.hours().size()) {
+                values[h] = curve.generalBiteIndex().get((int) index).floatValue();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Interpolates the station values onto the national grid using inverse distance weighting.
+     * The nearest stations of every node and their weights are resolved once and reused for all hours;
+     * stations without a value for a given hour are left out of that hour's weighted average.
+     *
+     * @param startHour the hour of the first layer
+     * @param stations the stations with computed values
+     * @param stationValues the hourly values of the stations, aligned with {@code stations}
+     * @return the interpolated heatmap
+     */
+    private BiteHeatmap interpolate(LocalDateTime startHour, List<StationPoint> stations, List<float[]> stationValues) {
+        StationKdTree tree = StationKdTree.build(stations);
+        int rows = (int) Math.round((NORTH - SOUTH) / STEP) + 1;
+        int cols = (int) Math.round((EAST - WEST) / STEP) + 1;
+        byte[][] layers = new byte[HOURS][rows * cols];
+
+        Map<StationPoint, float[]> valuesByStation = new HashMap<>(stations.size() * 2);
+        for (int i = 0; i < stations.size(); i++) {
+            valuesByStation.put(stations.get(i), stationValues.get(i));
+        }
+
+        for (int r = 0; r < rows; r++) {
+            double lat = NORTH - r * STEP;
+            for (int c = 0; c < cols; c++) {
+                double lon = WEST + c * STEP;
+                int cell = r * cols + c;
+
+                List<StationKdTree.Neighbour> neighbours = tree.kNearest(lat, lon, NEIGHBOURS).stream()
+                        .filter(n -> n.distanceKm() <= MAX_DISTANCE_KM)
+                        .toList();
+                float[][] values = new float[neighbours.size()][];
+                double[] weights = new double[neighbours.size()];
+                for (int i = 0; i < neighbours.size(); i++) {
+                    values[i] = valuesByStation.get(neighbours.get(i).station());
+                    double distance = Math.max(neighbours.get(i).distanceKm(), MIN_DISTANCE_KM);
+                    weights[i] = 1.0 / (distance * distance);
+                }
+
+                for (int h = 0; h < HOURS; h++) {
+                    double weightedSum = 0.0;
+                    double weightSum = 0.0;
+                    for (int i = 0; i < values.length; i++) {
+                        float value = values[i][h];
+                        if (!Float.isNaN(value)) {
+                            weightedSum += value * weights[i];
+                            weightSum += weights[i];
+                        }
+                    }
+                    layers[h][cell] = weightSum > 0.0
+                            ? (byte) Math.round(Math.clamp(weightedSum / weightSum, 0.0, 100.0))
+                            : BiteHeatmap.NO_DATA;
+                }
+            }
+        }
+
+        return new BiteHeatmap(startHour, NORTH, SOUTH, WEST, EAST, STEP, rows, cols, layers);
+    }
+}
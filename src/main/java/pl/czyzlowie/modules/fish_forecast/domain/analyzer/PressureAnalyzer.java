@@ -5,6 +5,7 @@ import pl.czyzlowie.modules.fish.entity.enums.FishCategory;
 import pl.czyzlowie.modules.fish.entity.enums.PressureTrend;
 import pl.czyzlowie.modules.fish_forecast.domain.model.FishProfile;
 import pl.czyzlowie.modules.fish_forecast.domain.model.SynopSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.Timeline;
 import pl.czyzlowie.modules.fish_forecast.domain.model.WeatherContext;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,6 +19,7 @@ public class PressureAnalyzer implements WeatherAnalyzer {
 
     private static final int TREND_WINDOW_HOURS = 12;
     private static final int MAX_ALLOWED_GAP_MINUTES = 120;
+    private static final String NO_SYNOP_DATA = "Brak bazy danych synoptycznych dla wybranego okresu.";
 
     /**
      * Analyzes the given weather context and fish profile to determine the barometric pressure trend,
@@ -31,31 +33,135 @@ public class PressureAnalyzer implements WeatherAnalyzer {
      */
     @Override
     public AnalyzerResult analyze(WeatherContext context, FishProfile profile, LocalDateTime targetTime) {
-        int weight = profile.params() != null && profile.params().getWeightPressure() != null
-                ? profile.params().getWeightPressure() : 50;
+        return evaluate(readPressure(context, targetTime), profile);
+    }
 
-        List<SynopSnapshot> timeline = context.synopTimeline();
-        if (timeline == null || timeline.isEmpty()) {
-            return buildEmptyResult(weight, "Brak bazy danych synoptycznych dla wybranego okresu.");
+    /**
+     * Scores all given profiles in a single pass. The pressure snapshots, their delta and the physical
+     * trend do not depend on the species, so they are derived once and shared by every profile.
+     *
+     * @param context the weather context containing synoptic data for analysis
+     * @param profiles the fish profiles to score
+     * @param targetTime the time for which the analysis should be performed
+     * @return the analysis results in the order of the given profiles
+     */
+    @Override
+    public List<AnalyzerResult> analyzeAll(WeatherContext context, List<FishProfile> profiles, LocalDateTime targetTime) {
+        return evaluateAll(readPressure(context, targetTime), profiles);
+    }
+
+    /**
+     * Scores all given profiles at every given time. The current and the lagged pressure snapshots are
+     * tracked by two forward-only timeline cursors, so the sliding 12-hour pressure delta is updated
+     * incrementally while walking the times instead of being looked up from scratch for each of them.
+     *
+     * @param context the weather context containing synoptic data for analysis
+     * @param profiles the fish profiles to score
+     * @param times the target times, in non-decreasing order
+     * @return the analysis results indexed first by time and then by profile
+     */
+    @Override
+    public List<List<AnalyzerResult>> analyzeSeries(WeatherContext context, List<FishProfile> profiles, List<LocalDateTime> times) {
+        Timeline<SynopSnapshot> timeline = context.synopIndex();
+        Timeline<SynopSnapshot>.Cursor current = timeline.cursor();
+        Timeline<SynopSnapshot>.Cursor past = timeline.cursor();
+
+        List<List<AnalyzerResult>> series = new ArrayList<>(times.size());
+        for (LocalDateTime time : times) {
+            PressureReading reading = timeline.isEmpty()
+                    ? PressureReading.missing(NO_SYNOP_DATA)
+                    : toReading(current.nearestWithin(time, MAX_ALLOWED_GAP_MINUTES),
+                                past.nearestWithin(time.minusHours(TREND_WINDOW_HOURS), MAX_ALLOWED_GAP_MINUTES));
+            series.add(evaluateAll(reading, profiles));
+        }
+        return series;
+    }
+
+    /**
+     * The species-independent part of the pressure analysis.
+     *
+     * @param missingDataReason the reason why no trend could be derived, or {@code null} if the reading is complete
+     * @param currentPressure the pressure closest to the target time in hPa
+     * @param deltaP the pressure change over the trend window in hPa
+     * @param physicalTrend the physical trend derived from the delta
+     */
+    private record PressureReading(String missingDataReason, double currentPressure, double deltaP,
+                                   pl.czyzlowie.modules.barometer.entity.PressureTrend physicalTrend) {
+
+        static PressureReading missing(String reason) {
+            return new PressureReading(reason, 0.0, 0.0, null);
+        }
+    }
+
+    /**
+     * Reads the current and past pressure from the synoptic timeline and derives the physical trend.
+     *
+     * @param context the weather context containing synoptic data for analysis
+     * @param targetTime the time for which the analysis should be performed
+     * @return the species-independent pressure reading
+     */
+    private PressureReading readPressure(WeatherContext context, LocalDateTime targetTime) {
+        Timeline<SynopSnapshot> timeline = context.synopIndex();
+        if (timeline.isEmpty()) {
+            return PressureReading.missing(NO_SYNOP_DATA);
         }
 
-        SynopSnapshot currentSnap = findClosestSnapshot(timeline, targetTime);
-        LocalDateTime pastTarget = targetTime.minusHours(TREND_WINDOW_HOURS);
-        SynopSnapshot pastSnap = findClosestSnapshot(timeline, pastTarget);
+        return toReading(timeline.nearestWithin(targetTime, MAX_ALLOWED_GAP_MINUTES),
+                timeline.nearestWithin(targetTime.minusHours(TREND_WINDOW_HOURS), MAX_ALLOWED_GAP_MINUTES));
+    }
 
-        if (!isValidSnapshot(currentSnap, targetTime) || !isValidSnapshot(pastSnap, pastTarget)) {
-            return buildEmptyResult(weight, "Zbyt duża luka w danych telemetrycznych, by wyliczyć trend.");
+    /**
+     * Derives the pressure delta and the physical trend from the current and the past snapshot.
+     *
+     * @param currentSnap the snapshot closest to the target time within the allowed gap, or null
+     * @param pastSnap the snapshot closest to the start of the trend window within the allowed gap, or null
+     * @return the species-independent pressure reading
+     */
+    private PressureReading toReading(SynopSnapshot currentSnap, SynopSnapshot pastSnap) {
+        if (!isValidSnapshot(currentSnap) || !isValidSnapshot(pastSnap)) {
+            return PressureReading.missing("Zbyt duża luka w danych telemetrycznych, by wyliczyć trend.");
         }
 
         double currentPressure = currentSnap.pressure().doubleValue();
-        double pastPressure = pastSnap.pressure().doubleValue();
-        double deltaP = currentPressure - pastPressure;
+        double deltaP = currentPressure - pastSnap.pressure().doubleValue();
 
-        pl.czyzlowie.modules.barometer.entity.PressureTrend physicalTrend = calculatePhysicalTrend(deltaP);
-        double score = calculateScore(physicalTrend, currentPressure, profile);
+        return new PressureReading(null, currentPressure, deltaP, calculatePhysicalTrend(deltaP));
+    }
 
-        String dominantFactor = generateDominantFactor(physicalTrend, deltaP, currentPressure);
-        List<String> tackleTips = generateTackleTips(physicalTrend, profile);
+    /**
+     * Scores every given profile against the same pressure reading.
+     *
+     * @param reading the species-independent pressure reading
+     * @param profiles the fish profiles to score
+     * @return the analysis results in the order of the given profiles
+     */
+    private List<AnalyzerResult> evaluateAll(PressureReading reading, List<FishProfile> profiles) {
+        List<AnalyzerResult> results = new ArrayList<>(profiles.size());
+        for (FishProfile profile : profiles) {
+            results.add(evaluate(reading, profile));
+        }
+        return results;
+    }
+
+    /**
+     * Scores a single fish profile against a prepared pressure reading.
+     *
+     * @param reading the species-independent pressure reading
+     * @param profile the fish profile containing parameters relevant for analysis
+     * @return the analysis result for the profile
+     */
+    private AnalyzerResult evaluate(PressureReading reading, FishProfile profile) {
+        int weight = profile.params() != null && profile.params().getWeightPressure() != null
+                ? profile.params().getWeightPressure() : 50;
+
+        if (reading.missingDataReason() != null) {
+            return buildEmptyResult(weight, reading.missingDataReason());
+        }
+
+        double score = calculateScore(reading.physicalTrend(), reading.currentPressure(), profile);
+
+        String dominantFactor = generateDominantFactor(reading.physicalTrend(), reading.deltaP(), reading.currentPressure());
+        List<String> tackleTips = generateTackleTips(reading.physicalTrend(), profile);
 
         return AnalyzerResult.builder()
                 .analyzerName("BarometricPressure")
@@ -68,16 +174,13 @@ public class PressureAnalyzer implements WeatherAnalyzer {
 
     /**
      * Validates whether a given synoptic weather data snapshot is acceptable for analysis
-     * based on its pressure value and the time difference relative to a target timestamp.
+     * based on its pressure value. The allowed time gap is already enforced by the timeline lookup.
      *
-     * @param snap   The synoptic weather data snapshot to validate. Must not be null, and
-     *               its pressure property must not be null.
-     * @param target The target timestamp to compare with the snapshot's timestamp.
+     * @param snap   The synoptic weather data snapshot to validate, or null if none was found
+     *               within the allowed time gap.
      * @return true if the snapshot is valid*/
-    private boolean isValidSnapshot(SynopSnapshot snap, LocalDateTime target) {
-        if (snap == null || snap.pressure() == null) return false;
-        long diff = Math.abs(java.time.Duration.between(snap.timestamp(), target).toMinutes());
-        return diff <= MAX_ALLOWED_GAP_MINUTES;
+    private boolean isValidSnapshot(SynopSnapshot snap) {
+        return snap != null && snap.pressure() != null;
     }
 
     /**
@@ -234,27 +337,6 @@ public class PressureAnalyzer implements WeatherAnalyzer {
         };
     }
 
-    /**
-     * Finds the closest synoptic weather data snapshot to the specified target time from a given timeline.
-     * The method calculates the time difference between the target timestamp and each snapshot's timestamp,
-     * and selects the snapshot with the smallest difference.
-     *
-     * @param timeline A list of {@code SynopSnapshot} objects representing the timeline of weather data snapshots.
-     *                 Must not be null but can be empty.
-     * @param target   The target {@code LocalDateTime} for which the closest snapshot should be found.
-     *                 Must not be null.
-     * @return The {@code SynopSnapshot} closest to the target timestamp, or {@code null} if the timeline is empty.
-     */
-    private SynopSnapshot findClosestSnapshot(List<SynopSnapshot> timeline, LocalDateTime target) {
-        return timeline.stream()
-                .min((a, b) -> {
-                    long diffA = Math.abs(java.time.Duration.between(a.timestamp(), target).toMinutes());
-                    long diffB = Math.abs(java.time.Duration.between(b.timestamp(), target).toMinutes());
-                    return Long.compare(diffA, diffB);
-                })
-                .orElse(null);
-    }
-
     /**
      * Constructs an instance of {@code AnalyzerResult} with default values for an empty analysis result.
      * The result includes a fixed analyzer name, score, the specified weight, and dominant factor message,
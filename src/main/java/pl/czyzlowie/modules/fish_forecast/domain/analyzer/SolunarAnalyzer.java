@@ -36,17 +36,55 @@ public class SolunarAnalyzer implements WeatherAnalyzer {
      */
     @Override
     public AnalyzerResult analyze(WeatherContext context, FishProfile profile, LocalDateTime targetTime) {
-        List<MoonSnapshot> timeline = context.moonTimeline();
-        if (timeline == null || timeline.isEmpty()) {
-            return buildEmptyResult();
+        return evaluate(findMoonData(context, targetTime), profile, targetTime);
+    }
+
+    /**
+     * Scores all given profiles in a single pass, looking up the astronomical data of the target
+     * day only once and sharing it by every profile.
+     *
+     * @param context the weather context containing information such as the moon timeline
+     * @param profiles the fish profiles to score
+     * @param targetTime the target date and time for the analysis
+     * @return the analysis results in the order of the given profiles
+     */
+    @Override
+    public List<AnalyzerResult> analyzeAll(WeatherContext context, List<FishProfile> profiles, LocalDateTime targetTime) {
+        MoonSnapshot moonData = findMoonData(context, targetTime);
+
+        List<AnalyzerResult> results = new ArrayList<>(profiles.size());
+        for (FishProfile profile : profiles) {
+            results.add(evaluate(moonData, profile, targetTime));
         }
+        return results;
+    }
 
+    /**
+     * Finds the astronomical data of the day of the target time.
+     *
+     * @param context the weather context containing the moon timeline
+     * @param targetTime the target date and time for the analysis
+     * @return the snapshot of the target day, or {@code null} if it is missing
+     */
+    private MoonSnapshot findMoonData(WeatherContext context, LocalDateTime targetTime) {
         LocalDate targetDate = targetTime.toLocalDate();
-        MoonSnapshot moonData = timeline.stream()
-                .filter(m -> m.date().equals(targetDate))
-                .findFirst()
-                .orElse(null);
+        for (MoonSnapshot snapshot : context.moonTimeline()) {
+            if (targetDate.equals(snapshot.date())) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
 
+    /**
+     * Scores a single fish profile against the astronomical data of the target day.
+     *
+     * @param moonData the astronomical data of the target day, or {@code null} if it is missing
+     * @param profile the fish profile including species-specific data and preferences
+     * @param targetTime the target date and time for the analysis
+     * @return the analysis result for the profile
+     */
+    private AnalyzerResult evaluate(MoonSnapshot moonData, FishProfile profile, LocalDateTime targetTime) {
         if (moonData == null) {
             return buildEmptyResult();
         }
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 import pl.czyzlowie.modules.fish.entity.enums.WaterLevelTrend;
 import pl.czyzlowie.modules.fish_forecast.domain.model.FishProfile;
 import pl.czyzlowie.modules.fish_forecast.domain.model.HydroSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.Timeline;
 import pl.czyzlowie.modules.fish_forecast.domain.model.WeatherContext;
 
 import java.math.BigDecimal;
@@ -44,6 +45,106 @@ public class WaterThermalAnalyzer implements WeatherAnalyzer {
      */
     @Override
     public AnalyzerResult analyze(WeatherContext context, FishProfile profile, LocalDateTime targetTime) {
+        return evaluate(readHydro(context, targetTime), profile);
+    }
+
+    /**
+     * Scores all given profiles in a single pass. The hydrological snapshots, the water level delta
+     * and its physical trend do not depend on the species, so they are derived once and shared.
+     *
+     * @param context The weather context containing hydrographic data and related information.
+     * @param profiles The fish profiles to score.
+     * @param targetTime The time for which the conditions are analyzed.
+     * @return The analysis results in the order of the given profiles.
+     */
+    @Override
+    public List<AnalyzerResult> analyzeAll(WeatherContext context, List<FishProfile> profiles, LocalDateTime targetTime) {
+        return evaluateAll(readHydro(context, targetTime), profiles);
+    }
+
+    /**
+     * Scores all given profiles at every given time. The current and the lagged hydrological snapshots
+     * are tracked by two forward-only timeline cursors, so the sliding 24-hour water level delta is
+     * updated incrementally while walking the times instead of being looked up from scratch.
+     *
+     * @param context The weather context containing hydrographic data and related information.
+     * @param profiles The fish profiles to score.
+     * @param times The target times, in non-decreasing order.
+     * @return The analysis results indexed first by time and then by profile.
+     */
+    @Override
+    public List<List<AnalyzerResult>> analyzeSeries(WeatherContext context, List<FishProfile> profiles, List<LocalDateTime> times) {
+        Timeline<HydroSnapshot>.Cursor current = context.hydroIndex().cursor();
+        Timeline<HydroSnapshot>.Cursor past = context.hydroIndex().cursor();
+
+        List<List<AnalyzerResult>> series = new ArrayList<>(times.size());
+        for (LocalDateTime time : times) {
+            HydroReading reading = toReading(current.nearest(time), past.nearest(time.minusHours(TREND_WINDOW_HOURS)));
+            series.add(evaluateAll(reading, profiles));
+        }
+        return series;
+    }
+
+    /**
+     * The species-independent part of the water analysis.
+     *
+     * @param currentSnap the hydrological snapshot closest to the target time, or {@code null} if there is none
+     * @param levelTrendKnown whether both snapshots report a water level, so the trend could be derived
+     * @param deltaH the water level change over the trend window in centimeters
+     * @param physicalTrend the physical water level trend derived from the delta
+     */
+    private record HydroReading(HydroSnapshot currentSnap, boolean levelTrendKnown, double deltaH, WaterLevelTrend physicalTrend) {}
+
+    /**
+     * Reads the current and past hydrological snapshots and derives the water level trend.
+     *
+     * @param context The weather context containing hydrographic data and related information.
+     * @param targetTime The time for which the conditions are analyzed.
+     * @return The species-independent hydrological reading.
+     */
+    private HydroReading readHydro(WeatherContext context, LocalDateTime targetTime) {
+        Timeline<HydroSnapshot> timeline = context.hydroIndex();
+        return toReading(timeline.nearest(targetTime), timeline.nearest(targetTime.minusHours(TREND_WINDOW_HOURS)));
+    }
+
+    /**
+     * Derives the water level delta and its physical trend from the current and the past snapshot.
+     *
+     * @param currentSnap The snapshot closest to the target time, or {@code null} if there is none.
+     * @param pastSnap The snapshot closest to the start of the trend window, or {@code null} if there is none.
+     * @return The species-independent hydrological reading.
+     */
+    private HydroReading toReading(HydroSnapshot currentSnap, HydroSnapshot pastSnap) {
+        if (currentSnap != null && pastSnap != null && currentSnap.waterLevel() != null && pastSnap.waterLevel() != null) {
+            double deltaH = currentSnap.waterLevel() - pastSnap.waterLevel();
+            return new HydroReading(currentSnap, true, deltaH, calculateLevelTrend(deltaH));
+        }
+        return new HydroReading(currentSnap, false, 0.0, WaterLevelTrend.STABLE);
+    }
+
+    /**
+     * Scores every given profile against the same hydrological reading.
+     *
+     * @param reading The species-independent hydrological reading.
+     * @param profiles The fish profiles to score.
+     * @return The analysis results in the order of the given profiles.
+     */
+    private List<AnalyzerResult> evaluateAll(HydroReading reading, List<FishProfile> profiles) {
+        List<AnalyzerResult> results = new ArrayList<>(profiles.size());
+        for (FishProfile profile : profiles) {
+            results.add(evaluate(reading, profile));
+        }
+        return results;
+    }
+
+    /**
+     * Scores a single fish profile against a prepared hydrological reading.
+     *
+     * @param reading The species-independent hydrological reading.
+     * @param profile The fish profile containing species-specific parameters and preferences.
+     * @return The analysis result for the profile.
+     */
+    private AnalyzerResult evaluate(HydroReading reading, FishProfile profile) {
         int weightTemp = profile.params() != null && profile.params().getWeightWaterTemp() != null
                 ? profile.params().getWeightWaterTemp() : 50;
         int weightLevel = profile.params() != null && profile.params().getWeightWaterLevel() != null
@@ -51,14 +152,7 @@ public class WaterThermalAnalyzer implements WeatherAnalyzer {
 
         int totalWeight = (weightTemp + weightLevel) / 2;
 
-        List<HydroSnapshot> timeline = context.hydroTimeline();
-        if (timeline == null || timeline.isEmpty()) {
-            return buildEmptyResult(totalWeight);
-        }
-
-        HydroSnapshot currentSnap = findClosestSnapshot(timeline, targetTime);
-        HydroSnapshot pastSnap = findClosestSnapshot(timeline, targetTime.minusHours(TREND_WINDOW_HOURS));
-
+        HydroSnapshot currentSnap = reading.currentSnap();
         if (currentSnap == null) {
             return buildEmptyResult(totalWeight);
         }
@@ -70,20 +164,12 @@ public class WaterThermalAnalyzer implements WeatherAnalyzer {
         }
 
         double tempScore = calculateThermalScore(currentSnap, profile);
-        double levelScore = 50.0;
-        WaterLevelTrend physicalTrend = WaterLevelTrend.STABLE;
-        double deltaH = 0.0;
-
-        if (pastSnap != null && currentSnap.waterLevel() != null && pastSnap.waterLevel() != null) {
-            deltaH = currentSnap.waterLevel() - pastSnap.waterLevel();
-            physicalTrend = calculateLevelTrend(deltaH);
-            levelScore = calculateLevelScore(physicalTrend, profile);
-        }
+        double levelScore = reading.levelTrendKnown() ? calculateLevelScore(reading.physicalTrend(), profile) : 50.0;
 
         double finalScore = ((tempScore * weightTemp) + (levelScore * weightLevel)) / Math.max(1, (weightTemp + weightLevel));
 
-        String dominantFactor = generateDominantFactor(currentSnap.waterTemperature(), physicalTrend, deltaH);
-        List<String> tackleTips = generateTacticalTips(currentSnap.waterTemperature(), physicalTrend, profile);
+        String dominantFactor = generateDominantFactor(currentSnap.waterTemperature(), reading.physicalTrend(), reading.deltaH());
+        List<String> tackleTips = generateTacticalTips(currentSnap.waterTemperature(), reading.physicalTrend(), profile);
 
         return AnalyzerResult.builder()
                 .analyzerName("WaterAndThermal")
@@ -243,25 +329,6 @@ public class WaterThermalAnalyzer implements WeatherAnalyzer {
         return String.format("Temp. wody: %s | Stan wody: %s", tempStr, trendStr);
     }
 
-    /**
-     * Finds the closest hydrological snapshot in the given timeline to the specified target time.
-     * The method calculates the absolute time difference between the target and each snapshot,
-     * selecting the snapshot with the smallest difference.
-     *
-     * @param timeline A list of {@code HydroSnapshot} objects representing the timeline of hydrological data.
-     * @param target The target {@code LocalDateTime} to which the closest snapshot is determined.
-     * @return The {@code HydroSnapshot} closest to the target time, or {@code null} if the timeline is empty.
-     */
-    private HydroSnapshot findClosestSnapshot(List<HydroSnapshot> timeline, LocalDateTime target) {
-        return timeline.stream()
-                .min((a, b) -> {
-                    long diffA = Math.abs(java.time.Duration.between(a.timestamp(), target).toMinutes());
-                    long diffB = Math.abs(java.time.Duration.between(b.timestamp(), target).toMinutes());
-                    return Long.compare(diffA, diffB);
-                })
-                .orElse(null);
-    }
-
     /**
      * Builds an empty analysis result instance for the Water and Thermal analyzer.
      * This result is used in cases where insufficient sensor data is available
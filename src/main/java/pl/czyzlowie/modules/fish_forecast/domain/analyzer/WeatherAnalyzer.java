@@ -4,6 +4,8 @@ import pl.czyzlowie.modules.fish_forecast.domain.model.FishProfile;
 import pl.czyzlowie.modules.fish_forecast.domain.model.WeatherContext;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Analyzes weather context and fish profiling information to provide predictions
@@ -14,4 +16,40 @@ import java.time.LocalDateTime;
  */
 public interface WeatherAnalyzer {
     AnalyzerResult analyze(WeatherContext context, FishProfile profile, LocalDateTime targetTime);
+
+    /**
+     * Scores all given profiles against the same weather context in a single call on the caller thread.
+     * Implementations override this method to derive the species-independent part of the analysis
+     * (such as the current snapshot or a trend) only once and share it by every profile.
+     *
+     * @param context the weather context to analyze
+     * @param profiles the fish profiles to score
+     * @param targetTime the time for which the analysis should be performed
+     * @return the analysis results in the order of the given profiles
+     */
+    default List<AnalyzerResult> analyzeAll(WeatherContext context, List<FishProfile> profiles, LocalDateTime targetTime) {
+        List<AnalyzerResult> results = new ArrayList<>(profiles.size());
+        for (FishProfile profile : profiles) {
+            results.add(analyze(context, profile, targetTime));
+        }
+        return results;
+    }
+
+    /**
+     * Scores all given profiles at every given time against the same weather context in a single pass.
+     * Implementations override this method to update their time-dependent readings incrementally while
+     * walking the timeline, instead of looking them up from scratch for every time.
+     *
+     * @param context the weather context to analyze
+     * @param profiles the fish profiles to score
+     * @param times the target times, in non-decreasing order
+     * @return the analysis results indexed first by time and then by profile
+     */
+    default List<List<AnalyzerResult>> analyzeSeries(WeatherContext context, List<FishProfile> profiles, List<LocalDateTime> times) {
+        List<List<AnalyzerResult>> series = new ArrayList<>(times.size());
+        for (LocalDateTime time : times) {
+            series.add(analyzeAll(context, profiles, time));
+        }
+        return series;
+    }
 }
@@ -3,6 +3,7 @@ package pl.czyzlowie.modules.fish_forecast.domain.analyzer;
 import org.springframework.stereotype.Component;
 import pl.czyzlowie.modules.fish_forecast.domain.model.FishProfile;
 import pl.czyzlowie.modules.fish_forecast.domain.model.SynopSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.Timeline;
 import pl.czyzlowie.modules.fish_forecast.domain.model.WeatherContext;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -33,15 +34,69 @@ public class WindStealthAnalyzer implements WeatherAnalyzer {
      */
     @Override
     public AnalyzerResult analyze(WeatherContext context, FishProfile profile, LocalDateTime targetTime) {
-        int weight = profile.params() != null && profile.params().getWeightWind() != null
-                ? profile.params().getWeightWind() : 30;
+        return evaluate(context.synopIndex().nearest(targetTime), profile);
+    }
 
-        List<SynopSnapshot> timeline = context.synopTimeline();
-        if (timeline == null || timeline.isEmpty()) {
-            return buildEmptyResult(weight);
+    /**
+     * Scores all given profiles in a single pass, looking up the synoptic snapshot closest
+     * to the target time only once and sharing it by every profile.
+     *
+     * @param context The {@code WeatherContext} object that contains weather data.
+     * @param profiles The fish profiles to score.
+     * @param targetTime The target timestamp for which the analysis should be conducted.
+     * @return The analysis results in the order of the given profiles.
+     */
+    @Override
+    public List<AnalyzerResult> analyzeAll(WeatherContext context, List<FishProfile> profiles, LocalDateTime targetTime) {
+        return evaluateAll(context.synopIndex().nearest(targetTime), profiles);
+    }
+
+    /**
+     * Scores all given profiles at every given time, tracking the current synoptic snapshot
+     * with a forward-only timeline cursor while walking the times.
+     *
+     * @param context The {@code WeatherContext} object that contains weather data.
+     * @param profiles The fish profiles to score.
+     * @param times The target times, in non-decreasing order.
+     * @return The analysis results indexed first by time and then by profile.
+     */
+    @Override
+    public List<List<AnalyzerResult>> analyzeSeries(WeatherContext context, List<FishProfile> profiles, List<LocalDateTime> times) {
+        Timeline<SynopSnapshot>.Cursor cursor = context.synopIndex().cursor();
+
+        List<List<AnalyzerResult>> series = new ArrayList<>(times.size());
+        for (LocalDateTime time : times) {
+            series.add(evaluateAll(cursor.nearest(time), profiles));
         }
+        return series;
+    }
+
+    /**
+     * Scores every given profile against the same synoptic snapshot.
+     *
+     * @param currentSnap The synoptic snapshot closest to the target time, or {@code null} if there is none.
+     * @param profiles The fish profiles to score.
+     * @return The analysis results in the order of the given profiles.
+     */
+    private List<AnalyzerResult> evaluateAll(SynopSnapshot currentSnap, List<FishProfile> profiles) {
+        List<AnalyzerResult> results = new ArrayList<>(profiles.size());
+        for (FishProfile profile : profiles) {
+            results.add(evaluate(currentSnap, profile));
+        }
+        return results;
+    }
+
+    /**
+     * Scores a single fish profile against the synoptic snapshot closest to the target time.
+     *
+     * @param currentSnap The synoptic snapshot closest to the target time, or {@code null} if there is none.
+     * @param profile The {@code FishProfile} object that contains parameters for evaluating fishing conditions.
+     * @return The analysis result for the profile.
+     */
+    private AnalyzerResult evaluate(SynopSnapshot currentSnap, FishProfile profile) {
+        int weight = profile.params() != null && profile.params().getWeightWind() != null
+                ? profile.params().getWeightWind() : 30;
 
-        SynopSnapshot currentSnap = findClosestSnapshot(timeline, targetTime);
         if (currentSnap == null) {
             return buildEmptyResult(weight);
         }
@@ -152,25 +207,6 @@ public class WindStealthAnalyzer implements WeatherAnalyzer {
         return "Zmienny";
     }
 
-    /**
-     * Finds the snapshot in the timeline that is closest in time to the specified target timestamp.
-     *
-     * @param timeline A list of {@code SynopSnapshot} objects representing the timeline of weather data.
-     *                 Each snapshot contains weather data and a timestamp.
-     * @param target   The target {@code LocalDateTime} for which the closest snapshot is to be found.
-     * @return         The {@code SynopSnapshot} that is temporally closest to the target timestamp,
-     *                 or {@code null} if the timeline is empty.
-     */
-    private SynopSnapshot findClosestSnapshot(List<SynopSnapshot> timeline, LocalDateTime target) {
-        return timeline.stream()
-                .min((a, b) -> {
-                    long diffA = Math.abs(java.time.Duration.between(a.timestamp(), target).toMinutes());
-                    long diffB = Math.abs(java.time.Duration.between(b.timestamp(), target).toMinutes());
-                    return Long.compare(diffA, diffB);
-                })
-                .orElse(null);
-    }
-
     /**
      * Constructs an {@code AnalyzerResult} with predefined properties representing an empty or default analysis result.
      * This result is used when there is insufficient data regarding factors such as wind and cloud cover.
@@ -0,0 +1,31 @@
+package pl.czyzlowie.modules.fish_forecast.domain.engine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Represents the hourly bite index curve computed over the whole weather timeline of a location.
+ *
+ * All lists are aligned by index: the n-th value of {@code generalBiteIndex} and of every species
+ * curve refers to the n-th entry of {@code hours}.
+ *
+ * Components:
+ * - hours: The full hours covered by the curve, in chronological order.
+ * - generalBiteIndex: The average bite index of all scored species for each hour.
+ * - species: The bite index curve of every scored species.
+ */
+public record BiteCurve(
+        List<LocalDateTime> hours,
+        List<Double> generalBiteIndex,
+        List<SpeciesBiteCurve> species
+) {
+
+    /**
+     * Creates a curve without any hours, used when no synoptic data is available.
+     *
+     * @return an empty bite index curve
+     */
+    public static BiteCurve empty() {
+        return new BiteCurve(List.of(), List.of(), List.of());
+    }
+}
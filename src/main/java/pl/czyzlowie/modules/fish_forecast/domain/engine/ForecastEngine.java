@@ -2,6 +2,7 @@ package pl.czyzlowie.modules.fish_forecast.domain.engine;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import pl.czyzlowie.modules.fish_forecast.domain.analyzer.*;
 import pl.czyzlowie.modules.fish_forecast.domain.model.*;
@@ -9,12 +10,12 @@ import pl.czyzlowie.modules.fish_forecast.domain.model.*;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.function.Function;
 
 /**
  * The ForecastEngine class provides functionality to analyze and generate weather forecasts,
@@ -27,19 +28,21 @@ import java.util.function.Function;
  * - waterThermalAnalyzer: Analyzes water temperature and hydrological data for forecasting purposes.
  * - solunarAnalyzer: Analyzes solunar activity for fishing-related insights.
  * - windStealthAnalyzer: Analyzes wind-related data, focusing on stealth impacts for angling.
- * - executor: An Executor instance used for asynchronous task execution.
+ * - executor: An Executor instance used for scoring large profile sets in parallel batches.
+ * - parallelThreshold: The profile count above which scoring is split into parallel batches.
  * - log: Logger instance for logging messages and system events.
  *
  * Constructors:
  * - ForecastEngine: Initializes the ForecastEngine with specific analyzers and an executor instance.
  *
  * Methods:
- * - calculate: Calculates a global forecast result asynchronously based on weather context, fish profiles, and a target time.
- * - calculateForProfileAsync: Asynchronously calculates a tactical report for a given fish profile.
+ * - calculate: Calculates a global forecast result based on weather context, fish profiles, and a target time.
+ * - calculateBiteCurve: Calculates the hourly bite index of every species over the whole loaded timeline.
+ * - scoreBatch: Scores a batch of fish profiles with all analyzers in a single pass on the current thread.
  * - compileTacticalReport: Compiles a tactical fishing report for a specific species, considering environmental conditions and analysis results.
  * - buildGlobalResult: Builds a global forecast result by analyzing weather context and tactical reports.
+ * - combineScores: Combines the analyzer results into a single weighted score.
  * - scoreRounding: Rounds a numeric score value to one decimal place.
- * - findClosest: Finds the closest element in a timeline to a given target time using a custom time extractor.
  * - generateChart: Generates a list of chart data points based on the given timeline and type, such as pressure or temperature.
  * - calculatePressureLevel: Calculates the pressure level for a specific target time, providing a string result.
  */
@@ -52,23 +55,31 @@ public class ForecastEngine {
     private final SolunarAnalyzer solunarAnalyzer;
     private final WindStealthAnalyzer windStealthAnalyzer;
     private final Executor executor;
+    private final int parallelThreshold;
 
     public ForecastEngine(
             PressureAnalyzer pressureAnalyzer,
             WaterThermalAnalyzer waterThermalAnalyzer,
             SolunarAnalyzer solunarAnalyzer,
             WindStealthAnalyzer windStealthAnalyzer,
-            @Qualifier("dataFetchExecutor") Executor executor) {
+            @Qualifier("forecastComputeExecutor") Executor executor,
+            @Value("${fish-forecast.engine.parallel-threshold:32}") int parallelThreshold) {
         this.pressureAnalyzer = pressureAnalyzer;
         this.waterThermalAnalyzer = waterThermalAnalyzer;
         this.solunarAnalyzer = solunarAnalyzer;
         this.windStealthAnalyzer = windStealthAnalyzer;
         this.executor = executor;
+        this.parallelThreshold = Math.max(1, parallelThreshold);
     }
 
     /**
      * Calculates a global forecast result based on the provided weather context, fish profiles, and target time.
      *
+     * The analyzers are pure CPU work, so the calculation always runs on the bounded forecast compute executor
+     * and never on the calling thread, which is typically an I/O thread that has just finished loading the data.
+     * All profiles are scored in a single batch; only when the number of profiles exceeds
+     * {@code fish-forecast.engine.parallel-threshold} are they split into batches of that size and scored in parallel.
+     *
      * @param context The weather context containing environmental and situational data for the calculation.
      * @param profiles A list of fish profiles, each representing species-specific information required for the forecast.
      * @param targetTime The target date and time for which the forecast is being calculated.
@@ -77,14 +88,21 @@ public class ForecastEngine {
     public CompletableFuture<GlobalForecastResult> calculate(WeatherContext context, List<FishProfile> profiles, LocalDateTime targetTime) {
         log.info("Inicjalizacja silnika telemetrycznego dla {} profili.", profiles.size());
 
-        List<CompletableFuture<SpeciesTacticalReport>> reportFutures = profiles.stream()
-                .map(profile -> calculateForProfileAsync(context, profile, targetTime))
-                .toList();
+        if (profiles.size() <= parallelThreshold) {
+            return CompletableFuture.supplyAsync(
+                    () -> buildGlobalResult(context, scoreBatch(context, profiles, targetTime), targetTime), executor);
+        }
 
-        return CompletableFuture.allOf(reportFutures.toArray(new CompletableFuture[0]))
+        List<CompletableFuture<List<SpeciesTacticalReport>>> batchFutures = new ArrayList<>();
+        for (int from = 0; from < profiles.size(); from += parallelThreshold) {
+            List<FishProfile> batch = profiles.subList(from, Math.min(from + parallelThreshold, profiles.size()));
+            batchFutures.add(CompletableFuture.supplyAsync(() -> scoreBatch(context, batch, targetTime), executor));
+        }
+
+        return CompletableFuture.allOf(batchFutures.toArray(new CompletableFuture[0]))
                 .thenApply(v -> {
-                    List<SpeciesTacticalReport> reports = reportFutures.stream()
-                            .map(CompletableFuture::join)
+                    List<SpeciesTacticalReport> reports = batchFutures.stream()
+                            .flatMap(future -> future.join().stream())
                             .toList();
 
                     return buildGlobalResult(context, reports, targetTime);
@@ -92,22 +110,100 @@ public class ForecastEngine {
     }
 
     /**
-     * Asynchronously calculates a tactical report for a given fish profile based on weather conditions and other factors.
+     * Calculates the hourly bite index curve on the forecast compute executor.
+     *
+     * @param context the weather context containing the loaded timelines
+     * @param profiles the fish profiles to score
+     * @return a CompletableFuture containing the hourly bite index curve
+     * @see #calculateBiteCurve(WeatherContext, List)
+     */
+    public CompletableFuture<BiteCurve> calculateBiteCurveAsync(WeatherContext context, List<FishProfile> profiles) {
+        return CompletableFuture.supplyAsync(() -> calculateBiteCurve(context, profiles), executor);
+    }
+
+    /**
+     * Calculates the hourly bite index of every profile for each full hour covered by the synoptic
+     * timeline of the context, that is the whole history and forecast span loaded for the location.
+     *
+     * All hours are scored in a single pass over the same context: every analyzer walks the timeline
+     * once with forward-only cursors, so sliding-window trends such as the 12-hour pressure delta or
+     * the 24-hour water level delta are updated incrementally from one hour to the next.
+     *
+     * @param context the weather context containing the loaded timelines
+     * @param profiles the fish profiles to score
+     * @return the hourly bite index curve, or an empty curve if there is no synoptic data
+     */
+    public BiteCurve calculateBiteCurve(WeatherContext context, List<FishProfile> profiles) {
+        List<SynopSnapshot> synopTimeline = context.synopTimeline();
+        if (synopTimeline.isEmpty()) {
+            return BiteCurve.empty();
+        }
+
+        LocalDateTime first = synopTimeline.get(0).timestamp();
+        LocalDateTime last = synopTimeline.get(synopTimeline.size() - 1).timestamp();
+        LocalDateTime hour = first.truncatedTo(ChronoUnit.HOURS);
+        if (hour.isBefore(first)) {
+            hour = hour.plusHours(1);
+        }
+
+        List<LocalDateTime> hours = new ArrayList<>();
+        for (; !hour.isAfter(last); hour = hour.plusHours(1)) {
+            hours.add(hour);
+        }
+
+        List<List<AnalyzerResult>> pressure = pressureAnalyzer.analyzeSeries(context, profiles, hours);
+        List<List<AnalyzerResult>> thermal = waterThermalAnalyzer.analyzeSeries(context, profiles, hours);
+        List<List<AnalyzerResult>> solunar = solunarAnalyzer.analyzeSeries(context, profiles, hours);
+        List<List<AnalyzerResult>> wind = windStealthAnalyzer.analyzeSeries(context, profiles, hours);
+
+        double[][] scores = new double[profiles.size()][hours.size()];
+        List<Double> general = new ArrayList<>(hours.size());
+
+        for (int t = 0; t < hours.size(); t++) {
+            double sum = 0.0;
+            for (int i = 0; i < profiles.size(); i++) {
+                double score = scoreRounding(combineScores(pressure.get(t).get(i), thermal.get(t).get(i),
+                        solunar.get(t).get(i), wind.get(t).get(i)));
+                scores[i][t] = score;
+                sum += score;
+            }
+            general.add(scoreRounding(profiles.isEmpty() ? 50.0 : sum / profiles.size()));
+        }
+
+        List<SpeciesBiteCurve> species = new ArrayList<>(profiles.size());
+        for (int i = 0; i < profiles.size(); i++) {
+            species.add(new SpeciesBiteCurve(profiles.get(i).id(), profiles.get(i).name(),
+                    Arrays.stream(scores[i]).boxed().toList()));
+        }
+
+        return new BiteCurve(List.copyOf(hours), List.copyOf(general), List.copyOf(species));
+    }
+
+    /**
+     * Scores a batch of fish profiles on the current thread. Each analyzer evaluates the whole batch
+     * in one call, so the species-independent part of its analysis is derived only once, and the
+     * current synoptic and hydrological snapshots are shared by all tactical reports.
      *
      * @param context the weather context containing environmental data used for analysis
-     * @param profile the fish profile for which the tactical report is to be generated
+     * @param profiles the fish profiles for which tactical reports are to be generated
      * @param targetTime the specific time target for the report calculation
-     * @return a CompletableFuture that resolves to a SpeciesTacticalReport containing the results of the analyses
+     * @return the tactical reports in the order of the given profiles
      */
-    private CompletableFuture<SpeciesTacticalReport> calculateForProfileAsync(WeatherContext context, FishProfile profile, LocalDateTime targetTime) {
-        CompletableFuture<AnalyzerResult> pFuture = CompletableFuture.supplyAsync(() -> pressureAnalyzer.analyze(context, profile, targetTime), executor);
-        CompletableFuture<AnalyzerResult> wFuture = CompletableFuture.supplyAsync(() -> waterThermalAnalyzer.analyze(context, profile, targetTime), executor);
-        CompletableFuture<AnalyzerResult> sFuture = CompletableFuture.supplyAsync(() -> solunarAnalyzer.analyze(context, profile, targetTime), executor);
-        CompletableFuture<AnalyzerResult> stFuture = CompletableFuture.supplyAsync(() -> windStealthAnalyzer.analyze(context, profile, targetTime), executor);
-
-        return CompletableFuture.allOf(pFuture, wFuture, sFuture, stFuture).thenApply(v ->
-                compileTacticalReport(profile, context, targetTime, pFuture.join(), wFuture.join(), sFuture.join(), stFuture.join())
-        );
+    private List<SpeciesTacticalReport> scoreBatch(WeatherContext context, List<FishProfile> profiles, LocalDateTime targetTime) {
+        List<AnalyzerResult> pressure = pressureAnalyzer.analyzeAll(context, profiles, targetTime);
+        List<AnalyzerResult> thermal = waterThermalAnalyzer.analyzeAll(context, profiles, targetTime);
+        List<AnalyzerResult> solunar = solunarAnalyzer.analyzeAll(context, profiles, targetTime);
+        List<AnalyzerResult> wind = windStealthAnalyzer.analyzeAll(context, profiles, targetTime);
+
+        SynopSnapshot synop = context.synopIndex().nearest(targetTime);
+        HydroSnapshot hydro = context.hydroIndex().nearest(targetTime);
+
+        List<SpeciesTacticalReport> reports = new ArrayList<>(profiles.size());
+        for (int i = 0; i < profiles.size(); i++) {
+            reports.add(compileTacticalReport(profiles.get(i), synop, hydro, targetTime,
+                    pressure.get(i), thermal.get(i), solunar.get(i), wind.get(i)));
+        }
+        return reports;
     }
 
     /**
@@ -116,7 +212,8 @@ public class ForecastEngine {
      * analysis results.
      *
      * @param profile the fish profile containing species-specific characteristics.
-     * @param context the weather context providing environmental data such as synoptic and hydrological timelines.
+     * @param synop the synoptic snapshot closest to the target time, or null if there is none.
+     * @param hydro the hydrological snapshot closest to the target time, or null if there is none.
      * @param targetTime the specific time for which the tactical report is being generated.
      * @param pRes the pressure-related analyzer result.
      * @param wRes the thermal and hydro-related analyzer result.
@@ -126,16 +223,10 @@ public class ForecastEngine {
      *         environmental conditions, calculated scores, and suggested fishing strategies.
      */
     private SpeciesTacticalReport compileTacticalReport(
-            FishProfile profile, WeatherContext context, LocalDateTime targetTime,
+            FishProfile profile, SynopSnapshot synop, HydroSnapshot hydro, LocalDateTime targetTime,
             AnalyzerResult pRes, AnalyzerResult wRes, AnalyzerResult sRes, AnalyzerResult stRes) {
 
-        double totalWeight = pRes.weight() + wRes.weight() + sRes.weight() + stRes.weight();
-        double totalScore = totalWeight > 0 ?
-                ((pRes.score() * pRes.weight()) + (wRes.score() * wRes.weight()) + (sRes.score() * sRes.weight()) + (stRes.score() * stRes.weight())) / totalWeight
-                : 50.0;
-
-        SynopSnapshot synop = findClosest(context.synopTimeline(), targetTime, SynopSnapshot::timestamp);
-        HydroSnapshot hydro = findClosest(context.hydroTimeline(), targetTime, HydroSnapshot::timestamp);
+        double totalScore = combineScores(pRes, wRes, sRes, stRes);
 
         double tempW = (hydro != null && hydro.waterTemperature() != null) ? hydro.waterTemperature().doubleValue() : 15.0;
         double windKmh = (synop != null && synop.windSpeed() != null) ? synop.windSpeed().doubleValue() : 10.0;
@@ -208,8 +299,8 @@ public class ForecastEngine {
      *         bite indices, pressure levels, and other general information useful for angling
      */
     private GlobalForecastResult buildGlobalResult(WeatherContext context, List<SpeciesTacticalReport> reports, LocalDateTime targetTime) {
-        SynopSnapshot currentSynop = findClosest(context.synopTimeline(), targetTime, SynopSnapshot::timestamp);
-        HydroSnapshot currentHydro = findClosest(context.hydroTimeline(), targetTime, HydroSnapshot::timestamp);
+        SynopSnapshot currentSynop = context.synopIndex().nearest(targetTime);
+        HydroSnapshot currentHydro = context.hydroIndex().nearest(targetTime);
 
         MoonSnapshot currentMoon = context.moonTimeline().stream()
                 .filter(m -> m.date().equals(targetTime.toLocalDate()))
@@ -219,15 +310,13 @@ public class ForecastEngine {
                 .filter(m -> !m.date().isBefore(targetTime.toLocalDate()))
                 .limit(3).toList();
 
-        List<SynopSnapshot> forecast24h = context.synopTimeline().stream()
-                .filter(s -> s.timestamp().isAfter(targetTime) && s.timestamp().isBefore(targetTime.plusHours(25)))
-                .toList();
+        List<SynopSnapshot> forecast24h = context.synopIndex().between(targetTime, targetTime.plusHours(25));
 
         double avgScore = reports.stream().mapToDouble(SpeciesTacticalReport::totalScore).average().orElse(50.0);
 
         String dynamicTrend = "Brak danych o wahaniach";
-        if (currentHydro != null && currentHydro.waterLevel() != null && context.hydroTimeline() != null) {
-            HydroSnapshot pastHydro = findClosest(context.hydroTimeline(), targetTime.minusHours(24), HydroSnapshot::timestamp);
+        if (currentHydro != null && currentHydro.waterLevel() != null) {
+            HydroSnapshot pastHydro = context.hydroIndex().nearest(targetTime.minusHours(24));
             if (pastHydro != null && pastHydro.waterLevel() != null) {
                 int deltaH = currentHydro.waterLevel() - pastHydro.waterLevel();
                 if (deltaH >= 5) dynamicTrend = "Rosnący (+" + deltaH + " cm / 24h)";
@@ -254,34 +343,29 @@ public class ForecastEngine {
     }
 
     /**
-     * Rounds a given score value to one decimal place.
+     * Combines the results of all analyzers into a single score, weighting each one by its declared weight.
      *
-     * @param value the input score value to be rounded
-     * @return the score value rounded to one decimal place
+     * @param pRes the pressure-related analyzer result
+     * @param wRes the thermal and hydro-related analyzer result
+     * @param sRes the solunar-related analyzer result
+     * @param stRes the wind stealth-related analyzer result
+     * @return the weighted score, or 50 if all weights are zero
      */
-    private double scoreRounding(double value) {
-        return Math.round(value * 10.0) / 10.0;
+    private double combineScores(AnalyzerResult pRes, AnalyzerResult wRes, AnalyzerResult sRes, AnalyzerResult stRes) {
+        double totalWeight = pRes.weight() + wRes.weight() + sRes.weight() + stRes.weight();
+        return totalWeight > 0 ?
+                ((pRes.score() * pRes.weight()) + (wRes.score() * wRes.weight()) + (sRes.score() * sRes.weight()) + (stRes.score() * stRes.weight())) / totalWeight
+                : 50.0;
     }
 
     /**
-     * Finds the closest element in the provided timeline list to the specified target time.
-     * The time associated with each element is extracted using the provided timeExtractor function.
+     * Rounds a given score value to one decimal place.
      *
-     * @param <T>           the type of elements in the timeline list
-     * @param timeline      the list of elements from which the closest one is to be found
-     * @param target        the target time to which the closest element is to be determined
-     * @param timeExtractor a function to extract the LocalDateTime value from an element in the timeline
-     * @return the element from the timeline that is closest to the target time, or null if the timeline is null or empty
+     * @param value the input score value to be rounded
+     * @return the score value rounded to one decimal place
      */
-    private <T> T findClosest(List<T> timeline, LocalDateTime target, Function<T, LocalDateTime> timeExtractor) {
-        if (timeline == null || timeline.isEmpty()) {
-            return null;
-        }
-        return timeline.stream()
-                .min(Comparator.comparingLong(item ->
-                        Math.abs(java.time.Duration.between(timeExtractor.apply(item), target).toMinutes())
-                ))
-                .orElse(null);
+    private double scoreRounding(double value) {
+        return Math.round(value * 10.0) / 10.0;
     }
 
     /**
@@ -0,0 +1,17 @@
+package pl.czyzlowie.modules.fish_forecast.domain.engine;
+
+import java.util.List;
+
+/**
+ * Represents the hourly bite index of a single species, aligned with the hours of its {@link BiteCurve}.
+ *
+ * Components:
+ * - speciesId: The unique identifier for the species.
+ * - speciesName: The name of the species.
+ * - scores: The bite index of the species for each hour of the curve.
+ */
+public record SpeciesBiteCurve(
+        Long speciesId,
+        String speciesName,
+        List<Double> scores
+) {}
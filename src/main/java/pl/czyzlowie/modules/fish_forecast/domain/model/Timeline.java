@@ -0,0 +1,309 @@
+package pl.czyzlowie.modules.fish_forecast.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An immutable, chronologically sorted view of a time series, indexed for fast lookups by time.
+ *
+ * The timestamp of every element is converted once, at creation, to a number of minutes since the epoch
+ * and kept in a primitive array. Nearest, floor and ceiling lookups and range views are answered by a
+ * binary search over that array, in logarithmic time and without allocating per element. Timestamps are
+ * compared with minute precision, which matches the resolution of all weather sources in the engine.
+ *
+ * Instances are safe to share between threads, so a single timeline can serve all analyzers and species
+ * of one forecast.
+ *
+ * @param <T> the type of the snapshots held by the timeline
+ */
+public final class Timeline<T> {
+
+    private static final Timeline<?> EMPTY = new Timeline<>(List.of(), new long[0]);
+
+    private final List<T> items;
+    private final long[] epochMinutes;
+
+    private Timeline(List<T> items, long[] epochMinutes) {
+        this.items = items;
+        this.epochMinutes = epochMinutes;
+    }
+
+    /**
+     * Creates a timeline from the given snapshots, sorting them by their timestamps.
+     * Snapshots without a timestamp are skipped.
+     *
+     * @param snapshots     the snapshots to index, may be {@code null}
+     * @param timeExtractor a function returning the timestamp of a snapshot
+     * @param <T>           the type of the snapshots
+     * @return a new timeline, possibly empty
+     */
+    public static <T> Timeline<T> of(List<T> snapshots, Function<T, LocalDateTime> timeExtractor) {
+        if (snapshots == null || snapshots.isEmpty()) {
+            return empty();
+        }
+
+        List<T> sorted = new ArrayList<>(snapshots.size());
+        for (T snapshot : snapshots) {
+            if (timeExtractor.apply(snapshot) != null) {
+                sorted.add(snapshot);
+            }
+        }
+        sorted.sort(Comparator.comparing(timeExtractor));
+
+        long[] minutes = new long[sorted.size()];
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = toEpochMinute(timeExtractor.apply(sorted.get(i)));
+        }
+
+        return new Timeline<>(List.copyOf(sorted), minutes);
+    }
+
+    /**
+     * Returns an empty timeline.
+     *
+     * @param <T> the type of the snapshots
+     * @return the shared empty timeline
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Timeline<T> empty() {
+        return (Timeline<T>) EMPTY;
+    }
+
+    /**
+     * Returns all snapshots in chronological order.
+     *
+     * @return an immutable list of the snapshots
+     */
+    public List<T> items() {
+        return items;
+    }
+
+    /**
+     * Returns the number of snapshots held by the timeline.
+     *
+     * @return the number of snapshots
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Checks whether the timeline holds no snapshots.
+     *
+     * @return true if the timeline is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * Finds the snapshot closest in time to the target. When two snapshots are equally distant,
+     * the earlier one is returned.
+     *
+     * @param target the target time
+     * @return the closest snapshot, or {@code null} if the timeline is empty
+     */
+    public T nearest(LocalDateTime target) {
+        int index = nearestIndex(toEpochMinute(target));
+        return index < 0 ? null : items.get(index);
+    }
+
+    /**
+     * Finds the snapshot closest in time to the target, provided it lies no further than the given gap.
+     *
+     * @param target        the target time
+     * @param maxGapMinutes the maximum allowed distance from the target in minutes
+     * @return the closest snapshot within the gap, or {@code null} if there is none
+     */
+    public T nearestWithin(LocalDateTime target, long maxGapMinutes) {
+        long targetMinute = toEpochMinute(target);
+        int index = nearestIndex(targetMinute);
+        if (index < 0 || Math.abs(epochMinutes[index] - targetMinute) > maxGapMinutes) {
+            return null;
+        }
+        return items.get(index);
+    }
+
+    /**
+     * Finds the latest snapshot taken at or before the target time.
+     *
+     * @param target the target time
+     * @return the matching snapshot, or {@code null} if there is none
+     */
+    public T floor(LocalDateTime target) {
+        int index = upperBound(toEpochMinute(target)) - 1;
+        return index < 0 ? null : items.get(index);
+    }
+
+    /**
+     * Finds the earliest snapshot taken at or after the target time.
+     *
+     * @param target the target time
+     * @return the matching snapshot, or {@code null} if there is none
+     */
+    public T ceiling(LocalDateTime target) {
+        int index = lowerBound(toEpochMinute(target));
+        return index >= items.size() ? null : items.get(index);
+    }
+
+    /**
+     * Returns a view of the snapshots taken within {@code [from, to)}.
+     *
+     * @param from the start of the window, inclusive
+     * @param to   the end of the window, exclusive
+     * @return an immutable view of the matching snapshots, possibly empty
+     */
+    public List<T> range(LocalDateTime from, LocalDateTime to) {
+        int start = lowerBound(toEpochMinute(from));
+        int end = lowerBound(toEpochMinute(to));
+        return start >= end ? List.of() : items.subList(start, end);
+    }
+
+    /**
+     * Returns a view of the snapshots taken strictly between {@code from} and {@code to}.
+     *
+     * @param from the start of the window, exclusive
+     * @param to   the end of the window, exclusive
+     * @return an immutable view of the matching snapshots, possibly empty
+     */
+    public List<T> between(LocalDateTime from, LocalDateTime to) {
+        int start = upperBound(toEpochMinute(from));
+        int end = lowerBound(toEpochMinute(to));
+        return start >= end ? List.of() : items.subList(start, end);
+    }
+
+    /**
+     * Creates a cursor for answering nearest-point lookups with non-decreasing target times,
+     * such as when walking an hourly curve. Each lookup advances the cursor from its previous
+     * position, so a full pass over the timeline costs linear time in total.
+     *
+     * @return a new cursor positioned at the start of the timeline
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * A forward-only position in the timeline. Target times passed to a cursor must not decrease.
+     * A cursor keeps mutable state and must not be shared between threads.
+     */
+    public final class Cursor {
+
+        private int ceiling;
+
+        private Cursor() {
+        }
+
+        /**
+         * Finds the snapshot closest in time to the target, with the same tie-breaking as {@link Timeline#nearest}.
+         *
+         * @param target the target time, not earlier than the one of the previous lookup
+         * @return the closest snapshot, or {@code null} if the timeline is empty
+         */
+        public T nearest(LocalDateTime target) {
+            int index = advance(toEpochMinute(target));
+            return index < 0 ? null : items.get(index);
+        }
+
+        /**
+         * Finds the snapshot closest in time to the target, provided it lies no further than the given gap.
+         *
+         * @param target        the target time, not earlier than the one of the previous lookup
+         * @param maxGapMinutes the maximum allowed distance from the target in minutes
+         * @return the closest snapshot within the gap, or {@code null} if there is none
+         */
+        public T nearestWithin(LocalDateTime target, long maxGapMinutes) {
+            long targetMinute = toEpochMinute(target);
+            int index = advance(targetMinute);
+            if (index < 0 || Math.abs(epochMinutes[index] - targetMinute) > maxGapMinutes) {
+                return null;
+            }
+            return items.get(index);
+        }
+
+        /**
+         * Moves the cursor to the first snapshot at or after the given minute and returns the nearest index.
+         */
+        private int advance(long targetMinute) {
+            while (ceiling < epochMinutes.length && epochMinutes[ceiling] < targetMinute) {
+                ceiling++;
+            }
+            return nearestIndex(targetMinute, ceiling);
+        }
+    }
+
+    /**
+     * Returns the index of the snapshot closest to the given minute, or -1 for an empty timeline.
+     */
+    private int nearestIndex(long targetMinute) {
+        return nearestIndex(targetMinute, lowerBound(targetMinute));
+    }
+
+    /**
+     * Returns the index of the snapshot closest to the given minute, knowing the index of the first
+     * snapshot at or after it, or -1 for an empty timeline.
+     */
+    private int nearestIndex(long targetMinute, int ceiling) {
+        if (epochMinutes.length == 0) {
+            return -1;
+        }
+
+        if (ceiling == 0) {
+            return 0;
+        }
+        if (ceiling == epochMinutes.length) {
+            return ceiling - 1;
+        }
+
+        int floor = ceiling - 1;
+        while (floor > 0 && epochMinutes[floor - 1] == epochMinutes[floor]) {
+            floor--;
+        }
+        return targetMinute - epochMinutes[floor] <= epochMinutes[ceiling] - targetMinute ? floor : ceiling;
+    }
+
+    /**
+     * Returns the index of the first snapshot at or after the given minute.
+     */
+    private int lowerBound(long minute) {
+        int lo = 0;
+        int hi = epochMinutes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochMinutes[mid] < minute) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the first snapshot strictly after the given minute.
+     */
+    private int upperBound(long minute) {
+        int lo = 0;
+        int hi = epochMinutes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochMinutes[mid] <= minute) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Converts a local timestamp to the number of minutes since the epoch.
+     */
+    private static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
@@ -1,6 +1,10 @@
 package pl.czyzlowie.modules.fish_forecast.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
 import java.util.List;
 
 /**
@@ -10,39 +14,114 @@ import java.util.List;
  *
  * The data structure is designed as a continuous timeline, typically covering a range
  * from 72 hours in the past to 72 hours in the future relative to the forecast target time.
+ * It holds the following timelines:
  *
- * @param synopTimeline Chronological list of synoptic data. Includes core atmospheric
+ * - {@code synopTimeline}: Chronological list of synoptic data. Includes core atmospheric
  * parameters such as pressure, air temperature, and wind metrics.
  * Unified for both physical (IMGW) and virtual stations.
  *
- * @param hydroTimeline Time-series of hydrological parameters. Covers water temperature,
+ * - {@code hydroTimeline}: Time-series of hydrological parameters. Covers water temperature,
  * water levels, ice phenomena, and vegetation overgrowth.
  * Crucial for river-based fishing forecasts.
  *
- * @param meteoTimeline High-frequency meteorological data (typically 30-min intervals).
+ * - {@code meteoTimeline}: High-frequency meteorological data (typically 30-min intervals).
  * Contains precision rainfall, humidity, and supplemental parameters
  * (e.g., cloud cover, UV index) often enriched by numerical weather models.
  *
- * @param moonTimeline  Chronological astronomical data (typically daily intervals).
+ * - {@code moonTimeline}: Chronological astronomical data (typically daily intervals).
  * Provides moon phases, illumination percentage, and precise
  * sunrise/sunset and moonrise/moonset times.
+ *
+ * The synoptic and hydrological timelines are additionally indexed by time ({@link #synopIndex()},
+ * {@link #hydroIndex()}). The indexes are derived once from the timelines when the context is created,
+ * so they can never diverge from them, and they are neither compared nor serialised.
  */
-@Builder
-public record WeatherContext(
-        List<SynopSnapshot> synopTimeline,
-        List<HydroSnapshot> hydroTimeline,
-        List<MeteoSnapshot> meteoTimeline,
-        List<MoonSnapshot> moonTimeline
-) {
+@ToString
+@EqualsAndHashCode
+public final class WeatherContext {
+
+    private final List<SynopSnapshot> synopTimeline;
+    private final List<HydroSnapshot> hydroTimeline;
+    private final List<MeteoSnapshot> meteoTimeline;
+    private final List<MoonSnapshot> moonTimeline;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Timeline<SynopSnapshot> synopIndex;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Timeline<HydroSnapshot> hydroIndex;
+
     /**
-     * Canonical constructor for data integrity and thread safety.
+     * Creates a context from raw timelines and indexes the synoptic and hydrological ones by time.
      * It ensures that all timelines are immutable and non-null, preventing
      * NullPointerExceptions during parallel rule processing in the calculation engine.
+     *
+     * @param synopTimeline the synoptic snapshots, in any order
+     * @param hydroTimeline the hydrological snapshots, in any order
+     * @param meteoTimeline the meteorological snapshots
+     * @param moonTimeline  the astronomical snapshots
+     */
+    @Builder
+    public WeatherContext(List<SynopSnapshot> synopTimeline, List<HydroSnapshot> hydroTimeline,
+                          List<MeteoSnapshot> meteoTimeline, List<MoonSnapshot> moonTimeline) {
+        this.synopIndex = Timeline.of(synopTimeline, SynopSnapshot::timestamp);
+        this.hydroIndex = Timeline.of(hydroTimeline, HydroSnapshot::timestamp);
+        this.synopTimeline = synopIndex.items();
+        this.hydroTimeline = hydroIndex.items();
+        this.meteoTimeline = meteoTimeline != null ? List.copyOf(meteoTimeline) : List.of();
+        this.moonTimeline = moonTimeline != null ? List.copyOf(moonTimeline) : List.of();
+    }
+
+    /**
+     * @return the synoptic snapshots in chronological order
+     */
+    @JsonProperty
+    public List<SynopSnapshot> synopTimeline() {
+        return synopTimeline;
+    }
+
+    /**
+     * @return the hydrological snapshots in chronological order
+     */
+    @JsonProperty
+    public List<HydroSnapshot> hydroTimeline() {
+        return hydroTimeline;
+    }
+
+    /**
+     * @return the meteorological snapshots
+     */
+    @JsonProperty
+    public List<MeteoSnapshot> meteoTimeline() {
+        return meteoTimeline;
+    }
+
+    /**
+     * @return the astronomical snapshots
+     */
+    @JsonProperty
+    public List<MoonSnapshot> moonTimeline() {
+        return moonTimeline;
+    }
+
+    /**
+     * Returns the synoptic timeline indexed by time, used for nearest-point and window lookups
+     * by the analyzers and the engine.
+     *
+     * @return the index derived from {@link #synopTimeline()}
+     */
+    public Timeline<SynopSnapshot> synopIndex() {
+        return synopIndex;
+    }
+
+    /**
+     * Returns the hydrological timeline indexed by time.
+     *
+     * @return the index derived from {@link #hydroTimeline()}
      */
-    public WeatherContext {
-        synopTimeline = synopTimeline != null ? List.copyOf(synopTimeline) : List.of();
-        hydroTimeline = hydroTimeline != null ? List.copyOf(hydroTimeline) : List.of();
-        meteoTimeline = meteoTimeline != null ? List.copyOf(meteoTimeline) : List.of();
-        moonTimeline = moonTimeline != null ? List.copyOf(moonTimeline) : List.of();
+    public Timeline<HydroSnapshot> hydroIndex() {
+        return hydroIndex;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.cache;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Identifies a cached fish forecast result. Two requests share a result when they resolve to the
+ * same measurement stations, fall into the same target hour and ask for the same set of species
+ * with the same data source flags.
+ *
+ * @param synopStationId the identifier of the synoptic or virtual station, may be {@code null}
+ * @param virtualSynop   whether the synoptic station is a virtual one
+ * @param meteoStationId the identifier of the meteorological station, may be {@code null}
+ * @param hydroStationId the identifier of the hydrological station, may be {@code null}
+ * @param targetHour     the instant of the target time truncated to a full hour, so requests for the same
+ *                       hour given in different offsets share a result
+ * @param speciesIds     the sorted, distinct identifiers of the requested species, without {@code null}s
+ * @param ignoreHydro    whether hydrological data is excluded from the forecast
+ * @param ignoreMeteo    whether meteorological data is excluded from the forecast
+ */
+public record ForecastCacheKey(
+        String synopStationId,
+        boolean virtualSynop,
+        String meteoStationId,
+        String hydroStationId,
+        Instant targetHour,
+        List<Integer> speciesIds,
+        boolean ignoreHydro,
+        boolean ignoreMeteo
+) {
+
+    public ForecastCacheKey {
+        speciesIds = speciesIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+
+    /**
+     * Checks whether the forecast identified by this key was built from data of any of the given stations.
+     *
+     * @param stationIds the identifiers of the stations to check
+     * @return true if one of the stations contributed to the forecast, otherwise false
+     */
+    public boolean referencesAny(Set<String> stationIds) {
+        return (synopStationId != null && stationIds.contains(synopStationId))
+                || (meteoStationId != null && stationIds.contains(meteoStationId))
+                || (hydroStationId != null && stationIds.contains(hydroStationId));
+    }
+}
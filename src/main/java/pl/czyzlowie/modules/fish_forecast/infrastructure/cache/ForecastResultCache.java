@@ -0,0 +1,223 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.czyzlowie.modules.fish_forecast.domain.engine.GlobalForecastResult;
+import pl.czyzlowie.modules.forecast.event.OpenMeteoDataImportedEvent;
+import pl.czyzlowie.modules.imgw_api.event.ImgwDataImportedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, in-memory cache of computed fish forecasts with single-flight request coalescing.
+ *
+ * The cache stores one future per {@link ForecastCacheKey}. The first request for a key registers
+ * its future before the computation starts, so identical requests arriving while it is still running
+ * join the same computation instead of starting their own. Failed computations are removed right away,
+ * so the next request retries them.
+ *
+ * Entries are evicted in least-recently-used order once {@code fish-forecast.cache.max-size} is reached,
+ * expire after {@code fish-forecast.cache.ttl}, and are dropped as soon as a committed IMGW or Open-Meteo
+ * import delivers new data for one of the stations they were built from.
+ *
+ * Hit, miss and coalesced counts are available through {@link #stats()} and are published as
+ * {@code fish.forecast.cache.requests} meters.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ForecastResultCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fish-forecast.cache.max-size:500}")
+    private int maxSize;
+
+    @Value("${fish-forecast.cache.ttl:PT30M}")
+    private Duration ttl;
+
+    private final Map<ForecastCacheKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ForecastCacheKey, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private record Entry(CompletableFuture<GlobalForecastResult> future, Instant createdAt) {}
+
+    /**
+     * A point-in-time view of the cache counters.
+     *
+     * @param hits      the number of requests served from a completed entry
+     * @param misses    the number of requests that started a new computation
+     * @param coalesced the number of requests that joined a computation still in progress
+     * @param size      the current number of entries
+     */
+    public record Stats(long hits, long misses, long coalesced, int size) {}
+
+    /**
+     * Registers the cache counters and its size in the meter registry.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        registerCounter("hit", hits);
+        registerCounter("miss", misses);
+        registerCounter("coalesced", coalesced);
+        Gauge.builder("fish.forecast.cache.size", this, cache -> cache.stats().size())
+                .description("Liczba prognoz przechowywanych w pamięci podręcznej")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the forecast stored for the given key, joins a computation of the same key which is
+     * already in progress, or starts a new one using the provided loader.
+     *
+     * @param key    the key identifying the forecast
+     * @param loader the supplier starting the computation on a cache miss
+     * @return a future completed with the forecast result
+     */
+    public CompletableFuture<GlobalForecastResult> getOrCompute(ForecastCacheKey key,
+                                                                Supplier<CompletableFuture<GlobalForecastResult>> loader) {
+        CompletableFuture<GlobalForecastResult> promise;
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && !isExpired(entry)) {
+                if (entry.future().isDone()) {
+                    hits.incrementAndGet();
+                } else {
+                    coalesced.incrementAndGet();
+                }
+                return entry.future().copy();
+            }
+
+            misses.incrementAndGet();
+            promise = new CompletableFuture<>();
+            entries.put(key, new Entry(promise, Instant.now()));
+        }
+
+        CompletableFuture<GlobalForecastResult> computation;
+        try {
+            computation = loader.get();
+        } catch (RuntimeException e) {
+            computation = CompletableFuture.failedFuture(e);
+        }
+
+        computation.whenComplete((result, ex) -> {
+            if (ex != null) {
+                remove(key, promise);
+                promise.completeExceptionally(ex);
+            } else {
+                promise.complete(result);
+            }
+        });
+
+        return promise.copy();
+    }
+
+    /**
+     * Drops every cached forecast built from data of any of the given stations, including
+     * computations still in progress, which will then complete without being stored.
+     *
+     * @param stationIds the identifiers of the stations whose data has changed
+     * @return the number of removed entries
+     */
+    public int invalidateStations(Set<String> stationIds) {
+        if (stationIds.isEmpty()) {
+            return 0;
+        }
+
+        int removed;
+        synchronized (entries) {
+            int before = entries.size();
+            entries.keySet().removeIf(key -> key.referencesAny(stationIds));
+            removed = before - entries.size();
+        }
+
+        if (removed > 0) {
+            log.debug("Usunięto {} prognoz z pamięci podręcznej po imporcie danych dla {} stacji", removed, stationIds.size());
+        }
+        return removed;
+    }
+
+    /**
+     * Invalidates forecasts affected by a committed IMGW import.
+     *
+     * @param event the event describing the stations that received new measurements
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImgwDataImported(ImgwDataImportedEvent event) {
+        invalidateStations(event.stationIds());
+    }
+
+    /**
+     * Invalidates forecasts affected by a committed Open-Meteo import.
+     *
+     * @param event the event describing the stations that received new data
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOpenMeteoDataImported(OpenMeteoDataImportedEvent event) {
+        invalidateStations(event.stationIds());
+    }
+
+    /**
+     * Returns the current cache counters.
+     *
+     * @return the hit, miss and coalesced counts together with the current size
+     */
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.get(), misses.get(), coalesced.get(), size);
+    }
+
+    /**
+     * Removes the entry of the given key only if it still holds the given future.
+     */
+    private void remove(ForecastCacheKey key, CompletableFuture<GlobalForecastResult> future) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.future() == future) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the entry is older than the configured time to live.
+     */
+    private boolean isExpired(Entry entry) {
+        return entry.createdAt().plus(ttl).isBefore(Instant.now());
+    }
+
+    /**
+     * Registers a function counter reading the given request counter.
+     */
+    private void registerCounter(String result, AtomicLong counter) {
+        FunctionCounter.builder("fish.forecast.cache.requests", counter, AtomicLong::get)
+                .tag("result", result)
+                .description("Liczba zapytań do pamięci podręcznej prognoz")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An executor that runs every task on its own thread of the delegate executor while limiting the number
+ * of tasks executing at the same time with a semaphore.
+ *
+ * It is intended for a virtual-thread-per-task delegate: blocking calls such as JDBC queries no longer
+ * occupy a scarce platform thread, but the bulkhead still keeps the number of concurrent calls in line
+ * with the size of the database connection pool. A task waiting for a permit parks its own virtual
+ * thread, so the submitting thread is never blocked.
+ */
+public class BulkheadExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    /**
+     * Creates a bulkhead on top of the given executor.
+     *
+     * @param delegate the executor running the tasks, typically a virtual-thread-per-task executor
+     * @param maxConcurrentTasks the maximum number of tasks allowed to run at the same time, must be positive
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public BulkheadExecutor(ExecutorService delegate, int maxConcurrentTasks) {
+        if (maxConcurrentTasks <= 0) {
+            throw new IllegalArgumentException("Limit równoległych zadań musi być dodatni: " + maxConcurrentTasks);
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentTasks, true);
+    }
+
+    /**
+     * Submits the task to the delegate executor. The task waits for a free permit on its own thread
+     * and releases it once finished, regardless of the outcome.
+     *
+     * @param task the task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Returns the number of tasks that can currently start without waiting.
+     *
+     * @return the number of free permits
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Shuts down the delegate executor, waiting for the running tasks to finish.
+     */
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
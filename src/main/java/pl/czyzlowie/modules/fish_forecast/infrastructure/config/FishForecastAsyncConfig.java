@@ -1,11 +1,14 @@
 package pl.czyzlowie.modules.fish_forecast.infrastructure.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Configuration class for enabling asynchronous task execution
@@ -13,7 +16,14 @@ import java.util.concurrent.Executor;
  * with @Configuration to indicate that it is a source of
  * Spring bean definitions, and with @EnableAsync to enable
  * asynchronous processing.
+ *
+ * Blocking integration calls (database reads of the timelines and profiles) run on the
+ * "dataFetchExecutor", which by default starts a virtual thread per task behind a semaphore
+ * bulkhead sized below the database connection pool. CPU-bound forecast calculations run on the
+ * separate, bounded "forecastComputeExecutor" platform pool, so they never compete with
+ * parked I/O tasks.
  */
+@Slf4j
 @Configuration
 @EnableAsync
 public class FishForecastAsyncConfig {
@@ -36,14 +46,40 @@ public class FishForecastAsyncConfig {
     }
 
     /**
-     * Creates and configures a ThreadPoolTaskExecutor bean named "dataFetchExecutor".
-     * This executor is designed to handle asynchronous tasks with a core pool size of 10,
-     * a maximum pool size of 20, and threads prefixed with "DataFetch-".
+     * Creates the executor bean named "dataFetchExecutor" used by the blocking integration services.
      *
+     * When {@code fish-forecast.async.virtual-threads} is enabled (the default), every task runs on
+     * its own virtual thread and at most {@code fish-forecast.async.max-concurrent-fetches} tasks
+     * execute at once. When that limit is 0 (the default) it is the size of the Hikari connection pool
+     * minus {@code fish-forecast.async.reserved-connections}: every fetch holds a connection, so the
+     * reserved ones stay free for web requests (the session is kept open in the view) and the scheduled
+     * imports, which would otherwise wait for the connection timeout behind a burst of forecasts.
+     * Otherwise a ThreadPoolTaskExecutor with a core pool size of 10, a maximum pool size of 20 and
+     * threads prefixed with "DataFetch-" is used.
+     *
+     * @param virtualThreads whether the executor should run tasks on virtual threads
+     * @param maxConcurrentFetches the bulkhead limit applied to virtual thread tasks, or 0 to derive it
+     * @param connectionPoolSize the maximum size of the Hikari connection pool
+     * @param reservedConnections the number of connections left to other work when the limit is derived
      * @return an instance of Executor for asynchronous task execution
      */
     @Bean(name = "dataFetchExecutor")
-    public Executor dataFetchExecutor(){
+    public Executor dataFetchExecutor(
+            @Value("${fish-forecast.async.virtual-threads:true}") boolean virtualThreads,
+            @Value("${fish-forecast.async.max-concurrent-fetches:0}") int maxConcurrentFetches,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${fish-forecast.async.reserved-connections:4}") int reservedConnections) {
+        if (virtualThreads) {
+            int limit = maxConcurrentFetches > 0
+                    ? maxConcurrentFetches
+                    : Math.max(1, connectionPoolSize - reservedConnections);
+            log.info("Pobieranie danych prognozy na wątkach wirtualnych, limit równoległych zapytań: {} (pula połączeń: {})",
+                    limit, connectionPoolSize);
+            return new BulkheadExecutor(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("DataFetch-", 0).factory()),
+                    limit);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(20);
@@ -51,4 +87,24 @@ public class FishForecastAsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Creates and configures a ThreadPoolTaskExecutor bean named "forecastComputeExecutor"
+     * for CPU-bound forecast calculations. The pool is bounded to the number of available
+     * processors unless {@code fish-forecast.async.compute-threads} is set, and uses threads
+     * prefixed with "ForecastCompute-".
+     *
+     * @param computeThreads the number of platform threads, or 0 to use the number of processors
+     * @return an instance of Executor for CPU-bound task execution
+     */
+    @Bean(name = "forecastComputeExecutor")
+    public Executor forecastComputeExecutor(@Value("${fish-forecast.async.compute-threads:0}") int computeThreads) {
+        int threads = computeThreads > 0 ? computeThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("ForecastCompute-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -4,7 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import pl.czyzlowie.modules.fish_forecast.domain.model.HydroSnapshot;
-import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroData;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries.HotSeriesStore;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroDataRepository;
 
 import java.time.LocalDateTime;
@@ -30,6 +30,7 @@ import java.util.concurrent.CompletableFuture;
  * Dependencies:
  * - ImgwHydroDataRepository: Repository interface for accessing IMGW hydrological data.
  * - HydroDataMapper: Component for transforming raw entity data into domain-level objects.
+ * - HotSeriesStore: In-memory store of recent observations, queried before the repository.
  *
  * Constants:
  * - HISTORY_HOURS: Specifies the time range (in hours) from the target time to fetch data.
@@ -40,6 +41,7 @@ public class HydroIntegrationService {
 
     private final ImgwHydroDataRepository repository;
     private final HydroDataMapper mapper;
+    private final HotSeriesStore hotSeriesStore;
 
     private static final int HISTORY_HOURS = 72;
 
@@ -64,11 +66,10 @@ public class HydroIntegrationService {
         LocalDateTime endTime = targetTime.toLocalDateTime();
         LocalDateTime startTime = endTime.minusHours(HISTORY_HOURS);
 
-        List<ImgwHydroData> rawData = repository.findByStationIdAndDateRange(stationId, startTime, endTime);
-
-        List<HydroSnapshot> timeline = rawData.stream()
-                .map(mapper::toDomain)
-                .toList();
+        List<HydroSnapshot> timeline = hotSeriesStore.findHydroHistory(String.valueOf(stationId), startTime, endTime)
+                .orElseGet(() -> repository.findByStationIdAndDateRange(stationId, startTime, endTime).stream()
+                        .map(mapper::toDomain)
+                        .toList());
 
         return CompletableFuture.completedFuture(timeline);
     }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import pl.czyzlowie.modules.fish_forecast.domain.model.MeteoSnapshot;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries.HotSeriesStore;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwMeteoDataRepository;
 
 import java.time.LocalDateTime;
@@ -27,6 +28,7 @@ public class MeteoIntegrationService {
 
     private final ImgwMeteoDataRepository repository;
     private final MeteoDataMapper mapper;
+    private final HotSeriesStore hotSeriesStore;
 
     private static final int HISTORY_HOURS = 72;
 
@@ -51,10 +53,10 @@ public class MeteoIntegrationService {
         LocalDateTime endTime = targetTime.toLocalDateTime();
         LocalDateTime startTime = endTime.minusHours(HISTORY_HOURS);
 
-        List<MeteoSnapshot> timeline = repository.findHistoryForForecast(stationId, startTime, endTime)
-                .stream()
-                .map(mapper::toDomain)
-                .toList();
+        List<MeteoSnapshot> timeline = hotSeriesStore.findMeteoHistory(String.valueOf(stationId), startTime, endTime)
+                .orElseGet(() -> repository.findHistoryForForecast(stationId, startTime, endTime).stream()
+                        .map(mapper::toDomain)
+                        .toList());
 
         return CompletableFuture.completedFuture(timeline);
     }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import pl.czyzlowie.modules.fish_forecast.domain.model.SynopSnapshot;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries.HotSeriesStore;
 import pl.czyzlowie.modules.forecast.repository.VirtualStationDataRepository;
 import pl.czyzlowie.modules.forecast.repository.WeatherForecastRepository;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopDataRepository;
@@ -52,6 +53,7 @@ public class SynopIntegrationService {
     private final VirtualStationDataRepository virtualRepo;
     private final WeatherForecastRepository forecastRepo;
     private final SynopDataMapper mapper;
+    private final HotSeriesStore hotSeriesStore;
 
     private static final int HISTORY_HOURS = 72;
     private static final int FORECAST_HOURS = 72;
@@ -87,10 +89,11 @@ public class SynopIntegrationService {
         if (isVirtual) {
             log.debug("Pobieranie danych dla wirtualnej stacji: {}", stationId);
 
-            virtualRepo.findHistory(stationId, startTime, targetLocal).forEach(data -> {
-                SynopSnapshot snap = mapper.fromVirtual(data);
-                timelineMap.put(snap.timestamp(), snap);
-            });
+            hotSeriesStore.findVirtualHistory(stationId, startTime, targetLocal)
+                    .orElseGet(() -> virtualRepo.findHistory(stationId, startTime, targetLocal).stream()
+                            .map(mapper::fromVirtual)
+                            .toList())
+                    .forEach(snap -> timelineMap.put(snap.timestamp(), snap));
 
             forecastRepo.findForecastForVirtual(stationId, targetLocal, endTime).forEach(data -> {
                 SynopSnapshot snap = mapper.fromForecast(data);
@@ -108,10 +111,11 @@ public class SynopIntegrationService {
 
             log.debug("Pobieranie danych dla stacji IMGW: {}", imgwStationId);
 
-            imgwRepo.findHistory(imgwStationId, startTime, targetLocal).forEach(data -> {
-                SynopSnapshot snap = mapper.fromImgw(data);
-                timelineMap.put(snap.timestamp(), snap);
-            });
+            hotSeriesStore.findSynopHistory(stationId, startTime, targetLocal)
+                    .orElseGet(() -> imgwRepo.findHistory(imgwStationId, startTime, targetLocal).stream()
+                            .map(mapper::fromImgw)
+                            .toList())
+                    .forEach(snap -> timelineMap.put(snap.timestamp(), snap));
 
             forecastRepo.findForecastForImgw(imgwStationId, targetLocal, endTime).forEach(data -> {
                 SynopSnapshot snap = mapper.fromForecast(data);
@@ -0,0 +1,54 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pl.czyzlowie.modules.fish_forecast.application.heatmap.BiteHeatmapService;
+
+/**
+ * A scheduler that periodically recomputes the national bite index heatmap shown on the map.
+ *
+ * The heatmap is first computed in the background once the application is ready, and then
+ * refreshed every hour, after the synoptic imports have delivered new data. The execution
+ * schedule is configured with the {@code fish-forecast.heatmap.cron} property.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BiteHeatmapScheduler {
+
+    private final BiteHeatmapService biteHeatmapService;
+
+    /**
+     * Computes the initial heatmap on a background virtual thread once the application has fully started,
+     * so the map overlay is available without waiting for the first scheduled run. A dedicated thread is
+     * used because the job waits for tasks of both forecast executors and must not occupy either of them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void computeOnStartup() {
+        Thread.ofVirtual().name("BiteHeatmap-startup").start(this::recompute);
+    }
+
+    /**
+     * Triggers the hourly recomputation of the heatmap.
+     */
+    @Scheduled(cron = "${fish-forecast.heatmap.cron:0 15 * * * *}")
+    public void scheduleRecompute() {
+        recompute();
+    }
+
+    /**
+     * Recomputes the heatmap and logs any failure without interrupting the scheduler.
+     */
+    private void recompute() {
+        log.debug("Przeliczanie mapy brań: start");
+        try {
+            biteHeatmapService.recompute();
+        } catch (Exception e) {
+            log.error("Przeliczanie mapy brań nie powiodło się", e);
+        }
+    }
+}
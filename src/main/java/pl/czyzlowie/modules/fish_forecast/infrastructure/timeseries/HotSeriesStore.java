@@ -0,0 +1,347 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.czyzlowie.modules.fish_forecast.domain.model.HydroSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.MeteoSnapshot;
+import pl.czyzlowie.modules.fish_forecast.domain.model.SynopSnapshot;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.hydro.HydroDataMapper;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.meteo.MeteoDataMapper;
+import pl.czyzlowie.modules.fish_forecast.infrastructure.integration.synop.SynopDataMapper;
+import pl.czyzlowie.modules.forecast.entity.VirtualStationData;
+import pl.czyzlowie.modules.forecast.event.OpenMeteoDataImportedEvent;
+import pl.czyzlowie.modules.forecast.repository.VirtualStationDataRepository;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroData;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwMeteoData;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwSynopData;
+import pl.czyzlowie.modules.imgw_api.event.ImgwDataImportedEvent;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroDataRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwMeteoDataRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopDataRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An in-process store of the recent observations of every IMGW synoptic, hydrological and meteorological
+ * station and every virtual station, used by the forecast integration services instead of querying the
+ * database for each forecast.
+ *
+ * Observations are kept per station in primitive ring buffers ({@link SeriesRing}): an epoch-minute column
+ * plus one {@code long} column per measured value, holding the exact decimal packed by {@link PackedDecimal}.
+ * Values are stored already mapped to the forecast domain units, so a read produces snapshots equal to those
+ * of the repository path, down to the scale of every value.
+ *
+ * The store is loaded once the application is ready and then appended after every committed IMGW or
+ * Open-Meteo import, by reading only the rows newer than the last seen timestamp. Until a table is loaded,
+ * or when a request reaches further back than the retained window, reads return an empty Optional and the
+ * caller falls back to the database.
+ *
+ * Memory is bounded by {@code fish-forecast.hot-store.window-hours} and
+ * {@code fish-forecast.hot-store.max-points-per-station}, and reported through {@link #stats()} and the
+ * {@code fish.forecast.hotstore.bytes} gauge.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotSeriesStore {
+
+    private static final int REFRESH_OVERLAP_HOURS = 2;
+
+    private final ImgwSynopDataRepository synopRepository;
+    private final ImgwHydroDataRepository hydroRepository;
+    private final ImgwMeteoDataRepository meteoRepository;
+    private final VirtualStationDataRepository virtualRepository;
+    private final SynopDataMapper synopMapper;
+    private final HydroDataMapper hydroMapper;
+    private final MeteoDataMapper meteoMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${fish-forecast.hot-store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fish-forecast.hot-store.window-hours:132}")
+    private int windowHours;
+
+    @Value("${fish-forecast.hot-store.max-points-per-station:512}")
+    private int maxPointsPerStation;
+
+    private SeriesTable synopTable;
+    private SeriesTable virtualTable;
+    private SeriesTable hydroTable;
+    private SeriesTable meteoTable;
+
+    /**
+     * The memory usage of a single table of the store.
+     *
+     * @param table        the name of the table
+     * @param stations     the number of stations with at least one observation
+     * @param bytes        the approximate memory currently used by the buffers
+     * @param maxBytes     the upper bound of memory for the current number of stations
+     */
+    public record TableStats(String table, int stations, long bytes, long maxBytes) {}
+
+    /**
+     * Creates the tables and registers the memory gauge.
+     */
+    @PostConstruct
+    public void init() {
+        long retentionMinutes = windowHours * 60L;
+        synopTable = new SeriesTable("synop", 6, maxPointsPerStation, retentionMinutes);
+        virtualTable = new SeriesTable("virtual", 8, maxPointsPerStation, retentionMinutes);
+        hydroTable = new SeriesTable("hydro", 5, maxPointsPerStation, retentionMinutes);
+        meteoTable = new SeriesTable("meteo", 8, maxPointsPerStation, retentionMinutes);
+
+        Gauge.builder("fish.forecast.hotstore.bytes", this, store -> store.stats().stream().mapToLong(TableStats::bytes).sum())
+                .description("Przybliżony rozmiar magazynu ostatnich pomiarów w pamięci")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the recent observations of all tables once the application has fully started.
+     * Failures are logged and leave the affected table unloaded, so its reads keep using the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        if (!enabled) {
+            log.info("Magazyn ostatnich pomiarów jest wyłączony. Dane prognozy będą czytane z bazy.");
+            return;
+        }
+
+        LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+        load(synopTable, () -> synopRepository.findAllCreatedSince(since), this::appendSynop, since);
+        load(virtualTable, () -> virtualRepository.findAllMeasuredSince(since), this::appendVirtual, since);
+        load(hydroTable, () -> hydroRepository.findAllCreatedSince(since), this::appendHydro, since);
+        load(meteoTable, () -> meteoRepository.findAllCreatedSince(since), this::appendMeteo, since);
+
+        stats().forEach(s -> log.info("Magazyn pomiarów [{}]: {} stacji, ~{} KB (limit ~{} KB)",
+                s.table(), s.stations(), s.bytes() / 1024, s.maxBytes() / 1024));
+    }
+
+    /**
+     * Appends the observations committed by an IMGW import to the corresponding table.
+     * Runs before the forecast cache invalidation, so recomputed forecasts already see the new data.
+     *
+     * @param event the event carrying the type of the committed import
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImgwDataImported(ImgwDataImportedEvent event) {
+        switch (event.importType()) {
+            case SYNOP -> refresh(synopTable, synopRepository::findAllCreatedSince, this::appendSynop);
+            case HYDRO -> refresh(hydroTable, hydroRepository::findAllCreatedSince, this::appendHydro);
+            case METEO -> refresh(meteoTable, meteoRepository::findAllCreatedSince, this::appendMeteo);
+        }
+    }
+
+    /**
+     * Appends the virtual station observations committed by an Open-Meteo import.
+     * Forecast imports publish the same event; they simply find no new observations.
+     *
+     * @param event the event carrying the identifiers of the updated stations
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOpenMeteoDataImported(OpenMeteoDataImportedEvent event) {
+        refresh(virtualTable, virtualRepository::findAllMeasuredSince, this::appendVirtual);
+    }
+
+    /**
+     * Returns the observed synoptic timeline of an IMGW station.
+     *
+     * @param stationId the identifier of the IMGW synoptic station
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (inclusive)
+     * @return the snapshots in chronological order, or an empty Optional if the store cannot serve the range
+     */
+    public Optional<List<SynopSnapshot>> findSynopHistory(String stationId, LocalDateTime from, LocalDateTime to) {
+        return synopTable.read(stationId, from, to, (minute, v) -> SynopSnapshot.builder()
+                .timestamp(SeriesTable.fromEpochMinute(minute))
+                .temperature(decimal(v[0])).pressure(decimal(v[1])).windSpeed(decimal(v[2]))
+                .windDirection(integer(v[3])).humidity(decimal(v[4])).precipitation(decimal(v[5]))
+                .build());
+    }
+
+    /**
+     * Returns the observed synoptic timeline of a virtual station.
+     *
+     * @param stationId the identifier of the virtual station
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (inclusive)
+     * @return the snapshots in chronological order, or an empty Optional if the store cannot serve the range
+     */
+    public Optional<List<SynopSnapshot>> findVirtualHistory(String stationId, LocalDateTime from, LocalDateTime to) {
+        return virtualTable.read(stationId, from, to, (minute, v) -> SynopSnapshot.builder()
+                .timestamp(SeriesTable.fromEpochMinute(minute))
+                .temperature(decimal(v[0])).pressure(decimal(v[1])).windSpeed(decimal(v[2]))
+                .windDirection(integer(v[3])).humidity(decimal(v[4])).precipitation(decimal(v[5]))
+                .windGusts(decimal(v[6])).apparentTemperature(decimal(v[7]))
+                .build());
+    }
+
+    /**
+     * Returns the hydrological timeline of an IMGW hydro station.
+     *
+     * @param stationId the identifier of the hydro station
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (inclusive)
+     * @return the snapshots in chronological order, or an empty Optional if the store cannot serve the range
+     */
+    public Optional<List<HydroSnapshot>> findHydroHistory(String stationId, LocalDateTime from, LocalDateTime to) {
+        return hydroTable.read(stationId, from, to, (minute, v) -> HydroSnapshot.builder()
+                .timestamp(SeriesTable.fromEpochMinute(minute))
+                .waterLevel(integer(v[0])).waterTemperature(decimal(v[1])).discharge(decimal(v[2]))
+                .icePhenomenon(integer(v[3])).overgrowthPhenomenon(integer(v[4]))
+                .build());
+    }
+
+    /**
+     * Returns the meteorological timeline of an IMGW meteo station.
+     *
+     * @param stationId the identifier of the meteo station
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (inclusive)
+     * @return the snapshots in chronological order, or an empty Optional if the store cannot serve the range
+     */
+    public Optional<List<MeteoSnapshot>> findMeteoHistory(String stationId, LocalDateTime from, LocalDateTime to) {
+        return meteoTable.read(stationId, from, to, (minute, v) -> MeteoSnapshot.builder()
+                .timestamp(SeriesTable.fromEpochMinute(minute))
+                .airTemperature(decimal(v[0])).groundTemperature(decimal(v[1])).windDirection(integer(v[2]))
+                .windAverageSpeed(decimal(v[3])).windMaxSpeed(decimal(v[4])).windGust(decimal(v[5]))
+                .humidity(decimal(v[6])).precipitation10min(decimal(v[7]))
+                .build());
+    }
+
+    /**
+     * Returns the current memory usage of every table.
+     *
+     * @return the statistics of the synop, virtual, hydro and meteo tables
+     */
+    public List<TableStats> stats() {
+        return List.of(synopTable, virtualTable, hydroTable, meteoTable).stream()
+                .map(t -> new TableStats(t.name(), t.stationCount(), t.sizeInBytes(), t.maxSizeInBytes()))
+                .toList();
+    }
+
+    /**
+     * Performs the initial load of a table and marks it as serving reads from the given time.
+     */
+    private <E> void load(SeriesTable table, Supplier<List<E>> query, Function<E, LocalDateTime> appender, LocalDateTime since) {
+        synchronized (table) {
+            try {
+                query.get().forEach(row -> table.advanceHighWaterMark(appender.apply(row)));
+                table.markLoaded(since);
+            } catch (Exception e) {
+                log.error("Nie udało się załadować magazynu pomiarów [{}]. Odczyty pozostaną w bazie.", table.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Appends the rows newer than the high-water mark of a loaded table. The query reaches slightly further
+     * back than the mark to catch rows of transactions that started earlier but committed later; rows that
+     * are already stored are ignored by the ring buffers.
+     */
+    private <E> void refresh(SeriesTable table, Function<LocalDateTime, List<E>> query, Function<E, LocalDateTime> appender) {
+        if (!table.isLoaded()) {
+            return;
+        }
+        synchronized (table) {
+            try {
+                LocalDateTime since = table.highWaterMark() != null
+                        ? table.highWaterMark().minusHours(REFRESH_OVERLAP_HOURS)
+                        : LocalDateTime.now().minusHours(windowHours);
+                List<E> rows = query.apply(since);
+                rows.forEach(row -> table.advanceHighWaterMark(appender.apply(row)));
+                log.debug("Magazyn pomiarów [{}]: przetworzono {} nowych wierszy", table.name(), rows.size());
+            } catch (Exception e) {
+                log.error("Nie udało się odświeżyć magazynu pomiarów [{}]", table.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Stores an IMGW synoptic row and returns its source timestamp.
+     */
+    private LocalDateTime appendSynop(ImgwSynopData data) {
+        SynopSnapshot s = synopMapper.fromImgw(data);
+        if (s.timestamp() != null) {
+            synopTable.append(data.getStation().getId(), s.timestamp(), new long[]{
+                    value(s.temperature()), value(s.pressure()), value(s.windSpeed()),
+                    value(s.windDirection()), value(s.humidity()), value(s.precipitation())});
+        }
+        return data.getCreatedAt();
+    }
+
+    /**
+     * Stores a virtual station row and returns its source timestamp.
+     */
+    private LocalDateTime appendVirtual(VirtualStationData data) {
+        SynopSnapshot s = synopMapper.fromVirtual(data);
+        if (s.timestamp() != null) {
+            virtualTable.append(data.getVirtualStation().getId(), s.timestamp(), new long[]{
+                    value(s.temperature()), value(s.pressure()), value(s.windSpeed()),
+                    value(s.windDirection()), value(s.humidity()), value(s.precipitation()),
+                    value(s.windGusts()), value(s.apparentTemperature())});
+        }
+        return data.getMeasurementTime();
+    }
+
+    /**
+     * Stores an IMGW hydro row and returns its source timestamp.
+     */
+    private LocalDateTime appendHydro(ImgwHydroData data) {
+        HydroSnapshot s = hydroMapper.toDomain(data);
+        if (s.timestamp() != null) {
+            hydroTable.append(data.getStation().getId(), s.timestamp(), new long[]{
+                    value(s.waterLevel()), value(s.waterTemperature()), value(s.discharge()),
+                    value(s.icePhenomenon()), value(s.overgrowthPhenomenon())});
+        }
+        return data.getCreatedAt();
+    }
+
+    /**
+     * Stores an IMGW meteo row and returns its source timestamp.
+     */
+    private LocalDateTime appendMeteo(ImgwMeteoData data) {
+        MeteoSnapshot s = meteoMapper.toDomain(data);
+        if (s.timestamp() != null) {
+            meteoTable.append(data.getStation().getId(), s.timestamp(), new long[]{
+                    value(s.airTemperature()), value(s.groundTemperature()), value(s.windDirection()),
+                    value(s.windAverageSpeed()), value(s.windMaxSpeed()), value(s.windGust()),
+                    value(s.humidity()), value(s.precipitation10min())});
+        }
+        return data.getCreatedAt();
+    }
+
+    private static long value(BigDecimal value) {
+        return PackedDecimal.encode(value);
+    }
+
+    private static long value(Integer value) {
+        return PackedDecimal.encode(value);
+    }
+
+    private static BigDecimal decimal(long value) {
+        return PackedDecimal.decimal(value);
+    }
+
+    private static Integer integer(long value) {
+        return PackedDecimal.integer(value);
+    }
+}
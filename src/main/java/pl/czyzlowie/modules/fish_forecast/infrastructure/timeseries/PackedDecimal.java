@@ -0,0 +1,74 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Packs a {@link BigDecimal} into a single {@code long}, so that the ring buffers can keep observations in
+ * primitive arrays and still return exactly the values read from the database.
+ *
+ * The upper 56 bits hold the unscaled value and the lowest 8 bits the scale, so a decoded value is equal to
+ * the encoded one including its scale. Unscaled values are limited to 54 bits and a sign, far more than any
+ * measurement column holds, which keeps {@link #MISSING} distinct from the encoding of every value.
+ */
+final class PackedDecimal {
+
+    /**
+     * The encoding of a missing value.
+     */
+    static final long MISSING = Long.MIN_VALUE;
+
+    private static final int SCALE_BITS = 8;
+    private static final int MAX_UNSCALED_BITS = 54;
+
+    private PackedDecimal() {
+    }
+
+    /**
+     * Encodes a decimal value.
+     *
+     * @param value the value to encode, may be null
+     * @return the packed value, or {@link #MISSING} if the value is null
+     * @throws IllegalArgumentException if the unscaled value needs more than 54 bits or the scale more than 8 bits
+     */
+    static long encode(BigDecimal value) {
+        if (value == null) {
+            return MISSING;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() > MAX_UNSCALED_BITS || value.scale() != (byte) value.scale()) {
+            throw new IllegalArgumentException("Wartość " + value + " nie mieści się w magazynie pomiarów");
+        }
+        return (unscaled.longValue() << SCALE_BITS) | (value.scale() & 0xFF);
+    }
+
+    /**
+     * Encodes an integer value.
+     *
+     * @param value the value to encode, may be null
+     * @return the packed value, or {@link #MISSING} if the value is null
+     */
+    static long encode(Integer value) {
+        return value != null ? (long) value << SCALE_BITS : MISSING;
+    }
+
+    /**
+     * Decodes a decimal value.
+     *
+     * @param packed the packed value
+     * @return the value with its original scale, or null if it is missing
+     */
+    static BigDecimal decimal(long packed) {
+        return packed != MISSING ? BigDecimal.valueOf(packed >> SCALE_BITS, (byte) packed) : null;
+    }
+
+    /**
+     * Decodes an integer value.
+     *
+     * @param packed the packed value of an integer
+     * @return the value, or null if it is missing
+     */
+    static Integer integer(long packed) {
+        return packed != MISSING ? Math.toIntExact(packed >> SCALE_BITS) : null;
+    }
+}
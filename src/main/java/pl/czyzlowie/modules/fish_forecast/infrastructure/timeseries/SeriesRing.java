@@ -0,0 +1,159 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bounded, chronologically ordered ring buffer holding the recent observations of a single station.
+ *
+ * Every observation is stored column-wise as an epoch minute and a fixed number of values packed by
+ * {@link PackedDecimal}, with {@link PackedDecimal#MISSING} marking a missing value. Observations older than the retention window, or beyond
+ * the capacity of the buffer, are evicted from the head. The buffer starts small and doubles up to its
+ * maximum capacity, so stations reporting rarely do not reserve the full capacity.
+ *
+ * All methods are synchronized on the buffer; the critical sections are short array copies.
+ */
+final class SeriesRing {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final int columnCount;
+    private final int maxCapacity;
+    private long[] minutes;
+    private long[][] columns;
+    private int head;
+    private int size;
+    private long evictedUpTo = Long.MIN_VALUE;
+
+    /**
+     * Maps a single stored observation to a domain object.
+     *
+     * @param <T> the type of the mapped object
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(long epochMinute, long[] values);
+    }
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param columnCount the number of values stored per observation
+     * @param maxCapacity the maximum number of observations held at once
+     */
+    SeriesRing(int columnCount, int maxCapacity) {
+        this.columnCount = columnCount;
+        this.maxCapacity = maxCapacity;
+        int capacity = Math.min(INITIAL_CAPACITY, maxCapacity);
+        this.minutes = new long[capacity];
+        this.columns = new long[columnCount][capacity];
+    }
+
+    /**
+     * Appends an observation newer than the last stored one and evicts observations older than
+     * {@code retainFrom}. Observations not newer than the last stored one are ignored.
+     *
+     * @param epochMinute the time of the observation in epoch minutes
+     * @param values the observation values, one per column
+     * @param retainFrom the oldest epoch minute to keep in the buffer
+     * @return true if the observation was appended, otherwise false
+     */
+    synchronized boolean append(long epochMinute, long[] values, long retainFrom) {
+        if (size > 0 && epochMinute <= minutes[slot(size - 1)]) {
+            return false;
+        }
+
+        while (size > 0 && minutes[head] < retainFrom) {
+            evictHead();
+        }
+        if (size == minutes.length) {
+            if (minutes.length < maxCapacity) {
+                grow();
+            } else {
+                evictHead();
+            }
+        }
+
+        int slot = slot(size);
+        minutes[slot] = epochMinute;
+        for (int c = 0; c < columnCount; c++) {
+            columns[c][slot] = values[c];
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the observations within the given inclusive range, mapped in chronological order.
+     *
+     * @param fromMinute the start of the range in epoch minutes
+     * @param toMinute the end of the range in epoch minutes
+     * @param mapper the function mapping a stored observation to the result type
+     * @param <T> the result type
+     * @return the mapped observations, possibly empty
+     */
+    synchronized <T> List<T> read(long fromMinute, long toMinute, RowMapper<T> mapper) {
+        List<T> result = new ArrayList<>();
+        long[] row = new long[columnCount];
+        for (int i = 0; i < size; i++) {
+            int slot = slot(i);
+            long minute = minutes[slot];
+            if (minute > toMinute) {
+                break;
+            }
+            if (minute >= fromMinute) {
+                for (int c = 0; c < columnCount; c++) {
+                    row[c] = columns[c][slot];
+                }
+                result.add(mapper.map(minute, row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first epoch minute from which the buffer is guaranteed to hold every observation
+     * it has received, that is the minute right after the last evicted observation.
+     *
+     * @return the first fully covered epoch minute, or {@code Long.MIN_VALUE} if nothing was evicted
+     */
+    synchronized long coveredFrom() {
+        return evictedUpTo == Long.MIN_VALUE ? Long.MIN_VALUE : evictedUpTo + 1;
+    }
+
+    /**
+     * Estimates the heap memory used by the arrays of the buffer.
+     *
+     * @return the approximate size in bytes
+     */
+    synchronized long sizeInBytes() {
+        return (long) minutes.length * (1L + columnCount) * Long.BYTES;
+    }
+
+    private void evictHead() {
+        evictedUpTo = minutes[head];
+        head = (head + 1) % minutes.length;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = Math.min(minutes.length * 2, maxCapacity);
+        long[] grownMinutes = new long[capacity];
+        long[][] grownColumns = new long[columnCount][capacity];
+        for (int i = 0; i < size; i++) {
+            int slot = slot(i);
+            grownMinutes[i] = minutes[slot];
+            for (int c = 0; c < columnCount; c++) {
+                grownColumns[c][i] = columns[c][slot];
+            }
+        }
+        minutes = grownMinutes;
+        columns = grownColumns;
+        head = 0;
+    }
+
+    private int slot(int index) {
+        return (head + index) % minutes.length;
+    }
+
+}
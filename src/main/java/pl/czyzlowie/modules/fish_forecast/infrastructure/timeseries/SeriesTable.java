@@ -0,0 +1,157 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the recent observations of one kind of station (e.g. IMGW hydro) as one {@link SeriesRing} per station.
+ *
+ * A table answers a read only when it can guarantee the answer is complete: the table must have been loaded
+ * and the requested range must start after both the load horizon and the last observation evicted from the
+ * station buffer. Otherwise the caller is expected to fall back to the database.
+ *
+ * Times are converted to epoch minutes as local date-times, the same way the forecast timelines index them.
+ */
+final class SeriesTable {
+
+    private static final long NOT_LOADED = Long.MAX_VALUE;
+
+    private final String name;
+    private final int columnCount;
+    private final int maxPointsPerStation;
+    private final long retentionMinutes;
+    private final ConcurrentMap<String, SeriesRing> rings = new ConcurrentHashMap<>();
+    private volatile long loadedFrom = NOT_LOADED;
+    private volatile LocalDateTime highWaterMark;
+
+    /**
+     * Creates an empty, not yet loaded table.
+     *
+     * @param name the name of the table used in logs and metrics
+     * @param columnCount the number of values stored per observation
+     * @param maxPointsPerStation the maximum number of observations held per station
+     * @param retentionMinutes how far back from the newest observation of a station data is kept
+     */
+    SeriesTable(String name, int columnCount, int maxPointsPerStation, long retentionMinutes) {
+        this.name = name;
+        this.columnCount = columnCount;
+        this.maxPointsPerStation = maxPointsPerStation;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    /**
+     * Appends an observation to the buffer of the given station.
+     *
+     * @param stationId the identifier of the station
+     * @param time the time of the observation
+     * @param values the observation values, one per column
+     */
+    void append(String stationId, LocalDateTime time, long[] values) {
+        long minute = toEpochMinute(time);
+        rings.computeIfAbsent(stationId, id -> new SeriesRing(columnCount, maxPointsPerStation))
+                .append(minute, values, minute - retentionMinutes);
+    }
+
+    /**
+     * Reads the observations of a station within the given inclusive range.
+     *
+     * @param stationId the identifier of the station
+     * @param from the start of the range
+     * @param to the end of the range
+     * @param mapper the function mapping a stored observation to the result type
+     * @param <T> the result type
+     * @return the observations in chronological order, or an empty Optional if the table cannot
+     * guarantee that the range is complete
+     */
+    <T> Optional<List<T>> read(String stationId, LocalDateTime from, LocalDateTime to, SeriesRing.RowMapper<T> mapper) {
+        long fromMinute = toEpochMinute(from);
+        if (fromMinute < loadedFrom) {
+            return Optional.empty();
+        }
+
+        SeriesRing ring = rings.get(stationId);
+        if (ring == null) {
+            return Optional.of(List.of());
+        }
+        if (fromMinute < ring.coveredFrom()) {
+            return Optional.empty();
+        }
+        return Optional.of(ring.read(fromMinute, toEpochMinute(to), mapper));
+    }
+
+    /**
+     * Marks the table as loaded with complete data starting from the given time.
+     *
+     * @param from the time since which all observations have been loaded
+     */
+    void markLoaded(LocalDateTime from) {
+        loadedFrom = toEpochMinute(from);
+    }
+
+    /**
+     * Checks whether the initial load of the table has completed.
+     *
+     * @return true if the table serves reads, otherwise false
+     */
+    boolean isLoaded() {
+        return loadedFrom != NOT_LOADED;
+    }
+
+    /**
+     * Records the newest source timestamp seen while loading, used as the starting point of the next refresh.
+     *
+     * @param time the source timestamp of a loaded row
+     */
+    void advanceHighWaterMark(LocalDateTime time) {
+        if (time != null && (highWaterMark == null || time.isAfter(highWaterMark))) {
+            highWaterMark = time;
+        }
+    }
+
+    /**
+     * Returns the newest source timestamp seen so far.
+     *
+     * @return the high-water mark, or null if nothing has been loaded
+     */
+    LocalDateTime highWaterMark() {
+        return highWaterMark;
+    }
+
+    String name() {
+        return name;
+    }
+
+    int stationCount() {
+        return rings.size();
+    }
+
+    /**
+     * Estimates the heap memory used by the buffers of all stations.
+     *
+     * @return the approximate size in bytes
+     */
+    long sizeInBytes() {
+        return rings.values().stream().mapToLong(SeriesRing::sizeInBytes).sum();
+    }
+
+    /**
+     * Returns the upper bound of memory the table may use for the given number of stations.
+     *
+     * @return the maximum size in bytes for the current number of stations
+     */
+    long maxSizeInBytes() {
+        return (long) rings.size() * maxPointsPerStation * (1L + columnCount) * Long.BYTES;
+    }
+
+    static long toEpochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
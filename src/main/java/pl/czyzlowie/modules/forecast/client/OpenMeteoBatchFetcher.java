@@ -0,0 +1,144 @@
+package pl.czyzlowie.modules.forecast.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Fetches Open-Meteo data for many stations with multi-location requests.
+ *
+ * Stations are grouped into requests of up to a given number of locations. Every request runs on its own
+ * virtual thread of the {@code openMeteoRequestExecutor}, which first takes the Open-Meteo quota for its
+ * locations through {@link OpenMeteoClient#acquireQuota}. This replaces fixed pauses between batches:
+ * requests go out at once while the quota lasts and wait only when it is spent. The wait for the quota,
+ * up to the {@code timeout-duration} of the rate limiter, therefore parks a virtual thread instead of the
+ * calling scheduler thread; the caller only waits for the results. Each request is bounded by the read
+ * timeout of its integration in {@link OpenMeteoClient}.
+ *
+ * Failures are isolated per station. A request which fails or returns a different number of locations
+ * than requested is repeated as single-location requests, so one bad station cannot take its whole group
+ * down, and only the stations which still fail are reported as failed. The single-location requests are
+ * sent in waves no larger than the bulkhead of the integration, so the fallback for a large group does not
+ * overflow the bulkhead and turn a partial failure into rejected requests.
+ */
+@Component
+@Slf4j
+public class OpenMeteoBatchFetcher {
+
+    private final OpenMeteoClient openMeteoClient;
+    private final Executor openMeteoRequestExecutor;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    /**
+     * Creates the fetcher.
+     *
+     * @param openMeteoClient the client sending the requests
+     * @param openMeteoRequestExecutor the executor starting one virtual thread per request
+     * @param bulkheadRegistry the registry of the bulkheads limiting concurrent requests per integration
+     */
+    public OpenMeteoBatchFetcher(OpenMeteoClient openMeteoClient,
+                                 @Qualifier("openMeteoRequestExecutor") Executor openMeteoRequestExecutor,
+                                 BulkheadRegistry bulkheadRegistry) {
+        this.openMeteoClient = openMeteoClient;
+        this.openMeteoRequestExecutor = openMeteoRequestExecutor;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    /**
+     * Fetches the responses for all given stations.
+     *
+     * @param <S> the type of the stations
+     * @param <R> the type of the response of a single station
+     * @param integration the integration the calls belong to
+     * @param stations the stations to fetch
+     * @param locationsPerRequest the maximum number of locations in one request
+     * @param urlBuilder builds the URL of a request for the given stations, in their order
+     * @param responseType the class of the response of a single station
+     * @return the fetched responses and the stations which could not be fetched
+     */
+    public <S, R> OpenMeteoBatchResult<S, R> fetch(String integration,
+                                                   List<S> stations,
+                                                   int locationsPerRequest,
+                                                   Function<List<S>, String> urlBuilder,
+                                                   Class<R> responseType) {
+        List<List<S>> groups = splitIntoGroups(stations, locationsPerRequest);
+        log.info("Plan: {} stacji w {} zapytaniach ({}).", stations.size(), groups.size(), integration);
+
+        List<CompletableFuture<List<R>>> requests = new ArrayList<>(groups.size());
+        for (List<S> group : groups) {
+            requests.add(request(integration, group, urlBuilder, responseType));
+        }
+
+        List<OpenMeteoBatchResult.StationResponse<S, R>> responses = new ArrayList<>(stations.size());
+        List<S> retried = new ArrayList<>();
+        List<S> failed = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            List<S> group = groups.get(i);
+            List<R> locations = requests.get(i).join();
+            if (locations.size() == group.size()) {
+                for (int j = 0; j < group.size(); j++) {
+                    responses.add(new OpenMeteoBatchResult.StationResponse<>(group.get(j), locations.get(j)));
+                }
+            } else if (group.size() > 1) {
+                log.warn("Zapytanie o {} lokalizacji zwróciło {}. Ponawiam pojedynczo.", group.size(), locations.size());
+                retried.addAll(group);
+            } else {
+                failed.addAll(group);
+            }
+        }
+
+        int waveSize = bulkheadRegistry.bulkhead(integration).getBulkheadConfig().getMaxConcurrentCalls();
+        for (List<S> wave : splitIntoGroups(retried, waveSize)) {
+            List<CompletableFuture<List<R>>> singles = new ArrayList<>(wave.size());
+            for (S station : wave) {
+                singles.add(request(integration, List.of(station), urlBuilder, responseType));
+            }
+            for (int i = 0; i < wave.size(); i++) {
+                List<R> locations = singles.get(i).join();
+                if (locations.size() == 1) {
+                    responses.add(new OpenMeteoBatchResult.StationResponse<>(wave.get(i), locations.getFirst()));
+                } else {
+                    failed.add(wave.get(i));
+                }
+            }
+        }
+        return new OpenMeteoBatchResult<>(responses, failed);
+    }
+
+    /**
+     * Starts the request of the stations, which takes their quota before calling the API. Never completes
+     * exceptionally; failures, timeouts and an exhausted quota give an empty list.
+     */
+    private <S, R> CompletableFuture<List<R>> request(String integration,
+                                                      List<S> stations,
+                                                      Function<List<S>, String> urlBuilder,
+                                                      Class<R> responseType) {
+        String url = urlBuilder.apply(stations);
+        return CompletableFuture.supplyAsync(() -> {
+                    if (!openMeteoClient.acquireQuota(stations.size())) {
+                        log.warn("Limit zapytań Open-Meteo wyczerpany. Pomijam {} lokalizacji.", stations.size());
+                        return List.<R>of();
+                    }
+                    return openMeteoClient.fetchLocations(integration, url, responseType);
+                }, openMeteoRequestExecutor)
+                .exceptionally(ex -> {
+                    log.error("API ERROR dla {} lokalizacji: {}", stations.size(), ex.getMessage());
+                    return List.of();
+                });
+    }
+
+    private static <T> List<List<T>> splitIntoGroups(List<T> list, int size) {
+        List<List<T>> groups = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            groups.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,24 @@
+package pl.czyzlowie.modules.forecast.client;
+
+import java.util.List;
+
+/**
+ * The outcome of fetching Open-Meteo data for a group of stations.
+ *
+ * @param responses the stations whose data has been fetched, each with its response
+ * @param failed the stations whose data could not be fetched
+ * @param <S> the type of the stations
+ * @param <R> the type of the response of a single station
+ */
+public record OpenMeteoBatchResult<S, R>(List<StationResponse<S, R>> responses, List<S> failed) {
+
+    /**
+     * The response fetched for a single station.
+     *
+     * @param station the station
+     * @param response the response for the location of the station
+     * @param <S> the type of the station
+     * @param <R> the type of the response
+     */
+    public record StationResponse<S, R>(S station, R response) {}
+}
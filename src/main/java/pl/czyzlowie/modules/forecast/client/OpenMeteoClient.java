@@ -1,10 +1,26 @@
 package pl.czyzlowie.modules.forecast.client;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
-import java.util.Optional;
+import pl.czyzlowie.core.config.RestClientConfig;
+import pl.czyzlowie.core.http.ResilientCalls;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Client responsible for interacting with the Open-Meteo API to fetch weather data.
@@ -17,42 +33,128 @@ import java.util.Optional;
  *
  * This component is designed to be used within a dependency injection framework
  * such as Spring, with logging enabled via SLF4J.
+ *
+ * Every call names its integration, the hourly forecasts or the current conditions of virtual stations,
+ * and runs through the bulkhead, circuit breaker and retry configured for it in {@link ResilientCalls}.
+ *
+ * Responses are read with the application {@link ObjectMapper} rather than the message converters of
+ * {@code RestClient}, which use Jackson 3 and would ignore the Jackson 2 deserializer of
+ * {@link pl.czyzlowie.modules.forecast.client.dto.NumericSeries}.
+ *
+ * One request can carry many locations as comma-separated coordinate lists; the API then answers with
+ * an array holding one response per location, in the order of the coordinates. All requests share the
+ * {@code openMeteo} rate limiter, which holds the Open-Meteo quota counted in locations.
+ *
+ * A multi-location response takes longer than the default read timeout of outbound requests, so each
+ * integration has its own client on the shared connection pool, with the read timeout configured under
+ * {@code forecast.api.forecast-read-timeout} and {@code forecast.api.current-read-timeout}.
  */
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class OpenMeteoClient {
 
-    private final RestClient restClient;
+    /** The integration fetching hourly and daily forecasts. */
+    public static final String FORECAST = "openMeteoForecast";
+    /** The integration fetching current conditions of virtual stations. */
+    public static final String CURRENT_CONDITIONS = "openMeteoCurrent";
+
+    private static final String QUOTA = "openMeteo";
+
+    private final Map<String, RestClient> restClients;
+    private final ResilientCalls resilientCalls;
+    private final ObjectMapper objectMapper;
+    private final RateLimiterRegistry rateLimiterRegistry;
+
+    public OpenMeteoClient(HttpClient outboundHttpClient,
+                           ResilientCalls resilientCalls,
+                           ObjectMapper objectMapper,
+                           RateLimiterRegistry rateLimiterRegistry,
+                           @Value("${forecast.api.forecast-read-timeout:PT20S}") Duration forecastReadTimeout,
+                           @Value("${forecast.api.current-read-timeout:PT10S}") Duration currentReadTimeout) {
+        this.restClients = Map.of(
+                FORECAST, restClient(outboundHttpClient, forecastReadTimeout),
+                CURRENT_CONDITIONS, restClient(outboundHttpClient, currentReadTimeout));
+        this.resilientCalls = resilientCalls;
+        this.objectMapper = objectMapper;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+    }
 
     /**
-     * Fetches data from a remote endpoint and attempts to deserialize it into the specified response type.
-     * This method uses the provided URL to make an HTTP GET request, expecting a response of the type specified.
-     * If an error occurs during the request or deserialization process, an empty {@code Optional} is returned.
+     * Fetches the responses for all locations of a multi-location request.
+     * A single-location request, answered with a plain object, gives a list with one response.
      *
-     * @param <T> the expected response type
-     * @param url the URL of the endpoint from which the data is to be fetched
-     * @param responseType the class of the expected response type, used for deserialization
-     * @return an {@code Optional} containing the deserialized response if successful, or an empty {@code Optional} if an error occurs
+     * @param <T> the expected response type of a single location
+     * @param integration the integration the call belongs to, {@link #FORECAST} or {@link #CURRENT_CONDITIONS}
+     * @param url the URL with comma-separated latitude and longitude lists
+     * @param responseType the class of the response of a single location
+     * @return the responses in the order of the requested locations, or an empty list if an error occurs
      */
-    public <T> Optional<T> fetchData(String url, Class<T> responseType) {
-
+    public <T> List<T> fetchLocations(String integration, String url, Class<T> responseType) {
+        RestClient restClient = restClients.get(integration);
+        if (restClient == null) {
+            throw new IllegalArgumentException("Nieznana integracja Open-Meteo: " + integration);
+        }
         try {
-
-            T result = restClient.get()
+            return resilientCalls.call(integration, () -> restClient.get()
                     .uri(url)
-                    .retrieve()
-                    .body(responseType);
-            return Optional.ofNullable(result);
-
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw response.createException();
+                        }
+                        return readLocations(response.getBody(), responseType);
+                    }));
+        } catch (CallNotPermittedException e) {
+            log.warn("Pominięto pobieranie prognozy z Open-Meteo URL: {} ({})", url, e.getMessage());
+            return List.of();
         } catch (Exception e) {
-
             log.error("Błąd pobierania prognozy z Open-Meteo URL: {}", url, e);
+            return List.of();
+        }
+    }
 
-            return Optional.empty();
+    /**
+     * Waits until the Open-Meteo quota allows a request for the given number of locations and takes
+     * that many permits from it. While the quota is spent this blocks the calling thread for up to the
+     * {@code timeout-duration} of the rate limiter, so it is meant for the thread of the request itself.
+     *
+     * @param locations the number of locations of the request
+     * @return {@code true} if the permits have been taken, {@code false} if the wait would exceed the
+     *         timeout of the rate limiter
+     */
+    public boolean acquireQuota(int locations) {
+        return rateLimiterRegistry.rateLimiter(QUOTA).acquirePermission(locations);
+    }
 
+    /**
+     * Reads the responses of all locations one at a time, accepting a single object as a one-element array.
+     */
+    private <T> List<T> readLocations(InputStream body, Class<T> responseType) throws IOException {
+        ObjectReader reader = reader(responseType);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                T location = reader.readValue(parser);
+                return List.of(location);
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Oczekiwano obiektu lub tablicy JSON, otrzymano: " + token);
+            }
+            List<T> locations = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                locations.add(reader.readValue(parser));
+            }
+            return locations;
         }
+    }
 
+    private static RestClient restClient(HttpClient httpClient, Duration readTimeout) {
+        return RestClient.builder()
+                .requestFactory(RestClientConfig.requestFactory(httpClient, readTimeout))
+                .build();
     }
 
-}
\ No newline at end of file
+    private ObjectReader reader(Class<?> responseType) {
+        return objectMapper.readerFor(responseType)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
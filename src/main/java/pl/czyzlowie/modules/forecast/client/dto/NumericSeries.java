@@ -0,0 +1,140 @@
+package pl.czyzlowie.modules.forecast.client.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A column of numeric values from an Open-Meteo response, such as the hourly temperatures.
+ *
+ * Values are kept in a primitive {@code double[]} instead of a list of boxed numbers, with
+ * {@link Double#NaN} standing for the {@code null} entries the API sends for missing values.
+ * The array is filled straight from the JSON parser, one token at a time, and short decimal numbers
+ * are read directly from the character buffer of the parser instead of going through a string.
+ */
+@JsonDeserialize(using = NumericSeries.Deserializer.class)
+public final class NumericSeries {
+
+    private static final NumericSeries EMPTY = new NumericSeries(new double[0]);
+
+    private final double[] values;
+
+    private NumericSeries(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the number of entries in the series, missing values included.
+     *
+     * @return the size of the series
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the value at the given position.
+     *
+     * @param index the position in the series
+     * @return the value, or {@code null} if it is missing or the position lies outside the series
+     */
+    public Double get(int index) {
+        if (index < 0 || index >= values.length || Double.isNaN(values[index])) {
+            return null;
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns the value at the given position truncated to an integer, the way Jackson coerces
+     * fractional numbers into integer fields.
+     *
+     * @param index the position in the series
+     * @return the value, or {@code null} if it is missing or the position lies outside the series
+     */
+    public Integer getInt(int index) {
+        Double value = get(index);
+        return value != null ? (int) value.doubleValue() : null;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+
+    /**
+     * Reads a JSON array of numbers and {@code null}s into a {@link NumericSeries} without boxing.
+     */
+    static final class Deserializer extends StdDeserializer<NumericSeries> {
+
+        private static final int INITIAL_CAPACITY = 256;
+        private static final int MAX_EXACT_DIGITS = 15;
+        private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+                1e11, 1e12, 1e13, 1e14, 1e15};
+
+        Deserializer() {
+            super(NumericSeries.class);
+        }
+
+        @Override
+        public NumericSeries deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (NumericSeries) context.handleUnexpectedToken(NumericSeries.class, parser);
+            }
+            double[] values = new double[INITIAL_CAPACITY];
+            int size = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = switch (token) {
+                    case VALUE_NUMBER_INT -> parser.getDoubleValue();
+                    case VALUE_NUMBER_FLOAT -> decimal(parser);
+                    case VALUE_NULL -> Double.NaN;
+                    default -> ((Number) context.handleUnexpectedToken(Double.class, parser)).doubleValue();
+                };
+            }
+            return size == 0 ? EMPTY : new NumericSeries(Arrays.copyOf(values, size));
+        }
+
+        /**
+         * Reads a decimal number without an exponent and with at most {@value #MAX_EXACT_DIGITS} digits
+         * from the characters of the current token. Both its digits and the power of ten are then exact
+         * doubles, so a single division gives the correctly rounded value, the same as
+         * {@link Double#parseDouble}. Any other number is left to the parser.
+         */
+        private static double decimal(JsonParser parser) throws IOException {
+            char[] chars = parser.getTextCharacters();
+            int from = parser.getTextOffset();
+            int to = from + parser.getTextLength();
+            boolean negative = chars[from] == '-';
+            long digits = 0;
+            int digitCount = 0;
+            int scale = -1;
+
+            for (int i = negative ? from + 1 : from; i < to; i++) {
+                char c = chars[i];
+                if (c >= '0' && c <= '9') {
+                    digits = digits * 10 + (c - '0');
+                    digitCount++;
+                    if (scale >= 0) scale++;
+                } else if (c == '.' && scale < 0) {
+                    scale = 0;
+                } else {
+                    return parser.getDoubleValue();
+                }
+            }
+            if (digitCount > MAX_EXACT_DIGITS) {
+                return parser.getDoubleValue();
+            }
+            double value = digits / POWERS_OF_TEN[Math.max(scale, 0)];
+            return negative ? -value : value;
+        }
+    }
+}
@@ -106,7 +106,8 @@ public class OpenMeteoResponse {
      * providing detailed weather information in a structured format.
      *
      * Each attribute is represented as a list to accommodate weather data
-     * for sequential hourly periods.
+     * for sequential hourly periods. Numeric attributes are held in a {@link NumericSeries},
+     * read without boxing the individual values.
      *
      * Key attributes include:
      * - Time: A list of ISO 8601 formatted strings representing the timestamps for hourly data.
@@ -132,34 +133,34 @@ public class OpenMeteoResponse {
         private List<String> time;
 
         @JsonProperty("temperature_2m")
-        private List<Double> temperature2m;
+        private NumericSeries temperature2m;
 
         @JsonProperty("apparent_temperature")
-        private List<Double> apparentTemperature;
+        private NumericSeries apparentTemperature;
 
         @JsonProperty("pressure_msl")
-        private List<Double> surfacePressure;
+        private NumericSeries surfacePressure;
 
         @JsonProperty("rain")
-        private List<Double> rain;
+        private NumericSeries rain;
 
         @JsonProperty("cloud_cover")
-        private List<Integer> cloudCover;
+        private NumericSeries cloudCover;
 
         @JsonProperty("relative_humidity_2m")
-        private List<Integer> relativeHumidity2m;
+        private NumericSeries relativeHumidity2m;
 
         @JsonProperty("wind_speed_10m")
-        private List<Double> windSpeed10m;
+        private NumericSeries windSpeed10m;
 
         @JsonProperty("wind_gusts_10m")
-        private List<Double> windGusts10m;
+        private NumericSeries windGusts10m;
 
         @JsonProperty("wind_direction_10m")
-        private List<Integer> windDirection10m;
+        private NumericSeries windDirection10m;
 
         @JsonProperty("uv_index")
-        private List<Double> uvIndex;
+        private NumericSeries uvIndex;
     }
 
     /**
@@ -168,7 +169,7 @@ public class OpenMeteoResponse {
      * time, sunrise, sunset, and maximum UV index values for given days.
      *
      * Each attribute is represented as a list to accommodate daily weather
-     * information for multiple days.
+     * information for multiple days, the numeric ones as a {@link NumericSeries}.
      *
      * Key attributes include:
      * - Time: List of ISO 8601 formatted date strings representing the days.
@@ -192,6 +193,6 @@ public class OpenMeteoResponse {
         private List<String> sunset;
 
         @JsonProperty("uv_index_max")
-        private List<Double> uvIndexMax;
+        private NumericSeries uvIndexMax;
     }
 }
\ No newline at end of file
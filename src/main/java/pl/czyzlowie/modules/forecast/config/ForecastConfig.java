@@ -7,6 +7,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Configuration class for weather forecasting application.
@@ -27,6 +29,8 @@ import java.util.concurrent.Executor;
  * - weatherExecutor(): Configures and provides a thread pool task
  *   executor with specific properties such as core pool size,
  *   maximum pool size, queue capacity, and thread name prefix.
+ * - openMeteoRequestExecutor(): Starts a virtual thread per Open-Meteo request, which may wait for the
+ *   shared quota before calling the API. Concurrent calls are limited by the bulkheads of the integrations.
  */
 @Configuration
 @EnableAsync
@@ -43,4 +47,9 @@ public class ForecastConfig {
         return executor;
     }
 
+    @Bean(name = "openMeteoRequestExecutor", destroyMethod = "close")
+    public ExecutorService openMeteoRequestExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("OpenMeteo-", 0).factory());
+    }
+
 }
@@ -0,0 +1,17 @@
+package pl.czyzlowie.modules.forecast.event;
+
+import java.util.Set;
+
+/**
+ * Application event published after Open-Meteo forecasts or virtual station measurements
+ * were saved. Listeners interested in the committed state should observe it after the
+ * surrounding transaction completes.
+ *
+ * @param stationIds the identifiers of the synoptic or virtual stations that received new data
+ */
+public record OpenMeteoDataImportedEvent(Set<String> stationIds) {
+
+    public OpenMeteoDataImportedEvent {
+        stationIds = Set.copyOf(stationIds);
+    }
+}
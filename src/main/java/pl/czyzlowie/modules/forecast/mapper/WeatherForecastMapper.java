@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.ReportingPolicy;
+import pl.czyzlowie.modules.forecast.client.dto.NumericSeries;
 import pl.czyzlowie.modules.forecast.client.dto.OpenMeteoLightResponse;
 import pl.czyzlowie.modules.forecast.client.dto.OpenMeteoResponse;
 import pl.czyzlowie.modules.forecast.entity.VirtualStation;
@@ -110,22 +111,22 @@ public interface WeatherForecastMapper {
                     if (dayIndex != -1) {
                         entity.setSunrise(parseDateTime(getSafe(daily.getSunrise(), dayIndex)));
                         entity.setSunset(parseDateTime(getSafe(daily.getSunset(), dayIndex)));
-                        entity.setUvIndexMax(toBigDecimal(getSafe(daily.getUvIndexMax(), dayIndex)));
+                        entity.setUvIndexMax(decimalAt(daily.getUvIndexMax(), dayIndex));
                     }
                 }
             }
 
             entity.setFetchedAt(now);
-            entity.setTemperature(toBigDecimal(getSafe(hourly.getTemperature2m(), i)));
-            entity.setPressure(toBigDecimal(getSafe(hourly.getSurfacePressure(), i)));
-            entity.setWindSpeed(toBigDecimal(getSafe(hourly.getWindSpeed10m(), i)));
-            entity.setWindGusts(toBigDecimal(getSafe(hourly.getWindGusts10m(), i)));
-            entity.setRain(toBigDecimal(getSafe(hourly.getRain(), i)));
-            entity.setUvIndex(toBigDecimal(getSafe(hourly.getUvIndex(), i)));
-            entity.setApparentTemperature(toBigDecimal(getSafe(hourly.getApparentTemperature(), i)));
-            entity.setWindDirection(getSafe(hourly.getWindDirection10m(), i));
-            entity.setCloudCover(getSafe(hourly.getCloudCover(), i));
-            entity.setRelativeHumidity2m(getSafe(hourly.getRelativeHumidity2m(), i));
+            entity.setTemperature(decimalAt(hourly.getTemperature2m(), i));
+            entity.setPressure(decimalAt(hourly.getSurfacePressure(), i));
+            entity.setWindSpeed(decimalAt(hourly.getWindSpeed10m(), i));
+            entity.setWindGusts(decimalAt(hourly.getWindGusts10m(), i));
+            entity.setRain(decimalAt(hourly.getRain(), i));
+            entity.setUvIndex(decimalAt(hourly.getUvIndex(), i));
+            entity.setApparentTemperature(decimalAt(hourly.getApparentTemperature(), i));
+            entity.setWindDirection(intAt(hourly.getWindDirection10m(), i));
+            entity.setCloudCover(intAt(hourly.getCloudCover(), i));
+            entity.setRelativeHumidity2m(intAt(hourly.getRelativeHumidity2m(), i));
 
             list.add(entity);
         }
@@ -209,6 +210,28 @@ public interface WeatherForecastMapper {
         return value != null ? BigDecimal.valueOf(value) : null;
     }
 
+    /**
+     * Reads a value of a numeric series as a {@code BigDecimal} in a safe manner.
+     *
+     * @param series the series to read from, may be null
+     * @param index the position of the value
+     * @return the value, or null if the series is null or the value is missing
+     */
+    private BigDecimal decimalAt(NumericSeries series, int index) {
+        return series != null ? toBigDecimal(series.get(index)) : null;
+    }
+
+    /**
+     * Reads a value of a numeric series as an {@code Integer} in a safe manner.
+     *
+     * @param series the series to read from, may be null
+     * @param index the position of the value
+     * @return the value, or null if the series is null or the value is missing
+     */
+    private Integer intAt(NumericSeries series, int index) {
+        return series != null ? series.getInt(index) : null;
+    }
+
 
     /**
      * Finds the index of a specific day in a list of days based on the given forecast time.
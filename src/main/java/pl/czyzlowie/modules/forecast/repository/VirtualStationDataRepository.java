@@ -95,4 +95,14 @@ public interface VirtualStationDataRepository extends JpaRepository<VirtualStati
     @Modifying
     @Query("DELETE FROM VirtualStationData d WHERE d.fetchedAt < :thresholdDate")
     int deleteOlderThan(@Param("thresholdDate") LocalDateTime thresholdDate);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves all VirtualStationData entities of all virtual stations measured at or after
+     * the given time, ordered by measurement time in ascending order.
+     *
+     * @param since the start of the time range (inclusive)
+     * @return a list of VirtualStationData objects measured since the given time
+     */
+    @Query("SELECT v FROM VirtualStationData v WHERE v.measurementTime >= :since ORDER BY v.measurementTime ASC")
+    List<VirtualStationData> findAllMeasuredSince(@Param("since") LocalDateTime since);
+}
@@ -2,9 +2,11 @@ package pl.czyzlowie.modules.forecast.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pl.czyzlowie.modules.forecast.entity.VirtualStationData;
+import pl.czyzlowie.modules.forecast.event.OpenMeteoDataImportedEvent;
 import pl.czyzlowie.modules.forecast.repository.VirtualStationDataRepository;
 
 import java.time.LocalDateTime;
@@ -23,11 +25,13 @@ import java.util.stream.Collectors;
 public class VirtualStationStorageService {
 
     private final VirtualStationDataRepository dataRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Saves only new virtual station data entries that do not already exist in the database.
      * It compares the fetched data with the existing data in the database based on virtual station IDs
-     * and measurement times. Only entries with unique combinations of ID and measurement time are persisted.
+     * and measurement times. Only entries with unique combinations of ID and measurement time are persisted,
+     * after which an {@link OpenMeteoDataImportedEvent} is published for the affected stations.
      *
      * @param fetchedData the list of virtual station data entries to be saved. Each entry must include
      *                    a non-null virtual station and measurement time. If the list is empty, the method exits early.
@@ -58,6 +62,11 @@ public class VirtualStationStorageService {
         if (!toSave.isEmpty()) {
             dataRepository.saveAll(toSave);
             log.info("Zapisano {} nowych pomiarów.", toSave.size());
+
+            Set<String> updatedStationIds = toSave.stream()
+                    .map(d -> d.getVirtualStation().getId())
+                    .collect(Collectors.toSet());
+            eventPublisher.publishEvent(new OpenMeteoDataImportedEvent(updatedStationIds));
         }
     }
 
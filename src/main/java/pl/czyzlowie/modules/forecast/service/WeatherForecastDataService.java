@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
+import pl.czyzlowie.modules.forecast.client.OpenMeteoBatchFetcher;
+import pl.czyzlowie.modules.forecast.client.OpenMeteoBatchResult;
 import pl.czyzlowie.modules.forecast.client.OpenMeteoClient;
 import pl.czyzlowie.modules.forecast.client.dto.OpenMeteoResponse;
 import pl.czyzlowie.modules.forecast.entity.VirtualStation;
@@ -16,30 +18,28 @@ import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopStationRepository;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The WeatherForecastDataService is responsible for managing the retrieval and processing of weather forecast data
  * for synoptic and virtual weather stations. It handles fetching external API data, transforming it into domain-specific
- * objects, and storing the results. The service ensures data is processed in batches and adheres to rate limiting and timeout
- * policies to prevent system overloads or API violations.
+ * objects, and storing the results.
+ *
+ * Forecasts are fetched with multi-location requests of up to {@value #LOCATIONS_PER_REQUEST} stations through
+ * {@link OpenMeteoBatchFetcher}, paced by the shared Open-Meteo quota. Failures are isolated per station: a station
+ * whose forecast cannot be fetched, mapped or saved is counted as failed and the others are still imported.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WeatherForecastDataService {
 
-    private static final int BATCH_SIZE = 10;
-    private static final long RATE_LIMIT_PAUSE_MS = 1050L;
-    private static final int API_TIMEOUT_SECONDS = 12;
+    private static final int LOCATIONS_PER_REQUEST = 50;
+    private static final int SAVE_BATCH_SIZE = 10;
 
     private static final String API_HOURLY_PARAMS = "temperature_2m,apparent_temperature,rain,relative_humidity_2m," +
             "cloud_cover,wind_speed_10m,wind_direction_10m,wind_gusts_10m," +
@@ -49,9 +49,8 @@ public class WeatherForecastDataService {
     private final ImgwSynopStationRepository synopStationRepository;
     private final VirtualStationRepository virtualStationRepository;
     private final WeatherForecastStorageService storageService;
-    private final OpenMeteoClient openMeteoClient;
+    private final OpenMeteoBatchFetcher batchFetcher;
     private final WeatherForecastMapper mapper;
-    private final Executor weatherExecutor;
     private final WeatherImportMonitor importMonitor;
 
     @Value("${forecast.api.url}")
@@ -61,177 +60,115 @@ public class WeatherForecastDataService {
      * Updates weather forecasts for both synoptic and virtual stations by fetching data from external sources.
      *
      * The method performs the following operations:
-     * - Retrieves active synoptic stations and processes them in batches, converting retrieved data into synoptic forecasts.
-     * - If no critical errors occur during the synoptic station update, retrieves active virtual stations and processes them in batches, converting the data into virtual forecasts
-     * .
-     * - Logs the import process, indicating the source, type, number of processed records, and whether a critical error occurred.
-     * - Outputs appropriate log messages to indicate the start, success, or failure of the update process.
+     * - Retrieves active synoptic stations, fetches their forecasts with multi-location requests and saves them.
+     * - Does the same for active virtual stations.
+     * - Logs the import process, indicating the source, type, number of processed records and the number of
+     *   stations whose forecasts could not be imported.
      *
-     * Critical errors during processing of synoptic or virtual stations will halt subsequent updates and result in an appropriate error log.
+     * A failure of some stations does not stop the update of the others.
      */
     public void updateAllForecasts() {
         log.info("START: Aktualizacja prognoz pogody (Hourly)...");
+        long start = System.currentTimeMillis();
 
-        AtomicBoolean criticalErrorOccurred = new AtomicBoolean(false);
         AtomicInteger totalRecords = new AtomicInteger(0);
+        AtomicInteger failedStations = new AtomicInteger(0);
 
         try {
             // 1. Synop
             List<ImgwSynopStation> synopStations = synopStationRepository.findAllByIsActiveTrue();
-            processStationsBatched(synopStations,
-                    s -> buildUrl(s.getLatitude(), s.getLongitude()),
+            importForecasts(synopStations,
+                    stations -> buildUrl(stations, ImgwSynopStation::getLatitude, ImgwSynopStation::getLongitude),
                     mapper::toSynopForecasts,
-                    true, criticalErrorOccurred, totalRecords);
+                    true, totalRecords, failedStations);
 
             // 2. Virtual
-            if (!criticalErrorOccurred.get()) {
-                List<VirtualStation> virtualStations = virtualStationRepository.findAllByActiveTrue();
-                processStationsBatched(virtualStations,
-                        s -> buildUrl(s.getLatitude(), s.getLongitude()),
-                        mapper::toVirtualForecasts,
-                        false, criticalErrorOccurred, totalRecords);
-            }
+            List<VirtualStation> virtualStations = virtualStationRepository.findAllByActiveTrue();
+            importForecasts(virtualStations,
+                    stations -> buildUrl(stations, VirtualStation::getLatitude, VirtualStation::getLongitude),
+                    mapper::toVirtualForecasts,
+                    false, totalRecords, failedStations);
         } finally {
-            importMonitor.logImport("OPEN_METEO", "FORECAST_HOURLY", totalRecords.get(), criticalErrorOccurred.get());
+            importMonitor.logImport("OPEN_METEO", "FORECAST_HOURLY", totalRecords.get(), failedStations.get());
         }
 
-        if (criticalErrorOccurred.get()) {
-            log.error("KONIEC: Proces aktualizacji zakończony błędem krytycznym.");
+        long elapsed = System.currentTimeMillis() - start;
+        if (failedStations.get() > 0) {
+            log.warn("KONIEC: Aktualizacja prognoz zakończona, {} stacji bez prognozy ({} ms).",
+                    failedStations.get(), elapsed);
         } else {
-            log.info("KONIEC: Aktualizacja prognoz zakończona sukcesem.");
+            log.info("KONIEC: Aktualizacja prognoz zakończona sukcesem ({} ms).", elapsed);
         }
     }
 
     /**
-     * Processes a list of station data in batches, fetches weather forecast data,
-     * and saves the data to storage. It supports custom strategies for building URLs
-     * and mapping the response to weather forecast objects. The process stops if a critical error occurs.
+     * Fetches the forecasts of the given stations, maps them and saves them in groups of
+     * {@value #SAVE_BATCH_SIZE} stations. Stations whose forecast cannot be fetched, mapped or saved are
+     * counted as failed.
      *
      * @param stations the list of station objects to be processed
-     * @param urlBuilder a function to build the URL for each station
-     *                   based on the station object
+     * @param urlBuilder a function to build the URL of a multi-location request for the given stations
      * @param mappingStrategy a strategy to map the response to a list of weather forecast objects
      * @param isSynop a flag indicating the type of station (true if Synop, false otherwise)
-     * @param criticalErrorOccurred an atomic boolean flag indicating if a critical error has occurred
-     *                              that should abort the process
-     * @param recordCounter an atomic counter used*/
-    private <T> void processStationsBatched(List<T> stations,
-                                            Function<T, String> urlBuilder,
-                                            BiFunction<OpenMeteoResponse, T, List<WeatherForecast>> mappingStrategy,
-                                            boolean isSynop,
-                                            AtomicBoolean criticalErrorOccurred,
-                                            AtomicInteger recordCounter) {
-        if (stations.isEmpty() || criticalErrorOccurred.get()) return;
-
-        List<List<T>> batches = splitIntoBatches(stations, BATCH_SIZE);
-        log.info("Plan: {} stacji podzielono na {} paczek (Typ Synop: {}).", stations.size(), batches.size(), isSynop);
-
-        for (int i = 0; i < batches.size(); i++) {
-            if (criticalErrorOccurred.get()) {
-                log.warn("ABORT: Wykryto błąd krytyczny. Pomijam resztę.");
-                break;
-            }
-
-            long startBatch = System.currentTimeMillis();
-            List<T> batch = batches.get(i);
-
-            List<WeatherForecast> fetchedData = fetchBatch(batch, urlBuilder, mappingStrategy, criticalErrorOccurred);
-
-            if (!fetchedData.isEmpty() && !criticalErrorOccurred.get()) {
-                try {
-                    storageService.saveForecasts(fetchedData, isSynop);
-                    recordCounter.addAndGet(fetchedData.size());
-                } catch (Exception e) {
-                    log.error("Błąd zapisu bazy danych: {}", e.getMessage());
-                }
+     * @param recordCounter an atomic counter of saved forecast records
+     * @param failureCounter an atomic counter of stations which could not be imported
+     */
+    private <T> void importForecasts(List<T> stations,
+                                     Function<List<T>, String> urlBuilder,
+                                     BiFunction<OpenMeteoResponse, T, List<WeatherForecast>> mappingStrategy,
+                                     boolean isSynop,
+                                     AtomicInteger recordCounter,
+                                     AtomicInteger failureCounter) {
+        if (stations.isEmpty()) return;
+
+        OpenMeteoBatchResult<T, OpenMeteoResponse> result = batchFetcher.fetch(OpenMeteoClient.FORECAST,
+                stations, LOCATIONS_PER_REQUEST, urlBuilder, OpenMeteoResponse.class);
+        failureCounter.addAndGet(result.failed().size());
+
+        List<WeatherForecast> pending = new ArrayList<>();
+        int pendingStations = 0;
+        for (OpenMeteoBatchResult.StationResponse<T, OpenMeteoResponse> fetched : result.responses()) {
+            try {
+                pending.addAll(mappingStrategy.apply(fetched.response(), fetched.station()));
+                pendingStations++;
+            } catch (Exception e) {
+                log.error("Błąd mapowania prognozy stacji: {}", e.getMessage());
+                failureCounter.incrementAndGet();
             }
-
-            if (i < batches.size() - 1 && !criticalErrorOccurred.get()) {
-                enforceRateLimit(startBatch);
+            if (pendingStations == SAVE_BATCH_SIZE) {
+                save(pending, pendingStations, isSynop, recordCounter, failureCounter);
+                pending = new ArrayList<>();
+                pendingStations = 0;
             }
         }
+        save(pending, pendingStations, isSynop, recordCounter, failureCounter);
     }
 
-    /**
-     * Fetches a batch of weather forecasts by asynchronously processing a list of items and mapping
-     * the responses from an API.
-     *
-     * @param batch The list of input items, each representing a unit of data to process.
-     * @param urlBuilder A function to build the URL for each item in the batch.
-     * @param mappingStrategy A bi-function used to map the API response to a list of weather forecasts
-     *                        based on the input item.
-     * @param errorFlag An atomic boolean flag to track if an error has occurred and interrupt processing
-     *                  if necessary.
-     * @return A list of weather forecasts derived from successfully processed items in the batch.
-     *         Returns an empty list if an error occurs or no forecasts are available.
-     */
-    private <T> List<WeatherForecast> fetchBatch(List<T> batch,
-                                                 Function<T, String> urlBuilder,
-                                                 BiFunction<OpenMeteoResponse, T, List<WeatherForecast>> mappingStrategy,
-                                                 AtomicBoolean errorFlag) {
-
-        List<CompletableFuture<List<WeatherForecast>>> futures = batch.stream()
-                .map(station -> CompletableFuture.supplyAsync(() -> {
-                            if (errorFlag.get()) return Collections.<WeatherForecast>emptyList();
-
-                            String url = urlBuilder.apply(station);
-                            return openMeteoClient.fetchData(url, OpenMeteoResponse.class)
-                                    .map(response -> mappingStrategy.apply(response, station))
-                                    .orElse(Collections.emptyList());
-                        }, weatherExecutor)
-                        .orTimeout(API_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                        .exceptionally(ex -> {
-                            log.error("API ERROR/TIMEOUT: {}. Ustawiam flagę CRITICAL.", ex.getMessage());
-                            errorFlag.set(true);
-                            return Collections.emptyList();
-                        }))
-                .toList();
-
+    private void save(List<WeatherForecast> forecasts, int stationCount, boolean isSynop,
+                      AtomicInteger recordCounter, AtomicInteger failureCounter) {
+        if (forecasts.isEmpty()) return;
         try {
-            return futures.stream()
-                    .map(CompletableFuture::join)
-                    .flatMap(List::stream)
-                    .toList();
+            storageService.saveForecasts(forecasts, isSynop);
+            recordCounter.addAndGet(forecasts.size());
         } catch (Exception e) {
-            log.error("Błąd wątku/paczki: {}", e.getMessage());
-            errorFlag.set(true);
-            return Collections.emptyList();
-        }
-    }
-
-    /**
-     * Ensures that the execution respects a rate limit by enforcing a pause
-     * between consecutive operations if the elapsed time since the start of
-     * the batch is less than the predefined rate limit pause duration.
-     *
-     * @param startBatchTime the start time of the batch process in milliseconds
-     *                       since the epoch, used to calculate the elapsed time
-     *                       and enforce the rate limit.
-     */
-    private void enforceRateLimit(long startBatchTime) {
-        long elapsed = System.currentTimeMillis() - startBatchTime;
-        long sleepTime = RATE_LIMIT_PAUSE_MS - elapsed;
-
-        if (sleepTime > 0) {
-            try {
-                Thread.sleep(sleepTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            log.error("Błąd zapisu bazy danych: {}", e.getMessage());
+            failureCounter.addAndGet(stationCount);
         }
     }
 
     /**
-     * Constructs a URL string with the specified latitude and longitude, applying predefined query parameters.
+     * Constructs a multi-location URL for the given stations, applying predefined query parameters.
+     * The coordinates are passed as comma-separated lists in the order of the stations.
      *
-     * @param lat the latitude value to be included as a query parameter
-     * @param lon the longitude value to be included as a query parameter
+     * @param stations the stations to include in the request
+     * @param latitude extracts the latitude of a station
+     * @param longitude extracts the longitude of a station
      * @return the constructed URL as a string
      */
-    private String buildUrl(BigDecimal lat, BigDecimal lon) {
+    private <T> String buildUrl(List<T> stations, Function<T, BigDecimal> latitude, Function<T, BigDecimal> longitude) {
         return UriComponentsBuilder.fromUriString(apiUrl)
-                .queryParam("latitude", lat)
-                .queryParam("longitude", lon)
+                .queryParam("latitude", joinCoordinates(stations, latitude))
+                .queryParam("longitude", joinCoordinates(stations, longitude))
                 .queryParam("past_days", 1)
                 .queryParam("hourly", API_HOURLY_PARAMS)
                 .queryParam("daily", API_DAILY_PARAMS)
@@ -240,19 +177,10 @@ public class WeatherForecastDataService {
                 .toUriString();
     }
 
-    /**
-     * Splits a given list into smaller batches of a specified size.
-     *
-     * @param list the list to be split into batches
-     * @param size the size of each batch; must be a positive integer
-     * @return a list of batches, where each batch is a sublist of the original list
-     *         and the last batch may contain fewer elements if the total count is not divisible by the batch size
-     */
-    private <T> List<List<T>> splitIntoBatches(List<T> list, int size) {
-        List<List<T>> batches = new ArrayList<>();
-        for (int i = 0; i < list.size(); i += size) {
-            batches.add(list.subList(i, Math.min(i + size, list.size())));
-        }
-        return batches;
+    private static <T> String joinCoordinates(List<T> stations, Function<T, BigDecimal> coordinate) {
+        return stations.stream()
+                .map(coordinate)
+                .map(value -> value != null ? value.toPlainString() : "")
+                .collect(Collectors.joining(","));
     }
-}
\ No newline at end of file
+}
@@ -2,10 +2,12 @@ package pl.czyzlowie.modules.forecast.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import pl.czyzlowie.modules.forecast.entity.WeatherForecast;
+import pl.czyzlowie.modules.forecast.event.OpenMeteoDataImportedEvent;
 import pl.czyzlowie.modules.forecast.mapper.WeatherForecastMapper;
 import pl.czyzlowie.modules.forecast.repository.WeatherForecastRepository;
 
@@ -29,6 +31,7 @@ public class WeatherForecastStorageService {
 
     private final WeatherForecastRepository forecastRepository;
     private final WeatherForecastMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -82,6 +85,7 @@ public class WeatherForecastStorageService {
 
         forecastRepository.saveAll(toSave);
         log.info("Zapisano/Zaktualizowano {} prognoz (Typ Synop: {}).", toSave.size(), isSynop);
+        eventPublisher.publishEvent(new OpenMeteoDataImportedEvent(stationIds));
     }
 
     /**
@@ -33,21 +33,24 @@ public class WeatherImportMonitor {
      *
      * This method creates a new entry in the weather import logs database,
      * capturing relevant information about the import process such as provider,
-     * type, status, record count, and timestamp. The operation is executed within
+     * type, status, record count, and timestamp. The status is {@code SUCCESS} when every
+     * station has been imported, {@code PARTIAL} when only some of them failed and
+     * {@code ERROR} when nothing has been imported. The operation is executed within
      * a new transactional context.
      *
      * @param provider The name of the provider from which the weather data was imported.
      * @param type The type of import process (e.g., hourly, daily).
      * @param count The number of records imported during the process.
-     * @param isError A boolean flag indicating whether the import operation resulted in an error.
+     * @param failedStations The number of stations whose data could not be imported.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void logImport(String provider, String type, int count, boolean isError) {
+    public void logImport(String provider, String type, int count, int failedStations) {
         WeatherImportLog logEntry = WeatherImportLog.builder()
                 .provider(provider)
                 .importType(type)
-                .status(isError ? "ERROR" : "SUCCESS")
+                .status(failedStations == 0 ? "SUCCESS" : count > 0 ? "PARTIAL" : "ERROR")
                 .recordsCount(count)
+                .errorMessage(failedStations > 0 ? "Nie zaimportowano danych " + failedStations + " stacji" : null)
                 .createdAt(LocalDateTime.now())
                 .build();
 
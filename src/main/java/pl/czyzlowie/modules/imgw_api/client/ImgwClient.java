@@ -1,43 +1,231 @@
 package pl.czyzlowie.modules.imgw_api.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
+import pl.czyzlowie.core.http.ResilientCalls;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The ImgwClient class provides functionality to fetch data from an external
  * source using an HTTP client. It leverages a RestClient to perform HTTP
  * requests and process the responses.
+ *
+ * Feeds can also be downloaded conditionally. For every URL the client remembers the version of the last
+ * body whose items have been processed: its {@code ETag} and {@code Last-Modified} headers, sent back as
+ * {@code If-None-Match} and {@code If-Modified-Since}, and a SHA-256 hash computed while the body is read.
+ * A body with the same hash is reported as unchanged without being deserialised, which also covers servers
+ * ignoring the conditional headers. Versions are kept in memory, so the first download after a restart is
+ * always processed.
+ * Changed bodies are read record by record with a streaming parser working directly on the downloaded
+ * bytes, so no copy of the body and no intermediate tree are created.
+ *
+ * All downloads pass through the {@code imgw} bulkhead, circuit breaker and retry of {@link ResilientCalls}.
+ * Server errors are retried with a randomised backoff, and while the circuit is open downloads fail at once
+ * without reaching the API.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ImgwClient {
 
+    private static final String INTEGRATION = "imgw";
+
     private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final ResilientCalls resilientCalls;
+    private final Map<String, ImgwFetchResult.PayloadVersion> processedVersions = new ConcurrentHashMap<>();
 
     /**
-     * Fetches a list of data from the given URL using the provided response type for deserialization.
+     * Fetches a list of data from the given URL unless it is the same as the last processed one.
+     * The validators of the last processed body are sent as conditional headers, and the hash of the
+     * received body is compared with the hash of the last processed body before deserialisation.
      *
      * @param <T> the type of elements in the list
      * @param url the URL to fetch the data from
      * @param responseType the parameterized type reference for deserialization
-     * @return the list of deserialized objects; if the data cannot be retrieved, returns an empty list
+     * @return the result of the download; failures which remain after the retries are reported with the
+     *         {@code FAILED} status
      */
-    public <T> List<T> fetchList(String url, ParameterizedTypeReference<List<T>> responseType) {
+    public <T> ImgwFetchResult<T> fetchListIfChanged(String url, ParameterizedTypeReference<List<T>> responseType) {
+        ImgwFetchResult.PayloadVersion processed = processedVersions.get(url);
         try {
-            List<T> result = restClient.get()
+            return resilientCalls.call(INTEGRATION, () -> restClient.get()
                     .uri(url)
-                    .retrieve()
-                    .body(responseType);
-            return result != null ? result : List.of();
+                    .headers(headers -> addValidators(headers, processed))
+                    .exchange((request, response) -> read(url, response, processed, responseType)));
+        } catch (CallNotPermittedException e) {
+            log.warn("Pominięto pobieranie z URL: {} ({})", url, e.getMessage());
+            return ImgwFetchResult.skipped(url, ImgwFetchResult.Status.FAILED);
         } catch (Exception e) {
             log.error("Błąd pobierania danych z URL: {}", url, e);
-            return List.of();
+            return ImgwFetchResult.skipped(url, ImgwFetchResult.Status.FAILED);
+        }
+    }
+
+    /**
+     * Remembers the version of a body whose items have been stored, so later downloads of the same
+     * body are reported as unchanged. Results without a version are ignored.
+     *
+     * @param result the processed result
+     */
+    public void markProcessed(ImgwFetchResult<?> result) {
+        if (result.version() != null) {
+            processedVersions.put(result.url(), result.version());
+        }
+    }
+
+    private static void addValidators(HttpHeaders headers, ImgwFetchResult.PayloadVersion processed) {
+        if (processed == null) {
+            return;
+        }
+        if (processed.etag() != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, processed.etag());
+        }
+        if (processed.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, processed.lastModified());
+        }
+    }
+
+    private <T> ImgwFetchResult<T> read(String url, ClientHttpResponse response,
+                                        ImgwFetchResult.PayloadVersion processed,
+                                        ParameterizedTypeReference<List<T>> responseType) throws IOException {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && processed != null) {
+            log.debug("Dane pod {} nie zmieniły się (304)", url);
+            return ImgwFetchResult.skipped(url, ImgwFetchResult.Status.NOT_MODIFIED);
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw statusError(response);
+        }
+
+        MessageDigest digest = sha256();
+        DownloadedBody body;
+        try (InputStream in = new DigestInputStream(response.getBody(), digest)) {
+            body = DownloadedBody.read(in);
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        if (processed != null && hash.equals(processed.sha256())) {
+            log.debug("Dane pod {} mają ten sam skrót co ostatnio przetworzone", url);
+            return ImgwFetchResult.skipped(url, ImgwFetchResult.Status.UNCHANGED_PAYLOAD);
+        }
+
+        List<T> items = readRecords(body, responseType);
+        HttpHeaders headers = response.getHeaders();
+        ImgwFetchResult.PayloadVersion version = new ImgwFetchResult.PayloadVersion(
+                headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), hash);
+        return ImgwFetchResult.modified(url, items, version);
+    }
+
+    /**
+     * Reads the elements of the top-level JSON array one at a time, skipping {@code null} elements.
+     */
+    private <T> List<T> readRecords(DownloadedBody body, ParameterizedTypeReference<List<T>> responseType)
+            throws IOException {
+        ObjectReader reader = objectMapper
+                .readerFor(objectMapper.constructType(elementType(responseType)))
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        try (JsonParser parser = body.parser(objectMapper)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Oczekiwano tablicy JSON, otrzymano: " + parser.currentToken());
+            }
+            List<T> items = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                T item = reader.readValue(parser);
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Turns an unsuccessful response into the exception {@code retrieve()} would throw, so the retry and the
+     * circuit breaker can tell server errors from client errors.
+     */
+    private static RuntimeException statusError(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode().is5xxServerError()) {
+            return HttpServerErrorException.create(response.getStatusCode(), response.getStatusText(),
+                    response.getHeaders(), null, StandardCharsets.UTF_8);
+        }
+        return HttpClientErrorException.create(response.getStatusCode(), response.getStatusText(),
+                response.getHeaders(), null, StandardCharsets.UTF_8);
+    }
+
+    private static Type elementType(ParameterizedTypeReference<?> responseType) {
+        if (responseType.getType() instanceof ParameterizedType listType) {
+            return listType.getActualTypeArguments()[0];
+        }
+        throw new IllegalArgumentException("Oczekiwano typu listy: " + responseType.getType());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Brak algorytmu SHA-256", e);
+        }
+    }
+
+    /**
+     * A download buffer holding the body in fixed-size chunks. Unlike a growing array it never copies what
+     * has already been read, so a body costs its own size once, and the parser reads the chunks in place.
+     */
+    private static final class DownloadedBody {
+
+        private static final int CHUNK_SIZE = 16 * 1024;
+
+        private final List<byte[]> chunks = new ArrayList<>();
+        private int lastChunkLength;
+
+        private static DownloadedBody read(InputStream in) throws IOException {
+            DownloadedBody body = new DownloadedBody();
+            do {
+                byte[] chunk = new byte[CHUNK_SIZE];
+                body.lastChunkLength = in.readNBytes(chunk, 0, CHUNK_SIZE);
+                body.chunks.add(chunk);
+            } while (body.lastChunkLength == CHUNK_SIZE);
+            return body;
+        }
+
+        private JsonParser parser(ObjectMapper objectMapper) throws IOException {
+            List<InputStream> parts = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                int length = i == chunks.size() - 1 ? lastChunkLength : CHUNK_SIZE;
+                parts.add(new ByteArrayInputStream(chunks.get(i), 0, length));
+            }
+            return objectMapper.createParser(new SequenceInputStream(Collections.enumeration(parts)));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package pl.czyzlowie.modules.imgw_api.client;
+
+import java.util.List;
+
+/**
+ * The result of a conditional download of an IMGW feed.
+ *
+ * Only a {@link Status#MODIFIED} result carries deserialised items. The payload version identifies the
+ * downloaded body and is remembered by {@link ImgwClient#markProcessed} once the items have been stored,
+ * so a failed import is retried with the same payload on the next run.
+ *
+ * @param url the URL of the feed
+ * @param status the outcome of the download
+ * @param items the deserialised items, empty unless the payload has changed
+ * @param version the validators and the hash of the downloaded body, {@code null} unless the payload has changed
+ * @param <T> the type of the feed items
+ */
+public record ImgwFetchResult<T>(String url, Status status, List<T> items, PayloadVersion version) {
+
+    /**
+     * The outcome of a conditional download.
+     */
+    public enum Status {
+        /** The body differs from the last processed one and has been deserialised. */
+        MODIFIED,
+        /** The server answered {@code 304 Not Modified} to the validators of the last processed body. */
+        NOT_MODIFIED,
+        /** The body has the same hash as the last processed one, so it was not deserialised. */
+        UNCHANGED_PAYLOAD,
+        /** The feed could not be downloaded or parsed. */
+        FAILED
+    }
+
+    /**
+     * Identifies one body of a feed.
+     *
+     * @param etag the {@code ETag} header sent with the body, may be {@code null}
+     * @param lastModified the {@code Last-Modified} header sent with the body, may be {@code null}
+     * @param sha256 the hexadecimal SHA-256 hash of the raw body
+     */
+    public record PayloadVersion(String etag, String lastModified, String sha256) {}
+
+    static <T> ImgwFetchResult<T> modified(String url, List<T> items, PayloadVersion version) {
+        return new ImgwFetchResult<>(url, Status.MODIFIED, items, version);
+    }
+
+    static <T> ImgwFetchResult<T> skipped(String url, Status status) {
+        return new ImgwFetchResult<>(url, status, List.of(), null);
+    }
+
+    /**
+     * Tells whether the feed holds the same data as the last processed download.
+     *
+     * @return {@code true} for {@link Status#NOT_MODIFIED} and {@link Status#UNCHANGED_PAYLOAD}
+     */
+    public boolean isUnchanged() {
+        return status == Status.NOT_MODIFIED || status == Status.UNCHANGED_PAYLOAD;
+    }
+}
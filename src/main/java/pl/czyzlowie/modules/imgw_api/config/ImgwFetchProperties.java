@@ -0,0 +1,25 @@
+package pl.czyzlowie.modules.imgw_api.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to every IMGW feed of a fetch cycle. Each feed gets its own timeout, while the whole
+ * cycle is bounded by the deadline. Retries of failed downloads are configured on the {@code imgw}
+ * resilience4j retry.
+ */
+@ConfigurationProperties(prefix = "imgw.fetch")
+@Value
+@Validated
+public class ImgwFetchProperties {
+
+    @NotNull
+    Duration feedTimeout;
+
+    @NotNull
+    Duration cycleDeadline;
+}
@@ -5,7 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import pl.czyzlowie.modules.imgw_api.utils.ImgwDateUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -63,13 +62,4 @@ public class ImgwHydroData {
 
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime createdAt;
-
-    public boolean isNewerThan(ImgwHydroData other) {
-        if (other == null) return true;
-        return ImgwDateUtils.isDateChanged(other.getWaterLevelDate(), this.getWaterLevelDate()) ||
-                ImgwDateUtils.isDateChanged(other.getDischargeDate(), this.getDischargeDate()) ||
-                ImgwDateUtils.isDateChanged(other.getWaterTemperatureDate(), this.getWaterTemperatureDate()) ||
-                ImgwDateUtils.isDateChanged(other.getIcePhenomenonDate(), this.getIcePhenomenonDate()) ||
-                ImgwDateUtils.isDateChanged(other.getOvergrowthPhenomenonDate(), this.getOvergrowthPhenomenonDate());
-    }
 }
\ No newline at end of file
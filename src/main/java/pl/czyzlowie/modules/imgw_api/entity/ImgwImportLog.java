@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportStatus;
 import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
 
 import java.time.LocalDateTime;
@@ -26,6 +27,10 @@ public class ImgwImportLog {
     @Column(name = "records_count", nullable = false)
     private Integer recordsCount;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ImgwImportStatus status = ImgwImportStatus.PROCESSED;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -35,5 +40,10 @@ public class ImgwImportLog {
         this.recordsCount = recordsCount;
     }
 
+    public ImgwImportLog(ImgwImportType importType, Integer recordsCount, ImgwImportStatus status) {
+        this(importType, recordsCount);
+        this.status = status;
+    }
+
 
 }
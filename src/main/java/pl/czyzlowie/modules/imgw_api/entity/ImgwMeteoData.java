@@ -5,7 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import pl.czyzlowie.modules.imgw_api.utils.ImgwDateUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,8 +18,8 @@ import java.time.LocalDateTime;
 public class ImgwMeteoData {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hydro_seq_gen")
-    @SequenceGenerator(name = "hydro_seq_gen", sequenceName = "imgw_hydro_data_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meteo_seq_gen")
+    @SequenceGenerator(name = "meteo_seq_gen", sequenceName = "imgw_meteo_data_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -76,12 +75,4 @@ public class ImgwMeteoData {
 
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime createdAt;
-
-    public boolean isNewerThan(ImgwMeteoData other) {
-        if (other == null) return true;
-        return ImgwDateUtils.isDateChanged(other.getAirTempTime(), this.getAirTempTime()) ||
-                ImgwDateUtils.isDateChanged(other.getWindMeasurementTime(), this.getWindMeasurementTime()) ||
-                ImgwDateUtils.isDateChanged(other.getPrecipitation10minTime(), this.getPrecipitation10minTime()) ||
-                ImgwDateUtils.isDateChanged(other.getWindGust10minTime(), this.getWindGust10minTime());
-    }
 }
\ No newline at end of file
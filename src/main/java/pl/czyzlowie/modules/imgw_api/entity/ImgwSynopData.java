@@ -19,8 +19,8 @@ import java.time.LocalDateTime;
 public class ImgwSynopData {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hydro_seq_gen")
-    @SequenceGenerator(name = "hydro_seq_gen", sequenceName = "imgw_hydro_data_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "synop_seq_gen")
+    @SequenceGenerator(name = "synop_seq_gen", sequenceName = "imgw_synop_data_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,5 @@
+package pl.czyzlowie.modules.imgw_api.entity.enums;
+
+public enum ImgwImportStatus {
+    PROCESSED, NOT_MODIFIED, UNCHANGED_PAYLOAD, FAILED
+}
@@ -0,0 +1,20 @@
+package pl.czyzlowie.modules.imgw_api.event;
+
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
+
+import java.util.Set;
+
+/**
+ * Application event published by an IMGW fetch service after new measurements were saved
+ * while processing a feed. Listeners interested in the committed state should observe it
+ * after the surrounding transaction completes.
+ *
+ * @param importType the feed which delivered the measurements (METEO, HYDRO or SYNOP)
+ * @param stationIds the identifiers of the stations that received new measurements
+ */
+public record ImgwDataImportedEvent(ImgwImportType importType, Set<String> stationIds) {
+
+    public ImgwDataImportedEvent {
+        stationIds = Set.copyOf(stationIds);
+    }
+}
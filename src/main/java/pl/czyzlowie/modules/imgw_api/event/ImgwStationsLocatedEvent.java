@@ -0,0 +1,22 @@
+package pl.czyzlowie.modules.imgw_api.event;
+
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
+
+import java.util.Set;
+
+/**
+ * Application event published by an IMGW fetch service when stations received their coordinates while
+ * processing a feed: either new stations created with coordinates, or stored stations whose missing
+ * coordinates were filled in from the feed. Stations created without coordinates are not announced, as
+ * they cannot be placed in any spatial index yet. Listeners interested in the committed state should
+ * observe it after the surrounding transaction completes.
+ *
+ * @param importType the feed which located the stations (METEO, HYDRO or SYNOP)
+ * @param stationIds the identifiers of the located stations
+ */
+public record ImgwStationsLocatedEvent(ImgwImportType importType, Set<String> stationIds) {
+
+    public ImgwStationsLocatedEvent {
+        stationIds = Set.copyOf(stationIds);
+    }
+}
@@ -4,6 +4,7 @@ import org.mapstruct.Named;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -20,6 +21,10 @@ import java.time.format.DateTimeParseException;
  * and accounts for invalid inputs by returning {@code null} for unsupported formats or
  * unexpected values.
  *
+ * The common shapes of IMGW values, plain decimal numbers and dates in the fixed IMGW layout, are parsed
+ * straight from the characters of the input without trimming, replacing or intermediate strings. Any other
+ * input falls back to the general parsers, so both paths return the same result for every value.
+ *
  * This class is commonly utilized in other components of the project to handle data format
  * transformations, such as converting API response data into entity objects.
  */
@@ -29,18 +34,29 @@ public class ImgwTypeConverter {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    private static final int SCALE_BITS = 5;
+    private static final long SCALE_MASK = (1L << SCALE_BITS) - 1;
+    private static final int MAX_PLAIN_DIGITS = 15;
+    private static final long NOT_PLAIN = Long.MIN_VALUE;
+
     /**
      * Parses a string value into a {@code BigDecimal}.
      * If the input is {@code null}, empty, or cannot be parsed as a valid decimal number,
-     * the method returns {@code null}. The input is trimmed, and commas are replaced with
-     * periods for international compatibility.
+     * the method returns {@code null}. Surrounding whitespace is ignored, and a comma is accepted
+     * in place of the period for international compatibility.
      *
      * @param value the string representation of a decimal number to be parsed
      * @return the parsed {@code BigDecimal}, or {@code null} if the input is invalid
      */
     @Named("parseDecimal")
     public BigDecimal parseDecimal(String value) {
-        if (value == null || value.trim().isEmpty()) return null;
+        if (value == null) return null;
+        int from = firstNonBlank(value);
+        int to = lastNonBlank(value) + 1;
+        if (from >= to) return null;
+
+        BigDecimal fast = decimalOf(value, from, to);
+        if (fast != null) return fast;
         try {
             return new BigDecimal(value.trim().replace(",", "."));
         } catch (NumberFormatException e) {
@@ -52,14 +68,25 @@ public class ImgwTypeConverter {
      * Parses a string value into an {@code Integer}.
      * If the input is {@code null}, empty, or cannot be parsed as an integer, the method returns {@code null}.
      * The method handles both plain integers and decimal numbers. For decimal inputs,
-     * the integer portion is extracted using {@code BigDecimal}.
+     * the fractional part is truncated.
      *
      * @param value the string representation of a number to be parsed
      * @return the parsed {@code Integer}, or {@code null} if the input is invalid
      */
     @Named("parseInteger")
     public Integer parseInteger(String value) {
-        if (value == null || value.trim().isEmpty()) return null;
+        if (value == null) return null;
+        int from = firstNonBlank(value);
+        int to = lastNonBlank(value) + 1;
+        if (from >= to) return null;
+
+        long unscaled = parseUnscaled(value, from, to, false);
+        if (unscaled != NOT_PLAIN) {
+            int scale = (int) (unscaled & SCALE_MASK);
+            long digits = unscaled >> SCALE_BITS;
+            for (int i = 0; i < scale; i++) digits /= 10;
+            if (digits >= Integer.MIN_VALUE && digits <= Integer.MAX_VALUE) return (int) digits;
+        }
         try {
             if (value.contains(".")) {
                 return new BigDecimal(value.trim().replace(",", ".")).intValue();
@@ -79,7 +106,20 @@ public class ImgwTypeConverter {
      */
     @Named("parseDateTime")
     public LocalDateTime parseDateTime(String value) {
-        if (value == null || value.trim().isEmpty()) return null;
+        if (value == null) return null;
+        int from = firstNonBlank(value);
+        int to = lastNonBlank(value) + 1;
+        if (from >= to) return null;
+
+        if (to - from == 19 && value.charAt(from + 10) == ' ' && value.charAt(from + 13) == ':'
+                && value.charAt(from + 16) == ':' && isDateLayout(value, from)) {
+            try {
+                return LocalDateTime.of(year(value, from), digits(value, from + 5, 2), digits(value, from + 8, 2),
+                        digits(value, from + 11, 2), digits(value, from + 14, 2), digits(value, from + 17, 2));
+            } catch (DateTimeException | NumberFormatException e) {
+                // falls back to the formatter, which resolves or rejects the value
+            }
+        }
         try {
             return LocalDateTime.parse(value.trim(), DATE_TIME_FORMATTER);
         } catch (DateTimeParseException e) {
@@ -96,11 +136,106 @@ public class ImgwTypeConverter {
      */
     @Named("parseDate")
     public LocalDate parseDate(String value) {
-        if (value == null || value.trim().isEmpty()) return null;
+        if (value == null) return null;
+        int from = firstNonBlank(value);
+        int to = lastNonBlank(value) + 1;
+        if (from >= to) return null;
+
+        if (to - from == 10 && isDateLayout(value, from)) {
+            try {
+                return LocalDate.of(year(value, from), digits(value, from + 5, 2), digits(value, from + 8, 2));
+            } catch (DateTimeException | NumberFormatException e) {
+                // falls back to the formatter, which resolves or rejects the value
+            }
+        }
         try {
             return LocalDate.parse(value.trim(), DATE_FORMATTER);
         } catch (DateTimeParseException e) {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses a plain decimal number, an optional sign followed by digits with at most one dot or comma,
+     * directly from the characters of the value.
+     *
+     * @return the number, or {@code null} if the value is not a plain decimal number fitting in a {@code long}
+     */
+    private static BigDecimal decimalOf(String value, int from, int to) {
+        long unscaled = parseUnscaled(value, from, to, true);
+        if (unscaled == NOT_PLAIN) return null;
+        return BigDecimal.valueOf(unscaled >> SCALE_BITS, (int) (unscaled & SCALE_MASK));
+    }
+
+    /**
+     * Scans a plain decimal number and packs its unscaled digits and its scale into one {@code long},
+     * the digits in the upper bits and the scale in the lowest {@value #SCALE_BITS} bits. Only a dot is
+     * accepted as the separator unless {@code acceptComma} is set, mirroring the general parsers.
+     *
+     * @return the packed number, or {@link #NOT_PLAIN} if the value is not a plain decimal number or is too long
+     */
+    private static long parseUnscaled(String value, int from, int to, boolean acceptComma) {
+        int i = from;
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        if (i == to || to - i > MAX_PLAIN_DIGITS) return NOT_PLAIN;
+
+        long digits = 0;
+        int scale = -1;
+        int digitCount = 0;
+        for (; i < to; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                digitCount++;
+                if (scale >= 0) scale++;
+            } else if ((c == '.' || c == ',' && acceptComma) && scale < 0) {
+                scale = 0;
+            } else {
+                return NOT_PLAIN;
+            }
+        }
+        if (digitCount == 0) return NOT_PLAIN;
+        return ((negative ? -digits : digits) << SCALE_BITS) | Math.max(scale, 0);
+    }
+
+    private static boolean isDateLayout(String value, int from) {
+        return value.charAt(from + 4) == '-' && value.charAt(from + 7) == '-';
+    }
+
+    /**
+     * Reads the four-digit year of the IMGW layout. The formatters use the year of era, which has no year 0,
+     * so that year is rejected here and left to them.
+     */
+    private static int year(String value, int from) {
+        int year = digits(value, from, 4);
+        if (year == 0) throw new NumberFormatException(value);
+        return year;
+    }
+
+    private static int digits(String value, int from, int length) {
+        int result = 0;
+        for (int i = from; i < from + length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') throw new NumberFormatException(value);
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int firstNonBlank(String value) {
+        int i = 0;
+        while (i < value.length() && value.charAt(i) <= ' ') i++;
+        return i;
+    }
+
+    private static int lastNonBlank(String value) {
+        int i = value.length() - 1;
+        while (i >= 0 && value.charAt(i) <= ' ') i--;
+        return i;
+    }
+}
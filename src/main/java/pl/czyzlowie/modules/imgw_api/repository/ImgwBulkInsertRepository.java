@@ -0,0 +1,188 @@
+package pl.czyzlowie.modules.imgw_api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+import pl.czyzlowie.core.jdbc.MultiRowValues;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroData;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwMeteoData;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwSynopData;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * JDBC bulk ingestion of IMGW readings.
+ *
+ * Readings are written with multi-row {@code INSERT ... ON CONFLICT DO NOTHING RETURNING station_id}
+ * statements, so the database rejects readings it already holds using the unique measurement indexes
+ * and reports back only the rows actually inserted. A feed cycle takes two round-trips per table (per
+ * {@value MultiRowValues#MAX_ROWS_PER_STATEMENT} readings) and no entities are loaded.
+ *
+ * Identifiers come from the table's own sequence, which is shared with the entity's pooled generator and
+ * advances by {@value #SEQUENCE_INCREMENT}. Each {@code nextval} is taken as the upper end of a block of
+ * {@value #SEQUENCE_INCREMENT} identifiers, exactly as Hibernate's pooled optimizer does, so a statement
+ * reserves one block per {@value #SEQUENCE_INCREMENT} rows instead of one per row, and never hands out an
+ * identifier Hibernate may use. {@code created_at} is left to its database default.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImgwBulkInsertRepository {
+
+    /**
+     * The {@code INCREMENT BY} of the reading sequences, equal to the {@code allocationSize} of the entities.
+     */
+    static final int SEQUENCE_INCREMENT = 50;
+
+    private static final String[] SYNOP_COLUMNS = {
+            "station_id", "measurement_date", "measurement_hour", "temperature", "wind_speed",
+            "wind_direction", "relative_humidity", "total_precipitation", "pressure"};
+
+    private static final String[] HYDRO_COLUMNS = {
+            "station_id", "water_level", "water_level_date", "water_temperature", "water_temperature_date",
+            "discharge", "discharge_date", "ice_phenomenon", "ice_phenomenon_date",
+            "overgrowth_phenomenon", "overgrowth_phenomenon_date"};
+
+    private static final String[] METEO_COLUMNS = {
+            "station_id", "air_temp", "air_temp_time", "ground_temp", "ground_temp_time", "wind_direction",
+            "wind_avg_speed", "wind_max_speed", "wind_measurement_time", "wind_gust_10min", "wind_gust_10min_time",
+            "relative_humidity", "relative_humidity_time", "precipitation_10min", "precipitation_10min_time"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the synoptic readings not yet stored for their station, date and hour.
+     *
+     * @param data the readings with their stations assigned
+     * @return the inserted rows and their stations
+     */
+    public ImgwInsertResult insertSynop(List<ImgwSynopData> data) {
+        return insert("imgw_synop_data", "imgw_synop_data_seq", SYNOP_COLUMNS, data, d -> new SqlParameterValue[]{
+                param(Types.VARCHAR, d.getStation().getId()),
+                param(Types.DATE, d.getMeasurementDate()),
+                param(Types.INTEGER, d.getMeasurementHour()),
+                param(Types.NUMERIC, d.getTemperature()),
+                param(Types.INTEGER, d.getWindSpeed()),
+                param(Types.INTEGER, d.getWindDirection()),
+                param(Types.NUMERIC, d.getRelativeHumidity()),
+                param(Types.NUMERIC, d.getTotalPrecipitation()),
+                param(Types.NUMERIC, d.getPressure())});
+    }
+
+    /**
+     * Inserts the hydrological readings whose set of measurement timestamps is not yet stored for their station.
+     *
+     * @param data the readings with their stations assigned
+     * @return the inserted rows and their stations
+     */
+    public ImgwInsertResult insertHydro(List<ImgwHydroData> data) {
+        return insert("imgw_hydro_data", "imgw_hydro_data_seq", HYDRO_COLUMNS, data, d -> new SqlParameterValue[]{
+                param(Types.VARCHAR, d.getStation().getId()),
+                param(Types.INTEGER, d.getWaterLevel()),
+                param(Types.TIMESTAMP, d.getWaterLevelDate()),
+                param(Types.NUMERIC, d.getWaterTemperature()),
+                param(Types.TIMESTAMP, d.getWaterTemperatureDate()),
+                param(Types.NUMERIC, d.getDischarge()),
+                param(Types.TIMESTAMP, d.getDischargeDate()),
+                param(Types.INTEGER, d.getIcePhenomenon()),
+                param(Types.TIMESTAMP, d.getIcePhenomenonDate()),
+                param(Types.INTEGER, d.getOvergrowthPhenomenon()),
+                param(Types.TIMESTAMP, d.getOvergrowthPhenomenonDate())});
+    }
+
+    /**
+     * Inserts the meteorological readings whose set of measurement timestamps is not yet stored for their station.
+     *
+     * @param data the readings with their stations assigned
+     * @return the inserted rows and their stations
+     */
+    public ImgwInsertResult insertMeteo(List<ImgwMeteoData> data) {
+        return insert("imgw_meteo_data", "imgw_meteo_data_seq", METEO_COLUMNS, data, d -> new SqlParameterValue[]{
+                param(Types.VARCHAR, d.getStation().getId()),
+                param(Types.NUMERIC, d.getAirTemp()),
+                param(Types.TIMESTAMP, d.getAirTempTime()),
+                param(Types.NUMERIC, d.getGroundTemp()),
+                param(Types.TIMESTAMP, d.getGroundTempTime()),
+                param(Types.INTEGER, d.getWindDirection()),
+                param(Types.NUMERIC, d.getWindAvgSpeed()),
+                param(Types.NUMERIC, d.getWindMaxSpeed()),
+                param(Types.TIMESTAMP, d.getWindMeasurementTime()),
+                param(Types.NUMERIC, d.getWindGust10min()),
+                param(Types.TIMESTAMP, d.getWindGust10minTime()),
+                param(Types.NUMERIC, d.getRelativeHumidity()),
+                param(Types.TIMESTAMP, d.getRelativeHumidityTime()),
+                param(Types.NUMERIC, d.getPrecipitation10min()),
+                param(Types.TIMESTAMP, d.getPrecipitation10minTime())});
+    }
+
+    /**
+     * Inserts the rows in chunks of multi-row statements and collects the stations of the inserted rows.
+     */
+    private <D> ImgwInsertResult insert(String table, String sequence, String[] columns, List<D> data,
+                                        Function<D, SqlParameterValue[]> binder) {
+        List<String> insertedStationIds = new ArrayList<>();
+
+        MultiRowValues.forEachChunk(data, chunk -> {
+            Iterator<Long> ids = allocateIds(sequence, chunk.size()).iterator();
+            jdbcTemplate.query(buildSql(table, columns, chunk.size()),
+                    rs -> {
+                        insertedStationIds.add(rs.getString(1));
+                    },
+                    MultiRowValues.arguments(chunk, columns.length + 1, row -> withId(ids.next(), binder.apply(row))));
+        });
+        return new ImgwInsertResult(insertedStationIds.size(), new HashSet<>(insertedStationIds));
+    }
+
+    /**
+     * Reserves at least {@code count} identifiers from the sequence, one pooled block per call of {@code nextval}.
+     */
+    private List<Long> allocateIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count + SEQUENCE_INCREMENT);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT;
+            List<Long> upperBounds = jdbcTemplate.queryForList(
+                    "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+            ids.addAll(pooledBlocks(upperBounds));
+        }
+        return ids;
+    }
+
+    /**
+     * Expands the values returned by {@code nextval} into the identifiers of their pooled blocks: the value
+     * itself and the {@value #SEQUENCE_INCREMENT} - 1 identifiers below it, down to 1.
+     *
+     * @param upperBounds the values returned by the sequence
+     * @return the identifiers of all blocks, block after block in ascending order
+     */
+    static List<Long> pooledBlocks(List<Long> upperBounds) {
+        List<Long> ids = new ArrayList<>(upperBounds.size() * SEQUENCE_INCREMENT);
+        for (long upper : upperBounds) {
+            for (long id = Math.max(1, upper - SEQUENCE_INCREMENT + 1); id <= upper; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static SqlParameterValue[] withId(long id, SqlParameterValue[] values) {
+        SqlParameterValue[] row = new SqlParameterValue[values.length + 1];
+        row[0] = param(Types.BIGINT, id);
+        System.arraycopy(values, 0, row, 1, values.length);
+        return row;
+    }
+
+    private static String buildSql(String table, String[] columns, int rowCount) {
+        return "INSERT INTO " + table + " (id, " + String.join(", ", columns) + ") VALUES "
+                + MultiRowValues.placeholders(columns.length + 1, rowCount)
+                + " ON CONFLICT DO NOTHING RETURNING station_id";
+    }
+
+    private static SqlParameterValue param(int sqlType, Object value) {
+        return new SqlParameterValue(sqlType, value);
+    }
+}
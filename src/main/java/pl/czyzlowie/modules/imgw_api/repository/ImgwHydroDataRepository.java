@@ -9,7 +9,6 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroData;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,21 +16,6 @@ import java.util.Optional;
 public interface ImgwHydroDataRepository extends JpaRepository<ImgwHydroData, Long> {
     Optional<ImgwHydroData> findTopByStationIdOrderByIdDesc(String stationId);
 
-    /**
-     * Retrieves the latest data entries for a collection of station IDs. The latest data is determined
-     * by the highest ID for each station.
-     *
-     * @param stationIds a collection of station IDs for which the latest data is to be fetched
-     * @return a list of {@code ImgwHydroData} objects representing the latest data for the specified stations
-     */
-    @Query("SELECT d FROM ImgwHydroData d " +
-            "WHERE d.id IN (" +
-            "    SELECT MAX(d2.id) FROM ImgwHydroData d2 " +
-            "    WHERE d2.station.id IN :stationIds " +
-            "    GROUP BY d2.station.id" +
-            ")")
-    List<ImgwHydroData> findLatestDataForStations(@Param("stationIds") Collection<String> stationIds);
-
     List<ImgwHydroData> findByStationIdAndWaterLevelDateBetweenOrderByWaterLevelDateAsc(
             String stationId, LocalDateTime startDate, LocalDateTime endDate);
 
@@ -53,4 +37,7 @@ public interface ImgwHydroDataRepository extends JpaRepository<ImgwHydroData, Lo
     @Modifying
     @Query("DELETE FROM ImgwHydroData d WHERE d.createdAt < :thresholdDate")
     int deleteOlderThan(@Param("thresholdDate") LocalDateTime thresholdDate);
-}
\ No newline at end of file
+
+    @Query("SELECT h FROM ImgwHydroData h WHERE h.createdAt >= :since ORDER BY h.createdAt ASC")
+    List<ImgwHydroData> findAllCreatedSince(@Param("since") LocalDateTime since);
+}
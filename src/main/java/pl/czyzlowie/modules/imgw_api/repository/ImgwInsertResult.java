@@ -0,0 +1,12 @@
+package pl.czyzlowie.modules.imgw_api.repository;
+
+import java.util.Set;
+
+/**
+ * The outcome of a bulk insert of IMGW readings.
+ *
+ * @param insertedRows the number of readings actually inserted, excluding those the database already held
+ * @param stationIds the identifiers of the stations that received at least one of them
+ */
+public record ImgwInsertResult(int insertedRows, Set<String> stationIds) {
+}
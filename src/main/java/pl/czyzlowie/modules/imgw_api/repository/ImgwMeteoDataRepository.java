@@ -9,7 +9,6 @@ import org.springframework.transaction.annotation.Transactional;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwMeteoData;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,14 +16,6 @@ import java.util.Optional;
 public interface ImgwMeteoDataRepository extends JpaRepository<ImgwMeteoData, Long> {
     Optional<ImgwMeteoData> findTopByStationIdOrderByIdDesc(String stationId);
 
-    @Query("SELECT d FROM ImgwMeteoData d " +
-            "WHERE d.id IN (" +
-            "    SELECT MAX(d2.id) FROM ImgwMeteoData d2 " +
-            "    WHERE d2.station.id IN :stationIds " +
-            "    GROUP BY d2.station.id" +
-            ")")
-    List<ImgwMeteoData> findLatestDataForStations(@Param("stationIds") Collection<String> stationIds);
-
     @Query("SELECT m FROM ImgwMeteoData m " +
             "WHERE m.station.id = :stationId " +
             "AND m.createdAt >= :startTime " +
@@ -44,4 +35,7 @@ public interface ImgwMeteoDataRepository extends JpaRepository<ImgwMeteoData, Lo
     @Modifying
     @Query("DELETE FROM ImgwMeteoData d WHERE d.createdAt < :thresholdDate")
     int deleteOlderThan(@Param("thresholdDate") LocalDateTime thresholdDate);
+
+    @Query("SELECT m FROM ImgwMeteoData m WHERE m.createdAt >= :since ORDER BY m.createdAt ASC")
+    List<ImgwMeteoData> findAllCreatedSince(@Param("since") LocalDateTime since);
 }
@@ -11,21 +11,12 @@ import pl.czyzlowie.modules.imgw_api.entity.ImgwSynopData;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ImgwSynopDataRepository extends JpaRepository<ImgwSynopData, Long> {
 
-    @Query("SELECT d FROM ImgwSynopData d " +
-            "WHERE d.id IN (" +
-            "    SELECT MAX(d2.id) FROM ImgwSynopData d2 " +
-            "    WHERE d2.station.id IN :stationIds " +
-            "    GROUP BY d2.station.id" +
-            ")")
-    List<ImgwSynopData> findLatestDataForStations(@Param("stationIds") Collection<String> stationIds);
-
     @Query("SELECT d.measurementDate AS measurementDate, d.measurementHour AS measurementHour, d.pressure AS pressure " +
             "FROM ImgwSynopData d " +
             "WHERE d.station.id = :stationId " +
@@ -47,6 +38,7 @@ public interface ImgwSynopDataRepository extends JpaRepository<ImgwSynopData, Lo
     @Modifying
     @Query("DELETE FROM ImgwSynopData d WHERE d.createdAt < :thresholdDate")
     int deleteOlderThan(@Param("thresholdDate") LocalDateTime thresholdDate);
-}
-
 
+    @Query("SELECT s FROM ImgwSynopData s WHERE s.createdAt >= :since ORDER BY s.createdAt ASC")
+    List<ImgwSynopData> findAllCreatedSince(@Param("since") LocalDateTime since);
+}
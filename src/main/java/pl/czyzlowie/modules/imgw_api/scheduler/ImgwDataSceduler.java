@@ -4,8 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
+import pl.czyzlowie.modules.imgw_api.service.ImgwFeedResult;
 import pl.czyzlowie.modules.imgw_api.service.ImgwFetchFacade;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
 /**
  * A scheduler for triggering periodic fetching of meteorological, hydrological, and synoptic data.
  *
@@ -23,44 +29,22 @@ public class ImgwDataSceduler {
     private final ImgwFetchFacade fetchFacade;
 
     /**
-     * Schedules the automatic fetching of meteorological data at a fixed rate.
+     * Schedules the automatic fetching of meteorological and hydrological data.
      *
-     * This method triggers the meteorological data fetch operation by invoking {@code fetchMeteo}
-     * on the {@code fetchFacade}. It logs the start, success, or failure of the fetching process.
-     * Any exceptions occurring during the operation are caught and logged with the error details.
+     * Both feeds are published by IMGW at the same times, so they are fetched together in one cycle of
+     * {@code fetchFacade}, concurrently and each with its own timeout. The scheduler waits
+     * for them no longer than the cycle deadline and logs the result of every feed.
      *
-     * The execution interval is defined and configured externally using the property
-     * {@code imgw.scheduler.meteo.html-rate}.
+     * The execution times are defined and configured externally using the property
+     * {@code imgw.scheduler.cycle.cron}.
      */
-    @Scheduled(cron = "${imgw.scheduler.meteo.cron:0 0,30 * * * *}")
-    public void scheduleMeteoFetch(){
-        log.info("Auto-Fetching: METEO start");
+    @Scheduled(cron = "${imgw.scheduler.cycle.cron:0 0,30 * * * *}")
+    public void scheduleMeteoAndHydroFetch(){
+        log.info("Auto-Fetching: METEO + HYDRO start");
         try{
-            fetchFacade.fetchMeteo();
-            log.info("Auto-Fetching: METEO success");
+            logResults(fetchFacade.fetchFeeds(EnumSet.of(ImgwImportType.METEO, ImgwImportType.HYDRO)).values());
         } catch (Exception e){
-            log.error("Auto-Fetching: METEO failed", e);
-        }
-    }
-
-    /**
-     * Schedules the automatic fetching of hydrological data at a fixed rate.
-     *
-     * This method triggers the hydrological data fetch operation by invoking {@code fetchHydro}
-     * on the {@code fetchFacade}. It logs the start, success, or failure of the fetching process.
-     * Any exceptions occurring during the operation are caught and logged with the error details.
-     *
-     * The execution interval is defined and configured externally using the property
-     * {@code imgw.scheduler.hydro-rate}.
-     */
-    @Scheduled(cron = "${imgw.scheduler.hydro.cron:0 0,30 * * * *}")
-    public void scheduleHydroFetch(){
-        log.info("Auto-Fetching: HYDRO start");
-        try{
-            fetchFacade.fetchHydro();
-            log.info("Auto-Fetching: HYDRO success");
-        } catch (Exception e){
-            log.error("Auto-Fetching: HYDRO failed", e);
+            log.error("Auto-Fetching: METEO + HYDRO failed", e);
         }
     }
 
@@ -78,10 +62,20 @@ public class ImgwDataSceduler {
     public void scheduleSynopFetch(){
         log.info("Auto-Fetching: SYNOP start");
         try{
-            fetchFacade.fetchSynop();
-            log.info("Auto-Fetching: SYNOP success");
+            logResults(List.of(fetchFacade.fetchSynop()));
         } catch (Exception e){
             log.error("Auto-Fetching: SYNOP failed", e);
         }
     }
+
+    private static void logResults(Collection<ImgwFeedResult> results) {
+        for (ImgwFeedResult result : results) {
+            if (result.isCompleted()) {
+                log.info("Auto-Fetching: {} success", result.type());
+            } else {
+                log.error("Auto-Fetching: {} {} {}", result.type(), result.status(),
+                        result.error() != null ? result.error() : "");
+            }
+        }
+    }
 }
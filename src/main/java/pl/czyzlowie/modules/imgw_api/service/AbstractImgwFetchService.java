@@ -1,8 +1,16 @@
 package pl.czyzlowie.modules.imgw_api.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.czyzlowie.modules.imgw_api.client.ImgwClient;
+import pl.czyzlowie.modules.imgw_api.client.ImgwFetchResult;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportStatus;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
+import pl.czyzlowie.modules.imgw_api.event.ImgwDataImportedEvent;
+import pl.czyzlowie.modules.imgw_api.event.ImgwStationsLocatedEvent;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwInsertResult;
 
 import java.util.*;
 import java.util.function.Function;
@@ -11,8 +19,10 @@ import java.util.stream.Collectors;
 /**
  * An abstract service class that provides functionality for fetching and processing
  * data from an external API and synchronizing it with a database. The flow involves
- * fetching station data, mapping it to entities, and determining the need for updates
- * or new entries based on comparison with existing data.
+ * fetching station data, mapping it to entities, and handing all readings to a bulk
+ * insert which lets the database skip the readings it already holds.
+ * Feeds are downloaded conditionally outside of any transaction; a feed which has not changed since
+ * the last processed download is skipped before it is deserialised or any query is run.
  * This class is designed to be extended by a concrete implementation that provides
  * specific mappings and repository logic for the data and station entities.
  *
@@ -23,43 +33,92 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class AbstractImgwFetchService<DTO, S, D> {
 
-    protected abstract List<DTO> fetchFromApi();
+    protected final ImgwClient imgwClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates the service with the collaborators shared by all feeds.
+     *
+     * @param imgwClient the IMGW API client, also remembering which feed versions have been processed
+     * @param eventPublisher the publisher notifying other modules about created stations and imported readings
+     * @param transactionTemplate the template running the processing of a changed feed in a single transaction
+     */
+    protected AbstractImgwFetchService(ImgwClient imgwClient, ApplicationEventPublisher eventPublisher,
+                                       TransactionTemplate transactionTemplate) {
+        this.imgwClient = imgwClient;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    protected abstract ImgwImportType getImportType();
+    protected abstract ImgwFetchResult<DTO> fetchFromApi();
     protected abstract String getStationIdFromDto(DTO dto);
     protected abstract String getStationIdFromEntity(S station);
     protected abstract S mapToStation(DTO dto);
+    protected abstract boolean hasCoordinates(S station);
+    protected abstract void copyCoordinates(S source, S target);
     protected abstract D mapToData(DTO dto);
     protected abstract void setStationToData(D data, S station);
     protected abstract JpaRepository<S, String> getStationRepository();
-    protected abstract JpaRepository<D, Long> getDataRepository();
-    protected abstract Map<String, D> getLatestDataMap(Set<String> stationIds);
-    protected abstract boolean isNewer(D lastKnownData, D newData);
+    protected abstract ImgwInsertResult insertNewData(List<D> data);
 
+    /**
+     * Fetches data from an external API and processes it by updating the database with new or updated
+     * station and data records.
+     * The feed is downloaded outside of any transaction. When it has not changed since the last processed
+     * download, the cycle is skipped without deserialising the body or touching the database. Otherwise
+     * the records are processed by {@link #process(List)} in a single transaction, and the feed version is
+     * remembered only after that transaction has committed, so a failed import is retried on the next run.
+     *
+     * @return the outcome of the cycle
+     * @throws IllegalStateException if the feed could not be downloaded
+     */
+    public ImgwImportOutcome fetchAndProcess() {
+        ImgwFetchResult<DTO> result = fetchFromApi();
+        if (result.isUnchanged()) {
+            log.info("Dane {} nie zmieniły się od ostatniego importu ({}), pomijam przetwarzanie.",
+                    getImportType(), result.status());
+            return ImgwImportOutcome.skipped(result.status() == ImgwFetchResult.Status.NOT_MODIFIED
+                    ? ImgwImportStatus.NOT_MODIFIED
+                    : ImgwImportStatus.UNCHANGED_PAYLOAD);
+        }
+        if (result.status() == ImgwFetchResult.Status.FAILED) {
+            throw new IllegalStateException("Nie udało się pobrać danych " + getImportType() + " z API");
+        }
+        if (result.items().isEmpty()) {
+            log.info("Brak danych z API.");
+            return ImgwImportOutcome.processed(0);
+        }
 
+        Integer count = transactionTemplate.execute(status -> process(result.items()));
+        imgwClient.markProcessed(result);
+        return ImgwImportOutcome.processed(count != null ? count : 0);
+    }
 
     /**
-     * Fetches data from an external API and processes it by updating the database with new or updated
+     * Processes the downloaded records by updating the database with new or updated
      * station and data records.
      * This method performs the following steps:
-     * 1. Retrieves data from the external API. If no data is retrieved, logs a message and exits.
+     * 1. Deduplicates the downloaded records by station.
      * 2. Identifies station IDs from the retrieved data.
      * 3. Fetches existing stations from the database based on the retrieved station IDs.
-     * 4. Identifies new stations that need to be created and adds them to the database.
-     * 5. Retrieves the latest data for the affected stations from the database.
-     * 6. For each data record, determines if it is newer than the currently recorded data in the database.
-     * 7. Saves the new data in batch if there are any new records.
+     * 4. Identifies new stations that need to be created and adds them to the database, and fills in the
+     *    coordinates of stored stations lacking them when the feed provides them.
+     * 5. Publishes an {@link ImgwStationsLocatedEvent} for the stations that received coordinates in step 4,
+     *    so spatial indexes are refreshed only when there is something new to place.
+     * 6. Maps every record to a data entity and inserts all of them in a single bulk statement;
+     *    the database deduplicates them against the stored readings, so no existing data is loaded.
+     * 7. Publishes an {@link ImgwDataImportedEvent} for the stations that actually received new readings.
      * Logging is included at various stages of the process to provide traceability
      * and highlight significant actions, such as creating new stations and saving new data records.
-     * The method is annotated with {@code @Transactional}, ensuring that all database operations
-     * are executed within the same transaction, either entirely succeeding or entirely failing.
+     * It is run by {@link #fetchAndProcess()} within a single transaction, so all database operations
+     * either entirely succeed or entirely fail.
+     *
+     * @param rawDtos the downloaded records
+     * @return the number of readings inserted
      */
-    @Transactional
-    public int fetchAndProcess() {
-        List<DTO> rawDtos = fetchFromApi();
-        if (rawDtos == null || rawDtos.isEmpty()) {
-            log.info("Brak danych z API.");
-            return 0;
-        }
-
+    protected int process(List<DTO> rawDtos) {
         Collection<DTO> dtos = rawDtos.stream()
                 .collect(Collectors.toMap(
                         this::getStationIdFromDto,
@@ -77,19 +136,30 @@ public abstract class AbstractImgwFetchService<DTO, S, D> {
 
         List<S> newStationsToSave = new ArrayList<>();
         Set<String> processedNewStationIds = new HashSet<>();
+        Set<String> locatedStationIds = new HashSet<>();
 
         for (DTO dto : dtos) {
             String sId = getStationIdFromDto(dto);
+            S existing = stationMap.get(sId);
 
-            if (!stationMap.containsKey(sId) && !processedNewStationIds.contains(sId)) {
+            if (existing == null && !processedNewStationIds.contains(sId)) {
                 S newStation = mapToStation(dto);
                 newStationsToSave.add(newStation);
                 processedNewStationIds.add(sId);
+                if (hasCoordinates(newStation)) {
+                    locatedStationIds.add(sId);
+                }
+            } else if (existing != null && !hasCoordinates(existing)) {
+                S mapped = mapToStation(dto);
+                if (hasCoordinates(mapped)) {
+                    copyCoordinates(mapped, existing);
+                    locatedStationIds.add(sId);
+                }
             }
         }
 
         if (!newStationsToSave.isEmpty()) {
-            List<S> savedStations = getStationRepository().saveAll(newStationsToSave);
+            List<S> savedStations = getStationRepository().saveAllAndFlush(newStationsToSave);
             log.info("Utworzono {} nowych stacji.", savedStations.size());
 
             for (S savedStation : savedStations) {
@@ -97,8 +167,12 @@ public abstract class AbstractImgwFetchService<DTO, S, D> {
             }
         }
 
-        Map<String, D> lastDataMap = getLatestDataMap(affectedStationIds);
-        List<D> entitiesToSave = new ArrayList<>();
+        if (!locatedStationIds.isEmpty()) {
+            log.info("Przypisano współrzędne {} stacjom {}.", locatedStationIds.size(), getImportType());
+            eventPublisher.publishEvent(new ImgwStationsLocatedEvent(getImportType(), locatedStationIds));
+        }
+
+        List<D> candidates = new ArrayList<>(dtos.size());
 
         for (DTO dto : dtos) {
             String sId = getStationIdFromDto(dto);
@@ -110,20 +184,22 @@ public abstract class AbstractImgwFetchService<DTO, S, D> {
             }
 
             D newData = mapToData(dto);
-            D lastData = lastDataMap.get(sId);
-
-            if (lastData == null || isNewer(lastData, newData)) {
-                setStationToData(newData, station);
-                entitiesToSave.add(newData);
-            }
+            setStationToData(newData, station);
+            candidates.add(newData);
         }
 
-        if (!entitiesToSave.isEmpty()) {
-            getDataRepository().saveAll(entitiesToSave);
-            log.info("Zapisano {} nowych rekordów (Batch).", entitiesToSave.size());
-            return entitiesToSave.size();
+        long start = System.nanoTime();
+        ImgwInsertResult inserted = candidates.isEmpty() ? new ImgwInsertResult(0, Set.of()) : insertNewData(candidates);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        if (inserted.insertedRows() > 0) {
+            log.info("Zapisano {} nowych rekordów dla {} stacji (Bulk insert, {} kandydatów, {} ms).",
+                    inserted.insertedRows(), inserted.stationIds().size(), candidates.size(), elapsedMs);
+
+            eventPublisher.publishEvent(new ImgwDataImportedEvent(getImportType(), inserted.stationIds()));
+            return inserted.insertedRows();
         } else {
-            log.info("Brak nowych danych do zapisu.");
+            log.info("Brak nowych danych do zapisu ({} kandydatów, {} ms).", candidates.size(), elapsedMs);
             return 0;
         }
     }
@@ -0,0 +1,57 @@
+package pl.czyzlowie.modules.imgw_api.service;
+
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
+
+import java.time.Duration;
+
+/**
+ * The result of one feed within a fetch cycle of {@link ImgwFetchFacade}.
+ *
+ * @param type the feed
+ * @param status how the feed ended within the cycle
+ * @param outcome the import outcome, {@code null} unless the feed completed
+ * @param elapsed the time spent on the feed
+ * @param error the message of the last error, {@code null} unless the feed failed
+ */
+public record ImgwFeedResult(ImgwImportType type, Status status, ImgwImportOutcome outcome, Duration elapsed,
+                             String error) {
+
+    /**
+     * How a feed ended within a fetch cycle.
+     */
+    public enum Status {
+        /** The feed was processed or skipped as unchanged. */
+        COMPLETED,
+        /** The feed failed; transient download errors had already been retried by the client. */
+        FAILED,
+        /** The feed did not finish within its timeout or the cycle deadline; it keeps running in the background. */
+        TIMED_OUT,
+        /** The feed was not started, because its run from an earlier cycle has not finished yet. */
+        STILL_RUNNING
+    }
+
+    static ImgwFeedResult completed(ImgwImportType type, ImgwImportOutcome outcome, Duration elapsed) {
+        return new ImgwFeedResult(type, Status.COMPLETED, outcome, elapsed, null);
+    }
+
+    static ImgwFeedResult failed(ImgwImportType type, Duration elapsed, String error) {
+        return new ImgwFeedResult(type, Status.FAILED, null, elapsed, error);
+    }
+
+    static ImgwFeedResult timedOut(ImgwImportType type, Duration elapsed) {
+        return new ImgwFeedResult(type, Status.TIMED_OUT, null, elapsed, null);
+    }
+
+    static ImgwFeedResult stillRunning(ImgwImportType type) {
+        return new ImgwFeedResult(type, Status.STILL_RUNNING, null, Duration.ZERO, null);
+    }
+
+    /**
+     * Tells whether the feed completed within the cycle.
+     *
+     * @return {@code true} for the {@link Status#COMPLETED} status
+     */
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+}
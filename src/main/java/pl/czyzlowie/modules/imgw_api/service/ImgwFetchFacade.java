@@ -1,10 +1,24 @@
 package pl.czyzlowie.modules.imgw_api.service;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import pl.czyzlowie.modules.imgw_api.config.ImgwFetchProperties;
 import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 
 /**
  * Facade class responsible for orchestrating the fetching and processing of
@@ -12,77 +26,168 @@ import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
  * This class consolidates operations for retrieving and processing various
  * data types by delegating to specific services for each type. It also
  * provides structured logging to improve traceability and facilitate debugging.
+ *
+ * The feeds of a cycle run concurrently, each on its own virtual thread and in its own transaction, so
+ * a slow or failing feed does not hold back the others. Every feed has its own timeout, and the caller
+ * waits for the whole cycle no longer than the cycle deadline. A feed which overruns keeps running in the
+ * background; it is not started again until that run has finished.
+ *
+ * A feed runs once per cycle. Transient download errors are retried only by the {@code imgw} retry of
+ * {@link pl.czyzlowie.core.http.ResilientCalls} in the client; a feed which still fails is left for the
+ * next cycle.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ImgwFetchFacade {
 
-    private final ImgwMeteoFetchService meteoService;
-    private final ImgwHydroFetchService hydroService;
-    private final ImgwSynopFetchService synopService;
+    private final Map<ImgwImportType, AbstractImgwFetchService<?, ?, ?>> services = new EnumMap<>(ImgwImportType.class);
+    private final Map<ImgwImportType, AtomicBoolean> running = new EnumMap<>(ImgwImportType.class);
     private final ImgwImportLogService imgwImportLogService;
+    private final ImgwFetchProperties properties;
+    private final ExecutorService feedExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ImgwFeed-", 0).factory());
+
+    public ImgwFetchFacade(ImgwMeteoFetchService meteoService,
+                           ImgwHydroFetchService hydroService,
+                           ImgwSynopFetchService synopService,
+                           ImgwImportLogService imgwImportLogService,
+                           ImgwFetchProperties properties) {
+        this.services.put(ImgwImportType.METEO, meteoService);
+        this.services.put(ImgwImportType.HYDRO, hydroService);
+        this.services.put(ImgwImportType.SYNOP, synopService);
+        for (ImgwImportType type : ImgwImportType.values()) {
+            this.running.put(type, new AtomicBoolean());
+        }
+        this.imgwImportLogService = imgwImportLogService;
+        this.properties = properties;
+    }
 
     /**
-     * Fetches and processes meteorological, hydrological, and synoptic data sequentially.
+     * Fetches and processes meteorological, hydrological, and synoptic data concurrently.
      * This method acts as a unified entry point for orchestrating the fetching
-     * and processing multiple types of environmental data. It sequentially
-     * triggers the following operations:
-     * <ul>
-     * - Fetching and processing meteorological data via {@code fetchMeteo}
-     * - Fetching and processing hydrological data via {@code fetchHydro}
-     * - Fetching and processing synoptic data via {@code fetchSynop}
-     * </ul>
+     * and processing multiple types of environmental data.
      *
-     * Structured logging at the start and end of the method helps track the
-     * execution flow and provides traceability across the data retrieval operations.
+     * @return the result of every feed
      */
-    public void fetchAll() {
-        log.info("--- START FETCH ALL ---");
-        fetchMeteo();
-        fetchHydro();
-        fetchSynop();
-        log.info("--- END FETCH ALL ---");
+    public Map<ImgwImportType, ImgwFeedResult> fetchAll() {
+        return fetchFeeds(EnumSet.allOf(ImgwImportType.class));
     }
 
     /**
      * Fetches and processes meteorological data.
-     * This method delegates the fetching and processing of data to the {@code meteoService}.
-     * The number of processed records is logged and recorded using the {@code imgwImportLogService}
-     * with the {@code METEO} import type. Structured logging is used to indicate
-     * the start and end of the operation for traceability.
+     * The number of processed records, or the skip of an unchanged feed, is recorded using the
+     * {@code imgwImportLogService} with the {@code METEO} import type.
+     *
+     * @return the result of the feed
      */
-    public void fetchMeteo() {
-        log.info("--- START FETCH METEO ---");
-        int count = meteoService.fetchAndProcess();
-        imgwImportLogService.recordImport(ImgwImportType.METEO, count);
-        log.info("--- END FETCH METEO ---");
+    public ImgwFeedResult fetchMeteo() {
+        return fetchFeeds(EnumSet.of(ImgwImportType.METEO)).get(ImgwImportType.METEO);
     }
 
     /**
      * Fetches and processes hydro data by delegating the operation to the {@code hydroService}.
-     * This method logs the start and end of the execution to provide traceability in logging outputs.
+     *
+     * @return the result of the feed
      */
-    public void fetchHydro() {
-        log.info("--- START FETCH HYDRO ---");
-        int count = hydroService.fetchAndProcess();
-        imgwImportLogService.recordImport(ImgwImportType.HYDRO, count);
-        log.info("--- END FETCH HYDRO ---");
+    public ImgwFeedResult fetchHydro() {
+        return fetchFeeds(EnumSet.of(ImgwImportType.HYDRO)).get(ImgwImportType.HYDRO);
     }
 
     /**
      * Fetches and processes synoptic data.
-     * This method delegates the task of fetching and processing synoptic data
-     * to the {@code synopService}. The total number of processed records is
-     * logged and subsequently recorded using the {@code imgwImportLogService}
-     * with the {@code SYNOP} import type.
-     * Structured logging mark the start and end of the operation
-     * for easier traceability and debugging.
+     * The total number of processed records, or the skip of an unchanged feed, is recorded
+     * using the {@code imgwImportLogService} with the {@code SYNOP} import type.
+     *
+     * @return the result of the feed
+     */
+    public ImgwFeedResult fetchSynop() {
+        return fetchFeeds(EnumSet.of(ImgwImportType.SYNOP)).get(ImgwImportType.SYNOP);
+    }
+
+    /**
+     * Runs the given feeds concurrently and waits for them until the cycle deadline passes.
+     * Feeds which have not finished by then are reported as timed out.
+     *
+     * @param feeds the feeds to fetch
+     * @return the result of every requested feed
+     */
+    public Map<ImgwImportType, ImgwFeedResult> fetchFeeds(Collection<ImgwImportType> feeds) {
+        log.info("--- START FETCH {} ---", feeds);
+        long start = System.nanoTime();
+
+        Map<ImgwImportType, CompletableFuture<ImgwFeedResult>> futures = new EnumMap<>(ImgwImportType.class);
+        for (ImgwImportType type : feeds) {
+            futures.put(type, startFeed(type));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .get(properties.getCycleDeadline().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Przekroczono limit czasu cyklu pobierania IMGW ({})", properties.getCycleDeadline());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Nieoczekiwany błąd cyklu pobierania IMGW", e.getCause());
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Map<ImgwImportType, ImgwFeedResult> results = new EnumMap<>(ImgwImportType.class);
+        futures.forEach((type, future) -> results.put(type, future.getNow(ImgwFeedResult.timedOut(type, elapsed))));
+
+        results.values().forEach(result -> log.info("{}: {} ({} ms)",
+                result.type(), result.status(), result.elapsed().toMillis()));
+        log.info("--- END FETCH {} ({} ms) ---", feeds, elapsed.toMillis());
+        return results;
+    }
+
+    /**
+     * Starts a feed on its own virtual thread unless its previous run is still in progress.
      */
-    public void fetchSynop() {
-        log.info("--- START FETCH SYNOP ---");
-        int count = synopService.fetchAndProcess();
-        imgwImportLogService.recordImport(ImgwImportType.SYNOP, count);
-        log.info("--- END FETCH SYNOP ---");
+    private CompletableFuture<ImgwFeedResult> startFeed(ImgwImportType type) {
+        AtomicBoolean busy = running.get(type);
+        if (!busy.compareAndSet(false, true)) {
+            log.warn("Poprzednie pobieranie {} wciąż trwa, pomijam ten cykl", type);
+            return CompletableFuture.completedFuture(ImgwFeedResult.stillRunning(type));
+        }
+
+        Duration timeout = properties.getFeedTimeout();
+        return CompletableFuture.supplyAsync(() -> runFeed(type, busy), feedExecutor)
+                .completeOnTimeout(ImgwFeedResult.timedOut(type, timeout), timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a feed once, in its own transaction, and records its outcome.
+     */
+    private ImgwFeedResult runFeed(ImgwImportType type, AtomicBoolean busy) {
+        long start = System.nanoTime();
+        try {
+            ImgwImportOutcome outcome = services.get(type).fetchAndProcess();
+            recordOutcome(type, outcome);
+            return ImgwFeedResult.completed(type, outcome, Duration.ofNanos(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.error("Pobieranie {} nie powiodło się", type, e);
+            recordOutcome(type, ImgwImportOutcome.failed());
+            return ImgwFeedResult.failed(type, Duration.ofNanos(System.nanoTime() - start), e.getMessage());
+        } finally {
+            busy.set(false);
+        }
+    }
+
+    /**
+     * Interrupts the feeds still running at shutdown. Each feed writes in a single transaction, so an
+     * interrupted feed is rolled back and fetched again by the next cycle.
+     */
+    @PreDestroy
+    void shutdown() {
+        feedExecutor.shutdownNow();
+    }
+
+    private void recordOutcome(ImgwImportType type, ImgwImportOutcome outcome) {
+        try {
+            imgwImportLogService.recordOutcome(type, outcome);
+        } catch (Exception e) {
+            log.error("Nie udało się zapisać dziennika importu {}", type, e);
+        }
     }
-}
\ No newline at end of file
+}
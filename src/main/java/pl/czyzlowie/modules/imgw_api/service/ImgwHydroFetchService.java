@@ -1,24 +1,24 @@
 package pl.czyzlowie.modules.imgw_api.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.czyzlowie.modules.imgw_api.client.ImgwClient;
+import pl.czyzlowie.modules.imgw_api.client.ImgwFetchResult;
 import pl.czyzlowie.modules.imgw_api.client.dto.ImgwHydroResponseDto;
 import pl.czyzlowie.modules.imgw_api.config.ImgwApiProperties;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroData;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroStation;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
 import pl.czyzlowie.modules.imgw_api.mapper.ImgwHydroMapper;
-import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroDataRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwBulkInsertRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwInsertResult;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroStationRepository;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Service responsible for fetching and processing hydrological data from the IMGW API.
@@ -37,64 +37,53 @@ import java.util.stream.Collectors;
  * - {@code ImgwHydroStationRepository} for station entity persistence.
  * - {@code ImgwHydroDataRepository} for hydrological data entity persistence.
  * - {@code ImgwHydroMapper} for mapping between DTOs and entities.
- * This service is constructed with Spring's Dependency Injection mechanism,
- * facilitated by the {@code @RequiredArgsConstructor} and {@code @Service} annotations.
+ * This service is constructed with Spring's Dependency Injection mechanism through its constructor,
+ * which hands the collaborators shared by all feeds to {@link AbstractImgwFetchService}.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ImgwHydroFetchService extends AbstractImgwFetchService<ImgwHydroResponseDto, ImgwHydroStation, ImgwHydroData> {
 
-    private final ImgwClient imgwClient;
     private final ImgwApiProperties properties;
     private final ImgwHydroStationRepository stationRepo;
-    private final ImgwHydroDataRepository dataRepo;
+    private final ImgwBulkInsertRepository bulkInsertRepository;
     private final ImgwHydroMapper mapper;
 
-    /**
-     * Fetches a list of hydrological data from the IMGW API.
-     * The method retrieves the data using the configured API URL and parses the response
-     * into a list of {@code ImgwHydroResponseDto} objects.
-     *
-     * @return a list of {@code ImgwHydroResponseDto} containing hydrological data fetched from the API,
-     *         or an empty list if no data is retrieved or in case of an error.
-     */
-    @Override
-    protected List<ImgwHydroResponseDto> fetchFromApi() {
-        return imgwClient.fetchList(
-                properties.getHydroUrl(),
-                new ParameterizedTypeReference<>() {}
-        );
+    public ImgwHydroFetchService(ImgwClient imgwClient, ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate, ImgwApiProperties properties,
+                                 ImgwHydroStationRepository stationRepo, ImgwBulkInsertRepository bulkInsertRepository,
+                                 ImgwHydroMapper mapper) {
+        super(imgwClient, eventPublisher, transactionTemplate);
+        this.properties = properties;
+        this.stationRepo = stationRepo;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.mapper = mapper;
     }
 
     /**
-     * Retrieves the latest hydrological data for a specified set of station IDs.
-     * This method fetches the most recent data for the provided station identifiers
-     * and constructs a map where the key is the station ID, and the value is
-     * the corresponding {@code ImgwHydroData} entity.
+     * Identifies the feed handled by this service.
      *
-     * @param stationIds a set of station IDs for which the latest hydrological data is to be fetched
-     * @return a map containing station IDs as keys and their latest associated {@code ImgwHydroData} as values
+     * @return the {@code HYDRO} import type
      */
     @Override
-    protected Map<String, ImgwHydroData> getLatestDataMap(Set<String> stationIds) {
-        return dataRepo.findLatestDataForStations(stationIds).stream()
-                .collect(Collectors.toMap(
-                        d -> d.getStation().getId(),
-                        Function.identity()
-                ));
+    protected ImgwImportType getImportType() {
+        return ImgwImportType.HYDRO;
     }
 
     /**
-     * Determines whether the new hydrological data is more recent than the last known data.
+     * Fetches a list of hydrological data from the IMGW API.
+     * The method retrieves the data using the configured API URL and parses the response
+     * into a list of {@code ImgwHydroResponseDto} objects.
      *
-     * @param lastKnownData the most recently known hydrological data stored in the system
-     * @param newData the newest hydrological data to be evaluated
-     * @return true if the new data is more recent than the last known data, false otherwise
+     * @return the download result holding the {@code ImgwHydroResponseDto} objects fetched from the API,
+     *         or no objects if the feed has not changed or in case of an error.
      */
     @Override
-    protected boolean isNewer(ImgwHydroData lastKnownData, ImgwHydroData newData) {
-        return newData.isNewerThan(lastKnownData);
+    protected ImgwFetchResult<ImgwHydroResponseDto> fetchFromApi() {
+        return imgwClient.fetchListIfChanged(
+                properties.getHydroUrl(),
+                new ParameterizedTypeReference<>() {}
+        );
     }
 
     /**
@@ -121,6 +110,25 @@ public class ImgwHydroFetchService extends AbstractImgwFetchService<ImgwHydroRes
      */
     @Override protected ImgwHydroStation mapToStation(ImgwHydroResponseDto dto) { return mapper.toHydroStation(dto); }
 
+    /**
+     * Checks whether the given station has both coordinates.
+     *
+     * @param station the station to check
+     * @return true if the latitude and the longitude are set
+     */
+    @Override protected boolean hasCoordinates(ImgwHydroStation station) { return station.getLatitude() != null && station.getLongitude() != null; }
+
+    /**
+     * Copies the coordinates of one station onto another.
+     *
+     * @param source the station providing the coordinates
+     * @param target the station receiving them
+     */
+    @Override protected void copyCoordinates(ImgwHydroStation source, ImgwHydroStation target) {
+        target.setLatitude(source.getLatitude());
+        target.setLongitude(source.getLongitude());
+    }
+
     /**
      * Maps the given ImgwHydroResponseDto object to an ImgwHydroData entity.
      *
@@ -146,10 +154,10 @@ public class ImgwHydroFetchService extends AbstractImgwFetchService<ImgwHydroRes
     @Override protected JpaRepository<ImgwHydroStation, String> getStationRepository() { return stationRepo; }
 
     /**
-     * Provides the repository for accessing and managing hydrological data entities.
+     * Inserts the hydrological readings in bulk, letting the database skip the readings it already holds.
      *
-     * @return the {@code JpaRepository} used for CRUD operations on {@code ImgwHydroData} entities,
-     *         where the entity ID type is {@code Long}
+     * @param data the hydrological readings with their stations assigned
+     * @return the identifiers of the stations that received a new reading
      */
-    @Override protected JpaRepository<ImgwHydroData, Long> getDataRepository() { return dataRepo; }
-}
\ No newline at end of file
+    @Override protected ImgwInsertResult insertNewData(List<ImgwHydroData> data) { return bulkInsertRepository.insertHydro(data); }
+}
@@ -1,9 +1,12 @@
 package pl.czyzlowie.modules.imgw_api.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwImportLog;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportStatus;
 import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwImportLogRepository;
 
@@ -17,14 +20,17 @@ import pl.czyzlowie.modules.imgw_api.repository.ImgwImportLogRepository;
  * entries and leverages the {@code ImgwImportType} to differentiate between the types
  * of data imports being logged. This ensures traceability and visibility into data-import
  * activities.
+ * Cycles skipped because the feed had not changed and cycles which failed are recorded as well, and
+ * every cycle is counted in the {@code imgw.import.cycles} meter, tagged with the import type and whether
+ * it was processed, skipped or failed.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ImgwImportLogService {
 
-
     private final ImgwImportLogRepository imgwImportLogRepository;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Records an import operation with the specified type and count of records.
@@ -37,5 +43,36 @@ public class ImgwImportLogService {
         log.info("Recording import log: {} - {} records", importType, count);
         ImgwImportLog importLog = new ImgwImportLog(importType, count);
         imgwImportLogRepository.save(importLog);
+        countCycle(importType, ImgwImportStatus.PROCESSED);
+    }
+
+    /**
+     * Records the outcome of an import cycle: processed, skipped because the feed had not changed, or failed.
+     *
+     * @param importType the type of the import, representing categories such as METEO, HYDRO, or SYNOP
+     * @param outcome the outcome of the cycle
+     */
+    public void recordOutcome(ImgwImportType importType, ImgwImportOutcome outcome) {
+        if (outcome.status() == ImgwImportStatus.PROCESSED) {
+            recordImport(importType, outcome.recordsCount());
+            return;
+        }
+        log.info("Recording {} import: {}", outcome.isSkipped() ? "skipped" : "failed", importType);
+        imgwImportLogRepository.save(new ImgwImportLog(importType, 0, outcome.status()));
+        countCycle(importType, outcome.status());
+    }
+
+    private void countCycle(ImgwImportType importType, ImgwImportStatus status) {
+        Counter.builder("imgw.import.cycles")
+                .description("Liczba cykli importu danych IMGW")
+                .tag("type", importType.name())
+                .tag("outcome", switch (status) {
+                    case PROCESSED -> "processed";
+                    case FAILED -> "failed";
+                    default -> "skipped";
+                })
+                .tag("reason", status.name())
+                .register(meterRegistry)
+                .increment();
     }
 }
@@ -0,0 +1,50 @@
+package pl.czyzlowie.modules.imgw_api.service;
+
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportStatus;
+
+/**
+ * The outcome of one import cycle of an IMGW feed.
+ *
+ * @param status whether the feed was processed, skipped or failed, and why it was skipped
+ * @param recordsCount the number of stations that received a new reading, 0 for skipped and failed cycles
+ */
+public record ImgwImportOutcome(ImgwImportStatus status, int recordsCount) {
+
+    /**
+     * Creates the outcome of a processed cycle.
+     *
+     * @param recordsCount the number of stations that received a new reading
+     * @return the outcome
+     */
+    public static ImgwImportOutcome processed(int recordsCount) {
+        return new ImgwImportOutcome(ImgwImportStatus.PROCESSED, recordsCount);
+    }
+
+    /**
+     * Creates the outcome of a cycle skipped because the feed has not changed.
+     *
+     * @param status the reason of the skip
+     * @return the outcome
+     */
+    public static ImgwImportOutcome skipped(ImgwImportStatus status) {
+        return new ImgwImportOutcome(status, 0);
+    }
+
+    /**
+     * Creates the outcome of a cycle whose feed could not be downloaded or stored.
+     *
+     * @return the outcome
+     */
+    public static ImgwImportOutcome failed() {
+        return new ImgwImportOutcome(ImgwImportStatus.FAILED, 0);
+    }
+
+    /**
+     * Tells whether the cycle was skipped because the feed has not changed.
+     *
+     * @return {@code true} for the {@code NOT_MODIFIED} and {@code UNCHANGED_PAYLOAD} statuses
+     */
+    public boolean isSkipped() {
+        return status == ImgwImportStatus.NOT_MODIFIED || status == ImgwImportStatus.UNCHANGED_PAYLOAD;
+    }
+}
@@ -1,24 +1,24 @@
 package pl.czyzlowie.modules.imgw_api.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.czyzlowie.modules.imgw_api.client.ImgwClient;
+import pl.czyzlowie.modules.imgw_api.client.ImgwFetchResult;
 import pl.czyzlowie.modules.imgw_api.client.dto.ImgwMeteoResponseDto;
 import pl.czyzlowie.modules.imgw_api.config.ImgwApiProperties;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwMeteoData;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwMeteoStation;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
 import pl.czyzlowie.modules.imgw_api.mapper.ImgwMeteoMapper;
-import pl.czyzlowie.modules.imgw_api.repository.ImgwMeteoDataRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwBulkInsertRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwInsertResult;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwMeteoStationRepository;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Service responsible for fetching and processing meteorological data from the IMiGW API.
@@ -29,52 +29,44 @@ import java.util.stream.Collectors;
  * for implementations specific to meteorological data use cases.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ImgwMeteoFetchService extends AbstractImgwFetchService<ImgwMeteoResponseDto, ImgwMeteoStation, ImgwMeteoData> {
 
-    private final ImgwClient imgwClient;
     private final ImgwApiProperties properties;
     private final ImgwMeteoStationRepository stationRepo;
-    private final ImgwMeteoDataRepository dataRepo;
+    private final ImgwBulkInsertRepository bulkInsertRepository;
     private final ImgwMeteoMapper mapper;
 
-    /**
-     * Fetches a list of meteorological data transfer objects (DTOs) from the external API.
-     *
-     * @return a list of {@code ImgwMeteoResponseDto} objects retrieved from the external API
-     */
-    @Override
-    protected List<ImgwMeteoResponseDto> fetchFromApi() {
-        return imgwClient.fetchList(properties.getMeteoUrl(), new ParameterizedTypeReference<>() {});
+    public ImgwMeteoFetchService(ImgwClient imgwClient, ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate, ImgwApiProperties properties,
+                                 ImgwMeteoStationRepository stationRepo, ImgwBulkInsertRepository bulkInsertRepository,
+                                 ImgwMeteoMapper mapper) {
+        super(imgwClient, eventPublisher, transactionTemplate);
+        this.properties = properties;
+        this.stationRepo = stationRepo;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.mapper = mapper;
     }
 
     /**
-     * Retrieves the latest meteorological data for a given set of station identifiers.
+     * Identifies the feed handled by this service.
      *
-     * @param stationIds a set of unique station identifiers for which the latest data is to be retrieved
-     * @return a map where the keys are station identifiers as strings and the values are the corresponding
-     *         latest instances of {@code ImgwMeteoData}
+     * @return the {@code METEO} import type
      */
     @Override
-    protected Map<String, ImgwMeteoData> getLatestDataMap(Set<String> stationIds) {
-        return dataRepo.findLatestDataForStations(stationIds).stream()
-                .collect(Collectors.toMap(
-                        d -> d.getStation().getId(),
-                        Function.identity()
-                ));
+    protected ImgwImportType getImportType() {
+        return ImgwImportType.METEO;
     }
 
     /**
-     * Determines whether the provided new meteorological data is more recent than the last known data.
+     * Fetches a list of meteorological data transfer objects (DTOs) from the external API.
      *
-     * @param lastKnownData the previous instance of {@code ImgwMeteoData} that is considered the last known data
-     * @param newData the current instance of {@code ImgwMeteoData} to be compared with the last known data
-     * @return {@code true} if the new data is more recent than the last known data, otherwise {@code false}
+     * @return the download result holding the {@code ImgwMeteoResponseDto} objects retrieved from the external API,
+     *         or no objects if the feed has not changed since the last processed download
      */
     @Override
-    protected boolean isNewer(ImgwMeteoData lastKnownData, ImgwMeteoData newData) {
-        return newData.isNewerThan(lastKnownData);
+    protected ImgwFetchResult<ImgwMeteoResponseDto> fetchFromApi() {
+        return imgwClient.fetchListIfChanged(properties.getMeteoUrl(), new ParameterizedTypeReference<>() {});
     }
 
     /**
@@ -101,6 +93,25 @@ public class ImgwMeteoFetchService extends AbstractImgwFetchService<ImgwMeteoRes
      */
     @Override protected ImgwMeteoStation mapToStation(ImgwMeteoResponseDto dto) { return mapper.toMeteoStation(dto); }
 
+    /**
+     * Checks whether the given station has both coordinates.
+     *
+     * @param station the station to check
+     * @return true if the latitude and the longitude are set
+     */
+    @Override protected boolean hasCoordinates(ImgwMeteoStation station) { return station.getLatitude() != null && station.getLongitude() != null; }
+
+    /**
+     * Copies the coordinates of one station onto another.
+     *
+     * @param source the station providing the coordinates
+     * @param target the station receiving them
+     */
+    @Override protected void copyCoordinates(ImgwMeteoStation source, ImgwMeteoStation target) {
+        target.setLatitude(source.getLatitude());
+        target.setLongitude(source.getLongitude());
+    }
+
     /**
      * Maps the given data transfer object (DTO) to the corresponding meteorological data entity.
      *
@@ -125,9 +136,10 @@ public class ImgwMeteoFetchService extends AbstractImgwFetchService<ImgwMeteoRes
     @Override protected JpaRepository<ImgwMeteoStation, String> getStationRepository() { return stationRepo; }
 
     /**
-     * Provides the data repository used for accessing and managing entities of type {@code ImgwMeteoData}.
+     * Inserts the meteorological readings in bulk, letting the database skip the readings it already holds.
      *
-     * @return a {@code JpaRepository} instance for handling {@code ImgwMeteoData} entities
+     * @param data the meteorological readings with their stations assigned
+     * @return the identifiers of the stations that received a new reading
      */
-    @Override protected JpaRepository<ImgwMeteoData, Long> getDataRepository() { return dataRepo; }
-}
\ No newline at end of file
+    @Override protected ImgwInsertResult insertNewData(List<ImgwMeteoData> data) { return bulkInsertRepository.insertMeteo(data); }
+}
@@ -1,24 +1,24 @@
 package pl.czyzlowie.modules.imgw_api.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import pl.czyzlowie.modules.imgw_api.client.ImgwClient;
+import pl.czyzlowie.modules.imgw_api.client.ImgwFetchResult;
 import pl.czyzlowie.modules.imgw_api.client.dto.ImgwSynopResponseDto;
 import pl.czyzlowie.modules.imgw_api.config.ImgwApiProperties;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwSynopData;
 import pl.czyzlowie.modules.imgw_api.entity.ImgwSynopStation;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
 import pl.czyzlowie.modules.imgw_api.mapper.ImgwSynopMapper;
-import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopDataRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwBulkInsertRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwInsertResult;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopStationRepository;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Service class responsible for fetching and processing synoptic data from the IMGW API.
@@ -30,68 +30,49 @@ import java.util.stream.Collectors;
  * Additionally, it employs the {@link ImgwSynopMapper} for DTO-to-entity mapping.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ImgwSynopFetchService extends AbstractImgwFetchService<ImgwSynopResponseDto, ImgwSynopStation, ImgwSynopData> {
 
-    private final ImgwClient imgwClient;
     private final ImgwApiProperties properties;
     private final ImgwSynopStationRepository stationRepo;
-    private final ImgwSynopDataRepository dataRepo;
+    private final ImgwBulkInsertRepository bulkInsertRepository;
     private final ImgwSynopMapper mapper;
 
-    /**
-     * Fetches a list of synoptic data from the IMGW API.
-     * This method communicates with the IMGW API using the configured client
-     * and retrieves a list of synoptic data DTOs based on the provided API URL.
-     *
-     * @return a list of {@link ImgwSynopResponseDto} objects representing the fetched synoptic data,
-     *         or an empty list if the API call fails or returns no data.
-     */
-    @Override
-    protected List<ImgwSynopResponseDto> fetchFromApi() {
-        return imgwClient.fetchList(
-                properties.getSynopUrl(),
-                new ParameterizedTypeReference<>() {}
-        );
+    public ImgwSynopFetchService(ImgwClient imgwClient, ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate, ImgwApiProperties properties,
+                                 ImgwSynopStationRepository stationRepo, ImgwBulkInsertRepository bulkInsertRepository,
+                                 ImgwSynopMapper mapper) {
+        super(imgwClient, eventPublisher, transactionTemplate);
+        this.properties = properties;
+        this.stationRepo = stationRepo;
+        this.bulkInsertRepository = bulkInsertRepository;
+        this.mapper = mapper;
     }
 
     /**
-     * Retrieves the latest synoptic data for the given set of station IDs and maps it to a dictionary
-     * where the key is the station ID and the value is the corresponding synoptic data entity.
-     * The method queries the database to fetch the most recent data for each station in the provided set.
+     * Identifies the feed handled by this service.
      *
-     * @param stationIds a set of station IDs for which the latest synoptic data should be retrieved
-     * @return a map where each key is a station ID and each value is the latest {@link ImgwSynopData}
-     *         object corresponding to that station
+     * @return the {@code SYNOP} import type
      */
     @Override
-    protected Map<String, ImgwSynopData> getLatestDataMap(Set<String> stationIds) {
-        return dataRepo.findLatestDataForStations(stationIds).stream()
-                .collect(Collectors.toMap(
-                        d -> d.getStation().getId(),
-                        Function.identity()
-                ));
+    protected ImgwImportType getImportType() {
+        return ImgwImportType.SYNOP;
     }
 
     /**
-     * Determines whether the new synoptic data is more recent compared to the last known data.
-     * This method compares the measurement date and hour of the new data
-     * with those of the last known data to establish if the new data represents
-     * a more recent entry. If the last known data is null, the new data is considered newer.
+     * Fetches a list of synoptic data from the IMGW API.
+     * This method communicates with the IMGW API using the configured client
+     * and retrieves a list of synoptic data DTOs based on the provided API URL.
      *
-     * @param lastKnownData the previously stored synoptic data, which can be null
-     * @param newData       the new synoptic data to be evaluated
-     * @return true if the new data is considered more recent, false otherwise
+     * @return the download result holding the {@link ImgwSynopResponseDto} objects representing the fetched
+     *         synoptic data, or no objects if the API call fails or the feed has not changed.
      */
     @Override
-    protected boolean isNewer(ImgwSynopData lastKnownData, ImgwSynopData newData) {
-        if (lastKnownData == null) return true;
-
-        boolean dateChanged = !newData.getMeasurementDate().equals(lastKnownData.getMeasurementDate());
-        boolean hourChanged = !newData.getMeasurementHour().equals(lastKnownData.getMeasurementHour());
-
-        return dateChanged || hourChanged;
+    protected ImgwFetchResult<ImgwSynopResponseDto> fetchFromApi() {
+        return imgwClient.fetchListIfChanged(
+                properties.getSynopUrl(),
+                new ParameterizedTypeReference<>() {}
+        );
     }
 
     /**
@@ -120,6 +101,25 @@ public class ImgwSynopFetchService extends AbstractImgwFetchService<ImgwSynopRes
      */
     @Override protected ImgwSynopStation mapToStation(ImgwSynopResponseDto dto) { return mapper.toSynopStation(dto); }
 
+    /**
+     * Checks whether the given station has both coordinates.
+     *
+     * @param station the station to check
+     * @return true if the latitude and the longitude are set
+     */
+    @Override protected boolean hasCoordinates(ImgwSynopStation station) { return station.getLatitude() != null && station.getLongitude() != null; }
+
+    /**
+     * Copies the coordinates of one station onto another.
+     *
+     * @param source the station providing the coordinates
+     * @param target the station receiving them
+     */
+    @Override protected void copyCoordinates(ImgwSynopStation source, ImgwSynopStation target) {
+        target.setLatitude(source.getLatitude());
+        target.setLongitude(source.getLongitude());
+    }
+
     /**
      * Maps the provided DTO object to an instance of {@link ImgwSynopData}.
      * This method uses the {@link ImgwSynopMapper} to transform the data transfer object
@@ -148,9 +148,10 @@ public class ImgwSynopFetchService extends AbstractImgwFetchService<ImgwSynopRes
     @Override protected JpaRepository<ImgwSynopStation, String> getStationRepository() { return stationRepo; }
 
     /**
-     * Retrieves the JpaRepository responsible for managing {@link ImgwSynopData} entities.
+     * Inserts the synoptic readings in bulk, letting the database skip the readings it already holds.
      *
-     * @return the JpaRepository for {@link ImgwSynopData}, allowing CRUD operations on the synoptic data entities.
+     * @param data the synoptic readings with their stations assigned
+     * @return the identifiers of the stations that received a new reading
      */
-    @Override protected JpaRepository<ImgwSynopData, Long> getDataRepository() { return dataRepo; }
-}
\ No newline at end of file
+    @Override protected ImgwInsertResult insertNewData(List<ImgwSynopData> data) { return bulkInsertRepository.insertSynop(data); }
+}
@@ -0,0 +1,59 @@
+package pl.czyzlowie.modules.location.index;
+
+import pl.czyzlowie.modules.location.enums.StationCategory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An immutable, versioned view of all station spatial indexes, one {@link StationKdTree} per category.
+ *
+ * A snapshot is never modified after creation. Refreshing a category produces a new snapshot which
+ * shares the untouched trees of the other categories with its predecessor, so readers holding
+ * an older snapshot keep a consistent view while the new one is published atomically.
+ *
+ * @param version the monotonically increasing version of the snapshot
+ * @param indexes the spatial index of each loaded station category
+ */
+public record StationIndexSnapshot(long version, Map<StationCategory, StationKdTree> indexes) {
+
+    public StationIndexSnapshot {
+        EnumMap<StationCategory, StationKdTree> copy = new EnumMap<>(StationCategory.class);
+        copy.putAll(indexes);
+        indexes = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Creates an initial snapshot without any loaded category.
+     *
+     * @return an empty snapshot with version 0
+     */
+    public static StationIndexSnapshot empty() {
+        return new StationIndexSnapshot(0L, Map.of());
+    }
+
+    /**
+     * Returns the spatial index of the given category.
+     *
+     * @param category the station category
+     * @return the index of the category, or {@code null} if it has not been loaded yet
+     */
+    public StationKdTree index(StationCategory category) {
+        return indexes.get(category);
+    }
+
+    /**
+     * Creates a new snapshot in which only the given category is replaced.
+     *
+     * @param category the station category to replace
+     * @param tree the new spatial index of the category
+     * @return a new snapshot with an incremented version
+     */
+    public StationIndexSnapshot withIndex(StationCategory category, StationKdTree tree) {
+        EnumMap<StationCategory, StationKdTree> updated = new EnumMap<>(StationCategory.class);
+        updated.putAll(indexes);
+        updated.put(category, tree);
+        return new StationIndexSnapshot(version + 1, updated);
+    }
+}
@@ -0,0 +1,407 @@
+package pl.czyzlowie.modules.location.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * An immutable, balanced 3-dimensional k-d tree over station positions projected onto the unit sphere.
+ *
+ * Every station is converted once, at build time, to an (x, y, z) unit vector. The straight-line
+ * (chord) distance between two unit vectors grows monotonically with the great-circle distance,
+ * so all comparisons during a search are made on squared chord lengths, without any trigonometry.
+ * The great-circle distance in kilometers is derived only for the stations that are returned.
+ *
+ * The tree is stored implicitly in flat primitive arrays: the node of a sub-range {@code [lo, hi)}
+ * is always the element at {@code (lo + hi) / 2}, split along the axis {@code depth % 3}.
+ * Instances are safe to share between threads once built.
+ */
+public final class StationKdTree {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final StationPoint[] points;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+
+    /**
+     * Describes a station returned by a search together with its great-circle distance.
+     *
+     * @param station    the matched station
+     * @param distanceKm the distance from the query point in kilometers
+     */
+    public record Neighbour(StationPoint station, double distanceKm) {}
+
+    private StationKdTree(StationPoint[] points) {
+        this.points = points;
+        this.xs = new double[points.length];
+        this.ys = new double[points.length];
+        this.zs = new double[points.length];
+
+        for (int i = 0; i < points.length; i++) {
+            double latRad = Math.toRadians(points[i].lat());
+            double lonRad = Math.toRadians(points[i].lon());
+            double cosLat = Math.cos(latRad);
+            xs[i] = cosLat * Math.cos(lonRad);
+            ys[i] = cosLat * Math.sin(lonRad);
+            zs[i] = Math.sin(latRad);
+        }
+
+        build(0, points.length, 0);
+    }
+
+    /**
+     * Builds a new balanced tree from the given stations.
+     *
+     * @param stations the stations to index; the collection is copied and not modified
+     * @return a new immutable tree, possibly empty
+     */
+    public static StationKdTree build(Collection<StationPoint> stations) {
+        return new StationKdTree(stations.toArray(new StationPoint[0]));
+    }
+
+    /**
+     * Returns the number of stations held by the tree.
+     *
+     * @return the number of indexed stations
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * Checks whether the tree holds no stations.
+     *
+     * @return true if the tree is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    /**
+     * Returns all stations held by the tree. The order follows the internal tree layout
+     * and carries no meaning for the caller.
+     *
+     * @return an unmodifiable list of the indexed stations
+     */
+    public List<StationPoint> stations() {
+        return List.of(points);
+    }
+
+    /**
+     * Checks whether the tree holds exactly the given set of stations, regardless of their order.
+     * Used to skip rebuilding an index when a reconciliation finds no changes.
+     *
+     * @param stations the stations to compare with
+     * @return true if both contain the same stations, otherwise false
+     */
+    public boolean hasSameStations(Collection<StationPoint> stations) {
+        if (stations.size() != points.length) {
+            return false;
+        }
+        return new HashSet<>(stations).equals(new HashSet<>(Arrays.asList(points)));
+    }
+
+    /**
+     * Finds the station closest to the given location.
+     *
+     * @param lat the latitude of the query point in decimal degrees
+     * @param lon the longitude of the query point in decimal degrees
+     * @return the nearest station with its distance, or {@code null} if the tree is empty
+     */
+    public Neighbour nearest(double lat, double lon) {
+        if (points.length == 0) {
+            return null;
+        }
+
+        double[] q = toUnitVector(lat, lon);
+        NearestSearch search = new NearestSearch();
+        searchNearest(0, points.length, 0, q[0], q[1], q[2], search);
+
+        return new Neighbour(points[search.bestIndex], chordSquaredToKm(search.bestDistance));
+    }
+
+    /**
+     * Finds up to {@code k} stations closest to the given location, ordered by ascending distance.
+     *
+     * @param lat the latitude of the query point in decimal degrees
+     * @param lon the longitude of the query point in decimal degrees
+     * @param k   the maximum number of stations to return; must be positive
+     * @return the nearest stations ordered from the closest one
+     */
+    public List<Neighbour> kNearest(double lat, double lon, int k) {
+        int limit = Math.min(k, points.length);
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        double[] q = toUnitVector(lat, lon);
+        BoundedMaxHeap heap = new BoundedMaxHeap(limit);
+        searchKNearest(0, points.length, 0, q[0], q[1], q[2], heap);
+
+        return heap.drainAscending();
+    }
+
+    /**
+     * Finds all stations located within the given great-circle radius, ordered by ascending distance.
+     *
+     * @param lat      the latitude of the query point in decimal degrees
+     * @param lon      the longitude of the query point in decimal degrees
+     * @param radiusKm the search radius in kilometers
+     * @return the stations within the radius ordered from the closest one
+     */
+    public List<Neighbour> withinRadius(double lat, double lon, double radiusKm) {
+        if (points.length == 0 || radiusKm < 0) {
+            return List.of();
+        }
+
+        double angle = Math.min(Math.PI, radiusKm / EARTH_RADIUS_KM);
+        double chord = 2.0 * Math.sin(angle / 2.0);
+        double maxChordSquared = chord * chord + 1e-12;
+
+        double[] q = toUnitVector(lat, lon);
+        List<Neighbour> result = new ArrayList<>();
+        searchRadius(0, points.length, 0, q[0], q[1], q[2], maxChordSquared, result);
+
+        result.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+        return result;
+    }
+
+    /**
+     * Recursively descends the tree looking for the single nearest element.
+     */
+    private void searchNearest(int lo, int hi, int depth, double qx, double qy, double qz, NearestSearch search) {
+        if (lo >= hi) return;
+
+        int mid = (lo + hi) >>> 1;
+        double d = distanceSquared(mid, qx, qy, qz);
+        if (d < search.bestDistance) {
+            search.bestDistance = d;
+            search.bestIndex = mid;
+        }
+
+        double diff = axisValue(depth, qx, qy, qz) - coordinate(mid, depth);
+        if (diff < 0) {
+            searchNearest(lo, mid, depth + 1, qx, qy, qz, search);
+            if (diff * diff < search.bestDistance) {
+                searchNearest(mid + 1, hi, depth + 1, qx, qy, qz, search);
+            }
+        } else {
+            searchNearest(mid + 1, hi, depth + 1, qx, qy, qz, search);
+            if (diff * diff < search.bestDistance) {
+                searchNearest(lo, mid, depth + 1, qx, qy, qz, search);
+            }
+        }
+    }
+
+    /**
+     * Recursively descends the tree keeping the {@code k} best candidates in a bounded heap.
+     */
+    private void searchKNearest(int lo, int hi, int depth, double qx, double qy, double qz, BoundedMaxHeap heap) {
+        if (lo >= hi) return;
+
+        int mid = (lo + hi) >>> 1;
+        heap.offer(mid, distanceSquared(mid, qx, qy, qz));
+
+        double diff = axisValue(depth, qx, qy, qz) - coordinate(mid, depth);
+        int nearLo = diff < 0 ? lo : mid + 1;
+        int nearHi = diff < 0 ? mid : hi;
+        int farLo = diff < 0 ? mid + 1 : lo;
+        int farHi = diff < 0 ? hi : mid;
+
+        searchKNearest(nearLo, nearHi, depth + 1, qx, qy, qz, heap);
+        if (!heap.isFull() || diff * diff < heap.worstDistance()) {
+            searchKNearest(farLo, farHi, depth + 1, qx, qy, qz, heap);
+        }
+    }
+
+    /**
+     * Recursively collects all elements whose squared chord distance does not exceed the limit.
+     */
+    private void searchRadius(int lo, int hi, int depth, double qx, double qy, double qz,
+                              double maxChordSquared, List<Neighbour> result) {
+        if (lo >= hi) return;
+
+        int mid = (lo + hi) >>> 1;
+        double d = distanceSquared(mid, qx, qy, qz);
+        if (d <= maxChordSquared) {
+            result.add(new Neighbour(points[mid], chordSquaredToKm(d)));
+        }
+
+        double diff = axisValue(depth, qx, qy, qz) - coordinate(mid, depth);
+        if (diff < 0 || diff * diff <= maxChordSquared) {
+            searchRadius(lo, mid, depth + 1, qx, qy, qz, maxChordSquared, result);
+        }
+        if (diff >= 0 || diff * diff <= maxChordSquared) {
+            searchRadius(mid + 1, hi, depth + 1, qx, qy, qz, maxChordSquared, result);
+        }
+    }
+
+    /**
+     * Arranges the elements of {@code [lo, hi)} so that every sub-range median is its splitting node.
+     */
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, depth % 3);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * Quickselect: partially orders {@code [left, right]} so that position {@code k} holds the element
+     * that would be there if the range were sorted along the given axis.
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            double pivot = coordinate((left + right) >>> 1, axis);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinate(i, axis) < pivot) i++;
+                while (coordinate(j, axis) > pivot) j--;
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        StationPoint p = points[a];
+        points[a] = points[b];
+        points[b] = p;
+
+        double t = xs[a]; xs[a] = xs[b]; xs[b] = t;
+        t = ys[a]; ys[a] = ys[b]; ys[b] = t;
+        t = zs[a]; zs[a] = zs[b]; zs[b] = t;
+    }
+
+    private double coordinate(int index, int axis) {
+        return switch (axis % 3) {
+            case 0 -> xs[index];
+            case 1 -> ys[index];
+            default -> zs[index];
+        };
+    }
+
+    private double axisValue(int depth, double qx, double qy, double qz) {
+        return switch (depth % 3) {
+            case 0 -> qx;
+            case 1 -> qy;
+            default -> qz;
+        };
+    }
+
+    private double distanceSquared(int index, double qx, double qy, double qz) {
+        double dx = xs[index] - qx;
+        double dy = ys[index] - qy;
+        double dz = zs[index] - qz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double[] toUnitVector(double lat, double lon) {
+        double latRad = Math.toRadians(lat);
+        double lonRad = Math.toRadians(lon);
+        double cosLat = Math.cos(latRad);
+        return new double[]{cosLat * Math.cos(lonRad), cosLat * Math.sin(lonRad), Math.sin(latRad)};
+    }
+
+    /**
+     * Converts a squared chord length on the unit sphere into a great-circle distance in kilometers.
+     * The result is identical to the Haversine formula for the same pair of points.
+     */
+    private static double chordSquaredToKm(double chordSquared) {
+        double halfChord = Math.min(1.0, Math.sqrt(chordSquared) / 2.0);
+        return 2.0 * EARTH_RADIUS_KM * Math.asin(halfChord);
+    }
+
+    /**
+     * Mutable state of a single nearest-neighbour search.
+     */
+    private static final class NearestSearch {
+        private int bestIndex = -1;
+        private double bestDistance = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * A fixed-capacity max-heap of tree indices keyed by squared chord distance,
+     * used to keep the {@code k} best candidates during a search.
+     */
+    private final class BoundedMaxHeap {
+        private final int[] indices;
+        private final double[] distances;
+        private int size;
+
+        private BoundedMaxHeap(int capacity) {
+            this.indices = new int[capacity];
+            this.distances = new double[capacity];
+        }
+
+        private boolean isFull() {
+            return size == indices.length;
+        }
+
+        private double worstDistance() {
+            return distances[0];
+        }
+
+        private void offer(int index, double distance) {
+            if (size < indices.length) {
+                int pos = size++;
+                while (pos > 0) {
+                    int parent = (pos - 1) >>> 1;
+                    if (distances[parent] >= distance) break;
+                    indices[pos] = indices[parent];
+                    distances[pos] = distances[parent];
+                    pos = parent;
+                }
+                indices[pos] = index;
+                distances[pos] = distance;
+            } else if (distance < distances[0]) {
+                siftDown(index, distance);
+            }
+        }
+
+        private void siftDown(int index, double distance) {
+            int pos = 0;
+            while (true) {
+                int child = 2 * pos + 1;
+                if (child >= size) break;
+                if (child + 1 < size && distances[child + 1] > distances[child]) child++;
+                if (distances[child] <= distance) break;
+                indices[pos] = indices[child];
+                distances[pos] = distances[child];
+                pos = child;
+            }
+            indices[pos] = index;
+            distances[pos] = distance;
+        }
+
+        private List<Neighbour> drainAscending() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingDouble(i -> distances[i]));
+
+            List<Neighbour> result = new ArrayList<>(size);
+            for (Integer i : order) {
+                result.add(new Neighbour(points[indices[i]], chordSquaredToKm(distances[i])));
+            }
+            return result;
+        }
+    }
+}
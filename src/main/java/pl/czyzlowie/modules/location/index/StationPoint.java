@@ -0,0 +1,13 @@
+package pl.czyzlowie.modules.location.index;
+
+import pl.czyzlowie.modules.barometer.entity.StationType;
+
+/**
+ * Represents a single station position held by the in-memory spatial index.
+ *
+ * @param id   the identifier of the station as stored in its source repository
+ * @param type the type of the station (synoptic, hydro, meteo or virtual)
+ * @param lat  the latitude of the station in decimal degrees
+ * @param lon  the longitude of the station in decimal degrees
+ */
+public record StationPoint(String id, StationType type, double lat, double lon) {}
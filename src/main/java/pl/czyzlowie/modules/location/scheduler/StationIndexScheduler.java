@@ -0,0 +1,38 @@
+package pl.czyzlowie.modules.location.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pl.czyzlowie.modules.location.service.LocationFinderService;
+
+/**
+ * A scheduler that periodically reconciles the in-memory station spatial indexes with the database.
+ *
+ * Stations located by an IMGW import are picked up right after the import transaction commits, but
+ * changes such as coordinates filled in outside the import, deactivated stations or edited virtual
+ * stations are not announced by any event. This job catches them by rebuilding only the categories whose station set has changed.
+ *
+ * The execution schedule is configured with the {@code location.index.reconcile.cron} property.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StationIndexScheduler {
+
+    private final LocationFinderService locationFinderService;
+
+    /**
+     * Triggers the reconciliation of all station categories and logs any failure without
+     * interrupting the scheduler.
+     */
+    @Scheduled(cron = "${location.index.reconcile.cron:0 10,40 * * * *}")
+    public void scheduleReconciliation() {
+        log.debug("Uzgadnianie indeksu stacji: start");
+        try {
+            locationFinderService.reconcileStationCache();
+        } catch (Exception e) {
+            log.error("Uzgadnianie indeksu stacji nie powiodło się", e);
+        }
+    }
+}
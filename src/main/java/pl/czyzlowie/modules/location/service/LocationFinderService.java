@@ -4,32 +4,48 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import pl.czyzlowie.modules.barometer.entity.StationType;
 import pl.czyzlowie.modules.forecast.repository.VirtualStationRepository;
+import pl.czyzlowie.modules.imgw_api.event.ImgwStationsLocatedEvent;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroStationRepository;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwMeteoStationRepository;
 import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopStationRepository;
 import pl.czyzlowie.modules.location.enums.StationCategory;
+import pl.czyzlowie.modules.location.index.StationIndexSnapshot;
+import pl.czyzlowie.modules.location.index.StationKdTree;
+import pl.czyzlowie.modules.location.index.StationPoint;
 import pl.czyzlowie.modules.moon.projection.StationCoordinatesView;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * LocationFinderService is responsible for locating the nearest meteorological, hydrological,
  * or synoptic stations based on a given geographical location. The service maintains
  * an in-memory cache of station data to facilitate efficient querying.
  *
- * This service loads and stores active station coordinates for various station categories,
- * and provides functionality to find the nearest station using the Haversine formula
- * to calculate distances. The cache is initialized at startup.
+ * This service loads and stores active station coordinates for various station categories
+ * in a per-category spatial index ({@link StationKdTree}), so that nearest-station, k-nearest
+ * and radius lookups run in logarithmic time instead of a linear scan over all stations.
+ *
+ * All indexes are held in a single immutable {@link StationIndexSnapshot} published through an
+ * {@link AtomicReference}. Readers never lock: they work on whichever snapshot was current when
+ * the lookup started. Writers rebuild only the affected category off to the side and then swap
+ * in a new snapshot, so a refresh never blocks or tears an in-flight lookup. Writers of the same
+ * category are serialised by a per-category lock, so the event-driven refresh and the periodic
+ * reconciliation can never publish an index built from an older read of the database over a newer one.
  *
  * Primary features:
  * 1. Caches station data for synoptic, hydrological, and meteorological stations,
  *    including active virtual stations.
- * 2. Calculates the nearest station based on the target latitude, longitude, and station category.
- * 3. Validates geographic coordinates to ensure accuracy.
+ * 2. Calculates the nearest station, the k nearest stations, or all stations within a radius
+ *    for the target latitude, longitude, and station category.
+ * 3. Refreshes a single category after an IMGW import assigns coordinates to its stations and
+ *    periodically reconciles all categories with the database.
+ * 4. Validates geographic coordinates to ensure accuracy.
  */
 @Slf4j
 @Service
@@ -40,44 +56,110 @@ public class LocationFinderService {
     private final ImgwHydroStationRepository hydroRepository;
     private final ImgwMeteoStationRepository meteoRepository;
     private final VirtualStationRepository virtualRepository;
-    private final Map<StationCategory, List<StationPoint>> stationsCache = new ConcurrentHashMap<>();
+    private final AtomicReference<StationIndexSnapshot> snapshot = new AtomicReference<>(StationIndexSnapshot.empty());
+    private final Map<StationCategory, ReentrantLock> refreshLocks = createRefreshLocks();
 
     public record NearestStation(String stationId, StationType type, double distanceKm) {}
-    private record StationPoint(String id, StationType type, double lat, double lon) {}
 
     /**
      * Initializes the in-memory cache of station coordinates upon application startup.
      *
      * This method loads station data from configured repositories for various station categories,
-     * including synoptic stations, hydro stations, and meteorological stations. The data is
-     * organized and stored in a thread-safe map (`stationsCache`) for efficient access during
-     * location-based searches.
-     *
-     * Logging is used to provide detailed information about the loading process and to confirm the
-     * number of stations loaded for each category.
+     * including synoptic stations, hydro stations, and meteorological stations. Each category is
+     * organized into its own spatial index and published as part of the current snapshot.
      *
      * The categories of stations loaded are:
      * - SYNOPTIC: Includes synoptic and virtual station data.
      * - HYDRO: Includes hydrological station data.
      * - METEO: Includes meteorological station data.
      *
-     * The cache is critical for optimizing key functionalities of the service, such as finding
-     * the nearest station for a given location and station category.
-     *
      * This method is executed automatically after the construction of the service bean.
      */
     @PostConstruct
     public void initStationCache() {
         log.info("Rozpoczynam ładowanie współrzędnych stacji do pamięci podręcznej...");
 
-        stationsCache.put(StationCategory.SYNOPTIC, loadSynopticStations());
-        stationsCache.put(StationCategory.HYDRO, loadHydroStations());
-        stationsCache.put(StationCategory.METEO, loadMeteoStations());
+        for (StationCategory category : StationCategory.values()) {
+            refreshCategory(category);
+        }
 
+        StationIndexSnapshot current = snapshot.get();
         log.info("Pomyślnie załadowano stacje. Synop/Virtual: {}, Hydro: {}, Meteo: {}",
-                stationsCache.get(StationCategory.SYNOPTIC).size(),
-                stationsCache.get(StationCategory.HYDRO).size(),
-                stationsCache.get(StationCategory.METEO).size());
+                current.index(StationCategory.SYNOPTIC).size(),
+                current.index(StationCategory.HYDRO).size(),
+                current.index(StationCategory.METEO).size());
+    }
+
+    /**
+     * Reloads the stations of a single category from the database and atomically replaces its
+     * spatial index. The new index is built before the swap, so concurrent lookups keep using the
+     * previous snapshot until the new one is published. Indexes of other categories are reused as is.
+     *
+     * @param category the category of the stations to reload
+     */
+    public void refreshCategory(StationCategory category) {
+        ReentrantLock lock = refreshLocks.get(category);
+        lock.lock();
+        try {
+            StationKdTree tree = StationKdTree.build(loadStations(category));
+            StationIndexSnapshot updated = snapshot.updateAndGet(current -> current.withIndex(category, tree));
+
+            log.debug("Odświeżono indeks stacji dla kategorii {} ({} stacji, wersja {})",
+                    category, tree.size(), updated.version());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compares every category held in memory with the current state of the database and rebuilds
+     * only those whose set of active stations with coordinates has changed. Covers changes that are
+     * not announced by events, such as coordinates filled in later, deactivated stations or
+     * modified virtual stations.
+     *
+     * Each category is compared and rebuilt under its refresh lock, so a refresh triggered by an import
+     * in the meantime is either already visible in the compared index or waits until the reconciled one
+     * has been published.
+     */
+    public void reconcileStationCache() {
+        for (StationCategory category : StationCategory.values()) {
+            ReentrantLock lock = refreshLocks.get(category);
+            lock.lock();
+            try {
+                List<StationPoint> stations = loadStations(category);
+                StationKdTree index = snapshot.get().index(category);
+
+                if (index != null && index.hasSameStations(stations)) {
+                    continue;
+                }
+
+                StationKdTree tree = StationKdTree.build(stations);
+                StationIndexSnapshot updated = snapshot.updateAndGet(s -> s.withIndex(category, tree));
+                log.info("Uzgodniono indeks stacji dla kategorii {}: {} stacji (wersja {})",
+                        category, tree.size(), updated.version());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Refreshes the index of the category affected by an IMGW import once the transaction
+     * that assigned coordinates to its stations has been committed.
+     *
+     * @param event the event describing the located stations
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStationsLocated(ImgwStationsLocatedEvent event) {
+        StationCategory category = switch (event.importType()) {
+            case SYNOP -> StationCategory.SYNOPTIC;
+            case HYDRO -> StationCategory.HYDRO;
+            case METEO -> StationCategory.METEO;
+        };
+
+        log.info("Przypisano współrzędne {} stacjom typu {}, odświeżam indeks kategorii {}",
+                event.stationIds().size(), event.importType(), category);
+        refreshCategory(category);
     }
 
     /**
@@ -92,21 +174,119 @@ public class LocationFinderService {
     public NearestStation findNearestStation(double targetLat, double targetLon, StationCategory category) {
         validateCoordinates(targetLat, targetLon);
 
-        List<StationPoint> stationsToSearch = stationsCache.getOrDefault(category, Collections.emptyList());
+        StationKdTree.Neighbour nearest = getIndex(category).nearest(targetLat, targetLon);
+
+        log.debug("Dla punktu [{}, {}] w kategorii {} najbliższa stacja to {} ({} km)",
+                targetLat, targetLon, category, nearest.station().id(), String.format("%.1f", nearest.distanceKm()));
+        return toNearestStation(nearest);
+    }
 
-        if (stationsToSearch.isEmpty()) {
+    /**
+     * Finds up to {@code k} stations of the specified category closest to the given latitude and longitude.
+     *
+     * @param targetLat the latitude of the target location
+     * @param targetLon the longitude of the target location
+     * @param category the category of the stations to search for
+     * @param k the maximum number of stations to return, must be positive
+     * @return the nearest stations ordered by ascending distance
+     * @throws IllegalArgumentException if {@code k} is not positive or the coordinates are invalid
+     * @throws IllegalStateException if there are no active stations in the cache for the specified category
+     */
+    public List<NearestStation> findKNearest(double targetLat, double targetLon, StationCategory category, int k) {
+        validateCoordinates(targetLat, targetLon);
+        if (k <= 0) {
+            throw new IllegalArgumentException("Liczba szukanych stacji musi być dodatnia: " + k);
+        }
+
+        return getIndex(category).kNearest(targetLat, targetLon, k).stream()
+                .map(this::toNearestStation)
+                .toList();
+    }
+
+    /**
+     * Finds all stations of the specified category located within the given radius
+     * from the target latitude and longitude.
+     *
+     * @param targetLat the latitude of the target location
+     * @param targetLon the longitude of the target location
+     * @param category the category of the stations to search for
+     * @param radiusKm the search radius in kilometers, must not be negative
+     * @return the stations within the radius ordered by ascending distance, possibly empty
+     * @throws IllegalArgumentException if the radius is negative or the coordinates are invalid
+     * @throws IllegalStateException if there are no active stations in the cache for the specified category
+     */
+    public List<NearestStation> findWithinRadius(double targetLat, double targetLon, StationCategory category, double radiusKm) {
+        validateCoordinates(targetLat, targetLon);
+        if (radiusKm < 0 || Double.isNaN(radiusKm)) {
+            throw new IllegalArgumentException("Nieprawidłowy promień wyszukiwania: " + radiusKm);
+        }
+
+        return getIndex(category).withinRadius(targetLat, targetLon, radiusKm).stream()
+                .map(this::toNearestStation)
+                .toList();
+    }
+
+    /**
+     * Returns all stations of the specified category currently held in the cache.
+     *
+     * @param category the category of the stations
+     * @return an unmodifiable list of the cached stations, empty if the category has not been loaded
+     */
+    public List<StationPoint> getStations(StationCategory category) {
+        StationKdTree index = snapshot.get().index(category);
+        return index != null ? index.stations() : List.of();
+    }
+
+    /**
+     * Returns the spatial index for the given category, ensuring it contains at least one station.
+     *
+     * @param category the category of the stations
+     * @return the non-empty spatial index of the category
+     * @throws IllegalStateException if there are no active stations in the cache for the specified category
+     */
+    private StationKdTree getIndex(StationCategory category) {
+        StationKdTree index = snapshot.get().index(category);
+        if (index == null || index.isEmpty()) {
             throw new IllegalStateException("Brak aktywnych stacji w pamięci dla kategorii: " + category);
         }
+        return index;
+    }
 
-        return stationsToSearch.stream()
-                .min(Comparator.comparingDouble(s -> calculateHaversineDistance(targetLat, targetLon, s.lat(), s.lon())))
-                .map(nearest -> {
-                    double distance = calculateHaversineDistance(targetLat, targetLon, nearest.lat(), nearest.lon());
-                    log.debug("Dla punktu [{}, {}] w kategorii {} najbliższa stacja to {} ({} km)",
-                            targetLat, targetLon, category, nearest.id(), String.format("%.1f", distance));
-                    return new NearestStation(nearest.id(), nearest.type(), distance);
-                })
-                .orElseThrow(() -> new IllegalStateException("Nie udało się dopasować żadnej stacji."));
+    /**
+     * Creates one refresh lock per station category.
+     *
+     * @return the refresh lock of each category
+     */
+    private static Map<StationCategory, ReentrantLock> createRefreshLocks() {
+        Map<StationCategory, ReentrantLock> locks = new EnumMap<>(StationCategory.class);
+        for (StationCategory category : StationCategory.values()) {
+            locks.put(category, new ReentrantLock());
+        }
+        return locks;
+    }
+
+    /**
+     * Converts a spatial index search hit into the public {@code NearestStation} representation.
+     *
+     * @param neighbour the station found by the index together with its distance
+     * @return the corresponding {@code NearestStation}
+     */
+    private NearestStation toNearestStation(StationKdTree.Neighbour neighbour) {
+        return new NearestStation(neighbour.station().id(), neighbour.station().type(), neighbour.distanceKm());
+    }
+
+    /**
+     * Loads the stations of the given category from the corresponding repositories.
+     *
+     * @param category the category of the stations to load
+     * @return a list of {@code StationPoint} objects with valid coordinates
+     */
+    private List<StationPoint> loadStations(StationCategory category) {
+        return switch (category) {
+            case SYNOPTIC -> loadSynopticStations();
+            case HYDRO -> loadHydroStations();
+            case METEO -> loadMeteoStations();
+        };
     }
 
     /**
@@ -182,28 +362,4 @@ public class LocationFinderService {
             throw new IllegalArgumentException("Nieprawidłowe współrzędne geograficzne: " + lat + ", " + lon);
         }
     }
-
-    /**
-     * Calculates the Haversine distance between two geographic points specified by their
-     * latitude and longitude coordinates. The distance is measured in kilometers.
-     *
-     * @param lat1 the latitude of the first point in decimal degrees
-     * @param lon1 the longitude of the first point in decimal degrees
-     * @param lat2 the latitude of the second point in decimal degrees
-     * @param lon2 the longitude of the second point in decimal degrees
-     * @return the Haversine distance between the two points in kilometers
-     */
-    private double calculateHaversineDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371.0;
-
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package pl.czyzlowie.modules.map.cluster;
+
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+
+/**
+ * A single entry of a clustered map view: either a group of nearby markers or one marker on its own.
+ *
+ * @param id            an identifier of the entry, stable within one version of the cluster index
+ * @param lat           the latitude of the cluster centroid, or of the marker itself
+ * @param lng           the longitude of the cluster centroid, or of the marker itself
+ * @param count         the number of markers represented by the entry
+ * @param expansionZoom the zoom level at which the cluster splits into smaller entries
+ * @param marker        the represented marker when {@code count} is 1, otherwise {@code null}
+ */
+public record MarkerCluster(String id, double lat, double lng, int count, int expansionZoom, MapMarkerDto marker) {
+
+    /**
+     * Indicates whether the entry groups more than one marker.
+     *
+     * @return {@code true} for a cluster, {@code false} for a single marker
+     */
+    public boolean isCluster() {
+        return marker == null;
+    }
+}
@@ -0,0 +1,239 @@
+package pl.czyzlowie.modules.map.cluster;
+
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, hierarchical cluster index over a set of map markers, in the spirit of supercluster.
+ *
+ * Markers are projected to Web Mercator coordinates normalised to the unit square. The index keeps one
+ * level per zoom, from {@code maxZoom + 1} (every marker on its own) down to zoom 0. Each level is derived
+ * from the one above it in a single greedy pass: every entry absorbs all not yet visited entries lying
+ * within the cluster radius, expressed in screen pixels and scaled to that zoom, and the result is placed
+ * at the weighted centroid. Entries without neighbours are carried down unchanged. Every level is backed
+ * by its own {@link MarkerKdIndex}, so a viewport query touches only the entries it returns.
+ *
+ * Markers without coordinates cannot be placed on any level and are skipped.
+ */
+public final class MarkerClusterIndex {
+
+    private static final int TILE_SIZE = 256;
+
+    private final String prefix;
+    private final int maxZoom;
+    private final List<MapMarkerDto> markers;
+    private final Level[] levels;
+
+    private MarkerClusterIndex(String prefix, int maxZoom, List<MapMarkerDto> markers, Level[] levels) {
+        this.prefix = prefix;
+        this.maxZoom = maxZoom;
+        this.markers = markers;
+        this.levels = levels;
+    }
+
+    /**
+     * Builds the cluster index for the given markers.
+     *
+     * @param prefix the prefix of identifiers assigned to clusters, used to keep them unique across indexes
+     * @param markers the markers to cluster
+     * @param radiusPx the cluster radius in screen pixels of a 256 px tile
+     * @param maxZoom the highest zoom level at which markers are still clustered
+     * @return the built index
+     * @throws IllegalArgumentException if the radius is not positive or the zoom is negative
+     */
+    public static MarkerClusterIndex build(String prefix, List<MapMarkerDto> markers, int radiusPx, int maxZoom) {
+        if (radiusPx <= 0) {
+            throw new IllegalArgumentException("Promień klastrowania musi być dodatni: " + radiusPx);
+        }
+        if (maxZoom < 0) {
+            throw new IllegalArgumentException("Maksymalny poziom klastrowania nie może być ujemny: " + maxZoom);
+        }
+
+        List<MapMarkerDto> placed = markers.stream()
+                .filter(m -> m.getLat() != null && m.getLng() != null)
+                .toList();
+
+        Level[] levels = new Level[maxZoom + 2];
+        levels[maxZoom + 1] = Level.of(placed);
+
+        int nextClusterId = 0;
+        for (int zoom = maxZoom; zoom >= 0; zoom--) {
+            double radius = (double) radiusPx / (TILE_SIZE * Math.pow(2, zoom));
+            levels[zoom] = levels[zoom + 1].cluster(radius, zoom, nextClusterId);
+            nextClusterId = levels[zoom].nextClusterId;
+        }
+
+        return new MarkerClusterIndex(prefix, maxZoom, placed, levels);
+    }
+
+    /**
+     * Returns the clusters and single markers visible in the given bounds at the given zoom. Above the
+     * maximum cluster zoom every marker is returned on its own.
+     *
+     * @param north the northern edge of the bounds
+     * @param south the southern edge of the bounds
+     * @param east the eastern edge of the bounds
+     * @param west the western edge of the bounds
+     * @param zoom the zoom level of the map
+     * @return the entries whose position lies within the bounds
+     */
+    public List<MarkerCluster> getClusters(double north, double south, double east, double west, int zoom) {
+        Level level = levels[Math.clamp(zoom, 0, maxZoom + 1)];
+        List<MarkerCluster> result = new ArrayList<>();
+
+        level.tree.range(lngX(west), latY(north), lngX(east), latY(south), i -> result.add(toCluster(level, i)));
+        return result;
+    }
+
+    /**
+     * Returns the number of markers placed in the index.
+     *
+     * @return the number of markers with coordinates
+     */
+    public int size() {
+        return markers.size();
+    }
+
+    private MarkerCluster toCluster(Level level, int i) {
+        double lat = yLat(level.ys[i]);
+        double lng = xLng(level.xs[i]);
+        int ref = level.refs[i];
+
+        if (level.counts[i] == 1) {
+            MapMarkerDto marker = markers.get(ref);
+            return new MarkerCluster(marker.getId(), lat, lng, 1, level.expansionZooms[i], marker);
+        }
+        return new MarkerCluster(prefix + "_" + ref, lat, lng, level.counts[i], level.expansionZooms[i], null);
+    }
+
+    private static double lngX(double lng) {
+        return lng / 360 + 0.5;
+    }
+
+    private static double latY(double lat) {
+        double sin = Math.sin(Math.toRadians(lat));
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return Math.clamp(y, 0.0, 1.0);
+    }
+
+    private static double xLng(double x) {
+        return (x - 0.5) * 360;
+    }
+
+    private static double yLat(double y) {
+        double y2 = (180 - y * 360) * Math.PI / 180;
+        return 360 * Math.atan(Math.exp(y2)) / Math.PI - 90;
+    }
+
+    /**
+     * One zoom level of the hierarchy held in parallel primitive arrays. For a single marker {@code refs}
+     * holds its position in the marker list, for a cluster it holds the cluster identifier.
+     */
+    private static final class Level {
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] counts;
+        private final int[] refs;
+        private final int[] expansionZooms;
+        private final MarkerKdIndex tree;
+        private int nextClusterId;
+
+        private Level(double[] xs, double[] ys, int[] counts, int[] refs, int[] expansionZooms) {
+            this.xs = xs;
+            this.ys = ys;
+            this.counts = counts;
+            this.refs = refs;
+            this.expansionZooms = expansionZooms;
+            this.tree = new MarkerKdIndex(xs, ys);
+        }
+
+        private static Level of(List<MapMarkerDto> markers) {
+            int size = markers.size();
+            double[] xs = new double[size];
+            double[] ys = new double[size];
+            int[] counts = new int[size];
+            int[] refs = new int[size];
+            int[] expansionZooms = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                MapMarkerDto marker = markers.get(i);
+                xs[i] = lngX(marker.getLng());
+                ys[i] = latY(marker.getLat());
+                counts[i] = 1;
+                refs[i] = i;
+            }
+            return new Level(xs, ys, counts, refs, expansionZooms);
+        }
+
+        /**
+         * Derives the next lower zoom level by merging entries lying within the given radius.
+         */
+        private Level cluster(double radius, int zoom, int firstClusterId) {
+            int size = xs.length;
+            boolean[] visited = new boolean[size];
+            double[] newXs = new double[size];
+            double[] newYs = new double[size];
+            int[] newCounts = new int[size];
+            int[] newRefs = new int[size];
+            int[] newExpansionZooms = new int[size];
+            int[] neighbours = new int[size];
+            int clusterId = firstClusterId;
+            int created = 0;
+
+            for (int i = 0; i < size; i++) {
+                if (visited[i]) {
+                    continue;
+                }
+                visited[i] = true;
+
+                int[] found = {0};
+                tree.within(xs[i], ys[i], radius, j -> {
+                    if (!visited[j]) {
+                        visited[j] = true;
+                        neighbours[found[0]++] = j;
+                    }
+                });
+
+                if (found[0] == 0) {
+                    newXs[created] = xs[i];
+                    newYs[created] = ys[i];
+                    newCounts[created] = counts[i];
+                    newRefs[created] = refs[i];
+                    newExpansionZooms[created] = expansionZooms[i];
+                    created++;
+                    continue;
+                }
+
+                double weightedX = xs[i] * counts[i];
+                double weightedY = ys[i] * counts[i];
+                int count = counts[i];
+                for (int n = 0; n < found[0]; n++) {
+                    int j = neighbours[n];
+                    weightedX += xs[j] * counts[j];
+                    weightedY += ys[j] * counts[j];
+                    count += counts[j];
+                }
+
+                newXs[created] = weightedX / count;
+                newYs[created] = weightedY / count;
+                newCounts[created] = count;
+                newRefs[created] = clusterId++;
+                newExpansionZooms[created] = zoom + 1;
+                created++;
+            }
+
+            Level level = new Level(
+                    Arrays.copyOf(newXs, created),
+                    Arrays.copyOf(newYs, created),
+                    Arrays.copyOf(newCounts, created),
+                    Arrays.copyOf(newRefs, created),
+                    Arrays.copyOf(newExpansionZooms, created));
+            level.nextClusterId = clusterId;
+            return level;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package pl.czyzlowie.modules.map.cluster;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A static, flat 2D kd-tree over points given in projected map coordinates.
+ *
+ * The index is built once and never modified. Point identifiers and coordinates are kept in
+ * two primitive arrays that are sorted in place into kd order, so the tree has no node objects
+ * and answers range and radius queries without allocating. Leaves hold up to
+ * {@value #NODE_SIZE} points which are scanned linearly.
+ */
+final class MarkerKdIndex {
+
+    private static final int NODE_SIZE = 64;
+
+    private final int[] ids;
+    private final double[] coords;
+
+    /**
+     * Builds the index over the given points. The identifier reported for a point is its position
+     * in the input arrays.
+     *
+     * @param xs the x coordinates of the points
+     * @param ys the y coordinates of the points, of the same length as {@code xs}
+     */
+    MarkerKdIndex(double[] xs, double[] ys) {
+        int size = xs.length;
+        this.ids = new int[size];
+        this.coords = new double[size * 2];
+
+        for (int i = 0; i < size; i++) {
+            ids[i] = i;
+            coords[2 * i] = xs[i];
+            coords[2 * i + 1] = ys[i];
+        }
+        sort(0, size - 1, 0);
+    }
+
+    /**
+     * Reports every point lying inside the given axis-aligned rectangle, edges included.
+     *
+     * @param minX the minimum x coordinate of the rectangle
+     * @param minY the minimum y coordinate of the rectangle
+     * @param maxX the maximum x coordinate of the rectangle
+     * @param maxY the maximum y coordinate of the rectangle
+     * @param consumer the consumer receiving identifiers of the matching points
+     */
+    void range(double minX, double minY, double maxX, double maxY, IntConsumer consumer) {
+        range(0, ids.length - 1, 0, minX, minY, maxX, maxY, consumer);
+    }
+
+    /**
+     * Reports every point lying within the given Euclidean distance from the query point.
+     *
+     * @param x the x coordinate of the query point
+     * @param y the y coordinate of the query point
+     * @param radius the search radius, in projected units
+     * @param consumer the consumer receiving identifiers of the matching points
+     */
+    void within(double x, double y, double radius, IntConsumer consumer) {
+        within(0, ids.length - 1, 0, x, y, radius * radius, consumer);
+    }
+
+    private void range(int left, int right, int axis, double minX, double minY, double maxX, double maxY,
+                       IntConsumer consumer) {
+        if (left > right) {
+            return;
+        }
+        if (right - left <= NODE_SIZE) {
+            for (int i = left; i <= right; i++) {
+                if (inRange(i, minX, minY, maxX, maxY)) {
+                    consumer.accept(ids[i]);
+                }
+            }
+            return;
+        }
+
+        int middle = (left + right) >>> 1;
+        if (inRange(middle, minX, minY, maxX, maxY)) {
+            consumer.accept(ids[middle]);
+        }
+
+        double value = coords[2 * middle + axis];
+        if ((axis == 0 ? minX : minY) <= value) {
+            range(left, middle - 1, 1 - axis, minX, minY, maxX, maxY, consumer);
+        }
+        if ((axis == 0 ? maxX : maxY) >= value) {
+            range(middle + 1, right, 1 - axis, minX, minY, maxX, maxY, consumer);
+        }
+    }
+
+    private void within(int left, int right, int axis, double x, double y, double radiusSquared,
+                        IntConsumer consumer) {
+        if (left > right) {
+            return;
+        }
+        if (right - left <= NODE_SIZE) {
+            for (int i = left; i <= right; i++) {
+                if (distanceSquared(i, x, y) <= radiusSquared) {
+                    consumer.accept(ids[i]);
+                }
+            }
+            return;
+        }
+
+        int middle = (left + right) >>> 1;
+        if (distanceSquared(middle, x, y) <= radiusSquared) {
+            consumer.accept(ids[middle]);
+        }
+
+        double value = coords[2 * middle + axis];
+        double delta = (axis == 0 ? x : y) - value;
+        if (delta <= 0 || delta * delta <= radiusSquared) {
+            within(left, middle - 1, 1 - axis, x, y, radiusSquared, consumer);
+        }
+        if (delta >= 0 || delta * delta <= radiusSquared) {
+            within(middle + 1, right, 1 - axis, x, y, radiusSquared, consumer);
+        }
+    }
+
+    private boolean inRange(int i, double minX, double minY, double maxX, double maxY) {
+        double x = coords[2 * i];
+        double y = coords[2 * i + 1];
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    private double distanceSquared(int i, double x, double y) {
+        double dx = coords[2 * i] - x;
+        double dy = coords[2 * i + 1] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Recursively arranges the points so that the median of every range splits it along
+     * the alternating axis, stopping once a range fits into a single leaf.
+     */
+    private void sort(int left, int right, int axis) {
+        if (right - left <= NODE_SIZE) {
+            return;
+        }
+        int middle = (left + right) >>> 1;
+        select(middle, left, right, axis);
+        sort(left, middle - 1, 1 - axis);
+        sort(middle + 1, right, 1 - axis);
+    }
+
+    /**
+     * Partially sorts the range so that the k-th point along the axis lands at index {@code k},
+     * with no greater values before it and no smaller values after it (Hoare quickselect).
+     */
+    private void select(int k, int left, int right, int axis) {
+        while (right > left) {
+            double pivot = coords[2 * ((left + right) >>> 1) + axis];
+            int i = left;
+            int j = right;
+
+            while (i <= j) {
+                while (coords[2 * i + axis] < pivot) {
+                    i++;
+                }
+                while (coords[2 * j + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+
+        double x = coords[2 * i];
+        double y = coords[2 * i + 1];
+        coords[2 * i] = coords[2 * j];
+        coords[2 * i + 1] = coords[2 * j + 1];
+        coords[2 * j] = x;
+        coords[2 * j + 1] = y;
+    }
+}
@@ -1,16 +1,36 @@
 package pl.czyzlowie.modules.map.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import pl.czyzlowie.modules.fish_forecast.application.heatmap.BiteHeatmap;
+import pl.czyzlowie.modules.fish_forecast.application.heatmap.BiteHeatmapService;
+import pl.czyzlowie.modules.map.dto.BiteHeatmapDto;
+import pl.czyzlowie.modules.map.dto.MapClusterDto;
 import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.dto.RestrictionZoneDto;
+import pl.czyzlowie.modules.map.offline.OfflineBundleVersion;
+import pl.czyzlowie.modules.map.service.MapClusterService;
 import pl.czyzlowie.modules.map.service.MapMarkerService;
+import pl.czyzlowie.modules.map.service.MapOfflineBundleService;
+import pl.czyzlowie.modules.map.service.MapTileService;
+import pl.czyzlowie.modules.map.service.RestrictionZoneService;
+import pl.czyzlowie.modules.map.snapshot.ETaggedResult;
+import pl.czyzlowie.modules.map.tile.TileCoordinates;
 
+import java.time.Duration;
 import java.util.List;
 
 @Validated
@@ -19,19 +39,137 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MapApiController {
 
+    private static final String OFFLINE_VERSION_HEADER = "X-Bundle-Version";
+
     private final MapMarkerService mapMarkerService;
+    private final MapClusterService mapClusterService;
+    private final MapTileService mapTileService;
+    private final RestrictionZoneService restrictionZoneService;
+    private final BiteHeatmapService biteHeatmapService;
+    private final MapOfflineBundleService mapOfflineBundleService;
 
     @GetMapping("/markers")
-    public List<MapMarkerDto> getMarkers(
+    public ResponseEntity<List<MapMarkerDto>> getMarkers(
             @RequestParam(required = false) @Min(-90) @Max(90) Double north,
             @RequestParam(required = false) @Min(-90) @Max(90) Double south,
             @RequestParam(required = false) @Min(-180) @Max(180) Double east,
-            @RequestParam(required = false) @Min(-180) @Max(180) Double west
+            @RequestParam(required = false) @Min(-180) @Max(180) Double west,
+            WebRequest request
     ) {
         if (north != null && south != null && east != null && west != null) {
-            return mapMarkerService.getMarkersInBounds(north, south, east, west);
+            return conditional(mapMarkerService.getMarkersInBounds(north, south, east, west), request);
+        }
+
+        return conditional(mapMarkerService.getAllMarkers(), request);
+    }
+
+    @GetMapping(value = "/markers", params = "zoom")
+    public ResponseEntity<List<MapClusterDto>> getMarkerClusters(
+            @RequestParam @Min(-90) @Max(90) double north,
+            @RequestParam @Min(-90) @Max(90) double south,
+            @RequestParam @Min(-180) @Max(180) double east,
+            @RequestParam @Min(-180) @Max(180) double west,
+            @RequestParam @Min(0) @Max(22) int zoom,
+            WebRequest request
+    ) {
+        return conditional(mapClusterService.getClusters(north, south, east, west, zoom), request);
+    }
+
+    @GetMapping(value = "/tiles/{z}/{x}/{y}.mvt", produces = "application/vnd.mapbox-vector-tile")
+    public ResponseEntity<byte[]> getTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            WebRequest request
+    ) {
+        if (!TileCoordinates.isValid(z, x, y)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(5))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofDays(1));
+        return conditional(mapTileService.getTile(new TileCoordinates(z, x, y)), cacheControl, request);
+    }
+
+    @GetMapping(value = "/offline/bundle", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getOfflineBundle(WebRequest request, HttpServletResponse response) {
+        if (!mapOfflineBundleService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        // Read before the bundle, so the announced version never runs ahead of the content sent.
+        // Set on the servlet response, so a 304 answer carries it as well.
+        OfflineBundleVersion version = mapOfflineBundleService.getVersion();
+        response.setHeader(OFFLINE_VERSION_HEADER, String.valueOf(version.token()));
+        return conditional(mapOfflineBundleService.getBundle(), request);
+    }
+
+    @GetMapping(value = "/offline/changes", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getOfflineChanges(@RequestParam @Min(0) long since) {
+        if (!mapOfflineBundleService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        OfflineBundleVersion version = mapOfflineBundleService.getVersion();
+        return mapOfflineBundleService.getChangesSince(OfflineBundleVersion.fromToken(since))
+                .map(changes -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .header(OFFLINE_VERSION_HEADER, String.valueOf(version.token()))
+                        .body(changes))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+
+    @GetMapping("/restrictions/at")
+    public List<RestrictionZoneDto> getRestrictionsAt(
+            @RequestParam @Min(-90) @Max(90) double lat,
+            @RequestParam @Min(-180) @Max(180) double lon
+    ) {
+        return restrictionZoneService.findActiveAt(lat, lon);
+    }
+
+    @GetMapping("/heatmap")
+    public ResponseEntity<BiteHeatmapDto> getBiteHeatmap(
+            @RequestParam(defaultValue = "0") @Min(0) @Max(71) int hour
+    ) {
+        BiteHeatmap heatmap = biteHeatmapService.getHeatmap();
+        if (heatmap.isEmpty() || hour >= heatmap.hourCount()) {
+            return ResponseEntity.noContent().build();
         }
 
-        return mapMarkerService.getAllMarkers();
+        return ResponseEntity.ok(BiteHeatmapDto.builder()
+                .startHour(heatmap.startHour())
+                .hour(heatmap.startHour().plusHours(hour))
+                .hourOffset(hour)
+                .hourCount(heatmap.hourCount())
+                .north(heatmap.north())
+                .south(heatmap.south())
+                .west(heatmap.west())
+                .east(heatmap.east())
+                .step(heatmap.step())
+                .rows(heatmap.rows())
+                .cols(heatmap.cols())
+                .values(heatmap.layer(hour))
+                .build());
+    }
+
+    /**
+     * Answers with 304 when the client already holds the current version of the result, otherwise with
+     * the result body. The entity tag is weak, so the response can still be gzip-compressed by the server.
+     */
+    private <T> ResponseEntity<T> conditional(ETaggedResult<T> result, WebRequest request) {
+        return conditional(result, CacheControl.noCache(), request);
+    }
+
+    /**
+     * Answers a conditional request like {@link #conditional(ETaggedResult, WebRequest)}, sending the body
+     * with the given caching directives.
+     */
+    private <T> ResponseEntity<T> conditional(ETaggedResult<T> result, CacheControl cacheControl, WebRequest request) {
+        if (request.checkNotModified(result.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(result.eTag())
+                .body(result.body().get());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package pl.czyzlowie.modules.map.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BiteHeatmapDto {
+
+    private LocalDateTime startHour;
+    private LocalDateTime hour;
+    private int hourOffset;
+    private int hourCount;
+    private double north;
+    private double south;
+    private double west;
+    private double east;
+    private double step;
+    private int rows;
+    private int cols;
+    private int[] values;
+}
@@ -0,0 +1,21 @@
+package pl.czyzlowie.modules.map.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapClusterDto {
+
+    private String id;
+    private String type;
+    private Double lat;
+    private Double lng;
+    private int count;
+    private Integer expansionZoom;
+    private MapMarkerDto marker;
+}
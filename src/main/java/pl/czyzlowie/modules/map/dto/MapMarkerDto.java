@@ -1,15 +1,18 @@
 package pl.czyzlowie.modules.map.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import pl.czyzlowie.modules.map.geo.PolygonLevels;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MapMarkerDto {
@@ -25,4 +28,14 @@ public class MapMarkerDto {
     private LocalDate endDate;
     private String restrictionType;
     private String polygonCoordinates;
+    private Double polygonAreaKm2;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String polygonEncoded;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String polygonDetail;
+
+    @JsonIgnore
+    private PolygonLevels polygonLevels;
 }
@@ -0,0 +1,23 @@
+package pl.czyzlowie.modules.map.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestrictionZoneDto {
+
+    private String id;
+    private String name;
+    private String slug;
+    private String restrictionType;
+    private String description;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -3,6 +3,7 @@ package pl.czyzlowie.modules.map.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import pl.czyzlowie.modules.map.event.MapSpotChangeListener;
 
 import java.time.LocalDate;
 
@@ -26,11 +27,19 @@ import java.time.LocalDate;
  * - nearestCity: The nearest city to the location.
  * - description: A detailed description of the location, stored as text.
  * - manager: Name or identifier of the person or entity managing the location.
+ * - bboxSouth, bboxNorth, bboxWest, bboxEast: The bounding box of the spot's area, set only for spots
+ *   covering an area rather than a single point (restrictions), used by the marker snapshot for viewport filtering.
+ * - nameSearch, nearestCitySearch: Read-only columns generated by the database, holding the name and
+ *   the nearest city folded to lower case without Polish diacritics, indexed for trigram search.
+ *
+ * Every persisted change is announced by {@link MapSpotChangeListener}, so that in-memory
+ * map data such as the marker cluster index can be rebuilt.
  */
 @Entity
 @Table(name = "map_spots")
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "spot_type", discriminatorType = DiscriminatorType.STRING)
+@EntityListeners(MapSpotChangeListener.class)
 @Getter @Setter
 public abstract class MapSpot {
 
@@ -58,4 +67,22 @@ public abstract class MapSpot {
 
     private String manager;
 
+    @Column(name = "bbox_south")
+    private Double bboxSouth;
+
+    @Column(name = "bbox_north")
+    private Double bboxNorth;
+
+    @Column(name = "bbox_west")
+    private Double bboxWest;
+
+    @Column(name = "bbox_east")
+    private Double bboxEast;
+
+    @Column(name = "name_search", insertable = false, updatable = false)
+    private String nameSearch;
+
+    @Column(name = "nearest_city_search", insertable = false, updatable = false)
+    private String nearestCitySearch;
+
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package pl.czyzlowie.modules.map.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import pl.czyzlowie.modules.map.geo.BoundingBox;
+import pl.czyzlowie.modules.map.geo.GeoPolygon;
+import pl.czyzlowie.modules.map.geo.PreparedPolygon;
 
 import java.time.LocalDate;
+import java.util.Objects;
 
 /**
  * Represents a restriction spot derived from the abstract MapSpot class,
@@ -21,6 +26,12 @@ import java.time.LocalDate;
  * - startDate: The start date when the restriction becomes effective.
  * - endDate: The end date when the restriction ceases.
  * - polygonCoordinates: Text field containing the coordinates that define the restricted area as a polygon.
+ *
+ * The polygon is preprocessed whenever the spot is saved: its bounding box is stored so viewport
+ * queries can filter restrictions by the area they cover, together with its area and compact
+ * encoded-polyline variants for low, medium and full detail, from which the map API picks the one
+ * matching the requested zoom. {@link #updateGeometry()} is the only place computing them; it skips the
+ * work when the polygon text is unchanged since the variants were last prepared.
  */
 @Entity
 @Table(name = "map_restrictions")
@@ -38,4 +49,60 @@ public class RestrictionSpot extends MapSpot {
 
     @Column(columnDefinition = "TEXT")
     private String polygonCoordinates;
+
+    @Column(name = "polygon_area_km2")
+    private Double polygonAreaKm2;
+
+    @Column(name = "polygon_lod_low", columnDefinition = "TEXT")
+    private String polygonLodLow;
+
+    @Column(name = "polygon_lod_medium", columnDefinition = "TEXT")
+    private String polygonLodMedium;
+
+    @Column(name = "polygon_lod_high", columnDefinition = "TEXT")
+    private String polygonLodHigh;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String preparedCoordinates;
+
+    @PostLoad
+    void rememberPreparedCoordinates() {
+        preparedCoordinates = polygonLodHigh != null ? polygonCoordinates : null;
+    }
+
+    /**
+     * Parses the polygon once and stores its bounding box in the inherited bounding box columns, together
+     * with its area and encoded variants. A restriction without a valid polygon falls back to the box of its
+     * marker position, or to no box at all, and has no area or variants. Nothing is recomputed when the
+     * variants already match the current polygon text.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateGeometry() {
+        if (polygonLodHigh != null && Objects.equals(polygonCoordinates, preparedCoordinates)) {
+            return;
+        }
+
+        PreparedPolygon prepared = GeoPolygon.parse(polygonCoordinates)
+                .map(PreparedPolygon::prepare)
+                .orElse(null);
+        BoundingBox box = prepared != null
+                ? prepared.boundingBox()
+                : getLatitude() != null && getLongitude() != null
+                        ? new BoundingBox(getLatitude(), getLatitude(), getLongitude(), getLongitude())
+                        : null;
+
+        setBboxSouth(box != null ? box.south() : null);
+        setBboxNorth(box != null ? box.north() : null);
+        setBboxWest(box != null ? box.west() : null);
+        setBboxEast(box != null ? box.east() : null);
+
+        polygonAreaKm2 = prepared != null ? prepared.areaKm2() : null;
+        polygonLodLow = prepared != null ? prepared.levels().low() : null;
+        polygonLodMedium = prepared != null ? prepared.levels().medium() : null;
+        polygonLodHigh = prepared != null ? prepared.levels().high() : null;
+        preparedCoordinates = prepared != null ? polygonCoordinates : null;
+    }
 }
@@ -0,0 +1,11 @@
+package pl.czyzlowie.modules.map.event;
+
+/**
+ * Application event published after new cluster indexes have been built and published.
+ * Consumers caching views derived from the clusters, such as rendered tiles, should drop them on this event.
+ *
+ * @param version the version of the marker snapshot the clusters were built from
+ * @param fingerprint the content fingerprint of the marker snapshot the clusters were built from
+ */
+public record MapClustersRebuiltEvent(long version, long fingerprint) {
+}
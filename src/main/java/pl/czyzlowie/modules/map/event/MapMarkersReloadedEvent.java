@@ -0,0 +1,11 @@
+package pl.czyzlowie.modules.map.event;
+
+/**
+ * Application event published after a new in-memory marker snapshot has been loaded and published.
+ * Consumers deriving their own structures from the snapshot should rebuild them on this event.
+ *
+ * @param version the sequential version of the new snapshot
+ * @param fingerprint the content fingerprint of the new snapshot
+ */
+public record MapMarkersReloadedEvent(long version, long fingerprint) {
+}
@@ -0,0 +1,51 @@
+package pl.czyzlowie.modules.map.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.czyzlowie.modules.map.entity.MapSpot;
+
+/**
+ * JPA entity listener attached to {@link MapSpot} which turns every persisted change of a spot
+ * into a {@link MapSpotsChangedEvent}. The listener is a Spring bean instantiated by Hibernate
+ * through the Spring bean container, so changes made by any code path are announced, not only
+ * those going through a particular service.
+ *
+ * Within a transaction only the first change is announced, so a bulk edit triggers a single
+ * rebuild of the derived map data after commit instead of one per row.
+ */
+@Component
+@RequiredArgsConstructor
+public class MapSpotChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Publishes a change event for a spot that has been inserted, updated or deleted.
+     *
+     * @param spot the changed spot
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onSpotChanged(MapSpot spot) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MapSpotChangeListener.this);
+                }
+            });
+        }
+        eventPublisher.publishEvent(new MapSpotsChangedEvent(spot.getId()));
+    }
+}
@@ -0,0 +1,11 @@
+package pl.czyzlowie.modules.map.event;
+
+/**
+ * Application event published when map spots are created, modified or removed, at most once per
+ * transaction. Listeners maintaining derived copies of the map data should observe it after the
+ * surrounding transaction completes.
+ *
+ * @param spotId the identifier of the first spot changed in the transaction
+ */
+public record MapSpotsChangedEvent(Long spotId) {
+}
@@ -0,0 +1,12 @@
+package pl.czyzlowie.modules.map.geo;
+
+/**
+ * An axis-aligned geographic bounding box in decimal degrees.
+ *
+ * @param south the minimum latitude
+ * @param north the maximum latitude
+ * @param west the minimum longitude
+ * @param east the maximum longitude
+ */
+public record BoundingBox(double south, double north, double west, double east) {
+}
@@ -0,0 +1,66 @@
+package pl.czyzlowie.modules.map.geo;
+
+import java.util.List;
+
+/**
+ * Encoder of polygons into the encoded polyline algorithm format with a precision of five decimal places.
+ *
+ * Every ring is encoded on its own as a sequence of {@code [lat, lng]} deltas starting from zero, without a
+ * repeated closing vertex. Rings of one polygon are separated by {@value #RING_SEPARATOR} and polygons by
+ * {@value #POLYGON_SEPARATOR}; neither character can occur inside an encoded ring.
+ */
+public final class EncodedPolyline {
+
+    public static final char RING_SEPARATOR = ',';
+    public static final char POLYGON_SEPARATOR = ';';
+
+    private static final double PRECISION = 1e5;
+
+    private EncodedPolyline() {
+    }
+
+    /**
+     * Encodes the given polygons.
+     *
+     * @param polygons the polygons as lists of rings of interleaved {@code [lat, lng]} coordinates
+     * @return the encoded text
+     */
+    public static String encode(List<List<double[]>> polygons) {
+        StringBuilder result = new StringBuilder();
+        for (int p = 0; p < polygons.size(); p++) {
+            if (p > 0) {
+                result.append(POLYGON_SEPARATOR);
+            }
+            List<double[]> rings = polygons.get(p);
+            for (int r = 0; r < rings.size(); r++) {
+                if (r > 0) {
+                    result.append(RING_SEPARATOR);
+                }
+                encodeRing(rings.get(r), result);
+            }
+        }
+        return result.toString();
+    }
+
+    private static void encodeRing(double[] ring, StringBuilder result) {
+        long previousLat = 0;
+        long previousLng = 0;
+        for (int i = 0; i < ring.length; i += 2) {
+            long lat = Math.round(ring[i] * PRECISION);
+            long lng = Math.round(ring[i + 1] * PRECISION);
+            encodeValue(lat - previousLat, result);
+            encodeValue(lng - previousLng, result);
+            previousLat = lat;
+            previousLng = lng;
+        }
+    }
+
+    private static void encodeValue(long value, StringBuilder result) {
+        long shifted = value < 0 ? ~(value << 1) : value << 1;
+        while (shifted >= 0x20) {
+            result.append((char) ((0x20 | (shifted & 0x1F)) + 63));
+            shifted >>= 5;
+        }
+        result.append((char) (shifted + 63));
+    }
+}
@@ -0,0 +1,285 @@
+package pl.czyzlowie.modules.map.geo;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A parsed area geometry: one or more polygons, each made of an outer ring followed by optional holes.
+ *
+ * Rings are stored as flat arrays of interleaved coordinates {@code [lat0, lng0, lat1, lng1, ...]}
+ * without a repeated closing vertex. The accepted JSON follows the Leaflet conventions for
+ * {@code L.polygon}: an array of {@code [lat, lng]} pairs (a single ring), an array of rings
+ * (outer ring and holes) or an array of polygons (a multi-polygon).
+ */
+public final class GeoPolygon {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final List<List<double[]>> polygons;
+
+    private GeoPolygon(List<List<double[]>> polygons) {
+        this.polygons = polygons;
+    }
+
+    /**
+     * Parses the polygon coordinates stored as JSON text.
+     *
+     * @param coordinates the polygon coordinates, may be {@code null}
+     * @return the parsed geometry, or empty if the text is blank, malformed or contains no ring
+     *         with at least three vertices
+     */
+    public static Optional<GeoPolygon> parse(String coordinates) {
+        if (coordinates == null || coordinates.isBlank()) {
+            return Optional.empty();
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(coordinates);
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+
+        List<List<double[]>> polygons = new ArrayList<>();
+        switch (depth(root)) {
+            case 2 -> addPolygon(polygons, List.of(root));
+            case 3 -> addPolygon(polygons, toList(root));
+            case 4 -> root.forEach(polygon -> addPolygon(polygons, toList(polygon)));
+            default -> {
+                return Optional.empty();
+            }
+        }
+
+        return polygons.isEmpty() ? Optional.empty() : Optional.of(new GeoPolygon(List.copyOf(polygons)));
+    }
+
+    /**
+     * Returns the polygons of the geometry; the first ring of every polygon is its outer ring.
+     *
+     * @return the polygons as lists of interleaved coordinate rings
+     */
+    public List<List<double[]>> polygons() {
+        return polygons;
+    }
+
+    /**
+     * Computes the bounding box of all vertices of the geometry.
+     *
+     * @return the bounding box
+     */
+    public BoundingBox boundingBox() {
+        double south = Double.POSITIVE_INFINITY;
+        double north = Double.NEGATIVE_INFINITY;
+        double west = Double.POSITIVE_INFINITY;
+        double east = Double.NEGATIVE_INFINITY;
+
+        for (List<double[]> polygon : polygons) {
+            for (double[] ring : polygon) {
+                for (int i = 0; i < ring.length; i += 2) {
+                    south = Math.min(south, ring[i]);
+                    north = Math.max(north, ring[i]);
+                    west = Math.min(west, ring[i + 1]);
+                    east = Math.max(east, ring[i + 1]);
+                }
+            }
+        }
+        return new BoundingBox(south, north, west, east);
+    }
+
+    /**
+     * Returns the total number of vertices in all rings.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        int count = 0;
+        for (List<double[]> polygon : polygons) {
+            for (double[] ring : polygon) {
+                count += ring.length / 2;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Computes the area of the geometry on a spherical Earth. Holes are subtracted from their outer ring.
+     *
+     * @return the area in square kilometres
+     */
+    public double areaKm2() {
+        double area = 0;
+        for (List<double[]> polygon : polygons) {
+            for (int r = 0; r < polygon.size(); r++) {
+                double ringArea = Math.abs(ringAreaKm2(polygon.get(r)));
+                area += r == 0 ? ringArea : -ringArea;
+            }
+        }
+        return Math.max(area, 0);
+    }
+
+    /**
+     * Tests whether the given position lies inside the geometry, using ray casting with the even-odd rule,
+     * so positions inside a hole are outside. Positions exactly on an edge may fall on either side.
+     *
+     * @param lat the latitude of the position
+     * @param lng the longitude of the position
+     * @return {@code true} if the position lies inside any of the polygons
+     */
+    public boolean contains(double lat, double lng) {
+        for (List<double[]> polygon : polygons) {
+            boolean inside = false;
+            for (double[] ring : polygon) {
+                int count = ring.length / 2;
+                for (int i = 0, j = count - 1; i < count; j = i++) {
+                    double latI = ring[2 * i];
+                    double lngI = ring[2 * i + 1];
+                    double latJ = ring[2 * j];
+                    double lngJ = ring[2 * j + 1];
+                    if ((latI > lat) != (latJ > lat)
+                            && lng < (lngJ - lngI) * (lat - latI) / (latJ - latI) + lngI) {
+                        inside = !inside;
+                    }
+                }
+            }
+            if (inside) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of the geometry with every ring simplified by {@link PolylineSimplifier}.
+     *
+     * Each ring is simplified in a local equirectangular projection in metres, centred on the mean latitude
+     * of the ring, so the tolerance means the same ground distance east-west and north-south. Across the
+     * few kilometres of a restriction area the projection error is far below the tolerance.
+     *
+     * @param toleranceMeters the simplification tolerance in metres; a non-positive value keeps every vertex
+     * @return the simplified geometry
+     */
+    public GeoPolygon simplify(double toleranceMeters) {
+        if (toleranceMeters <= 0) {
+            return this;
+        }
+        List<List<double[]>> simplified = new ArrayList<>(polygons.size());
+        for (List<double[]> polygon : polygons) {
+            List<double[]> rings = new ArrayList<>(polygon.size());
+            for (double[] ring : polygon) {
+                rings.add(simplifyRing(ring, toleranceMeters));
+            }
+            simplified.add(List.copyOf(rings));
+        }
+        return new GeoPolygon(List.copyOf(simplified));
+    }
+
+    /**
+     * Projects a ring to metres, simplifies it and projects the kept vertices back to degrees.
+     */
+    private static double[] simplifyRing(double[] ring, double toleranceMeters) {
+        double latSum = 0;
+        for (int i = 0; i < ring.length; i += 2) {
+            latSum += ring[i];
+        }
+        double metersPerDegreeLat = EARTH_RADIUS_KM * 1000 * Math.PI / 180;
+        double metersPerDegreeLng = metersPerDegreeLat * Math.cos(Math.toRadians(latSum / (ring.length / 2)));
+
+        double[] projected = new double[ring.length];
+        for (int i = 0; i < ring.length; i += 2) {
+            projected[i] = ring[i + 1] * metersPerDegreeLng;
+            projected[i + 1] = ring[i] * metersPerDegreeLat;
+        }
+
+        double[] simplified = PolylineSimplifier.simplifyRing(projected, toleranceMeters);
+        if (simplified == projected) {
+            return ring;
+        }
+
+        double[] result = new double[simplified.length];
+        for (int i = 0; i < simplified.length; i += 2) {
+            result[i] = simplified[i + 1] / metersPerDegreeLat;
+            result[i + 1] = simplified[i] / metersPerDegreeLng;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the signed spherical area of a ring, following the approximation used by Leaflet and Turf.
+     */
+    private static double ringAreaKm2(double[] ring) {
+        int count = ring.length / 2;
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            int next = (i + 1) % count;
+            double lng1 = Math.toRadians(ring[2 * i + 1]);
+            double lng2 = Math.toRadians(ring[2 * next + 1]);
+            double lat1 = Math.toRadians(ring[2 * i]);
+            double lat2 = Math.toRadians(ring[2 * next]);
+            sum += (lng2 - lng1) * (2 + Math.sin(lat1) + Math.sin(lat2));
+        }
+        return sum * EARTH_RADIUS_KM * EARTH_RADIUS_KM / 2;
+    }
+
+    private static void addPolygon(List<List<double[]>> polygons, List<JsonNode> ringNodes) {
+        List<double[]> rings = new ArrayList<>();
+        for (JsonNode ringNode : ringNodes) {
+            double[] ring = toRing(ringNode);
+            if (ring != null) {
+                rings.add(ring);
+            } else if (rings.isEmpty()) {
+                return;
+            }
+        }
+        if (!rings.isEmpty()) {
+            polygons.add(List.copyOf(rings));
+        }
+    }
+
+    private static double[] toRing(JsonNode ringNode) {
+        List<Double> coordinates = new ArrayList<>();
+        for (JsonNode vertex : ringNode) {
+            if (!vertex.isArray() || vertex.size() < 2 || !vertex.get(0).isNumber() || !vertex.get(1).isNumber()) {
+                return null;
+            }
+            coordinates.add(vertex.get(0).asDouble());
+            coordinates.add(vertex.get(1).asDouble());
+        }
+
+        int size = coordinates.size();
+        if (size >= 4 && coordinates.get(0).equals(coordinates.get(size - 2))
+                && coordinates.get(1).equals(coordinates.get(size - 1))) {
+            size -= 2;
+        }
+        if (size < 6) {
+            return null;
+        }
+
+        double[] ring = new double[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = coordinates.get(i);
+        }
+        return ring;
+    }
+
+    private static int depth(JsonNode node) {
+        int depth = 0;
+        JsonNode current = node;
+        while (current != null && current.isArray()) {
+            depth++;
+            current = current.isEmpty() ? null : current.get(0);
+        }
+        return current != null && current.isNumber() ? depth : -1;
+    }
+
+    private static List<JsonNode> toList(JsonNode node) {
+        List<JsonNode> list = new ArrayList<>();
+        node.forEach(list::add);
+        return list;
+    }
+}
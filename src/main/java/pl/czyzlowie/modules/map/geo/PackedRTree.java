@@ -0,0 +1,172 @@
+package pl.czyzlowie.modules.map.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A static R-tree over axis-aligned boxes, bulk-loaded with the Sort-Tile-Recursive algorithm.
+ *
+ * Every level is packed in STR order: entries are sorted by the x centre of their box, cut into vertical
+ * slices and sorted by the y centre within each slice, then grouped into nodes of {@value #NODE_SIZE}
+ * consecutive entries. All levels are stored in flat arrays, leaves first and the root last; for a node,
+ * {@code indices} holds the position of its first child, for a leaf entry the index of the indexed item.
+ * The tree cannot be modified once built.
+ */
+public final class PackedRTree {
+
+    private static final int NODE_SIZE = 16;
+
+    private final double[] boxes;
+    private final int[] indices;
+    private final int[] levelEnds;
+
+    /**
+     * Builds the tree over the given boxes. Item {@code i} is described by the {@code i}-th value of each array.
+     *
+     * @param minX the minimum x of each box
+     * @param minY the minimum y of each box
+     * @param maxX the maximum x of each box
+     * @param maxY the maximum y of each box
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public PackedRTree(double[] minX, double[] minY, double[] maxX, double[] maxY) {
+        int count = minX.length;
+        if (minY.length != count || maxX.length != count || maxY.length != count) {
+            throw new IllegalArgumentException("Tablice współrzędnych drzewa R mają różne długości");
+        }
+
+        int total = count;
+        for (int size = count; size > 1; ) {
+            size = (size + NODE_SIZE - 1) / NODE_SIZE;
+            total += size;
+        }
+        this.boxes = new double[total * 4];
+        this.indices = new int[total];
+
+        double[] levelBoxes = new double[count * 4];
+        int[] pointers = new int[count];
+        for (int i = 0; i < count; i++) {
+            levelBoxes[4 * i] = minX[i];
+            levelBoxes[4 * i + 1] = minY[i];
+            levelBoxes[4 * i + 2] = maxX[i];
+            levelBoxes[4 * i + 3] = maxY[i];
+            pointers[i] = i;
+        }
+
+        List<Integer> ends = new ArrayList<>();
+        int position = 0;
+        while (count > 0) {
+            Integer[] order = strOrder(levelBoxes, count);
+            for (int k = 0; k < count; k++) {
+                int entry = order[k];
+                System.arraycopy(levelBoxes, 4 * entry, boxes, 4 * (position + k), 4);
+                indices[position + k] = pointers[entry];
+            }
+            ends.add(position + count);
+            if (count == 1) {
+                break;
+            }
+
+            int parents = (count + NODE_SIZE - 1) / NODE_SIZE;
+            double[] parentBoxes = new double[parents * 4];
+            int[] parentPointers = new int[parents];
+            for (int p = 0; p < parents; p++) {
+                int first = position + p * NODE_SIZE;
+                int last = Math.min(first + NODE_SIZE, position + count);
+                double[] box = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+                for (int c = first; c < last; c++) {
+                    box[0] = Math.min(box[0], boxes[4 * c]);
+                    box[1] = Math.min(box[1], boxes[4 * c + 1]);
+                    box[2] = Math.max(box[2], boxes[4 * c + 2]);
+                    box[3] = Math.max(box[3], boxes[4 * c + 3]);
+                }
+                System.arraycopy(box, 0, parentBoxes, 4 * p, 4);
+                parentPointers[p] = first;
+            }
+
+            position += count;
+            count = parents;
+            levelBoxes = parentBoxes;
+            pointers = parentPointers;
+        }
+
+        this.levelEnds = ends.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Reports every item whose box intersects the given box.
+     *
+     * @param minX the minimum x of the query box
+     * @param minY the minimum y of the query box
+     * @param maxX the maximum x of the query box
+     * @param maxY the maximum y of the query box
+     * @param consumer the consumer receiving the indexes of matching items
+     */
+    public void search(double minX, double minY, double maxX, double maxY, IntConsumer consumer) {
+        if (levelEnds.length == 0) {
+            return;
+        }
+        int top = levelEnds.length - 1;
+        int topStart = top == 0 ? 0 : levelEnds[top - 1];
+        search(top, topStart, levelEnds[top], minX, minY, maxX, maxY, consumer);
+    }
+
+    /**
+     * Reports every item whose box contains the given point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param consumer the consumer receiving the indexes of matching items
+     */
+    public void search(double x, double y, IntConsumer consumer) {
+        search(x, y, x, y, consumer);
+    }
+
+    /**
+     * Returns the number of indexed items.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return levelEnds.length == 0 ? 0 : levelEnds[0];
+    }
+
+    private void search(int level, int from, int to, double minX, double minY, double maxX, double maxY,
+                        IntConsumer consumer) {
+        for (int position = from; position < to; position++) {
+            if (boxes[4 * position] > maxX || boxes[4 * position + 1] > maxY
+                    || boxes[4 * position + 2] < minX || boxes[4 * position + 3] < minY) {
+                continue;
+            }
+            if (level == 0) {
+                consumer.accept(indices[position]);
+            } else {
+                int first = indices[position];
+                search(level - 1, first, Math.min(first + NODE_SIZE, levelEnds[level - 1]),
+                        minX, minY, maxX, maxY, consumer);
+            }
+        }
+    }
+
+    /**
+     * Orders the entries of one level into Sort-Tile-Recursive order.
+     */
+    private static Integer[] strOrder(double[] levelBoxes, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> levelBoxes[4 * i] + levelBoxes[4 * i + 2]));
+
+        int nodes = (count + NODE_SIZE - 1) / NODE_SIZE;
+        int sliceSize = (int) Math.ceil(Math.sqrt(nodes)) * NODE_SIZE;
+        for (int start = 0; start < count; start += sliceSize) {
+            Arrays.sort(order, start, Math.min(start + sliceSize, count),
+                    Comparator.comparingDouble(i -> levelBoxes[4 * i + 1] + levelBoxes[4 * i + 3]));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,54 @@
+package pl.czyzlowie.modules.map.geo;
+
+/**
+ * Levels of detail of restriction polygons, each serving a band of map zoom levels.
+ *
+ * A level is simplified so that no removed vertex lies farther than one screen pixel from the outline
+ * at the highest zoom of its band. The pixel is measured on the ground, in metres, because a degree of
+ * longitude is shorter than a degree of latitude away from the equator; see {@link GeoPolygon#simplify}.
+ * The highest level keeps every vertex and only rounds coordinates to the precision of the encoded
+ * polyline format.
+ */
+public enum PolygonDetail {
+    LOW(8),
+    MEDIUM(12),
+    HIGH(Integer.MAX_VALUE);
+
+    private static final int TILE_SIZE = 256;
+    private static final double EQUATOR_METERS = 2 * Math.PI * 6_378_137.0;
+
+    private final int maxZoom;
+
+    PolygonDetail(int maxZoom) {
+        this.maxZoom = maxZoom;
+    }
+
+    /**
+     * Returns the level of detail serving the given zoom.
+     *
+     * @param zoom the zoom level of the map
+     * @return the coarsest level whose band contains the zoom
+     */
+    public static PolygonDetail forZoom(int zoom) {
+        for (PolygonDetail detail : values()) {
+            if (zoom <= detail.maxZoom) {
+                return detail;
+            }
+        }
+        return HIGH;
+    }
+
+    /**
+     * Returns the simplification tolerance of this level, in metres on the ground.
+     *
+     * @param latitude the latitude at which the pixel size is measured
+     * @return the ground size of one Web Mercator screen pixel at the highest zoom of the band, or 0 for
+     *         the full-detail level
+     */
+    public double toleranceMeters(double latitude) {
+        if (maxZoom == Integer.MAX_VALUE) {
+            return 0;
+        }
+        return EQUATOR_METERS / (TILE_SIZE * Math.pow(2, maxZoom)) * Math.cos(Math.toRadians(latitude));
+    }
+}
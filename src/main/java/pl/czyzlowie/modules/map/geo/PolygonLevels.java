@@ -0,0 +1,34 @@
+package pl.czyzlowie.modules.map.geo;
+
+/**
+ * The encoded-polyline variants of one polygon, one per {@link PolygonDetail}.
+ *
+ * @param low the variant for low zoom levels
+ * @param medium the variant for medium zoom levels
+ * @param high the full-detail variant
+ */
+public record PolygonLevels(String low, String medium, String high) {
+
+    /**
+     * Returns the variant of the given level of detail.
+     *
+     * @param detail the level of detail
+     * @return the encoded polygon, may be {@code null} if the variant is missing
+     */
+    public String forDetail(PolygonDetail detail) {
+        return switch (detail) {
+            case LOW -> low;
+            case MEDIUM -> medium;
+            case HIGH -> high;
+        };
+    }
+
+    /**
+     * Indicates whether all variants are present.
+     *
+     * @return {@code true} if every level of detail has an encoded polygon
+     */
+    public boolean isComplete() {
+        return low != null && medium != null && high != null;
+    }
+}
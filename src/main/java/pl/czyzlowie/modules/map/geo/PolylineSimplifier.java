@@ -0,0 +1,135 @@
+package pl.czyzlowie.modules.map.geo;
+
+import java.util.Arrays;
+
+/**
+ * Douglas–Peucker simplification of polylines and rings stored as interleaved coordinate arrays.
+ *
+ * The algorithm keeps the end points and recursively keeps the vertex farthest from the chord between
+ * the last kept vertices whenever its distance exceeds the tolerance. The recursion is run with an
+ * explicit stack, so very long rings cannot overflow the call stack. Distances are planar and measured
+ * in the units of the coordinates.
+ */
+public final class PolylineSimplifier {
+
+    private PolylineSimplifier() {
+    }
+
+    /**
+     * Simplifies a closed ring. The ring is split at its first vertex and at the vertex farthest from it,
+     * so that both halves have distinct end points, and each half is simplified separately.
+     *
+     * @param ring the ring as interleaved coordinates, without a repeated closing vertex
+     * @param tolerance the maximum allowed distance of a removed vertex from the simplified outline
+     * @return the simplified ring; the input itself when nothing could be removed
+     */
+    public static double[] simplifyRing(double[] ring, double tolerance) {
+        int count = ring.length / 2;
+        if (count <= 3 || tolerance <= 0) {
+            return ring;
+        }
+
+        int far = 0;
+        double farDistance = -1;
+        for (int i = 1; i < count; i++) {
+            double dx = ring[2 * i] - ring[0];
+            double dy = ring[2 * i + 1] - ring[1];
+            double distance = dx * dx + dy * dy;
+            if (distance > farDistance) {
+                farDistance = distance;
+                far = i;
+            }
+        }
+
+        boolean[] keep = new boolean[count + 1];
+        double[] closed = new double[ring.length + 2];
+        System.arraycopy(ring, 0, closed, 0, ring.length);
+        closed[ring.length] = ring[0];
+        closed[ring.length + 1] = ring[1];
+
+        mark(closed, 0, far, tolerance * tolerance, keep);
+        mark(closed, far, count, tolerance * tolerance, keep);
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                kept++;
+            }
+        }
+        if (kept < 3 || kept == count) {
+            return kept == count ? ring : ring.clone();
+        }
+
+        double[] result = new double[kept * 2];
+        int k = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                result[k++] = ring[2 * i];
+                result[k++] = ring[2 * i + 1];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks the vertices of {@code coords} between {@code first} and {@code last} (inclusive) that
+     * survive simplification with the given squared tolerance.
+     */
+    private static void mark(double[] coords, int first, int last, double toleranceSquared, boolean[] keep) {
+        keep[first] = true;
+        keep[last] = true;
+
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = first;
+        stack[top++] = last;
+
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+
+            double maxDistance = -1;
+            int index = -1;
+            for (int i = start + 1; i < end; i++) {
+                double distance = segmentDistanceSquared(coords, i, start, end);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    index = i;
+                }
+            }
+
+            if (index >= 0 && maxDistance > toleranceSquared) {
+                keep[index] = true;
+                if (top + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = start;
+                stack[top++] = index;
+                stack[top++] = index;
+                stack[top++] = end;
+            }
+        }
+    }
+
+    private static double segmentDistanceSquared(double[] coords, int point, int start, int end) {
+        double x = coords[2 * start];
+        double y = coords[2 * start + 1];
+        double dx = coords[2 * end] - x;
+        double dy = coords[2 * end + 1] - y;
+
+        if (dx != 0 || dy != 0) {
+            double t = ((coords[2 * point] - x) * dx + (coords[2 * point + 1] - y) * dy) / (dx * dx + dy * dy);
+            if (t > 1) {
+                x = coords[2 * end];
+                y = coords[2 * end + 1];
+            } else if (t > 0) {
+                x += dx * t;
+                y += dy * t;
+            }
+        }
+
+        dx = coords[2 * point] - x;
+        dy = coords[2 * point + 1] - y;
+        return dx * dx + dy * dy;
+    }
+}
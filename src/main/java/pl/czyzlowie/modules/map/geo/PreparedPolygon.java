@@ -0,0 +1,32 @@
+package pl.czyzlowie.modules.map.geo;
+
+/**
+ * The result of preprocessing a restriction polygon once, when it is saved: its extent, its area and its
+ * encoded variants for every {@link PolygonDetail}.
+ *
+ * @param boundingBox the bounding box of all vertices
+ * @param areaKm2 the area of the outer rings minus their holes, in square kilometres
+ * @param levels the encoded variants of the polygon
+ */
+public record PreparedPolygon(BoundingBox boundingBox, double areaKm2, PolygonLevels levels) {
+
+    /**
+     * Preprocesses the given polygon.
+     *
+     * @param polygon the parsed polygon
+     * @return the prepared polygon
+     */
+    public static PreparedPolygon prepare(GeoPolygon polygon) {
+        BoundingBox box = polygon.boundingBox();
+        double latitude = (box.south() + box.north()) / 2;
+
+        return new PreparedPolygon(box, polygon.areaKm2(), new PolygonLevels(
+                encode(polygon, PolygonDetail.LOW, latitude),
+                encode(polygon, PolygonDetail.MEDIUM, latitude),
+                encode(polygon, PolygonDetail.HIGH, latitude)));
+    }
+
+    private static String encode(GeoPolygon polygon, PolygonDetail detail, double latitude) {
+        return EncodedPolyline.encode(polygon.simplify(detail.toleranceMeters(latitude)).polygons());
+    }
+}
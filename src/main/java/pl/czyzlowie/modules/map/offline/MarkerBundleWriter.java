@@ -0,0 +1,171 @@
+package pl.czyzlowie.modules.map.offline;
+
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.geo.PolygonDetail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes markers in the compact binary format of offline marker bundles, used by the service worker of the
+ * web application to show the map without a connection.
+ *
+ * The gzip-compressed payload consists of:
+ * <ol>
+ *     <li>the magic {@code CZMB}, the format version and the kind of the payload (0 for a full bundle,
+ *     1 for changes);</li>
+ *     <li>the version token of the payload and, for changes, the token they apply to;</li>
+ *     <li>a table of all distinct strings, each as its UTF-8 length followed by the bytes;</li>
+ *     <li>the markers, ordered by position: a flag telling whether the marker has a position, the latitude
+ *     and longitude in 10<sup>-5</sup> degrees as zigzag deltas from the previous positioned marker, then
+ *     the identifier, type, name, slug, description, restriction type, polygon encoding and polygon JSON
+ *     as string table references (0 for none, otherwise index + 1) and the start and end dates as epoch
+ *     days + 1 (0 for none);</li>
+ *     <li>for changes, the identifiers of removed markers as string table references.</li>
+ * </ol>
+ * All integers are unsigned LEB128 varints. Restriction polygons are stored in their medium level of detail
+ * when it has been prepared, otherwise as their original JSON.
+ */
+public final class MarkerBundleWriter {
+
+    private static final byte[] MAGIC = {'C', 'Z', 'M', 'B'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int KIND_FULL = 0;
+    private static final int KIND_CHANGES = 1;
+    private static final double COORDINATE_SCALE = 1e5;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> stringTable = new ArrayList<>();
+
+    private MarkerBundleWriter() {
+    }
+
+    /**
+     * Writes a full bundle holding the given markers.
+     *
+     * @param version the version of the bundle
+     * @param markers all markers of the bundle
+     * @return the gzip-compressed bundle
+     */
+    public static byte[] writeBundle(OfflineBundleVersion version, Collection<MapMarkerDto> markers) {
+        MarkerBundleWriter writer = new MarkerBundleWriter();
+        writer.writeMarkers(markers);
+        return writer.finish(KIND_FULL, version, null);
+    }
+
+    /**
+     * Writes the changes turning a bundle of one version into a bundle of another.
+     *
+     * @param since the version the changes apply to
+     * @param version the version reached after applying the changes
+     * @param upserted the added or modified markers, in their current state
+     * @param removedIds the identifiers of removed markers
+     * @return the gzip-compressed changes
+     */
+    public static byte[] writeChanges(OfflineBundleVersion since, OfflineBundleVersion version,
+                                      Collection<MapMarkerDto> upserted, Collection<String> removedIds) {
+        MarkerBundleWriter writer = new MarkerBundleWriter();
+        writer.writeMarkers(upserted);
+        writeVarint(writer.body, removedIds.size());
+        removedIds.forEach(id -> writeVarint(writer.body, writer.ref(id)));
+        return writer.finish(KIND_CHANGES, version, since);
+    }
+
+    private void writeMarkers(Collection<MapMarkerDto> markers) {
+        List<MapMarkerDto> ordered = markers.stream()
+                .sorted(Comparator.comparing((MapMarkerDto m) -> m.getLat() == null)
+                        .thenComparing(MapMarkerDto::getLat, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(MapMarkerDto::getId))
+                .toList();
+
+        writeVarint(body, ordered.size());
+        long previousLat = 0;
+        long previousLng = 0;
+        for (MapMarkerDto marker : ordered) {
+            boolean positioned = marker.getLat() != null && marker.getLng() != null;
+            writeVarint(body, positioned ? 1 : 0);
+            if (positioned) {
+                long lat = Math.round(marker.getLat() * COORDINATE_SCALE);
+                long lng = Math.round(marker.getLng() * COORDINATE_SCALE);
+                writeVarint(body, zigzag(lat - previousLat));
+                writeVarint(body, zigzag(lng - previousLng));
+                previousLat = lat;
+                previousLng = lng;
+            }
+
+            boolean encoded = marker.getPolygonLevels() != null;
+            writeVarint(body, ref(marker.getId()));
+            writeVarint(body, ref(marker.getType()));
+            writeVarint(body, ref(marker.getName()));
+            writeVarint(body, ref(marker.getSlug()));
+            writeVarint(body, ref(marker.getDescription()));
+            writeVarint(body, ref(marker.getRestrictionType()));
+            writeVarint(body, ref(encoded ? marker.getPolygonLevels().forDetail(PolygonDetail.MEDIUM) : null));
+            writeVarint(body, ref(encoded ? null : marker.getPolygonCoordinates()));
+            writeVarint(body, epochDay(marker.getStartDate()));
+            writeVarint(body, epochDay(marker.getEndDate()));
+        }
+    }
+
+    private byte[] finish(int kind, OfflineBundleVersion version, OfflineBundleVersion since) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.size() / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            header.writeBytes(MAGIC);
+            header.write(FORMAT_VERSION);
+            header.write(kind);
+            writeVarint(header, version.token());
+            if (since != null) {
+                writeVarint(header, since.token());
+            }
+            writeVarint(header, stringTable.size());
+            for (String value : stringTable) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(header, bytes.length);
+                header.writeBytes(bytes);
+            }
+            header.writeTo(out);
+            body.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private int ref(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return strings.computeIfAbsent(value, v -> {
+            stringTable.add(v);
+            return stringTable.size();
+        });
+    }
+
+    private static long epochDay(LocalDate date) {
+        return date == null ? 0 : Math.max(0, date.toEpochDay()) + 1;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,44 @@
+package pl.czyzlowie.modules.map.offline;
+
+import java.time.LocalDate;
+
+/**
+ * The version of an offline marker bundle, exchanged with clients as a single opaque number.
+ *
+ * A bundle depends on the marker change log it includes and on the day its restrictions were selected for,
+ * so both are packed into the token: the epoch day in the upper bits and the change log version in the
+ * lower {@value #CHANGE_BITS} bits. The token stays below 2<sup>53</sup>, so it is exact in JavaScript.
+ *
+ * @param day the day for which restriction validity was evaluated
+ * @param changeVersion the last entry of the marker change log included in the bundle
+ */
+public record OfflineBundleVersion(LocalDate day, long changeVersion) {
+
+    private static final int CHANGE_BITS = 32;
+    private static final long CHANGE_MASK = (1L << CHANGE_BITS) - 1;
+
+    public OfflineBundleVersion {
+        if (changeVersion < 0 || changeVersion > CHANGE_MASK) {
+            throw new IllegalArgumentException("Wersja dziennika zmian poza zakresem: " + changeVersion);
+        }
+    }
+
+    /**
+     * Restores a version from its token.
+     *
+     * @param token the token received from a client
+     * @return the version described by the token
+     */
+    public static OfflineBundleVersion fromToken(long token) {
+        return new OfflineBundleVersion(LocalDate.ofEpochDay(token >>> CHANGE_BITS), token & CHANGE_MASK);
+    }
+
+    /**
+     * Returns the token sent to clients.
+     *
+     * @return the version packed into one number
+     */
+    public long token() {
+        return (day.toEpochDay() << CHANGE_BITS) | changeVersion;
+    }
+}
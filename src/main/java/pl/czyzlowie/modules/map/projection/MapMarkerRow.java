@@ -0,0 +1,58 @@
+package pl.czyzlowie.modules.map.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A single row of the {@code map_marker_view} read-model: the columns needed to draw one marker
+ * together with the bounding box of the area it covers.
+ *
+ * @param id                 the marker identifier, prefixed with its source ({@code SPOT_}, {@code SYNOP_}, ...)
+ * @param type               the marker type, either a spot type or a station type
+ * @param name               the display name
+ * @param slug               the URL slug of a spot, or the identifier of a station
+ * @param latitude           the latitude of the marker, may be {@code null} for restrictions
+ * @param longitude          the longitude of the marker, may be {@code null} for restrictions
+ * @param description        the description of a spot
+ * @param restrictionType    the restriction type, set only for restrictions
+ * @param startDate          the first day a restriction applies
+ * @param endDate            the last day a restriction applies
+ * @param polygonCoordinates the restriction polygon as JSON text
+ * @param polygonAreaKm2     the area of the restriction polygon in square kilometres
+ * @param polygonLodLow      the restriction polygon encoded for low zoom levels
+ * @param polygonLodMedium   the restriction polygon encoded for medium zoom levels
+ * @param polygonLodHigh     the restriction polygon encoded in full detail
+ * @param bboxSouth          the southern edge of the covered area, set only for area spots
+ * @param bboxNorth          the northern edge of the covered area, set only for area spots
+ * @param bboxWest           the western edge of the covered area, set only for area spots
+ * @param bboxEast           the eastern edge of the covered area, set only for area spots
+ */
+public record MapMarkerRow(
+        String id,
+        String type,
+        String name,
+        String slug,
+        Double latitude,
+        Double longitude,
+        String description,
+        String restrictionType,
+        LocalDate startDate,
+        LocalDate endDate,
+        String polygonCoordinates,
+        Double polygonAreaKm2,
+        String polygonLodLow,
+        String polygonLodMedium,
+        String polygonLodHigh,
+        Double bboxSouth,
+        Double bboxNorth,
+        Double bboxWest,
+        Double bboxEast) {
+
+    /**
+     * Indicates whether the row carries the bounding box of an area.
+     *
+     * @return {@code true} for area spots with a known extent
+     */
+    public boolean hasBoundingBox() {
+        return bboxSouth != null && bboxNorth != null && bboxWest != null && bboxEast != null;
+    }
+}
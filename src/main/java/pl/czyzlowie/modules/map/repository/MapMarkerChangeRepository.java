@@ -0,0 +1,65 @@
+package pl.czyzlowie.modules.map.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code map_marker_changes} log.
+ *
+ * Database triggers on map spots, restrictions and IMGW stations append one entry per changed row,
+ * identified by the marker identifier used in {@code map_marker_view}. Entries are numbered by a sequence,
+ * so the markers changed after a known point are found with a single range query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MapMarkerChangeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the number of the latest entry of the log.
+     *
+     * @return the latest change version, 0 if the log is empty
+     */
+    public long findLatestVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(version), 0) FROM map_marker_changes", Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Returns the number of the oldest entry still held by the log.
+     *
+     * @return the oldest change version, or {@code null} if the log is empty
+     */
+    public Long findOldestVersion() {
+        return jdbcTemplate.queryForObject("SELECT MIN(version) FROM map_marker_changes", Long.class);
+    }
+
+    /**
+     * Returns the markers changed after the first version, up to and including the second.
+     *
+     * @param afterVersion the version the caller is up to date with
+     * @param upToVersion the last version to include
+     * @return the distinct identifiers of the changed markers
+     */
+    public List<String> findChangedMarkerIds(long afterVersion, long upToVersion) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT marker_id FROM map_marker_changes WHERE version > ? AND version <= ?",
+                String.class, afterVersion, upToVersion);
+    }
+
+    /**
+     * Removes the entries recorded before the given time.
+     *
+     * @param threshold the time before which entries are removed
+     * @return the number of removed entries
+     */
+    public int deleteOlderThan(LocalDateTime threshold) {
+        return jdbcTemplate.update("DELETE FROM map_marker_changes WHERE changed_at < ?", Timestamp.valueOf(threshold));
+    }
+}
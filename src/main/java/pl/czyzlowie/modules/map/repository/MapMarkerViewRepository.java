@@ -0,0 +1,96 @@
+package pl.czyzlowie.modules.map.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import pl.czyzlowie.modules.map.projection.MapMarkerRow;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code map_marker_view} read-model.
+ *
+ * The materialized view flattens map spots of every type and the IMGW stations into one row per marker,
+ * holding only the columns needed to draw it. Rows are read with a single projection query straight
+ * into {@link MapMarkerRow}, without hydrating any entity or joining subclass tables. Restrictions are
+ * limited to those valid on the given day.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MapMarkerViewRepository {
+
+    private static final String SELECT_MARKERS = """
+            SELECT marker_id, marker_type, name, slug, latitude, longitude, description,
+                   restriction_type, start_date, end_date, polygon_coordinates, polygon_area_km2,
+                   polygon_lod_low, polygon_lod_medium, polygon_lod_high,
+                   bbox_south, bbox_north, bbox_west, bbox_east
+            FROM map_marker_view
+            WHERE (start_date IS NULL OR start_date <= ?)
+              AND (end_date IS NULL OR end_date >= ?)
+            ORDER BY marker_id
+            """;
+
+    private static final String SELECT_RESTRICTIONS = """
+            SELECT marker_id, marker_type, name, slug, latitude, longitude, description,
+                   restriction_type, start_date, end_date, polygon_coordinates, polygon_area_km2,
+                   polygon_lod_low, polygon_lod_medium, polygon_lod_high,
+                   bbox_south, bbox_north, bbox_west, bbox_east
+            FROM map_marker_view
+            WHERE marker_type = 'RESTRICTION'
+              AND polygon_coordinates IS NOT NULL
+            ORDER BY marker_id
+            """;
+
+    private static final RowMapper<MapMarkerRow> ROW_MAPPER = (rs, rowNum) -> new MapMarkerRow(
+            rs.getString("marker_id"),
+            rs.getString("marker_type"),
+            rs.getString("name"),
+            rs.getString("slug"),
+            rs.getObject("latitude", Double.class),
+            rs.getObject("longitude", Double.class),
+            rs.getString("description"),
+            rs.getString("restriction_type"),
+            rs.getObject("start_date", LocalDate.class),
+            rs.getObject("end_date", LocalDate.class),
+            rs.getString("polygon_coordinates"),
+            rs.getObject("polygon_area_km2", Double.class),
+            rs.getString("polygon_lod_low"),
+            rs.getString("polygon_lod_medium"),
+            rs.getString("polygon_lod_high"),
+            rs.getObject("bbox_south", Double.class),
+            rs.getObject("bbox_north", Double.class),
+            rs.getObject("bbox_west", Double.class),
+            rs.getObject("bbox_east", Double.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns all marker rows valid on the given day, ordered by marker identifier.
+     *
+     * @param today the day against which restriction validity is checked
+     * @return all map marker rows
+     */
+    public List<MapMarkerRow> findAll(LocalDate today) {
+        Date day = Date.valueOf(today);
+        return jdbcTemplate.query(SELECT_MARKERS, ROW_MAPPER, day, day);
+    }
+
+    /**
+     * Returns the rows of all restrictions having a polygon, regardless of their validity dates.
+     *
+     * @return the restriction rows, ordered by marker identifier
+     */
+    public List<MapMarkerRow> findAllRestrictions() {
+        return jdbcTemplate.query(SELECT_RESTRICTIONS, ROW_MAPPER);
+    }
+
+    /**
+     * Recomputes the view from its source tables without blocking concurrent readers.
+     */
+    public void refresh() {
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY map_marker_view");
+    }
+}
@@ -5,9 +5,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pl.czyzlowie.modules.map.entity.MapSpot;
+import pl.czyzlowie.modules.map.entity.RestrictionSpot;
 import pl.czyzlowie.modules.map.entity.SpotType;
 
 import java.util.List;
@@ -24,20 +24,14 @@ import java.util.Optional;
 @Repository
 public interface MapSpotRepository extends JpaRepository<MapSpot, Long>, JpaSpecificationExecutor<MapSpot> {
 
-//    @Query("SELECT s FROM MapSpot s WHERE " +
-//            "(s.latitude BETWEEN :south AND :north AND s.longitude BETWEEN :west AND :east) " +
-//            "OR TYPE(s) = RestrictionSpot" +
-//            "OR TYPE(s) = BoatSlip"
-//    )
-    @Query("SELECT s FROM MapSpot s WHERE " +
-            "(s.latitude BETWEEN :south AND :north AND s.longitude BETWEEN :west AND :east) " +
-            "OR TYPE(s) IN (RestrictionSpot, BoatSlip, FishingShopSpot, RentalSpot)")
-    List<MapSpot> findInBounds(
-            @Param("south") Double south,
-            @Param("north") Double north,
-            @Param("west") Double west,
-            @Param("east") Double east
-    );
-
     Optional<MapSpot> findBySlugAndSpotType(String slug, SpotType spotType);
+
+    /**
+     * Finds restrictions having a polygon whose encoded variants have not been prepared yet, such as rows
+     * saved before the variants were introduced.
+     *
+     * @return the restrictions awaiting polygon preprocessing
+     */
+    @Query("SELECT r FROM RestrictionSpot r WHERE r.polygonCoordinates IS NOT NULL AND r.polygonLodHigh IS NULL")
+    List<RestrictionSpot> findRestrictionsWithoutPolygonLevels();
 }
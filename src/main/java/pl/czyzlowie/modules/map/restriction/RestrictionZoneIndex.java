@@ -0,0 +1,174 @@
+package pl.czyzlowie.modules.map.restriction;
+
+import pl.czyzlowie.modules.map.dto.RestrictionZoneDto;
+import pl.czyzlowie.modules.map.geo.BoundingBox;
+import pl.czyzlowie.modules.map.geo.GeoPolygon;
+import pl.czyzlowie.modules.map.geo.PackedRTree;
+import pl.czyzlowie.modules.map.projection.MapMarkerRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * An immutable spatial index answering which restriction areas cover a given position.
+ *
+ * The polygons of all restrictions are parsed once and their bounding boxes are bulk-loaded into a
+ * {@link PackedRTree}. A lookup prefilters candidates by bounding box and then runs the exact
+ * point-in-polygon test of {@link GeoPolygon#contains(double, double)} on them only.
+ *
+ * Besides the spatial part the index holds the set of restrictions in force on one day, computed once
+ * for that day. Lookups for the current day use the precomputed set; {@link #forDay(LocalDate)} derives
+ * an index for another day that shares everything but the set.
+ */
+public final class RestrictionZoneIndex {
+
+    private static final RestrictionZoneIndex EMPTY = build(LocalDate.MIN, List.of());
+
+    private final LocalDate day;
+    private final List<MapMarkerRow> rows;
+    private final GeoPolygon[] polygons;
+    private final PackedRTree tree;
+    private final BitSet active;
+
+    private RestrictionZoneIndex(LocalDate day, List<MapMarkerRow> rows, GeoPolygon[] polygons, PackedRTree tree) {
+        this.day = day;
+        this.rows = rows;
+        this.polygons = polygons;
+        this.tree = tree;
+        this.active = new BitSet(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (isValidOn(rows.get(i), day)) {
+                active.set(i);
+            }
+        }
+    }
+
+    /**
+     * Returns an index without any restriction.
+     *
+     * @return the empty index
+     */
+    public static RestrictionZoneIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the index over the given restriction rows. Rows without a valid polygon are skipped.
+     *
+     * @param day the day for which the set of restrictions in force is precomputed
+     * @param restrictions the rows of restrictions regardless of their validity dates
+     * @return the built index
+     */
+    public static RestrictionZoneIndex build(LocalDate day, List<MapMarkerRow> restrictions) {
+        List<MapMarkerRow> rows = new ArrayList<>();
+        List<GeoPolygon> polygons = new ArrayList<>();
+        for (MapMarkerRow row : restrictions) {
+            GeoPolygon.parse(row.polygonCoordinates()).ifPresent(polygon -> {
+                rows.add(row);
+                polygons.add(polygon);
+            });
+        }
+
+        int size = rows.size();
+        double[] minX = new double[size];
+        double[] minY = new double[size];
+        double[] maxX = new double[size];
+        double[] maxY = new double[size];
+        for (int i = 0; i < size; i++) {
+            BoundingBox box = polygons.get(i).boundingBox();
+            minX[i] = box.west();
+            minY[i] = box.south();
+            maxX[i] = box.east();
+            maxY[i] = box.north();
+        }
+
+        return new RestrictionZoneIndex(day, List.copyOf(rows), polygons.toArray(GeoPolygon[]::new),
+                new PackedRTree(minX, minY, maxX, maxY));
+    }
+
+    /**
+     * Returns an index sharing the spatial part of this one, with the set of restrictions in force
+     * precomputed for another day.
+     *
+     * @param otherDay the day of the new index
+     * @return this index if the day is the same, otherwise a new index
+     */
+    public RestrictionZoneIndex forDay(LocalDate otherDay) {
+        return day.equals(otherDay) ? this : new RestrictionZoneIndex(otherDay, rows, polygons, tree);
+    }
+
+    /**
+     * Returns the restrictions in force on the day of the index whose area contains the given position.
+     *
+     * @param lat the latitude of the position
+     * @param lng the longitude of the position
+     * @return the matching restrictions
+     */
+    public List<RestrictionZoneDto> findAt(double lat, double lng) {
+        List<RestrictionZoneDto> result = new ArrayList<>();
+        tree.search(lng, lat, i -> {
+            if (active.get(i) && polygons[i].contains(lat, lng)) {
+                result.add(toDto(rows.get(i)));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the restrictions in force on the given day whose area contains the given position.
+     *
+     * @param lat the latitude of the position
+     * @param lng the longitude of the position
+     * @param date the day to check validity against
+     * @return the matching restrictions
+     */
+    public List<RestrictionZoneDto> findAt(double lat, double lng, LocalDate date) {
+        if (day.equals(date)) {
+            return findAt(lat, lng);
+        }
+        List<RestrictionZoneDto> result = new ArrayList<>();
+        tree.search(lng, lat, i -> {
+            if (isValidOn(rows.get(i), date) && polygons[i].contains(lat, lng)) {
+                result.add(toDto(rows.get(i)));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the day for which the set of restrictions in force was precomputed.
+     *
+     * @return the day of the index
+     */
+    public LocalDate day() {
+        return day;
+    }
+
+    /**
+     * Returns the number of indexed restrictions.
+     *
+     * @return the number of restrictions with a valid polygon
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    private static boolean isValidOn(MapMarkerRow row, LocalDate date) {
+        return (row.startDate() == null || !row.startDate().isAfter(date))
+                && (row.endDate() == null || !row.endDate().isBefore(date));
+    }
+
+    private static RestrictionZoneDto toDto(MapMarkerRow row) {
+        return RestrictionZoneDto.builder()
+                .id(row.id())
+                .name(row.name())
+                .slug(row.slug())
+                .restrictionType(row.restrictionType())
+                .description(row.description())
+                .startDate(row.startDate())
+                .endDate(row.endDate())
+                .build();
+    }
+}
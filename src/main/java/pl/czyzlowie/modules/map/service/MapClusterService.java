@@ -0,0 +1,215 @@
+package pl.czyzlowie.modules.map.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pl.czyzlowie.core.concurrent.CoalescingRebuilder;
+import pl.czyzlowie.modules.map.cluster.MarkerCluster;
+import pl.czyzlowie.modules.map.cluster.MarkerClusterIndex;
+import pl.czyzlowie.modules.map.dto.MapClusterDto;
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.entity.SpotType;
+import pl.czyzlowie.modules.map.event.MapClustersRebuiltEvent;
+import pl.czyzlowie.modules.map.event.MapMarkersReloadedEvent;
+import pl.czyzlowie.modules.map.geo.PolygonDetail;
+import pl.czyzlowie.modules.map.snapshot.ETaggedResult;
+import pl.czyzlowie.modules.map.snapshot.MarkerSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Service answering clustered map queries from an in-memory snapshot of all map markers.
+ *
+ * The snapshot holds one {@link MarkerClusterIndex} per marker type, so the client can keep filtering
+ * categories without another request. The indexes are built from the current {@link MarkerSnapshot}
+ * of {@link MapMarkerService} and published atomically through an {@link AtomicReference}: readers
+ * always work on a complete snapshot while a new one is built off to the side.
+ *
+ * The indexes are rebuilt whenever a new marker snapshot is published. Bursts of reloads are coalesced
+ * into a single rebuild running on a virtual thread. Results carry an entity tag derived from the
+ * fingerprint of the marker snapshot the indexes were built from, the bounds and the zoom. Every published
+ * rebuild is announced with a {@link MapClustersRebuiltEvent}.
+ *
+ * Markers without a type are clustered as {@link SpotType#SPECIFIC_SPOT}. Markers without coordinates cannot be
+ * clustered; those with a restriction polygon are returned with every response, without a position of their
+ * own, and the others are skipped.
+ *
+ * Restriction polygons of returned markers are sent as the encoded variant matching the zoom instead of
+ * the full-resolution JSON, whenever the variants have been prepared.
+ */
+@Slf4j
+@Service
+public class MapClusterService {
+
+    private static final String DEFAULT_TYPE = SpotType.SPECIFIC_SPOT.name();
+
+    private final MapMarkerService mapMarkerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int radiusPx;
+    private final int maxZoom;
+    private final AtomicReference<ClusterSnapshot> snapshot = new AtomicReference<>(ClusterSnapshot.EMPTY);
+    private final CoalescingRebuilder rebuilder =
+            new CoalescingRebuilder("MapCluster-rebuild", "Budowa indeksu klastrów mapy nie powiodła się", this::rebuild);
+
+    /**
+     * Private record holding one immutable version of the cluster indexes.
+     *
+     * @param indexes the cluster indexes keyed by marker type
+     * @param unplaced the markers without coordinates but with a restriction polygon, returned with every clustered response
+     * @param version the version of the marker snapshot the indexes were built from
+     * @param fingerprint the content fingerprint of the marker snapshot the indexes were built from
+     */
+    private record ClusterSnapshot(Map<String, MarkerClusterIndex> indexes, List<MapMarkerDto> unplaced,
+                                   long version, long fingerprint) {
+        private static final ClusterSnapshot EMPTY = new ClusterSnapshot(Map.of(), List.of(), 0, 0);
+    }
+
+    public MapClusterService(MapMarkerService mapMarkerService,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${map.cluster.radius-px:50}") int radiusPx,
+                             @Value("${map.cluster.max-zoom:13}") int maxZoom) {
+        this.mapMarkerService = mapMarkerService;
+        this.eventPublisher = eventPublisher;
+        this.radiusPx = radiusPx;
+        this.maxZoom = maxZoom;
+    }
+
+    /**
+     * Returns the clusters and single markers of all types visible within the given bounds at the given zoom.
+     * Above the maximum cluster zoom every marker is returned individually.
+     *
+     * @param north the northern edge of the viewport
+     * @param south the southern edge of the viewport
+     * @param east the eastern edge of the viewport
+     * @param west the western edge of the viewport
+     * @param zoom the zoom level of the map
+     * @return the clustered view of the viewport together with its entity tag
+     */
+    public ETaggedResult<List<MapClusterDto>> getClusters(double north, double south, double east, double west, int zoom) {
+        ClusterSnapshot current = snapshot.get();
+        return new ETaggedResult<>(
+                ETaggedResult.weakETag(current.fingerprint(), north, south, east, west, zoom),
+                () -> collectClusters(current, north, south, east, west, zoom));
+    }
+
+    private List<MapClusterDto> collectClusters(ClusterSnapshot current, double north, double south, double east,
+                                                double west, int zoom) {
+        List<MapClusterDto> result = new ArrayList<>();
+        PolygonDetail detail = PolygonDetail.forZoom(zoom);
+
+        current.indexes().forEach((type, index) -> index.getClusters(north, south, east, west, zoom)
+                .forEach(cluster -> result.add(toDto(type, cluster, detail))));
+        current.unplaced().forEach(marker -> result.add(MapClusterDto.builder()
+                .id(marker.getId())
+                .type(marker.getType())
+                .count(1)
+                .marker(withDetail(marker, detail))
+                .build()));
+
+        log.debug("Zwrócono {} klastrów i punktów dla zoomu {} (wersja indeksu {})", result.size(), zoom, current.version());
+        return result;
+    }
+
+    /**
+     * Returns the content fingerprint of the marker snapshot the current cluster indexes were built from.
+     *
+     * @return the fingerprint of the clustered data
+     */
+    public long getFingerprint() {
+        return snapshot.get().fingerprint();
+    }
+
+    /**
+     * Returns the highest zoom level at which markers are still grouped into clusters.
+     *
+     * @return the maximum cluster zoom
+     */
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Schedules a rebuild after a new marker snapshot has been published.
+     *
+     * @param event the event describing the new marker snapshot
+     */
+    @EventListener
+    public void onMarkersReloaded(MapMarkersReloadedEvent event) {
+        log.debug("Nowa wersja znaczników mapy {}, odświeżam indeks klastrów", event.version());
+        rebuilder.request();
+    }
+
+    /**
+     * Builds cluster indexes from the current marker snapshot, atomically replaces the cluster snapshot
+     * and announces the new version.
+     */
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        MarkerSnapshot source = mapMarkerService.getSnapshot();
+        List<MapMarkerDto> markers = source.all();
+
+        Map<String, MarkerClusterIndex> indexes = markers.stream()
+                .filter(m -> m.getLat() != null && m.getLng() != null)
+                .map(MapClusterService::withDefaultType)
+                .collect(Collectors.groupingBy(MapMarkerDto::getType)).entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        e -> MarkerClusterIndex.build("CLUSTER_" + e.getKey(), e.getValue(), radiusPx, maxZoom)));
+        List<MapMarkerDto> unplaced = markers.stream()
+                .filter(m -> m.getLat() == null || m.getLng() == null)
+                .filter(MapClusterService::hasPolygon)
+                .map(MapClusterService::withDefaultType)
+                .toList();
+        long skipped = markers.stream()
+                .filter(m -> (m.getLat() == null || m.getLng() == null) && !hasPolygon(m))
+                .count();
+        if (skipped > 0) {
+            log.warn("Pominięto {} znaczników bez współrzędnych i bez obszaru", skipped);
+        }
+
+        snapshot.set(new ClusterSnapshot(indexes, unplaced, source.version(), source.fingerprint()));
+        log.info("Zbudowano indeks klastrów mapy: {} punktów, {} typów, wersja {} ({} ms)",
+                markers.size(), indexes.size(), source.version(), System.currentTimeMillis() - start);
+        eventPublisher.publishEvent(new MapClustersRebuiltEvent(source.version(), source.fingerprint()));
+    }
+
+    private static MapMarkerDto withDefaultType(MapMarkerDto marker) {
+        return marker.getType() != null ? marker : marker.toBuilder().type(DEFAULT_TYPE).build();
+    }
+
+    private static boolean hasPolygon(MapMarkerDto marker) {
+        return marker.getPolygonCoordinates() != null || marker.getPolygonLevels() != null;
+    }
+
+    private MapClusterDto toDto(String type, MarkerCluster cluster, PolygonDetail detail) {
+        return MapClusterDto.builder()
+                .id(cluster.id())
+                .type(type)
+                .lat(cluster.lat())
+                .lng(cluster.lng())
+                .count(cluster.count())
+                .expansionZoom(cluster.isCluster() ? cluster.expansionZoom() : null)
+                .marker(withDetail(cluster.marker(), detail))
+                .build();
+    }
+
+    /**
+     * Replaces the full-resolution polygon of a marker with its encoded variant of the given level of detail.
+     * Markers without prepared variants are returned unchanged.
+     */
+    private static MapMarkerDto withDetail(MapMarkerDto marker, PolygonDetail detail) {
+        if (marker == null || marker.getPolygonLevels() == null) {
+            return marker;
+        }
+        return marker.toBuilder()
+                .polygonCoordinates(null)
+                .polygonEncoded(marker.getPolygonLevels().forDetail(detail))
+                .polygonDetail(detail.name())
+                .build();
+    }
+}
@@ -1,154 +1,171 @@
 package pl.czyzlowie.modules.map.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroStationRepository;
-import pl.czyzlowie.modules.imgw_api.repository.ImgwMeteoStationRepository;
-import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopStationRepository;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.czyzlowie.modules.imgw_api.event.ImgwStationsLocatedEvent;
 import pl.czyzlowie.modules.map.dto.MapMarkerDto;
-import pl.czyzlowie.modules.map.entity.MapSpot;
-import pl.czyzlowie.modules.map.entity.RestrictionSpot;
-import pl.czyzlowie.modules.map.repository.MapSpotRepository;
+import pl.czyzlowie.modules.map.event.MapMarkersReloadedEvent;
+import pl.czyzlowie.modules.map.event.MapSpotsChangedEvent;
+import pl.czyzlowie.modules.map.projection.MapMarkerRow;
+import pl.czyzlowie.modules.map.repository.MapMarkerChangeRepository;
+import pl.czyzlowie.modules.map.repository.MapMarkerViewRepository;
+import pl.czyzlowie.modules.map.snapshot.ETaggedResult;
+import pl.czyzlowie.modules.map.snapshot.MarkerSnapshot;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service class responsible for managing and providing map marker data.
- * This class fetches and processes geographic data from various repositories
- * to generate map marker information for specified bounds or all markers.
+ *
+ * All markers of map spots and IMGW stations are held in an immutable, column-oriented
+ * {@link MarkerSnapshot} published through an {@link AtomicReference}, so marker requests never touch
+ * the database. Viewport queries are answered from the uniform grid index of the snapshot. Every result
+ * is paired with an entity tag derived from the snapshot fingerprint and the requested bounds, which lets
+ * unchanged viewports be answered with 304.
+ *
+ * The snapshot is loaded from the flat {@code map_marker_view} read-model. The view is refreshed and the
+ * snapshot reloaded when the application starts, after committed changes of map spots, after new IMGW
+ * stations have been created and once a night, which also moves the restriction validity window to the
+ * new day. Reload listeners run before other listeners of the same events, and every reload is announced
+ * with a {@link MapMarkersReloadedEvent}.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MapMarkerService {
 
-    private final ImgwSynopStationRepository imgwSynopStationRepository;
-    private final ImgwHydroStationRepository imgwHydroStationRepository;
-    private final ImgwMeteoStationRepository imgwMeteoStationRepository;
-    private final MapSpotRepository mapSpotRepository;
-
-    public List<MapMarkerDto> getMarkersInBounds(Double north, Double south, Double east, Double west) {
-        var synopFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                () -> imgwSynopStationRepository.findInBounds(south, north, west, east),
-                st -> createBasicMarker(st.getId(), st.getName(), "SYNOP", toDouble(st.getLatitude()), toDouble(st.getLongitude()))));
-
-        var hydroFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                () -> imgwHydroStationRepository.findInBounds(south, north, west, east),
-                h -> createBasicMarker(h.getId(), h.getName(), "HYDRO", toDouble(h.getLatitude()), toDouble(h.getLongitude()))));
-
-        var meteoFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                () -> imgwMeteoStationRepository.findInBounds(south, north, west, east),
-                m -> createBasicMarker(m.getId(), m.getName(), "METEO", toDouble(m.getLatitude()), toDouble(m.getLongitude()))));
-
-        var spotFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                () -> mapSpotRepository.findInBounds(south, north, west, east),
-                this::mapSpotToDto));
-
-        List<MapMarkerDto> markers = Stream.of(synopFuture, hydroFuture, meteoFuture, spotFuture)
-                .map(CompletableFuture::join)
-                .flatMap(List::stream)
-                .toList();
-
-        log.debug("Zmapowano {} punktów dla obszaru ekranu", markers.size());
-        return markers;
+    private final MapMarkerViewRepository mapMarkerViewRepository;
+    private final MapMarkerChangeRepository mapMarkerChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double gridCellSize;
+    private final AtomicReference<MarkerSnapshot> snapshot = new AtomicReference<>(MarkerSnapshot.empty());
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public MapMarkerService(MapMarkerViewRepository mapMarkerViewRepository,
+                            MapMarkerChangeRepository mapMarkerChangeRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${map.markers.grid-cell-size:0.25}") double gridCellSize) {
+        this.mapMarkerViewRepository = mapMarkerViewRepository;
+        this.mapMarkerChangeRepository = mapMarkerChangeRepository;
+        this.eventPublisher = eventPublisher;
+        this.gridCellSize = gridCellSize;
     }
 
-    public List<MapMarkerDto> getAllMarkers() {
-        var synopFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                imgwSynopStationRepository::findAll,
-                st -> createBasicMarker(st.getId(), st.getName(), "SYNOP", toDouble(st.getLatitude()), toDouble(st.getLongitude()))));
-
-        var hydroFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                imgwHydroStationRepository::findAll,
-                h -> createBasicMarker(h.getId(), h.getName(), "HYDRO", toDouble(h.getLatitude()), toDouble(h.getLongitude()))));
-
-        var meteoFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                imgwMeteoStationRepository::findAll,
-                m -> createBasicMarker(m.getId(), m.getName(), "METEO", toDouble(m.getLatitude()), toDouble(m.getLongitude()))));
-
-        var spotFuture = CompletableFuture.supplyAsync(() -> fetchAndMap(
-                mapSpotRepository::findAll,
-                this::mapSpotToDto));
-
-        return Stream.of(synopFuture, hydroFuture, meteoFuture, spotFuture)
-                .map(CompletableFuture::join)
-                .flatMap(List::stream)
-                .toList();
+    /**
+     * Returns the markers visible within the given bounds together with their entity tag.
+     *
+     * @param north the northern edge of the bounds
+     * @param south the southern edge of the bounds
+     * @param east the eastern edge of the bounds
+     * @param west the western edge of the bounds
+     * @return the markers whose position lies within the bounds or whose area intersects them
+     */
+    public ETaggedResult<List<MapMarkerDto>> getMarkersInBounds(double north, double south, double east, double west) {
+        MarkerSnapshot current = snapshot.get();
+        return new ETaggedResult<>(
+                ETaggedResult.weakETag(current.fingerprint(), north, south, east, west),
+                () -> {
+                    List<MapMarkerDto> markers = current.inBounds(north, south, east, west);
+                    log.debug("Zmapowano {} punktów dla obszaru ekranu", markers.size());
+                    return markers;
+                });
     }
 
-    private <T> List<MapMarkerDto> fetchAndMap(Supplier<List<T>> dataProvider, Function<T, MapMarkerDto> mapper) {
-        return dataProvider.get().stream()
-                .map(mapper)
-                .filter(Objects::nonNull)
-                .toList();
+    /**
+     * Returns all map markers together with their entity tag.
+     *
+     * @return the markers of all map spots and IMGW stations
+     */
+    public ETaggedResult<List<MapMarkerDto>> getAllMarkers() {
+        MarkerSnapshot current = snapshot.get();
+        return new ETaggedResult<>(ETaggedResult.weakETag(current.fingerprint()), current::all);
     }
 
-    private MapMarkerDto mapSpotToDto(MapSpot spot) {
-        if (spot instanceof RestrictionSpot restriction) {
-            LocalDate today = LocalDate.now();
+    /**
+     * Returns the currently published marker snapshot.
+     *
+     * @return the current snapshot, empty until the first load completes
+     */
+    public MarkerSnapshot getSnapshot() {
+        return snapshot.get();
+    }
 
-            if (restriction.getStartDate() != null && today.isBefore(restriction.getStartDate())) {
-                return null;
-            }
-            if (restriction.getEndDate() != null && today.isAfter(restriction.getEndDate())) {
-                return null;
-            }
+    /**
+     * Refreshes the read-model and loads the first snapshot once the application is ready.
+     */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
 
-            return MapMarkerDto.builder()
-                    .id("SPOT_" + restriction.getId())
-                    .name(restriction.getName())
-                    .type(restriction.getSpotType().name())
-                    .slug(restriction.getSlug())
-                    .description(restriction.getDescription())
-                    .startDate(restriction.getStartDate())
-                    .endDate(restriction.getEndDate())
-                    .restrictionType(restriction.getRestrictionType() != null
-                            ? restriction.getRestrictionType().name() : "TOTAL_BAN")
-                    .polygonCoordinates(restriction.getPolygonCoordinates())
-                    .lat(restriction.getLatitude())
-                    .lng(restriction.getLongitude())
-                    .build();
-        }
+    /**
+     * Reloads the snapshot after a committed change of a map spot.
+     *
+     * @param event the event describing the changed spot
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSpotsChanged(MapSpotsChangedEvent event) {
+        reload();
+    }
 
-        if (spot.getLatitude() == null || spot.getLongitude() == null) {
-            return null;
-        }
+    /**
+     * Reloads the snapshot after an IMGW import has assigned coordinates to stations.
+     *
+     * @param event the event describing the located stations
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStationsLocated(ImgwStationsLocatedEvent event) {
+        reload();
+    }
 
-        return MapMarkerDto.builder()
-                .id("SPOT_" + spot.getId())
-                .name(spot.getName())
-                .type(spot.getSpotType().name())
-                .slug(spot.getSlug())
-                .lat(spot.getLatitude())
-                .lng(spot.getLongitude())
-                .description(spot.getDescription())
-                .build();
+    /**
+     * Reloads the snapshot every night, so restrictions follow their validity dates.
+     */
+    @Scheduled(cron = "${map.marker-view.refresh-cron:0 0 0 * * *}", zone = "Europe/Warsaw")
+    public void scheduleReload() {
+        reload();
     }
 
-    private MapMarkerDto createBasicMarker(String id, String name, String type, Double lat, Double lng) {
-        if (lat == null || lng == null) {
-            return null;
+    /**
+     * Refreshes the marker read-model, builds a new snapshot off to the side and publishes it atomically.
+     * Reloads are serialised, so an older reload can never overwrite a newer snapshot. The latest entry of
+     * the marker change log is read before the refresh, so every change up to it is included in the snapshot.
+     * Failures are logged and leave the previous snapshot in place.
+     */
+    private void reload() {
+        long start = System.currentTimeMillis();
+        MarkerSnapshot loaded;
+
+        reloadLock.lock();
+        try {
+            long changeVersion = mapMarkerChangeRepository.findLatestVersion();
+            mapMarkerViewRepository.refresh();
+            LocalDate today = LocalDate.now();
+            List<MapMarkerRow> rows = mapMarkerViewRepository.findAll(today);
+            loaded = MarkerSnapshot.build(snapshot.get().version() + 1, changeVersion, today, rows, gridCellSize);
+            snapshot.set(loaded);
+        } catch (Exception e) {
+            log.error("Przeładowanie znaczników mapy nie powiodło się", e);
+            return;
+        } finally {
+            reloadLock.unlock();
         }
 
-        return MapMarkerDto.builder()
-                .id(type + "_" + id)
-                .name(name)
-                .type(type)
-                .slug(id)
-                .lat(lat)
-                .lng(lng)
-                .build();
-    }
-
-    private Double toDouble(BigDecimal value) {
-        return value == null ? null : value.doubleValue();
+        log.info("Załadowano {} znaczników mapy (wersja {}, {} ms)",
+                loaded.size(), loaded.version(), System.currentTimeMillis() - start);
+        eventPublisher.publishEvent(new MapMarkersReloadedEvent(loaded.version(), loaded.fingerprint()));
     }
-}
\ No newline at end of file
+}
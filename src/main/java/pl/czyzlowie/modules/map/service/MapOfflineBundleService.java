@@ -0,0 +1,149 @@
+package pl.czyzlowie.modules.map.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.offline.MarkerBundleWriter;
+import pl.czyzlowie.modules.map.offline.OfflineBundleVersion;
+import pl.czyzlowie.modules.map.repository.MapMarkerChangeRepository;
+import pl.czyzlowie.modules.map.snapshot.ETaggedResult;
+import pl.czyzlowie.modules.map.snapshot.MarkerSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service providing the offline marker bundle of the web application and the changes made since a given
+ * bundle version.
+ *
+ * The bundle holds all markers of the current {@link MarkerSnapshot} of {@link MapMarkerService} in the
+ * compact binary format of {@link MarkerBundleWriter}. It is encoded once per snapshot and reused until
+ * a new snapshot is published. Clients keep it up to date by asking for the markers listed in the
+ * {@code map_marker_changes} log after their version: changed markers are sent in their current state and
+ * markers missing from the snapshot as removed. The last {@code overlap} log entries before the client
+ * version are sent again, as log entries are numbered when written but may be committed out of order.
+ *
+ * A client has to download the full bundle again when its version was made for another day, since the set
+ * of restrictions in force changes with the date, or when the log no longer holds the entries following
+ * its version. The log is pruned once a night.
+ */
+@Slf4j
+@Service
+public class MapOfflineBundleService {
+
+    private final MapMarkerService mapMarkerService;
+    private final MapMarkerChangeRepository mapMarkerChangeRepository;
+    private final int overlap;
+    private final int retentionDays;
+    private final AtomicReference<EncodedBundle> bundle = new AtomicReference<>();
+
+    /**
+     * Private record holding the bundle encoded from one marker snapshot.
+     *
+     * @param snapshot the snapshot the bundle was encoded from
+     * @param bytes the compressed bundle
+     */
+    private record EncodedBundle(MarkerSnapshot snapshot, byte[] bytes) {
+    }
+
+    public MapOfflineBundleService(MapMarkerService mapMarkerService,
+                                   MapMarkerChangeRepository mapMarkerChangeRepository,
+                                   @Value("${map.offline.change-overlap:100}") int overlap,
+                                   @Value("${map.offline.change-retention-days:30}") int retentionDays) {
+        this.mapMarkerService = mapMarkerService;
+        this.mapMarkerChangeRepository = mapMarkerChangeRepository;
+        this.overlap = overlap;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Tells whether the first marker snapshot has been loaded, so a bundle can be served.
+     *
+     * @return true once the markers are available
+     */
+    public boolean isReady() {
+        return mapMarkerService.getSnapshot().version() > 0;
+    }
+
+    /**
+     * Returns the full offline bundle of the current markers together with its entity tag.
+     *
+     * @return the compressed bundle
+     */
+    public ETaggedResult<byte[]> getBundle() {
+        MarkerSnapshot current = mapMarkerService.getSnapshot();
+        return new ETaggedResult<>(ETaggedResult.weakETag(current.fingerprint(), versionOf(current).token()),
+                () -> encode(current));
+    }
+
+    /**
+     * Returns the version of the bundle built from the current markers.
+     *
+     * @return the current bundle version
+     */
+    public OfflineBundleVersion getVersion() {
+        return versionOf(mapMarkerService.getSnapshot());
+    }
+
+    /**
+     * Returns the changes turning a bundle of the given version into the current one.
+     *
+     * @param since the version held by the client
+     * @return the compressed changes, or empty if the client has to download the full bundle again
+     */
+    public Optional<byte[]> getChangesSince(OfflineBundleVersion since) {
+        MarkerSnapshot current = mapMarkerService.getSnapshot();
+        OfflineBundleVersion version = versionOf(current);
+        if (!since.day().equals(version.day()) || since.changeVersion() > version.changeVersion()) {
+            return Optional.empty();
+        }
+
+        Long oldest = mapMarkerChangeRepository.findOldestVersion();
+        if (since.changeVersion() < version.changeVersion() && (oldest == null || oldest > since.changeVersion() + 1)) {
+            return Optional.empty();
+        }
+
+        List<MapMarkerDto> upserted = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        long from = Math.max(0, since.changeVersion() - overlap);
+        for (String id : mapMarkerChangeRepository.findChangedMarkerIds(from, version.changeVersion())) {
+            current.find(id).ifPresentOrElse(upserted::add, () -> removed.add(id));
+        }
+
+        log.debug("Zmiany paczki offline od wersji {}: {} zmienionych, {} usuniętych",
+                since.changeVersion(), upserted.size(), removed.size());
+        return Optional.of(MarkerBundleWriter.writeChanges(since, version, upserted, removed));
+    }
+
+    /**
+     * Removes the entries of the marker change log older than the retention period.
+     */
+    @Scheduled(cron = "${map.offline.change-prune-cron:0 30 3 * * *}", zone = "Europe/Warsaw")
+    public void pruneChangeLog() {
+        int removed = mapMarkerChangeRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Usunięto {} wpisów dziennika zmian znaczników starszych niż {} dni", removed, retentionDays);
+    }
+
+    private byte[] encode(MarkerSnapshot snapshot) {
+        EncodedBundle cached = bundle.get();
+        if (cached != null && cached.snapshot() == snapshot) {
+            return cached.bytes();
+        }
+
+        long start = System.currentTimeMillis();
+        byte[] bytes = MarkerBundleWriter.writeBundle(versionOf(snapshot), snapshot.all());
+        bundle.set(new EncodedBundle(snapshot, bytes));
+        log.info("Zakodowano paczkę offline: {} znaczników, {} B, wersja {} ({} ms)",
+                snapshot.size(), bytes.length, snapshot.version(), System.currentTimeMillis() - start);
+        return bytes;
+    }
+
+    private static OfflineBundleVersion versionOf(MarkerSnapshot snapshot) {
+        return new OfflineBundleVersion(snapshot.day(), snapshot.changeVersion());
+    }
+}
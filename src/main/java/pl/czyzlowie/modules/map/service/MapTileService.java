@@ -0,0 +1,242 @@
+package pl.czyzlowie.modules.map.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pl.czyzlowie.modules.map.dto.MapClusterDto;
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.entity.SpotType;
+import pl.czyzlowie.modules.map.event.MapClustersRebuiltEvent;
+import pl.czyzlowie.modules.map.geo.GeoPolygon;
+import pl.czyzlowie.modules.map.snapshot.ETaggedResult;
+import pl.czyzlowie.modules.map.tile.TileCoordinates;
+import pl.czyzlowie.modules.map.tile.VectorTileEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service rendering map spots and restriction areas as Mapbox Vector Tiles.
+ *
+ * Every tile has two layers: {@code markers} with the clusters and single markers of
+ * {@link MapClusterService} at the zoom of the tile, and {@code restrictions} with the polygons of
+ * restriction areas reaching into the tile, taken from the marker snapshot of {@link MapMarkerService}.
+ * Tiles are rendered in memory and kept in a bounded, least recently used cache tied to the fingerprint
+ * of the clustered data, together with the parsed restriction polygons.
+ *
+ * When new cluster indexes are published the cache is replaced by an empty one and the tiles of the low
+ * zoom levels covering Poland are rendered ahead of time on a virtual thread, so the first views of the
+ * map are served straight from memory.
+ */
+@Slf4j
+@Service
+public class MapTileService {
+
+    public static final String MARKERS_LAYER = "markers";
+    public static final String RESTRICTIONS_LAYER = "restrictions";
+
+    private static final double POLAND_SOUTH = 49.0;
+    private static final double POLAND_NORTH = 54.9;
+    private static final double POLAND_WEST = 14.1;
+    private static final double POLAND_EAST = 24.2;
+
+    private final MapClusterService mapClusterService;
+    private final MapMarkerService mapMarkerService;
+    private final int cacheSize;
+    private final int precomputeMaxZoom;
+    private final AtomicReference<TileCache> cache;
+    private final AtomicBoolean precomputePending = new AtomicBoolean();
+    private final ReentrantLock precomputeLock = new ReentrantLock();
+
+    public MapTileService(MapClusterService mapClusterService,
+                          MapMarkerService mapMarkerService,
+                          @Value("${map.tiles.cache-size:4096}") int cacheSize,
+                          @Value("${map.tiles.precompute-max-zoom:8}") int precomputeMaxZoom) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Rozmiar pamięci podręcznej kafelków musi być dodatni: " + cacheSize);
+        }
+        this.mapClusterService = mapClusterService;
+        this.mapMarkerService = mapMarkerService;
+        this.cacheSize = cacheSize;
+        this.precomputeMaxZoom = Math.min(precomputeMaxZoom, TileCoordinates.MAX_ZOOM);
+        this.cache = new AtomicReference<>(new TileCache(mapClusterService.getFingerprint(), cacheSize));
+    }
+
+    /**
+     * Returns the encoded vector tile together with its entity tag.
+     *
+     * @param tile the coordinates of the requested tile
+     * @return the tile in Mapbox Vector Tile encoding, empty when nothing lies within the tile
+     */
+    public ETaggedResult<byte[]> getTile(TileCoordinates tile) {
+        TileCache current = cache.get();
+        return new ETaggedResult<>(
+                ETaggedResult.weakETag(current.fingerprint, tile.z(), tile.x(), tile.y()),
+                () -> current.get(tile));
+    }
+
+    /**
+     * Drops the cached tiles and schedules precomputation after new cluster indexes have been published.
+     *
+     * @param event the event describing the rebuilt clusters
+     */
+    @EventListener
+    public void onClustersRebuilt(MapClustersRebuiltEvent event) {
+        if (cache.get().fingerprint == event.fingerprint()) {
+            return;
+        }
+        cache.set(new TileCache(event.fingerprint(), cacheSize));
+        log.debug("Nowa wersja klastrów mapy {}, czyszczę pamięć podręczną kafelków", event.version());
+        requestPrecompute();
+    }
+
+    /**
+     * Starts rendering the low zoom tiles on a virtual thread unless a run is already waiting to start.
+     * A run stops early once the cache it fills has been replaced.
+     */
+    private void requestPrecompute() {
+        if (precomputePending.getAndSet(true)) {
+            return;
+        }
+        Thread.ofVirtual().name("MapTile-precompute").start(() -> {
+            precomputeLock.lock();
+            try {
+                precomputePending.set(false);
+                precompute();
+            } catch (Exception e) {
+                log.error("Wstępne generowanie kafelków mapy nie powiodło się", e);
+            } finally {
+                precomputeLock.unlock();
+            }
+        });
+    }
+
+    private void precompute() {
+        long start = System.currentTimeMillis();
+        TileCache target = cache.get();
+        int rendered = 0;
+
+        for (int z = 0; z <= precomputeMaxZoom; z++) {
+            TileCoordinates northWest = TileCoordinates.containing(z, POLAND_NORTH, POLAND_WEST);
+            TileCoordinates southEast = TileCoordinates.containing(z, POLAND_SOUTH, POLAND_EAST);
+            for (int x = northWest.x(); x <= southEast.x(); x++) {
+                for (int y = northWest.y(); y <= southEast.y(); y++) {
+                    if (cache.get() != target) {
+                        return;
+                    }
+                    target.get(new TileCoordinates(z, x, y));
+                    rendered++;
+                }
+            }
+        }
+
+        log.info("Wygenerowano wstępnie {} kafelków mapy dla zoomów 0-{} ({} ms)",
+                rendered, precomputeMaxZoom, System.currentTimeMillis() - start);
+    }
+
+    private byte[] render(TileCoordinates tile, TileCache target) {
+        VectorTileEncoder encoder = new VectorTileEncoder(tile);
+        double north = tile.north();
+        double south = tile.south();
+        double east = tile.east();
+        double west = tile.west();
+        double padLat = (north - south) * VectorTileEncoder.BUFFER / VectorTileEncoder.EXTENT;
+        double padLng = (east - west) * VectorTileEncoder.BUFFER / VectorTileEncoder.EXTENT;
+
+        for (MapClusterDto cluster : mapClusterService.getClusters(
+                north + padLat, south - padLat, east + padLng, west - padLng, tile.z()).body().get()) {
+            MapMarkerDto marker = cluster.getMarker();
+            if (marker == null || marker.getLat() != null && marker.getLng() != null) {
+                encoder.addPoint(MARKERS_LAYER, cluster.getLat(), cluster.getLng(), markerProperties(cluster));
+            }
+        }
+
+        for (MapMarkerDto marker : mapMarkerService.getSnapshot().inBounds(north, south, east, west)) {
+            if (SpotType.RESTRICTION.name().equals(marker.getType()) && marker.getPolygonCoordinates() != null) {
+                target.polygon(marker).ifPresent(polygon ->
+                        encoder.addPolygon(RESTRICTIONS_LAYER, polygon, restrictionProperties(marker)));
+            }
+        }
+
+        return encoder.encode();
+    }
+
+    private static Map<String, Object> markerProperties(MapClusterDto cluster) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", cluster.getId());
+        properties.put("type", cluster.getType());
+        properties.put("count", cluster.getCount());
+        properties.put("expansionZoom", cluster.getExpansionZoom());
+        MapMarkerDto marker = cluster.getMarker();
+        if (marker != null) {
+            properties.put("name", marker.getName());
+            properties.put("slug", marker.getSlug());
+            properties.put("restrictionType", marker.getRestrictionType());
+        }
+        return properties;
+    }
+
+    private static Map<String, Object> restrictionProperties(MapMarkerDto marker) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", marker.getId());
+        properties.put("name", marker.getName());
+        properties.put("slug", marker.getSlug());
+        properties.put("restrictionType", marker.getRestrictionType());
+        properties.put("startDate", marker.getStartDate());
+        properties.put("endDate", marker.getEndDate());
+        return properties;
+    }
+
+    /**
+     * One generation of rendered tiles, valid for a single fingerprint of the clustered data. Tiles are
+     * rendered outside the lock, so concurrent requests for different tiles do not wait for each other.
+     */
+    private final class TileCache {
+
+        private final long fingerprint;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<TileCoordinates, byte[]> tiles;
+        private final Map<String, Optional<GeoPolygon>> polygons = new ConcurrentHashMap<>();
+
+        private TileCache(long fingerprint, int capacity) {
+            this.fingerprint = fingerprint;
+            this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TileCoordinates, byte[]> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private byte[] get(TileCoordinates tile) {
+            lock.lock();
+            try {
+                byte[] cached = tiles.get(tile);
+                if (cached != null) {
+                    return cached;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            byte[] rendered = render(tile, this);
+            lock.lock();
+            try {
+                tiles.putIfAbsent(tile, rendered);
+            } finally {
+                lock.unlock();
+            }
+            return rendered;
+        }
+
+        private Optional<GeoPolygon> polygon(MapMarkerDto marker) {
+            return polygons.computeIfAbsent(marker.getId(), id -> GeoPolygon.parse(marker.getPolygonCoordinates()));
+        }
+    }
+}
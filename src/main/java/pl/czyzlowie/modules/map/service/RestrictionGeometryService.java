@@ -0,0 +1,53 @@
+package pl.czyzlowie.modules.map.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.czyzlowie.modules.map.entity.RestrictionSpot;
+import pl.czyzlowie.modules.map.repository.MapSpotRepository;
+
+import java.util.List;
+
+/**
+ * Service preparing restriction polygons that were saved before polygon preprocessing existed.
+ *
+ * New and edited restrictions are preprocessed by {@link RestrictionSpot#updateGeometry()} when they are
+ * saved. Rows that predate the encoded variants are loaded once the application is ready, in a single
+ * transaction run before the marker snapshot is loaded. Each one is prepared through the same method and
+ * written back by dirty checking on commit, which then triggers a regular reload of the map markers.
+ * A failure rolls the batch back, is logged and is retried on the next start.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestrictionGeometryService {
+
+    private final MapSpotRepository mapSpotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Prepares the polygons of all restrictions still lacking their encoded variants.
+     */
+    @Order(-1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareMissingPolygons() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<RestrictionSpot> restrictions = mapSpotRepository.findRestrictionsWithoutPolygonLevels();
+                if (restrictions.isEmpty()) {
+                    return;
+                }
+
+                restrictions.forEach(RestrictionSpot::updateGeometry);
+                long prepared = restrictions.stream().filter(r -> r.getPolygonLodHigh() != null).count();
+                log.info("Przygotowano wielokąty {} z {} obszarów zakazów", prepared, restrictions.size());
+            });
+        } catch (Exception e) {
+            log.error("Przygotowanie wielokątów obszarów zakazów nie powiodło się", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package pl.czyzlowie.modules.map.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pl.czyzlowie.core.concurrent.CoalescingRebuilder;
+import pl.czyzlowie.modules.map.dto.RestrictionZoneDto;
+import pl.czyzlowie.modules.map.event.MapMarkersReloadedEvent;
+import pl.czyzlowie.modules.map.repository.MapMarkerViewRepository;
+import pl.czyzlowie.modules.map.restriction.RestrictionZoneIndex;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service answering which fishing restrictions apply at a given position.
+ *
+ * Lookups are served from an in-memory {@link RestrictionZoneIndex} published through an
+ * {@link AtomicReference}. The index is rebuilt from the {@code map_marker_view} read-model whenever a new
+ * marker snapshot is published, so it follows changes of restrictions and the nightly refresh. The set of
+ * restrictions in force is computed once per day: the first lookup on a new day derives it and publishes
+ * the derived index for all following lookups.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestrictionZoneService {
+
+    private final MapMarkerViewRepository mapMarkerViewRepository;
+    private final AtomicReference<RestrictionZoneIndex> index = new AtomicReference<>(RestrictionZoneIndex.empty());
+    private final CoalescingRebuilder rebuilder =
+            new CoalescingRebuilder("RestrictionZone-rebuild", "Budowa indeksu obszarów zakazów nie powiodła się", this::rebuild);
+
+    /**
+     * Returns the restrictions in force today whose area contains the given position.
+     *
+     * @param lat the latitude of the position
+     * @param lon the longitude of the position
+     * @return the restrictions applying at the position
+     */
+    public List<RestrictionZoneDto> findActiveAt(double lat, double lon) {
+        return currentIndex().findAt(lat, lon);
+    }
+
+    /**
+     * Returns the restrictions in force on the given day whose area contains the given position.
+     *
+     * @param lat the latitude of the position
+     * @param lon the longitude of the position
+     * @param date the day to check validity against
+     * @return the restrictions applying at the position on that day
+     */
+    public List<RestrictionZoneDto> findActiveAt(double lat, double lon, LocalDate date) {
+        return currentIndex().findAt(lat, lon, date);
+    }
+
+    /**
+     * Schedules a rebuild of the index after a new marker snapshot has been published.
+     *
+     * @param event the event describing the new marker snapshot
+     */
+    @EventListener
+    public void onMarkersReloaded(MapMarkersReloadedEvent event) {
+        rebuilder.request();
+    }
+
+    /**
+     * Returns the published index, switching it to the current day first if the day has changed.
+     */
+    private RestrictionZoneIndex currentIndex() {
+        LocalDate today = LocalDate.now();
+        RestrictionZoneIndex current = index.get();
+        if (current.day().equals(today)) {
+            return current;
+        }
+        RestrictionZoneIndex forToday = current.forDay(today);
+        index.compareAndSet(current, forToday);
+        return forToday;
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        RestrictionZoneIndex built = RestrictionZoneIndex.build(LocalDate.now(), mapMarkerViewRepository.findAllRestrictions());
+        index.set(built);
+        log.info("Zbudowano indeks obszarów zakazów: {} wielokątów ({} ms)", built.size(), System.currentTimeMillis() - start);
+    }
+}
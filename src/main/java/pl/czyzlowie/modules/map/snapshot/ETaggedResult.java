@@ -0,0 +1,27 @@
+package pl.czyzlowie.modules.map.snapshot;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A response body paired with the entity tag identifying it, so a controller can answer a conditional
+ * request with 304 before the body is materialised. Both are taken from the same snapshot, which keeps
+ * the tag and the content consistent even while a new snapshot is being published.
+ *
+ * @param eTag the entity tag of the response
+ * @param body the supplier of the response body, evaluated only when the body is sent
+ * @param <T> the type of the response body
+ */
+public record ETaggedResult<T>(String eTag, Supplier<T> body) {
+
+    /**
+     * Builds a weak entity tag from a snapshot fingerprint and the parameters of the requested view.
+     *
+     * @param fingerprint the content fingerprint of the snapshot serving the response
+     * @param view the parameters selecting the returned part of the snapshot, such as bounds or zoom
+     * @return the entity tag in its quoted, weak form
+     */
+    public static String weakETag(long fingerprint, Object... view) {
+        return "W/\"" + Long.toHexString(fingerprint) + "-" + Integer.toHexString(Arrays.hashCode(view)) + "\"";
+    }
+}
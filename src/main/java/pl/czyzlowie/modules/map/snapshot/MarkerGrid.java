@@ -0,0 +1,174 @@
+package pl.czyzlowie.modules.map.snapshot;
+
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * A static uniform grid over marker positions and area bounding boxes, in decimal degrees.
+ *
+ * The grid covers the extent of all indexed items with square cells of a fixed size. Cell contents are
+ * stored in compressed sparse row form: {@code cellStart[c]..cellStart[c + 1]} delimits the slice of
+ * {@code cellItems} holding the items of cell {@code c}. A point lies in exactly one cell, while an area
+ * is registered in every cell its bounding box (extended by its marker position) overlaps. Queries return
+ * candidates only; callers apply the exact bounds test.
+ */
+final class MarkerGrid {
+
+    private static final int MAX_CELLS = 1 << 20;
+
+    private final double minLat;
+    private final double minLng;
+    private final double cellSize;
+    private final int rows;
+    private final int cols;
+    private final int[] cellStart;
+    private final int[] cellItems;
+    private final boolean[] multiCell;
+
+    /**
+     * Builds the grid over the given items. Missing values are represented by {@link Double#NaN};
+     * items with neither a position nor a bounding box are not indexed.
+     *
+     * @param lats the latitudes of the items
+     * @param lngs the longitudes of the items
+     * @param south the southern edges of item bounding boxes
+     * @param north the northern edges of item bounding boxes
+     * @param west the western edges of item bounding boxes
+     * @param east the eastern edges of item bounding boxes
+     * @param requestedCellSize the preferred cell size in degrees, enlarged if the grid would be too big
+     */
+    MarkerGrid(double[] lats, double[] lngs, double[] south, double[] north, double[] west, double[] east,
+               double requestedCellSize) {
+        int size = lats.length;
+        double[] extent = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (int i = 0; i < size; i++) {
+            extend(extent, lats[i], lats[i], lngs[i], lngs[i]);
+            extend(extent, south[i], north[i], west[i], east[i]);
+        }
+
+        this.multiCell = new boolean[size];
+        if (extent[0] > extent[1]) {
+            this.minLat = 0;
+            this.minLng = 0;
+            this.cellSize = requestedCellSize;
+            this.rows = 0;
+            this.cols = 0;
+            this.cellStart = new int[1];
+            this.cellItems = new int[0];
+            return;
+        }
+
+        double cell = requestedCellSize;
+        while (cellCount(extent, cell) > MAX_CELLS) {
+            cell *= 2;
+        }
+        this.minLat = extent[0];
+        this.minLng = extent[2];
+        this.cellSize = cell;
+        this.rows = (int) ((extent[1] - extent[0]) / cell) + 1;
+        this.cols = (int) ((extent[3] - extent[2]) / cell) + 1;
+
+        int[][] ranges = new int[size][];
+        int[] counts = new int[rows * cols + 1];
+        for (int i = 0; i < size; i++) {
+            ranges[i] = cellRange(lats[i], lngs[i], south[i], north[i], west[i], east[i]);
+            if (ranges[i] == null) {
+                continue;
+            }
+            multiCell[i] = ranges[i][0] != ranges[i][1] || ranges[i][2] != ranges[i][3];
+            for (int row = ranges[i][0]; row <= ranges[i][1]; row++) {
+                for (int col = ranges[i][2]; col <= ranges[i][3]; col++) {
+                    counts[row * cols + col + 1]++;
+                }
+            }
+        }
+
+        for (int c = 1; c < counts.length; c++) {
+            counts[c] += counts[c - 1];
+        }
+        this.cellStart = counts.clone();
+        this.cellItems = new int[counts[counts.length - 1]];
+
+        for (int i = 0; i < size; i++) {
+            if (ranges[i] == null) {
+                continue;
+            }
+            for (int row = ranges[i][0]; row <= ranges[i][1]; row++) {
+                for (int col = ranges[i][2]; col <= ranges[i][3]; col++) {
+                    cellItems[counts[row * cols + col]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports every item registered in a cell overlapping the given bounds, each at most once.
+     *
+     * @param north the northern edge of the bounds
+     * @param south the southern edge of the bounds
+     * @param east the eastern edge of the bounds
+     * @param west the western edge of the bounds
+     * @param consumer the consumer receiving the candidate item indexes
+     */
+    void query(double north, double south, double east, double west, IntConsumer consumer) {
+        if (rows == 0 || north < south || east < west) {
+            return;
+        }
+        int rowFrom = Math.max(0, row(south));
+        int rowTo = Math.min(rows - 1, row(north));
+        int colFrom = Math.max(0, col(west));
+        int colTo = Math.min(cols - 1, col(east));
+        if (rowFrom > rowTo || colFrom > colTo) {
+            return;
+        }
+
+        BitSet reported = new BitSet(multiCell.length);
+        for (int row = rowFrom; row <= rowTo; row++) {
+            for (int col = colFrom; col <= colTo; col++) {
+                int cell = row * cols + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int item = cellItems[k];
+                    if (multiCell[item]) {
+                        if (reported.get(item)) {
+                            continue;
+                        }
+                        reported.set(item);
+                    }
+                    consumer.accept(item);
+                }
+            }
+        }
+    }
+
+    private int[] cellRange(double lat, double lng, double south, double north, double west, double east) {
+        double[] box = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        extend(box, lat, lat, lng, lng);
+        extend(box, south, north, west, east);
+        if (box[0] > box[1]) {
+            return null;
+        }
+        return new int[]{row(box[0]), row(box[1]), col(box[2]), col(box[3])};
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat - minLat) / cellSize);
+    }
+
+    private int col(double lng) {
+        return (int) Math.floor((lng - minLng) / cellSize);
+    }
+
+    private static long cellCount(double[] extent, double cell) {
+        return ((long) ((extent[1] - extent[0]) / cell) + 1) * ((long) ((extent[3] - extent[2]) / cell) + 1);
+    }
+
+    private static void extend(double[] extent, double south, double north, double west, double east) {
+        if (Double.isNaN(south) || Double.isNaN(north) || Double.isNaN(west) || Double.isNaN(east)) {
+            return;
+        }
+        extent[0] = Math.min(extent[0], south);
+        extent[1] = Math.max(extent[1], north);
+        extent[2] = Math.min(extent[2], west);
+        extent[3] = Math.max(extent[3], east);
+    }
+}
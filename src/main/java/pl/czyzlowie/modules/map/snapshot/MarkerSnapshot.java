@@ -0,0 +1,284 @@
+package pl.czyzlowie.modules.map.snapshot;
+
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.geo.PolygonLevels;
+import pl.czyzlowie.modules.map.projection.MapMarkerRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable, versioned snapshot of all map markers held in memory in a column-oriented layout.
+ *
+ * Every attribute is stored in its own array indexed by marker position. Coordinates are kept as primitive
+ * doubles ({@link Double#NaN} when absent), and the low-cardinality marker and restriction types are
+ * dictionary-encoded into bytes. The encoded variants of restriction polygons are kept for every level of
+ * detail, so callers can pick one per zoom. Marker DTOs are only materialised for the markers actually
+ * returned.
+ * Viewport queries go through a {@link MarkerGrid} and are then checked exactly, using the same rule as
+ * the database query they replace: a marker matches when its position lies within the bounds or the
+ * bounding box of its area intersects them.
+ *
+ * Besides a sequential version the snapshot carries a fingerprint of its content. The fingerprint does not
+ * depend on the process, so it identifies the same data across restarts and can back HTTP entity tags.
+ * It also records the last entry of the {@code map_marker_changes} log it is known to include, which lets
+ * clients holding an older copy of the markers ask only for the markers changed since.
+ */
+public final class MarkerSnapshot {
+
+    private static final MarkerSnapshot EMPTY = build(0, 0, LocalDate.MIN, List.of(), 1.0);
+
+    private final long version;
+    private final long fingerprint;
+    private final long changeVersion;
+    private final LocalDate day;
+    private final String[] ids;
+    private final byte[] types;
+    private final String[] typeDictionary;
+    private final String[] names;
+    private final String[] slugs;
+    private final double[] lats;
+    private final double[] lngs;
+    private final String[] descriptions;
+    private final byte[] restrictionTypes;
+    private final String[] restrictionDictionary;
+    private final LocalDate[] startDates;
+    private final LocalDate[] endDates;
+    private final String[] polygons;
+    private final double[] areas;
+    private final PolygonLevels[] polygonLevels;
+    private final double[] south;
+    private final double[] north;
+    private final double[] west;
+    private final double[] east;
+    private final MarkerGrid grid;
+    private final Map<String, Integer> positions;
+
+    private MarkerSnapshot(long version, long changeVersion, LocalDate day, List<MapMarkerRow> rows, double cellSize) {
+        int size = rows.size();
+        this.version = version;
+        this.changeVersion = changeVersion;
+        this.day = day;
+        this.ids = new String[size];
+        this.types = new byte[size];
+        this.names = new String[size];
+        this.slugs = new String[size];
+        this.lats = new double[size];
+        this.lngs = new double[size];
+        this.descriptions = new String[size];
+        this.restrictionTypes = new byte[size];
+        this.startDates = new LocalDate[size];
+        this.endDates = new LocalDate[size];
+        this.polygons = new String[size];
+        this.areas = new double[size];
+        this.polygonLevels = new PolygonLevels[size];
+        this.south = new double[size];
+        this.north = new double[size];
+        this.west = new double[size];
+        this.east = new double[size];
+        this.positions = HashMap.newHashMap(size);
+
+        Map<String, Byte> typeCodes = new HashMap<>();
+        Map<String, Byte> restrictionCodes = new HashMap<>();
+        long hash = 1125899906842597L;
+
+        for (int i = 0; i < size; i++) {
+            MapMarkerRow row = rows.get(i);
+            ids[i] = row.id();
+            positions.put(row.id(), i);
+            types[i] = encode(typeCodes, row.type());
+            names[i] = row.name();
+            slugs[i] = row.slug();
+            lats[i] = orNaN(row.latitude());
+            lngs[i] = orNaN(row.longitude());
+            descriptions[i] = row.description();
+            restrictionTypes[i] = encode(restrictionCodes, row.restrictionType());
+            startDates[i] = row.startDate();
+            endDates[i] = row.endDate();
+            polygons[i] = row.polygonCoordinates();
+            areas[i] = orNaN(row.polygonAreaKm2());
+            PolygonLevels levels = new PolygonLevels(row.polygonLodLow(), row.polygonLodMedium(), row.polygonLodHigh());
+            polygonLevels[i] = levels.isComplete() ? levels : null;
+
+            boolean hasBox = row.hasBoundingBox();
+            south[i] = hasBox ? row.bboxSouth() : Double.NaN;
+            north[i] = hasBox ? row.bboxNorth() : Double.NaN;
+            west[i] = hasBox ? row.bboxWest() : Double.NaN;
+            east[i] = hasBox ? row.bboxEast() : Double.NaN;
+
+            hash = 31 * hash + row.hashCode();
+        }
+
+        this.fingerprint = hash;
+        this.typeDictionary = dictionary(typeCodes);
+        this.restrictionDictionary = dictionary(restrictionCodes);
+        this.grid = new MarkerGrid(lats, lngs, south, north, west, east, cellSize);
+    }
+
+    /**
+     * Returns a snapshot without any markers.
+     *
+     * @return the empty snapshot
+     */
+    public static MarkerSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from the rows of the marker read-model.
+     *
+     * @param version the sequential version of the snapshot
+     * @param changeVersion the last entry of the marker change log included in the rows
+     * @param day the day for which restriction validity was evaluated
+     * @param rows the marker rows, in a stable order
+     * @param cellSize the preferred cell size of the grid index, in degrees
+     * @return the built snapshot
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public static MarkerSnapshot build(long version, long changeVersion, LocalDate day, List<MapMarkerRow> rows,
+                                       double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Rozmiar komórki siatki musi być dodatni: " + cellSize);
+        }
+        return new MarkerSnapshot(version, changeVersion, day, rows, cellSize);
+    }
+
+    /**
+     * Returns all markers of the snapshot.
+     *
+     * @return the markers in snapshot order
+     */
+    public List<MapMarkerDto> all() {
+        List<MapMarkerDto> result = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            result.add(toDto(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the marker with the given identifier.
+     *
+     * @param id the marker identifier, e.g. {@code SPOT_12}
+     * @return the marker, or empty if the snapshot does not hold it
+     */
+    public Optional<MapMarkerDto> find(String id) {
+        Integer i = positions.get(id);
+        return i == null ? Optional.empty() : Optional.of(toDto(i));
+    }
+
+    /**
+     * Returns the markers whose position lies within the bounds or whose area intersects them.
+     *
+     * @param north the northern edge of the bounds
+     * @param south the southern edge of the bounds
+     * @param east the eastern edge of the bounds
+     * @param west the western edge of the bounds
+     * @return the markers visible within the bounds
+     */
+    public List<MapMarkerDto> inBounds(double north, double south, double east, double west) {
+        List<MapMarkerDto> result = new ArrayList<>();
+        grid.query(north, south, east, west, i -> {
+            if (matches(i, north, south, east, west)) {
+                result.add(toDto(i));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the sequential version of the snapshot within the running application.
+     *
+     * @return the snapshot version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the fingerprint of the snapshot content, equal for snapshots holding the same markers.
+     *
+     * @return the content fingerprint
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the last entry of the marker change log whose change the snapshot is known to include.
+     *
+     * @return the change log version of the snapshot, 0 if the log was empty
+     */
+    public long changeVersion() {
+        return changeVersion;
+    }
+
+    /**
+     * Returns the day for which restriction validity was evaluated.
+     *
+     * @return the snapshot day
+     */
+    public LocalDate day() {
+        return day;
+    }
+
+    /**
+     * Returns the number of markers in the snapshot.
+     *
+     * @return the number of markers
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    private boolean matches(int i, double n, double s, double e, double w) {
+        boolean pointInside = lats[i] >= s && lats[i] <= n && lngs[i] >= w && lngs[i] <= e;
+        boolean areaIntersects = south[i] <= n && north[i] >= s && west[i] <= e && east[i] >= w;
+        return pointInside || areaIntersects;
+    }
+
+    private MapMarkerDto toDto(int i) {
+        return MapMarkerDto.builder()
+                .id(ids[i])
+                .type(typeDictionary[types[i]])
+                .name(names[i])
+                .slug(slugs[i])
+                .lat(Double.isNaN(lats[i]) ? null : lats[i])
+                .lng(Double.isNaN(lngs[i]) ? null : lngs[i])
+                .description(descriptions[i])
+                .restrictionType(restrictionDictionary[restrictionTypes[i]])
+                .startDate(startDates[i])
+                .endDate(endDates[i])
+                .polygonCoordinates(polygons[i])
+                .polygonAreaKm2(Double.isNaN(areas[i]) ? null : areas[i])
+                .polygonLevels(polygonLevels[i])
+                .build();
+    }
+
+    private static byte encode(Map<String, Byte> codes, String value) {
+        Byte code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (codes.size() > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Zbyt wiele różnych wartości w słowniku znaczników: " + codes.size());
+        }
+        byte next = (byte) codes.size();
+        codes.put(value, next);
+        return next;
+    }
+
+    private static String[] dictionary(Map<String, Byte> codes) {
+        String[] values = new String[codes.size()];
+        codes.forEach((value, code) -> values[code] = value);
+        return values;
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
@@ -0,0 +1,86 @@
+package pl.czyzlowie.modules.map.tile;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A minimal writer of the protocol buffers wire format, covering the field types used by vector tiles:
+ * varints, zigzag-encoded signed integers, 64-bit doubles, strings and length-delimited messages.
+ */
+final class ProtobufWriter {
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    void writeVarintField(int field, long value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint(value);
+    }
+
+    void writeSintField(int field, long value) {
+        writeVarintField(field, zigzag(value));
+    }
+
+    void writeBoolField(int field, boolean value) {
+        writeVarintField(field, value ? 1 : 0);
+    }
+
+    void writeDoubleField(int field, double value) {
+        writeTag(field, WIRE_FIXED64);
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            out.write((int) (bits >>> (8 * i)) & 0xFF);
+        }
+    }
+
+    void writeStringField(int field, String value) {
+        writeBytesField(field, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeBytesField(int field, byte[] value) {
+        writeTag(field, WIRE_LENGTH_DELIMITED);
+        writeVarint(value.length);
+        out.writeBytes(value);
+    }
+
+    /**
+     * Writes a packed repeated field of unsigned 32-bit integers.
+     */
+    void writePackedField(int field, int[] values, int length) {
+        if (length == 0) {
+            return;
+        }
+        ProtobufWriter packed = new ProtobufWriter();
+        for (int i = 0; i < length; i++) {
+            packed.writeVarint(values[i] & 0xFFFFFFFFL);
+        }
+        writeBytesField(field, packed.toByteArray());
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
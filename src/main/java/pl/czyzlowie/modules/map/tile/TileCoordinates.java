@@ -0,0 +1,122 @@
+package pl.czyzlowie.modules.map.tile;
+
+/**
+ * The address of a tile in the Web Mercator tile pyramid, as used in {@code /{z}/{x}/{y}} URLs.
+ *
+ * @param z the zoom level
+ * @param x the column of the tile, counted from the west
+ * @param y the row of the tile, counted from the north
+ */
+public record TileCoordinates(int z, int x, int y) {
+
+    /**
+     * The highest supported zoom level.
+     */
+    public static final int MAX_ZOOM = 22;
+
+    public TileCoordinates {
+        if (!isValid(z, x, y)) {
+            throw new IllegalArgumentException("Kafelek " + z + "/" + x + "/" + y + " leży poza siatką");
+        }
+    }
+
+    /**
+     * Checks whether the given address denotes an existing tile.
+     *
+     * @param z the zoom level
+     * @param x the column of the tile
+     * @param y the row of the tile
+     * @return {@code true} if the zoom is supported and both indexes lie within the grid of that zoom
+     */
+    public static boolean isValid(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            return false;
+        }
+        int size = 1 << z;
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    /**
+     * Returns the latitude of the northern edge of the tile.
+     *
+     * @return the northern edge in degrees
+     */
+    public double north() {
+        return rowLat(y);
+    }
+
+    /**
+     * Returns the latitude of the southern edge of the tile.
+     *
+     * @return the southern edge in degrees
+     */
+    public double south() {
+        return rowLat(y + 1);
+    }
+
+    /**
+     * Returns the longitude of the western edge of the tile.
+     *
+     * @return the western edge in degrees
+     */
+    public double west() {
+        return columnLng(x);
+    }
+
+    /**
+     * Returns the longitude of the eastern edge of the tile.
+     *
+     * @return the eastern edge in degrees
+     */
+    public double east() {
+        return columnLng(x + 1);
+    }
+
+    /**
+     * Projects a longitude onto the horizontal axis of the tile.
+     *
+     * @param lng the longitude in degrees
+     * @param extent the number of tile units along one edge of the tile
+     * @return the horizontal tile coordinate, between 0 and {@code extent} for points inside the tile
+     */
+    public double projectX(double lng, int extent) {
+        return ((lng / 360 + 0.5) * (1 << z) - x) * extent;
+    }
+
+    /**
+     * Projects a latitude onto the vertical axis of the tile, growing southwards.
+     *
+     * @param lat the latitude in degrees
+     * @param extent the number of tile units along one edge of the tile
+     * @return the vertical tile coordinate, between 0 and {@code extent} for points inside the tile
+     */
+    public double projectY(double lat, int extent) {
+        double sin = Math.sin(Math.toRadians(Math.clamp(lat, -85.0511, 85.0511)));
+        double mercator = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return (mercator * (1 << z) - y) * extent;
+    }
+
+    /**
+     * Returns the coordinates of the tile containing the given position at the given zoom.
+     *
+     * @param z the zoom level
+     * @param lat the latitude in degrees
+     * @param lng the longitude in degrees
+     * @return the containing tile
+     */
+    public static TileCoordinates containing(int z, double lat, double lng) {
+        TileCoordinates origin = new TileCoordinates(z, 0, 0);
+        int max = (1 << z) - 1;
+        int x = Math.clamp((long) Math.floor(origin.projectX(lng, 1)), 0, max);
+        int y = Math.clamp((long) Math.floor(origin.projectY(lat, 1)), 0, max);
+        return new TileCoordinates(z, x, y);
+    }
+
+    private double columnLng(int column) {
+        return (double) column / (1 << z) * 360 - 180;
+    }
+
+    private double rowLat(int row) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2.0 * row / (1 << z)))));
+    }
+}
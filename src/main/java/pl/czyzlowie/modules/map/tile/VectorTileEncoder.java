@@ -0,0 +1,344 @@
+package pl.czyzlowie.modules.map.tile;
+
+import pl.czyzlowie.modules.map.geo.GeoPolygon;
+import pl.czyzlowie.modules.map.geo.PolylineSimplifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes point and polygon features of a single tile into the Mapbox Vector Tile format (version 2).
+ *
+ * Geometries are projected into tile space with {@link #EXTENT} units per tile edge. Polygon rings are
+ * simplified with {@link PolylineSimplifier} to half a screen pixel, clipped to the tile extended by
+ * {@link #BUFFER} units and oriented as the specification requires: outer rings with a positive area,
+ * holes with a negative one, with the y axis pointing down. Feature properties are stored in the shared
+ * key and value tables of their layer. Layers are written in the order their first feature was added,
+ * and layers without features are omitted.
+ */
+public final class VectorTileEncoder {
+
+    /**
+     * The number of tile units along one edge of a tile.
+     */
+    public static final int EXTENT = 4096;
+
+    /**
+     * The margin around the tile, in tile units, within which geometries are still kept.
+     */
+    public static final int BUFFER = 64;
+
+    private static final double SIMPLIFY_TOLERANCE = EXTENT / 256.0 / 2;
+
+    private static final int GEOMETRY_POINT = 1;
+    private static final int GEOMETRY_POLYGON = 3;
+    private static final int COMMAND_MOVE_TO = 1;
+    private static final int COMMAND_LINE_TO = 2;
+    private static final int COMMAND_CLOSE_PATH = 7;
+
+    private final TileCoordinates tile;
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+
+    /**
+     * Creates an encoder for the given tile.
+     *
+     * @param tile the tile whose features are encoded
+     */
+    public VectorTileEncoder(TileCoordinates tile) {
+        this.tile = tile;
+    }
+
+    /**
+     * Adds a point feature to the given layer unless it lies outside the buffered tile.
+     *
+     * @param layer the name of the layer
+     * @param lat the latitude of the point
+     * @param lng the longitude of the point
+     * @param properties the feature properties; {@code null} values are skipped
+     * @return {@code true} if the feature was added
+     */
+    public boolean addPoint(String layer, double lat, double lng, Map<String, ?> properties) {
+        int x = (int) Math.round(tile.projectX(lng, EXTENT));
+        int y = (int) Math.round(tile.projectY(lat, EXTENT));
+        if (x < -BUFFER || x > EXTENT + BUFFER || y < -BUFFER || y > EXTENT + BUFFER) {
+            return false;
+        }
+
+        Geometry geometry = new Geometry();
+        geometry.command(COMMAND_MOVE_TO, 1);
+        geometry.point(x, y);
+        layer(layer).addFeature(GEOMETRY_POINT, geometry, properties);
+        return true;
+    }
+
+    /**
+     * Adds a polygon feature to the given layer, keeping only the parts that reach into the buffered tile.
+     *
+     * @param layer the name of the layer
+     * @param polygon the polygon geometry in geographic coordinates
+     * @param properties the feature properties; {@code null} values are skipped
+     * @return {@code true} if at least one outer ring remained after simplification and clipping
+     */
+    public boolean addPolygon(String layer, GeoPolygon polygon, Map<String, ?> properties) {
+        Geometry geometry = new Geometry();
+
+        for (List<double[]> rings : polygon.polygons()) {
+            for (int r = 0; r < rings.size(); r++) {
+                int[] ring = toTileRing(rings.get(r), r == 0);
+                if (ring == null) {
+                    if (r == 0) {
+                        break;
+                    }
+                    continue;
+                }
+
+                int count = ring.length / 2;
+                geometry.command(COMMAND_MOVE_TO, 1);
+                geometry.point(ring[0], ring[1]);
+                geometry.command(COMMAND_LINE_TO, count - 1);
+                for (int i = 1; i < count; i++) {
+                    geometry.point(ring[2 * i], ring[2 * i + 1]);
+                }
+                geometry.command(COMMAND_CLOSE_PATH, 1);
+            }
+        }
+
+        if (geometry.size == 0) {
+            return false;
+        }
+        layer(layer).addFeature(GEOMETRY_POLYGON, geometry, properties);
+        return true;
+    }
+
+    /**
+     * Returns whether no feature has been added yet.
+     *
+     * @return {@code true} if the tile has no features
+     */
+    public boolean isEmpty() {
+        return layers.isEmpty();
+    }
+
+    /**
+     * Encodes all added features into a vector tile.
+     *
+     * @return the protocol buffers encoding of the tile
+     */
+    public byte[] encode() {
+        ProtobufWriter writer = new ProtobufWriter();
+        layers.values().forEach(layer -> writer.writeBytesField(3, layer.encode()));
+        return writer.toByteArray();
+    }
+
+    private Layer layer(String name) {
+        return layers.computeIfAbsent(name, Layer::new);
+    }
+
+    /**
+     * Projects, simplifies, clips and orients one ring.
+     *
+     * @return the ring as interleaved integer tile coordinates, or {@code null} if it degenerated
+     */
+    private int[] toTileRing(double[] ring, boolean outer) {
+        double[] projected = new double[ring.length];
+        for (int i = 0; i < ring.length; i += 2) {
+            projected[i] = tile.projectX(ring[i + 1], EXTENT);
+            projected[i + 1] = tile.projectY(ring[i], EXTENT);
+        }
+
+        double[] clipped = clip(PolylineSimplifier.simplifyRing(projected, SIMPLIFY_TOLERANCE));
+        if (clipped.length < 6) {
+            return null;
+        }
+
+        int[] rounded = new int[clipped.length];
+        int size = 0;
+        for (int i = 0; i < clipped.length; i += 2) {
+            int x = (int) Math.round(clipped[i]);
+            int y = (int) Math.round(clipped[i + 1]);
+            if (size > 0 && rounded[size - 2] == x && rounded[size - 1] == y) {
+                continue;
+            }
+            rounded[size++] = x;
+            rounded[size++] = y;
+        }
+        if (size >= 4 && rounded[0] == rounded[size - 2] && rounded[1] == rounded[size - 1]) {
+            size -= 2;
+        }
+        if (size < 6) {
+            return null;
+        }
+
+        int[] result = Arrays.copyOf(rounded, size);
+        long area = signedArea(result);
+        if (area == 0) {
+            return null;
+        }
+        if ((area > 0) != outer) {
+            reverse(result);
+        }
+        return result;
+    }
+
+    /**
+     * Clips a ring to the buffered tile with the Sutherland–Hodgman algorithm.
+     */
+    private static double[] clip(double[] ring) {
+        double min = -BUFFER;
+        double max = EXTENT + BUFFER;
+        double[] result = clipEdge(ring, 0, min, true);
+        result = clipEdge(result, 0, max, false);
+        result = clipEdge(result, 1, min, true);
+        return clipEdge(result, 1, max, false);
+    }
+
+    private static double[] clipEdge(double[] ring, int axis, double bound, boolean keepAbove) {
+        int count = ring.length / 2;
+        if (count == 0) {
+            return ring;
+        }
+
+        double[] out = new double[ring.length * 2];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int prev = (i + count - 1) % count;
+            double current = ring[2 * i + axis];
+            double previous = ring[2 * prev + axis];
+            boolean currentInside = keepAbove ? current >= bound : current <= bound;
+            boolean previousInside = keepAbove ? previous >= bound : previous <= bound;
+
+            if (currentInside != previousInside) {
+                double t = (bound - previous) / (current - previous);
+                out[size++] = ring[2 * prev] + t * (ring[2 * i] - ring[2 * prev]);
+                out[size++] = ring[2 * prev + 1] + t * (ring[2 * i + 1] - ring[2 * prev + 1]);
+            }
+            if (currentInside) {
+                out[size++] = ring[2 * i];
+                out[size++] = ring[2 * i + 1];
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    private static long signedArea(int[] ring) {
+        int count = ring.length / 2;
+        long area = 0;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            area += (long) ring[2 * j] * ring[2 * i + 1] - (long) ring[2 * i] * ring[2 * j + 1];
+        }
+        return area;
+    }
+
+    private static void reverse(int[] ring) {
+        for (int i = 0, j = ring.length / 2 - 1; i < j; i++, j--) {
+            int x = ring[2 * i];
+            int y = ring[2 * i + 1];
+            ring[2 * i] = ring[2 * j];
+            ring[2 * i + 1] = ring[2 * j + 1];
+            ring[2 * j] = x;
+            ring[2 * j + 1] = y;
+        }
+    }
+
+    /**
+     * The command stream of one feature geometry. Coordinates are written as zigzag-encoded deltas
+     * from the previous point of the same feature.
+     */
+    private static final class Geometry {
+
+        private int[] values = new int[16];
+        private int size;
+        private int cursorX;
+        private int cursorY;
+
+        private void command(int id, int count) {
+            add((id & 0x7) | (count << 3));
+        }
+
+        private void point(int x, int y) {
+            add(ProtobufWriter.zigzag(x - cursorX));
+            add(ProtobufWriter.zigzag(y - cursorY));
+            cursorX = x;
+            cursorY = y;
+        }
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * One layer of the tile with its encoded features and shared property tables.
+     */
+    private static final class Layer {
+
+        private final String name;
+        private final List<byte[]> features = new ArrayList<>();
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+        private final Map<Object, Integer> values = new LinkedHashMap<>();
+
+        private Layer(String name) {
+            this.name = name;
+        }
+
+        private void addFeature(int type, Geometry geometry, Map<String, ?> properties) {
+            int[] tags = new int[properties.size() * 2];
+            int tagCount = 0;
+            for (Map.Entry<String, ?> property : properties.entrySet()) {
+                Object value = normalize(property.getValue());
+                if (value == null) {
+                    continue;
+                }
+                tags[tagCount++] = keys.computeIfAbsent(property.getKey(), k -> keys.size());
+                tags[tagCount++] = values.computeIfAbsent(value, v -> values.size());
+            }
+
+            ProtobufWriter feature = new ProtobufWriter();
+            feature.writePackedField(2, tags, tagCount);
+            feature.writeVarintField(3, type);
+            feature.writePackedField(4, geometry.values, geometry.size);
+            features.add(feature.toByteArray());
+        }
+
+        private byte[] encode() {
+            ProtobufWriter layer = new ProtobufWriter();
+            layer.writeVarintField(15, 2);
+            layer.writeStringField(1, name);
+            features.forEach(feature -> layer.writeBytesField(2, feature));
+            keys.keySet().forEach(key -> layer.writeStringField(3, key));
+            values.keySet().forEach(value -> layer.writeBytesField(4, encodeValue(value)));
+            layer.writeVarintField(5, EXTENT);
+            return layer.toByteArray();
+        }
+
+        private static Object normalize(Object value) {
+            return switch (value) {
+                case null -> null;
+                case String s -> s;
+                case Boolean b -> b;
+                case Double d -> d;
+                case Float f -> f.doubleValue();
+                case Number n -> n.longValue();
+                default -> value.toString();
+            };
+        }
+
+        private static byte[] encodeValue(Object value) {
+            ProtobufWriter writer = new ProtobufWriter();
+            switch (value) {
+                case String s -> writer.writeStringField(1, s);
+                case Double d -> writer.writeDoubleField(3, d);
+                case Long l -> writer.writeSintField(6, l);
+                case Boolean b -> writer.writeBoolField(7, b);
+                default -> writer.writeStringField(1, value.toString());
+            }
+            return writer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package pl.czyzlowie.modules.spot.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pl.czyzlowie.modules.map.entity.SpotType;
+import pl.czyzlowie.modules.spot.dto.SpotListElementDto;
+import pl.czyzlowie.modules.spot.service.SpotSearchService;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/spots")
+@RequiredArgsConstructor
+public class SpotSearchApiController {
+
+    private final SpotSearchService spotSearchService;
+
+    @GetMapping("/search")
+    public List<SpotListElementDto> search(
+            @RequestParam @Size(max = 100) String q,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) SpotType type,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit
+    ) {
+        return spotSearchService.suggest(q, province, type, limit);
+    }
+}
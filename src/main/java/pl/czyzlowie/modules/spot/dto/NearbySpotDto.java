@@ -0,0 +1,24 @@
+package pl.czyzlowie.modules.spot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import pl.czyzlowie.modules.map.entity.SpotType;
+
+/**
+ * A data transfer object (DTO) representing a spot lying near the spot shown on a detail page.
+ *
+ * The attributes contained in this class include:
+ * - name: The name of the nearby spot.
+ * - slug: A URL-friendly identifier of the nearby spot.
+ * - spotType: The type of the nearby spot.
+ * - distanceKm: The distance to the nearby spot in kilometers.
+ */
+@Data
+@Builder
+public class NearbySpotDto {
+
+    private String name;
+    private String slug;
+    private SpotType spotType;
+    private double distanceKm;
+}
@@ -0,0 +1,23 @@
+package pl.czyzlowie.modules.spot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A data transfer object (DTO) representing the IMGW station of one kind closest to a spot.
+ *
+ * The attributes contained in this class include:
+ * - stationId: The IMGW identifier of the station.
+ * - name: The name of the station.
+ * - kind: The kind of the station: SYNOP, METEO or HYDRO.
+ * - distanceKm: The distance to the station in kilometers.
+ */
+@Data
+@Builder
+public class NearestStationDto {
+
+    private String stationId;
+    private String name;
+    private String kind;
+    private double distanceKm;
+}
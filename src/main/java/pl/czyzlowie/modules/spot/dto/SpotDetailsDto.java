@@ -1,11 +1,14 @@
 package pl.czyzlowie.modules.spot.dto;
 
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import pl.czyzlowie.modules.map.entity.SpotType;
 
+import java.util.List;
+
 /**
  * A data transfer object (DTO) representing generic details about a spot.
  * This class serves as an abstract base class to provide common properties
@@ -24,6 +27,8 @@ import pl.czyzlowie.modules.map.entity.SpotType;
  * - nearestCity: The nearest city to the spot.
  * - description: A detailed description of the spot.
  * - manager: The person or entity managing or responsible for the spot.
+ * - nearbySpots: The closest spots of each type, nearest first.
+ * - nearestStations: The closest synoptic, meteorological and hydrological stations.
  */
 @Getter
 @Setter
@@ -40,4 +45,8 @@ public abstract class SpotDetailsDto {
     private String nearestCity;
     private String description;
     private String manager;
+    @Builder.Default
+    private List<NearbySpotDto> nearbySpots = List.of();
+    @Builder.Default
+    private List<NearestStationDto> nearestStations = List.of();
 }
@@ -4,17 +4,42 @@ package pl.czyzlowie.modules.spot.mapper;
 import org.springframework.stereotype.Component;
 import pl.czyzlowie.modules.map.entity.*;
 import pl.czyzlowie.modules.spot.dto.*;
+import pl.czyzlowie.modules.spot.proximity.SpotNeighbour;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * SpotDetailsMapper is responsible for converting instances of various
  * MapSpot implementations into their corresponding SpotDetailsDto representations.
  * It ensures type-specific properties are appropriately mapped while handling
  * all supported spot types, such as LakeSpot, RiverSpot, CommercialSpot, etc.
+ * The type-specific mapping is picked from a strategy map keyed by the spot type,
+ * so no chain of type checks is walked on every view.
  * Unsupported spot types result in an exception.
  */
 @Component
 public class SpotDetailsMapper {
 
+    private static final Set<String> STATION_RELATIONS = Set.of("SYNOP", "METEO", "HYDRO");
+
+    private final Map<SpotType, Function<MapSpot, SpotDetailsDto>> strategies = new EnumMap<>(SpotType.class);
+
+    public SpotDetailsMapper() {
+        register(SpotType.LAKE, LakeSpot.class, this::mapLake);
+        register(SpotType.RIVER, RiverSpot.class, this::mapRiver);
+        register(SpotType.COMMERCIAL, CommercialSpot.class, this::mapCommercial);
+        register(SpotType.RESERVOIR, ReservoirSpot.class, this::mapReservoir);
+        register(SpotType.OXBOW, OxbowSpot.class, this::mapOxbow);
+        register(SpotType.SLIP, BoatSlip.class, this::mapBoatSlip);
+        register(SpotType.SPECIFIC_SPOT, SpecificSpot.class, this::mapSpecificSpot);
+    }
+
     /**
      * Converts a given MapSpot instance into a SpotDetailsDto instance.
      *
@@ -30,143 +55,203 @@ public class SpotDetailsMapper {
             return null;
         }
 
-        SpotDetailsDto dto;
-
-        if (spot instanceof LakeSpot lake) {
-            dto = LakeSpotDto.builder()
-                    .lakeType(lake.getLakeType())
-                    .areaHectares(lake.getAreaHectares())
-                    .avgDepth(lake.getAvgDepth())
-                    .maxDepth(lake.getMaxDepth())
-                    .bottomFormation(lake.getBottomFormation())
-                    .bottomType(lake.getBottomType())
-                    .waterClarity(lake.getWaterClarity())
-                    .vegetation(lake.getVegetation())
-                    .dominantSpecies(lake.getDominantSpecies())
-                    .hasPredators(lake.getHasPredators())
-                    .stockingInfo(lake.getStockingInfo())
-                    .requiresPermit(lake.getRequiresPermit())
-                    .permitCostInfo(lake.getPermitCostInfo())
-                    .catchAndRelease(lake.getCatchAndRelease())
-                    .silentZone(lake.getSilentZone())
-                    .shoreFishing(lake.getShoreFishing())
-                    .hasPiers(lake.getHasPiers())
-                    .boatFishingAllowed(lake.getBoatFishingAllowed())
-                    .accessRoad(lake.getAccessRoad())
-                    .hasParking(lake.getHasParking())
-                    .build();
-        } else if (spot instanceof RiverSpot river) {
-            dto = RiverSpotDto.builder()
-                    .riverType(river.getRiverType())
-                    .channelCharacter(river.getChannelCharacter())
-                    .avgWidth(river.getAvgWidth())
-                    .avgDepth(river.getAvgDepth())
-                    .bottomType(river.getBottomType())
-                    .waterStructures(river.getWaterStructures())
-                    .dominantSpecies(river.getDominantSpecies())
-                    .fishRegion(river.getFishRegion())
-                    .specialSections(river.getSpecialSections())
-                    .methodBans(river.getMethodBans())
-                    .boatFishingAllowed(river.getBoatFishingAllowed())
-                    .build();
-        } else if (spot instanceof CommercialSpot com) {
-            dto = CommercialSpotDto.builder()
-                    .profileType(com.getProfileType())
-                    .recordsInfo(com.getRecordsInfo())
-                    .reservationType(com.getReservationType())
-                    .pricingInfo(com.getPricingInfo())
-                    .extraFees(com.getExtraFees())
-                    .seasonAndHours(com.getSeasonAndHours())
-                    .standsCount(com.getStandsCount())
-                    .standSizeAndDistance(com.getStandSizeAndDistance())
-                    .hasVipStands(com.getHasVipStands())
-                    .carAccessToStand(com.getCarAccessToStand())
-                    .hasWoodenPiers(com.getHasWoodenPiers())
-                    .hasToilets(com.getHasToilets())
-                    .hasShowers(com.getHasShowers())
-                    .hasElectricity(com.getHasElectricity())
-                    .hasAccommodation(com.getHasAccommodation())
-                    .hasGastronomyOrShop(com.getHasGastronomyOrShop())
-                    .allowsCampfire(com.getAllowsCampfire())
-                    .requiresCradleMat(com.getRequiresCradleMat())
-                    .requiresDisinfectant(com.getRequiresDisinfectant())
-                    .bansKeepnets(com.getBansKeepnets())
-                    .bansBraidedLines(com.getBansBraidedLines())
-                    .baitRestrictions(com.getBaitRestrictions())
-                    .build();
-        } else if (spot instanceof ReservoirSpot res) {
-            dto = ReservoirSpotDto.builder()
-                    .areaHectares(res.getAreaHectares())
-                    .avgDepth(res.getAvgDepth())
-                    .maxDepth(res.getMaxDepth())
-                    .riverFedBy(res.getRiverFedBy())
-                    .waterLevelFluctuations(res.getWaterLevelFluctuations())
-                    .waterCurrent(res.getWaterCurrent())
-                    .floodedStructures(res.getFloodedStructures())
-                    .oldRiverBed(res.getOldRiverBed())
-                    .bottomType(res.getBottomType())
-                    .dominantSpecies(res.getDominantSpecies())
-                    .hasPredators(res.getHasPredators())
-                    .stockingInfo(res.getStockingInfo())
-                    .requiresPermit(res.getRequiresPermit())
-                    .permitCostInfo(res.getPermitCostInfo())
-                    .catchAndRelease(res.getCatchAndRelease())
-                    .silentZone(res.getSilentZone())
-                    .nightFishingRules(res.getNightFishingRules())
-                    .shoreFishing(res.getShoreFishing())
-                    .boatFishingAllowed(res.getBoatFishingAllowed())
-                    .slipAvailability(res.getSlipAvailability())
-                    .accessRoad(res.getAccessRoad())
-                    .build();
-        } else if (spot instanceof OxbowSpot oxb) {
-            dto = OxbowSpotDto.builder()
-                    .areaHectares(oxb.getAreaHectares())
-                    .avgDepth(oxb.getAvgDepth())
-                    .maxDepth(oxb.getMaxDepth())
-                    .riverConnection(oxb.getRiverConnection())
-                    .siltingLevel(oxb.getSiltingLevel())
-                    .overgrowthLevel(oxb.getOvergrowthLevel())
-                    .oxygenDepletionRisk(oxb.getOxygenDepletionRisk())
-                    .driesUp(oxb.getDriesUp())
-                    .dominantFish(oxb.getDominantFish())
-                    .shoreAccess(oxb.getShoreAccess())
-                    .wadersRequired(oxb.getWadersRequired())
-                    .snagsLevel(oxb.getSnagsLevel())
-                    .bestSeasons(oxb.getBestSeasons())
-                    .build();
-        } else if (spot instanceof BoatSlip slip) {
-            dto = BoatSlipDto.builder()
-                    .status(slip.getStatus())
-                    .accessType(slip.getAccessType())
-                    .feeInfo(slip.getFeeInfo())
-                    .openingHours(slip.getOpeningHours())
-                    .surfaceType(slip.getSurfaceType())
-                    .incline(slip.getIncline())
-                    .unitLimit(slip.getUnitLimit())
-                    .endDepth(slip.getEndDepth())
-                    .trailerParking(slip.getTrailerParking())
-                    .hasMooringPier(slip.getHasMooringPier())
-                    .lightingAndMonitoring(slip.getLightingAndMonitoring())
-                    .maneuveringSpace(slip.getManeuveringSpace())
-                    .navigationalAlerts(slip.getNavigationalAlerts())
-                    .build();
-        } else if (spot instanceof SpecificSpot spec) {
-            dto = SpecificSpotDto.builder()
-                    .dimensionInfo(spec.getDimensionInfo())
-                    .parentWaterType(spec.getParentWaterType())
-                    .localDepth(spec.getLocalDepth())
-                    .localBottomType(spec.getLocalBottomType())
-                    .localCurrent(spec.getLocalCurrent())
-                    .standsCondition(spec.getStandsCondition())
-                    .effectiveMethods(spec.getEffectiveMethods())
-                    .bestTimeAndBaits(spec.getBestTimeAndBaits())
-                    .fishingPressure(spec.getFishingPressure())
-                    .build();
-        } else {
+        Function<MapSpot, SpotDetailsDto> strategy = strategies.get(spot.getSpotType());
+        if (strategy == null) {
             throw new IllegalArgumentException("Nieobsługiwany typ punktu mapy: " + spot.getClass().getSimpleName());
         }
 
-        return populateCommonFields(dto, spot);
+        return populateCommonFields(strategy.apply(spot), spot);
+    }
+
+    /**
+     * Converts a given MapSpot instance into a SpotDetailsDto instance together with its precomputed surroundings.
+     *
+     * @param spot the MapSpot instance to be converted
+     * @param neighbours the precomputed neighbours of the spot, ordered by relation and rank
+     * @return a SpotDetailsDto representation of the provided MapSpot with its nearby spots and nearest stations,
+     *         or null under the same conditions as {@link #mapToDto(MapSpot)}
+     */
+    public SpotDetailsDto mapToDto(MapSpot spot, List<SpotNeighbour> neighbours) {
+        SpotDetailsDto dto = mapToDto(spot);
+        if (dto == null) {
+            return null;
+        }
+
+        List<NearbySpotDto> nearbySpots = new ArrayList<>();
+        List<NearestStationDto> nearestStations = new ArrayList<>();
+        for (SpotNeighbour neighbour : neighbours) {
+            if (STATION_RELATIONS.contains(neighbour.relation())) {
+                nearestStations.add(NearestStationDto.builder()
+                        .stationId(neighbour.neighbourId())
+                        .name(neighbour.name())
+                        .kind(neighbour.relation())
+                        .distanceKm(neighbour.distanceKm())
+                        .build());
+            } else {
+                nearbySpots.add(NearbySpotDto.builder()
+                        .name(neighbour.name())
+                        .slug(neighbour.slug())
+                        .spotType(SpotType.valueOf(neighbour.relation()))
+                        .distanceKm(neighbour.distanceKm())
+                        .build());
+            }
+        }
+        nearbySpots.sort(Comparator.comparingDouble(NearbySpotDto::getDistanceKm));
+
+        dto.setNearbySpots(nearbySpots);
+        dto.setNearestStations(nearestStations);
+        return dto;
+    }
+
+    /**
+     * Registers the mapping strategy of one spot type.
+     */
+    private <T extends MapSpot> void register(SpotType spotType, Class<T> entityClass, Function<T, SpotDetailsDto> mapper) {
+        strategies.put(spotType, spot -> mapper.apply(entityClass.cast(spot)));
+    }
+
+    private SpotDetailsDto mapLake(LakeSpot lake) {
+        return LakeSpotDto.builder()
+                .lakeType(lake.getLakeType())
+                .areaHectares(lake.getAreaHectares())
+                .avgDepth(lake.getAvgDepth())
+                .maxDepth(lake.getMaxDepth())
+                .bottomFormation(lake.getBottomFormation())
+                .bottomType(lake.getBottomType())
+                .waterClarity(lake.getWaterClarity())
+                .vegetation(lake.getVegetation())
+                .dominantSpecies(lake.getDominantSpecies())
+                .hasPredators(lake.getHasPredators())
+                .stockingInfo(lake.getStockingInfo())
+                .requiresPermit(lake.getRequiresPermit())
+                .permitCostInfo(lake.getPermitCostInfo())
+                .catchAndRelease(lake.getCatchAndRelease())
+                .silentZone(lake.getSilentZone())
+                .shoreFishing(lake.getShoreFishing())
+                .hasPiers(lake.getHasPiers())
+                .boatFishingAllowed(lake.getBoatFishingAllowed())
+                .accessRoad(lake.getAccessRoad())
+                .hasParking(lake.getHasParking())
+                .build();
+    }
+
+    private SpotDetailsDto mapRiver(RiverSpot river) {
+        return RiverSpotDto.builder()
+                .riverType(river.getRiverType())
+                .channelCharacter(river.getChannelCharacter())
+                .avgWidth(river.getAvgWidth())
+                .avgDepth(river.getAvgDepth())
+                .bottomType(river.getBottomType())
+                .waterStructures(river.getWaterStructures())
+                .dominantSpecies(river.getDominantSpecies())
+                .fishRegion(river.getFishRegion())
+                .specialSections(river.getSpecialSections())
+                .methodBans(river.getMethodBans())
+                .boatFishingAllowed(river.getBoatFishingAllowed())
+                .build();
+    }
+
+    private SpotDetailsDto mapCommercial(CommercialSpot com) {
+        return CommercialSpotDto.builder()
+                .profileType(com.getProfileType())
+                .recordsInfo(com.getRecordsInfo())
+                .reservationType(com.getReservationType())
+                .pricingInfo(com.getPricingInfo())
+                .extraFees(com.getExtraFees())
+                .seasonAndHours(com.getSeasonAndHours())
+                .standsCount(com.getStandsCount())
+                .standSizeAndDistance(com.getStandSizeAndDistance())
+                .hasVipStands(com.getHasVipStands())
+                .carAccessToStand(com.getCarAccessToStand())
+                .hasWoodenPiers(com.getHasWoodenPiers())
+                .hasToilets(com.getHasToilets())
+                .hasShowers(com.getHasShowers())
+                .hasElectricity(com.getHasElectricity())
+                .hasAccommodation(com.getHasAccommodation())
+                .hasGastronomyOrShop(com.getHasGastronomyOrShop())
+                .allowsCampfire(com.getAllowsCampfire())
+                .requiresCradleMat(com.getRequiresCradleMat())
+                .requiresDisinfectant(com.getRequiresDisinfectant())
+                .bansKeepnets(com.getBansKeepnets())
+                .bansBraidedLines(com.getBansBraidedLines())
+                .baitRestrictions(com.getBaitRestrictions())
+                .build();
+    }
+
+    private SpotDetailsDto mapReservoir(ReservoirSpot res) {
+        return ReservoirSpotDto.builder()
+                .areaHectares(res.getAreaHectares())
+                .avgDepth(res.getAvgDepth())
+                .maxDepth(res.getMaxDepth())
+                .riverFedBy(res.getRiverFedBy())
+                .waterLevelFluctuations(res.getWaterLevelFluctuations())
+                .waterCurrent(res.getWaterCurrent())
+                .floodedStructures(res.getFloodedStructures())
+                .oldRiverBed(res.getOldRiverBed())
+                .bottomType(res.getBottomType())
+                .dominantSpecies(res.getDominantSpecies())
+                .hasPredators(res.getHasPredators())
+                .stockingInfo(res.getStockingInfo())
+                .requiresPermit(res.getRequiresPermit())
+                .permitCostInfo(res.getPermitCostInfo())
+                .catchAndRelease(res.getCatchAndRelease())
+                .silentZone(res.getSilentZone())
+                .nightFishingRules(res.getNightFishingRules())
+                .shoreFishing(res.getShoreFishing())
+                .boatFishingAllowed(res.getBoatFishingAllowed())
+                .slipAvailability(res.getSlipAvailability())
+                .accessRoad(res.getAccessRoad())
+                .build();
+    }
+
+    private SpotDetailsDto mapOxbow(OxbowSpot oxb) {
+        return OxbowSpotDto.builder()
+                .areaHectares(oxb.getAreaHectares())
+                .avgDepth(oxb.getAvgDepth())
+                .maxDepth(oxb.getMaxDepth())
+                .riverConnection(oxb.getRiverConnection())
+                .siltingLevel(oxb.getSiltingLevel())
+                .overgrowthLevel(oxb.getOvergrowthLevel())
+                .oxygenDepletionRisk(oxb.getOxygenDepletionRisk())
+                .driesUp(oxb.getDriesUp())
+                .dominantFish(oxb.getDominantFish())
+                .shoreAccess(oxb.getShoreAccess())
+                .wadersRequired(oxb.getWadersRequired())
+                .snagsLevel(oxb.getSnagsLevel())
+                .bestSeasons(oxb.getBestSeasons())
+                .build();
+    }
+
+    private SpotDetailsDto mapBoatSlip(BoatSlip slip) {
+        return BoatSlipDto.builder()
+                .status(slip.getStatus())
+                .accessType(slip.getAccessType())
+                .feeInfo(slip.getFeeInfo())
+                .openingHours(slip.getOpeningHours())
+                .surfaceType(slip.getSurfaceType())
+                .incline(slip.getIncline())
+                .unitLimit(slip.getUnitLimit())
+                .endDepth(slip.getEndDepth())
+                .trailerParking(slip.getTrailerParking())
+                .hasMooringPier(slip.getHasMooringPier())
+                .lightingAndMonitoring(slip.getLightingAndMonitoring())
+                .maneuveringSpace(slip.getManeuveringSpace())
+                .navigationalAlerts(slip.getNavigationalAlerts())
+                .build();
+    }
+
+    private SpotDetailsDto mapSpecificSpot(SpecificSpot spec) {
+        return SpecificSpotDto.builder()
+                .dimensionInfo(spec.getDimensionInfo())
+                .parentWaterType(spec.getParentWaterType())
+                .localDepth(spec.getLocalDepth())
+                .localBottomType(spec.getLocalBottomType())
+                .localCurrent(spec.getLocalCurrent())
+                .standsCondition(spec.getStandsCondition())
+                .effectiveMethods(spec.getEffectiveMethods())
+                .bestTimeAndBaits(spec.getBestTimeAndBaits())
+                .fishingPressure(spec.getFishingPressure())
+                .build();
     }
 
     /**
@@ -0,0 +1,17 @@
+package pl.czyzlowie.modules.spot.proximity;
+
+/**
+ * One precomputed neighbour of a spot, stored as a row of {@code spot_neighbours}.
+ *
+ * @param spotId        the identifier of the spot the neighbour belongs to
+ * @param relation      the spot type of the neighbouring spot, or {@code SYNOP}, {@code METEO} or {@code HYDRO}
+ *                      for a station
+ * @param rank          the position of the neighbour within its relation, starting at 1 for the closest one
+ * @param neighbourId   the identifier of the neighbouring spot or station
+ * @param name          the name of the neighbour
+ * @param slug          the slug of the neighbouring spot, or the identifier of the station
+ * @param distanceKm    the great-circle distance between the spot and the neighbour in kilometers
+ */
+public record SpotNeighbour(long spotId, String relation, int rank, String neighbourId, String name, String slug,
+                            double distanceKm) {
+}
@@ -0,0 +1,101 @@
+package pl.czyzlowie.modules.spot.proximity;
+
+import pl.czyzlowie.modules.barometer.entity.StationType;
+import pl.czyzlowie.modules.location.index.StationKdTree;
+import pl.czyzlowie.modules.location.index.StationPoint;
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.entity.SpotType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the surroundings of every spot from the markers of the map: its {@code k} nearest spots of each
+ * listed type and its nearest synoptic, meteorological and hydrological station.
+ *
+ * One {@link StationKdTree} is built per spot type and per station kind, so each spot needs a single
+ * nearest-neighbour search per relation instead of a scan over all markers. Spot points are indexed with
+ * no station type, as the tree only relies on their identifiers and positions.
+ */
+public final class SpotProximityCalculator {
+
+    private static final String SPOT_MARKER_PREFIX = "SPOT_";
+
+    private static final Map<String, StationType> STATION_RELATIONS = Map.of(
+            "SYNOP", StationType.IMGW_SYNOP,
+            "METEO", StationType.IMGW_METEO,
+            "HYDRO", StationType.IMGW_HYDRO);
+
+    private SpotProximityCalculator() {
+    }
+
+    /**
+     * Computes the neighbours of all spots having a position, restrictions excluded.
+     *
+     * @param markers the markers of all map spots and IMGW stations
+     * @param hiddenTypes the spot types that are never listed as neighbours
+     * @param spotsPerType the number of nearest spots kept for every spot type
+     * @return the neighbour rows of all spots
+     * @throws IllegalArgumentException if {@code spotsPerType} is not positive
+     */
+    public static List<SpotNeighbour> compute(Collection<MapMarkerDto> markers, Collection<SpotType> hiddenTypes,
+                                              int spotsPerType) {
+        if (spotsPerType <= 0) {
+            throw new IllegalArgumentException("Liczba sąsiednich łowisk musi być dodatnia: " + spotsPerType);
+        }
+
+        Map<String, MapMarkerDto> byId = new HashMap<>();
+        Map<String, List<StationPoint>> points = new LinkedHashMap<>();
+        List<MapMarkerDto> spots = new ArrayList<>();
+        Set<String> hidden = hiddenTypes.stream().map(SpotType::name).collect(Collectors.toSet());
+
+        for (MapMarkerDto marker : markers) {
+            if (marker.getLat() == null || marker.getLng() == null || marker.getType() == null) {
+                continue;
+            }
+            boolean spot = marker.getId().startsWith(SPOT_MARKER_PREFIX);
+            if (spot && !SpotType.RESTRICTION.name().equals(marker.getType())) {
+                spots.add(marker);
+            }
+            if (spot ? hidden.contains(marker.getType()) : !STATION_RELATIONS.containsKey(marker.getType())) {
+                continue;
+            }
+            byId.put(marker.getId(), marker);
+            points.computeIfAbsent(marker.getType(), type -> new ArrayList<>())
+                    .add(new StationPoint(marker.getId(), STATION_RELATIONS.get(marker.getType()), marker.getLat(), marker.getLng()));
+        }
+
+        Map<String, StationKdTree> trees = new LinkedHashMap<>();
+        points.forEach((relation, relationPoints) -> trees.put(relation, StationKdTree.build(relationPoints)));
+
+        List<SpotNeighbour> result = new ArrayList<>();
+        for (MapMarkerDto spot : spots) {
+            long spotId = Long.parseLong(spot.getId().substring(SPOT_MARKER_PREFIX.length()));
+            trees.forEach((relation, tree) -> {
+                boolean station = STATION_RELATIONS.containsKey(relation);
+                int wanted = station ? 1 : spotsPerType + (relation.equals(spot.getType()) ? 1 : 0);
+                int rank = 0;
+                for (StationKdTree.Neighbour neighbour : tree.kNearest(spot.getLat(), spot.getLng(), wanted)) {
+                    if (neighbour.station().id().equals(spot.getId()) || rank == (station ? 1 : spotsPerType)) {
+                        continue;
+                    }
+                    MapMarkerDto marker = byId.get(neighbour.station().id());
+                    result.add(new SpotNeighbour(spotId, relation, ++rank, neighbourId(marker), marker.getName(),
+                            marker.getSlug(), neighbour.distanceKm()));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static String neighbourId(MapMarkerDto marker) {
+        String id = marker.getId();
+        return id.substring(id.indexOf('_') + 1);
+    }
+}
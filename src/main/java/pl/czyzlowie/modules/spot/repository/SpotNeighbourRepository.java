@@ -0,0 +1,78 @@
+package pl.czyzlowie.modules.spot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import pl.czyzlowie.core.jdbc.MultiRowValues;
+import pl.czyzlowie.modules.spot.proximity.SpotNeighbour;
+
+import java.util.List;
+
+/**
+ * JDBC access to the precomputed {@code spot_neighbours} side table.
+ *
+ * The neighbours of a spot are read with one query on the primary key prefix. The whole table is replaced
+ * in a single transaction with multi-row inserts of up to {@value MultiRowValues#MAX_ROWS_PER_STATEMENT} rows, so
+ * readers see either the previous or the new set of neighbours, never a mix of both.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpotNeighbourRepository {
+
+    private static final String[] COLUMNS = {
+            "spot_id", "relation", "rank", "neighbour_id", "neighbour_name", "neighbour_slug", "distance_km"};
+
+    private static final String SELECT_BY_SPOT = """
+            SELECT spot_id, relation, rank, neighbour_id, neighbour_name, neighbour_slug, distance_km
+            FROM spot_neighbours
+            WHERE spot_id = ?
+            ORDER BY relation, rank
+            """;
+
+    private static final RowMapper<SpotNeighbour> ROW_MAPPER = (rs, rowNum) -> new SpotNeighbour(
+            rs.getLong("spot_id"),
+            rs.getString("relation"),
+            rs.getInt("rank"),
+            rs.getString("neighbour_id"),
+            rs.getString("neighbour_name"),
+            rs.getString("neighbour_slug"),
+            rs.getDouble("distance_km"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the neighbours of the given spot.
+     *
+     * @param spotId the identifier of the spot
+     * @return the neighbours ordered by relation and rank, empty if none have been computed yet
+     */
+    public List<SpotNeighbour> findBySpotId(long spotId) {
+        return jdbcTemplate.query(SELECT_BY_SPOT, ROW_MAPPER, spotId);
+    }
+
+    /**
+     * Replaces the neighbours of all spots with the given rows. Rows of spots deleted since the neighbours
+     * were computed are skipped, as the foreign key to {@code map_spots} would otherwise reject the chunk.
+     *
+     * @param neighbours the new content of the table
+     */
+    @Transactional
+    public void replaceAll(List<SpotNeighbour> neighbours) {
+        jdbcTemplate.update("DELETE FROM spot_neighbours");
+
+        MultiRowValues.forEachChunk(neighbours, chunk -> jdbcTemplate.update(
+                buildSql(chunk.size()),
+                MultiRowValues.arguments(chunk, COLUMNS.length, n -> new Object[]{
+                        n.spotId(), n.relation(), n.rank(), n.neighbourId(), n.name(), n.slug(), n.distanceKm()})));
+    }
+
+    private static String buildSql(int rowCount) {
+        String columns = String.join(", ", COLUMNS);
+        return "INSERT INTO spot_neighbours (" + columns + ") "
+                + "SELECT " + columns + " FROM (VALUES " + MultiRowValues.placeholders(COLUMNS.length, rowCount)
+                + ") AS v (" + columns + ") "
+                + "WHERE EXISTS (SELECT 1 FROM map_spots s WHERE s.id = v.spot_id)";
+    }
+}
@@ -0,0 +1,53 @@
+package pl.czyzlowie.modules.spot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import pl.czyzlowie.modules.map.entity.SpotType;
+import pl.czyzlowie.modules.spot.search.SpotSearchRow;
+
+import java.util.List;
+
+/**
+ * JDBC access to the columns of map spots needed by the in-memory search index.
+ *
+ * All spot types are read with one projection query from {@code map_spots}, without hydrating entities or
+ * joining subclass tables. The popularity of a spot is the number of catches logged within roughly two
+ * kilometres of its position.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpotSearchRepository {
+
+    private static final String SELECT_SEARCH_ROWS = """
+            SELECT s.id, s.name, s.slug, s.spot_type, s.province, s.nearest_city,
+                   (SELECT COUNT(*)
+                    FROM catch_records c
+                    WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL
+                      AND c.latitude BETWEEN s.latitude - 0.02 AND s.latitude + 0.02
+                      AND c.longitude BETWEEN s.longitude - 0.03 AND s.longitude + 0.03) AS popularity
+            FROM map_spots s
+            WHERE s.name IS NOT NULL
+            """;
+
+    private static final RowMapper<SpotSearchRow> ROW_MAPPER = (rs, rowNum) -> new SpotSearchRow(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("slug"),
+            SpotType.valueOf(rs.getString("spot_type")),
+            rs.getString("province"),
+            rs.getString("nearest_city"),
+            rs.getLong("popularity"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the search columns of all map spots.
+     *
+     * @return the rows of all named spots
+     */
+    public List<SpotSearchRow> findAll() {
+        return jdbcTemplate.query(SELECT_SEARCH_ROWS, ROW_MAPPER);
+    }
+}
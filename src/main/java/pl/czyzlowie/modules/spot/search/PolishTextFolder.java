@@ -0,0 +1,79 @@
+package pl.czyzlowie.modules.spot.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Folds text into the form used by spot search: lower case, with Polish letters replaced by their base letters
+ * and with every run of characters other than {@code a-z} and {@code 0-9} replaced by a single space.
+ * "Łąka-Wielka" and "laka wielka" fold to the same text.
+ *
+ * The generated {@code name_search} and {@code nearest_city_search} columns of {@code map_spots} fold with the
+ * same {@link #DIACRITICS} table in SQL ({@code translate}, then {@code regexp_replace} of {@code [^a-z0-9]+}),
+ * so text folded here can be compared with them directly.
+ */
+public final class PolishTextFolder {
+
+    /**
+     * The letters replaced while folding, in lower and upper case, matching the {@code translate} call of the
+     * generated search columns.
+     */
+    public static final String DIACRITICS = "ąćęłńóśźżĄĆĘŁŃÓŚŹŻ";
+
+    /**
+     * The replacements of {@link #DIACRITICS}, position by position.
+     */
+    public static final String REPLACEMENTS = "acelnoszzacelnoszz";
+
+    private static final String[] NO_TOKENS = new String[0];
+
+    private PolishTextFolder() {
+    }
+
+    /**
+     * Folds the given text.
+     *
+     * @param text the text to fold, may be {@code null}
+     * @return the folded text, empty for {@code null} or blank input
+     */
+    public static String fold(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+
+        StringBuilder result = new StringBuilder(lower.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            int diacritic = DIACRITICS.indexOf(c);
+            if (diacritic >= 0) {
+                c = REPLACEMENTS.charAt(diacritic);
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingSpace && !result.isEmpty()) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                result.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Splits folded text into its distinct words.
+     *
+     * @param folded the text returned by {@link #fold(String)}
+     * @return the distinct words in order of first occurrence
+     */
+    public static String[] tokens(String folded) {
+        if (folded.isEmpty()) {
+            return NO_TOKENS;
+        }
+        return Arrays.stream(folded.split(" ")).distinct().toArray(String[]::new);
+    }
+}
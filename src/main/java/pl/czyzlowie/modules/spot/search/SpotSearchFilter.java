@@ -0,0 +1,15 @@
+package pl.czyzlowie.modules.spot.search;
+
+import pl.czyzlowie.modules.map.entity.SpotType;
+
+import java.util.Set;
+
+/**
+ * Criteria narrowing spot search results besides the searched text.
+ *
+ * @param types       the spot types to include; {@code null} for any
+ * @param province    the voivodeship the spot must lie in, compared after folding; {@code null} for any
+ * @param nearestCity the text the nearest city must contain, compared after folding; {@code null} for any
+ */
+public record SpotSearchFilter(Set<SpotType> types, String province, String nearestCity) {
+}
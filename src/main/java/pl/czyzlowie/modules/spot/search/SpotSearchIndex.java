@@ -0,0 +1,245 @@
+package pl.czyzlowie.modules.spot.search;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable in-memory search index over map spots of every type.
+ *
+ * Names are folded with {@link PolishTextFolder}, so queries match regardless of case and diacritics.
+ * Two structures serve lookups:
+ * <ul>
+ *     <li>a sorted array of (word, spot) pairs, a flattened prefix trie: the spots having a word starting
+ *     with a query word form one contiguous range found by binary search;</li>
+ *     <li>an inverted index of character trigrams, used for queries of at least three characters to also
+ *     find names containing the query in the middle of a word.</li>
+ * </ul>
+ * Matches are ranked by quality (name starting with the query, every query word a prefix of a name word,
+ * query inside the name), then by popularity, then by name in Polish collation order. Entries are stored in
+ * that name order, so listings without a query need no sorting.
+ */
+public final class SpotSearchIndex {
+
+    private static final SpotSearchIndex EMPTY = build(List.of());
+
+    private static final int SCORE_NAME_PREFIX = 3;
+    private static final int SCORE_WORD_PREFIX = 2;
+    private static final int SCORE_SUBSTRING = 1;
+
+    private final SpotSearchRow[] rows;
+    private final String[] names;
+    private final String[][] nameTokens;
+    private final String[] provinces;
+    private final String[] cities;
+    private final String[] tokenKeys;
+    private final int[] tokenEntries;
+    private final Map<String, int[]> trigrams;
+
+    private SpotSearchIndex(List<SpotSearchRow> source) {
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("pl-PL"));
+        this.rows = source.stream()
+                .sorted(Comparator.comparing(SpotSearchRow::name, collator).thenComparing(SpotSearchRow::id))
+                .toArray(SpotSearchRow[]::new);
+
+        int size = rows.length;
+        this.names = new String[size];
+        this.nameTokens = new String[size][];
+        this.provinces = new String[size];
+        this.cities = new String[size];
+
+        List<long[]> pairs = new ArrayList<>();
+        List<String> words = new ArrayList<>();
+        Map<String, Integer> wordIds = new HashMap<>();
+        Map<String, List<Integer>> trigramLists = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            names[i] = PolishTextFolder.fold(rows[i].name());
+            nameTokens[i] = PolishTextFolder.tokens(names[i]);
+            provinces[i] = PolishTextFolder.fold(rows[i].province());
+            cities[i] = PolishTextFolder.fold(rows[i].nearestCity());
+
+            for (String token : nameTokens[i]) {
+                int wordId = wordIds.computeIfAbsent(token, w -> {
+                    words.add(w);
+                    return words.size() - 1;
+                });
+                pairs.add(new long[]{wordId, i});
+            }
+            Set<String> seen = new HashSet<>();
+            for (int k = 0; k + 3 <= names[i].length(); k++) {
+                String trigram = names[i].substring(k, k + 3);
+                if (seen.add(trigram)) {
+                    trigramLists.computeIfAbsent(trigram, t -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        pairs.sort(Comparator.<long[], String>comparing(p -> words.get((int) p[0])).thenComparingLong(p -> p[1]));
+        this.tokenKeys = new String[pairs.size()];
+        this.tokenEntries = new int[pairs.size()];
+        for (int k = 0; k < pairs.size(); k++) {
+            tokenKeys[k] = words.get((int) pairs.get(k)[0]);
+            tokenEntries[k] = (int) pairs.get(k)[1];
+        }
+
+        this.trigrams = new HashMap<>(trigramLists.size() * 2);
+        trigramLists.forEach((trigram, entries) ->
+                trigrams.put(trigram, entries.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Returns an index without any spot.
+     *
+     * @return the empty index
+     */
+    public static SpotSearchIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the index over the given spots.
+     *
+     * @param rows the spots to index
+     * @return the built index
+     */
+    public static SpotSearchIndex build(List<SpotSearchRow> rows) {
+        return new SpotSearchIndex(rows);
+    }
+
+    /**
+     * Finds the spots matching the query and the filter, best matches first.
+     *
+     * @param query the searched text; blank to list every spot passing the filter in name order
+     * @param filter the criteria the spots must meet
+     * @param limit the maximum number of results
+     * @return the matching spots
+     */
+    public List<SpotSearchRow> search(String query, SpotSearchFilter filter, int limit) {
+        String folded = PolishTextFolder.fold(query);
+        String province = PolishTextFolder.fold(filter.province());
+        String city = PolishTextFolder.fold(filter.nearestCity());
+        List<SpotSearchRow> result = new ArrayList<>();
+
+        if (folded.isEmpty()) {
+            for (int i = 0; i < rows.length && result.size() < limit; i++) {
+                if (accepts(i, filter, province, city)) {
+                    result.add(rows[i]);
+                }
+            }
+            return result;
+        }
+
+        String[] queryTokens = PolishTextFolder.tokens(folded);
+        int[] scores = new int[rows.length];
+        int[] candidates = new int[16];
+        int count = 0;
+
+        String anchor = Arrays.stream(queryTokens).max(Comparator.comparingInt(String::length)).orElseThrow();
+        for (int k = lowerBound(anchor); k < tokenKeys.length && tokenKeys[k].startsWith(anchor); k++) {
+            int i = tokenEntries[k];
+            if (scores[i] == 0 && matchesAllTokens(i, queryTokens) && accepts(i, filter, province, city)) {
+                scores[i] = names[i].startsWith(folded) ? SCORE_NAME_PREFIX : SCORE_WORD_PREFIX;
+                candidates = append(candidates, count++, i);
+            }
+        }
+
+        if (folded.length() >= 3) {
+            for (int i : substringCandidates(folded)) {
+                if (scores[i] == 0 && names[i].contains(folded) && accepts(i, filter, province, city)) {
+                    scores[i] = SCORE_SUBSTRING;
+                    candidates = append(candidates, count++, i);
+                }
+            }
+        }
+
+        Integer[] ranked = new Integer[count];
+        for (int c = 0; c < count; c++) {
+            ranked[c] = candidates[c];
+        }
+        Arrays.sort(ranked, Comparator.<Integer>comparingInt(i -> -scores[i])
+                .thenComparingLong(i -> -rows[i].popularity())
+                .thenComparingInt(i -> i));
+
+        for (int c = 0; c < count && result.size() < limit; c++) {
+            result.add(rows[ranked[c]]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed spots.
+     *
+     * @return the number of spots
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    private boolean accepts(int i, SpotSearchFilter filter, String province, String city) {
+        return (filter.types() == null || filter.types().contains(rows[i].spotType()))
+                && (province.isEmpty() || provinces[i].equals(province))
+                && (city.isEmpty() || cities[i].contains(city));
+    }
+
+    private boolean matchesAllTokens(int i, String[] queryTokens) {
+        for (String queryToken : queryTokens) {
+            boolean found = false;
+            for (String token : nameTokens[i]) {
+                if (token.startsWith(queryToken)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the shortest posting list among the trigrams of the query; every name containing the query
+     * is on it.
+     */
+    private int[] substringCandidates(String folded) {
+        int[] shortest = null;
+        for (int k = 0; k + 3 <= folded.length(); k++) {
+            int[] postings = trigrams.get(folded.substring(k, k + 3));
+            if (postings == null) {
+                return new int[0];
+            }
+            if (shortest == null || postings.length < shortest.length) {
+                shortest = postings;
+            }
+        }
+        return shortest == null ? new int[0] : shortest;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = tokenKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokenKeys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] append(int[] array, int size, int value) {
+        int[] target = size == array.length ? Arrays.copyOf(array, size * 2) : array;
+        target[size] = value;
+        return target;
+    }
+}
@@ -0,0 +1,24 @@
+package pl.czyzlowie.modules.spot.search;
+
+import pl.czyzlowie.modules.map.entity.SpotType;
+
+/**
+ * The columns of a map spot needed by the search index.
+ *
+ * @param id          the spot identifier
+ * @param name        the display name
+ * @param slug        the URL slug
+ * @param spotType    the spot type
+ * @param province    the voivodeship the spot lies in
+ * @param nearestCity the nearest city
+ * @param popularity  the popularity score used to rank equally good matches
+ */
+public record SpotSearchRow(
+        Long id,
+        String name,
+        String slug,
+        SpotType spotType,
+        String province,
+        String nearestCity,
+        long popularity) {
+}
@@ -11,6 +11,7 @@
     import pl.czyzlowie.modules.map.repository.MapSpotRepository;
     import pl.czyzlowie.modules.spot.dto.SpotDetailsDto;
     import pl.czyzlowie.modules.spot.mapper.SpotDetailsMapper;
+    import pl.czyzlowie.modules.spot.repository.SpotNeighbourRepository;
 
     @Slf4j
     @Service
@@ -19,10 +20,12 @@
 
         private final MapSpotRepository mapSpotRepository;
         private final SpotDetailsMapper spotDetailsMapper;
+        private final SpotNeighbourRepository spotNeighbourRepository;
 
 
         /**
-         * Retrieves the details of a spot based on its slug and type.
+         * Retrieves the details of a spot based on its slug and type, together with its nearby spots
+         * and nearest stations read from the precomputed neighbours of the spot.
          *
          * @param slug the unique identifier (slug) of the spot
          * @param type the type of the spot (e.g., lake, river, commercial, etc.)
@@ -36,6 +39,6 @@
             MapSpot spotEntity = mapSpotRepository.findBySlugAndSpotType(slug, type)
                     .orElseThrow(() -> new EntityNotFoundException("Nie znaleziono łowiska"));
 
-            return spotDetailsMapper.mapToDto(spotEntity);
+            return spotDetailsMapper.mapToDto(spotEntity, spotNeighbourRepository.findBySpotId(spotEntity.getId()));
         }
     }
@@ -14,13 +14,16 @@ import pl.czyzlowie.modules.spot.dto.SpotListElementDto;
 import pl.czyzlowie.modules.spot.mapper.SpotListMapper;
 import pl.czyzlowie.modules.spot.utils.SpotSpecification;
 
+import java.util.Optional;
+
 /**
  * SpotListService is a service class responsible for handling operations related to the retrieval
  * of spot data, specifically designed for filtered spot list queries.
  *
  * This service performs the following roles:
  * - Applies filtering criteria, encapsulated in a SpotFilterDto, to query specific spots.
- * - Utilizes a custom Specification to dynamically build queries according to the criteria.
+ * - Serves the listing from the in-memory index of {@link SpotSearchService} whenever it is available.
+ * - Falls back to a custom Specification, dynamically building database queries according to the criteria.
  * - Converts the retrieved spot entities into SpotListElementDto instances for consumption by
  *   higher application layers such as controllers.
  *
@@ -34,6 +37,7 @@ public class SpotListService {
 
     private final MapSpotRepository spotRepository;
     private final SpotListMapper spotListMapper;
+    private final SpotSearchService spotSearchService;
 
     /**
      * Retrieves a paginated and filtered list of spots based on the provided filter criteria
@@ -46,6 +50,11 @@ public class SpotListService {
      *         that match the filter criteria.
      */
     public Page<SpotListElementDto> getFilteredSpots(SpotFilterDto filter, Pageable pageable) {
+        Optional<Page<SpotListElementDto>> indexed = spotSearchService.findPage(filter, pageable);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
         Specification<MapSpot> spec = SpotSpecification.withFilter(filter);
 
         return spotRepository.findAll(spec, pageable)
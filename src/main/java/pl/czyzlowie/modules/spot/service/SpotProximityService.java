@@ -0,0 +1,79 @@
+package pl.czyzlowie.modules.spot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pl.czyzlowie.core.concurrent.CoalescingRebuilder;
+import pl.czyzlowie.modules.map.event.MapMarkersReloadedEvent;
+import pl.czyzlowie.modules.map.service.MapMarkerService;
+import pl.czyzlowie.modules.map.snapshot.MarkerSnapshot;
+import pl.czyzlowie.modules.spot.proximity.SpotNeighbour;
+import pl.czyzlowie.modules.spot.proximity.SpotProximityCalculator;
+import pl.czyzlowie.modules.spot.repository.SpotNeighbourRepository;
+import pl.czyzlowie.modules.spot.utils.SpotSpecification;
+
+import java.util.List;
+
+/**
+ * Service keeping the precomputed surroundings of spots up to date.
+ *
+ * For every spot the nearest spots of each listed type and the nearest synoptic, meteorological and
+ * hydrological stations are computed by {@link SpotProximityCalculator} from the marker snapshot of
+ * {@link MapMarkerService} and stored in the {@code spot_neighbours} side table, so a detail page reads
+ * them with a single keyed lookup. The table is recomputed whenever a new marker snapshot is published,
+ * which happens after committed changes of spots and stations. Bursts of reloads are coalesced into a
+ * single recomputation running on a virtual thread, and snapshots with unchanged content are skipped.
+ */
+@Slf4j
+@Service
+public class SpotProximityService {
+
+    private final MapMarkerService mapMarkerService;
+    private final SpotNeighbourRepository spotNeighbourRepository;
+    private final int spotsPerType;
+    private final CoalescingRebuilder rebuilder =
+            new CoalescingRebuilder("SpotProximity-rebuild", "Przeliczenie sąsiedztwa łowisk nie powiodło się", this::rebuild);
+    private long storedFingerprint;
+
+    public SpotProximityService(MapMarkerService mapMarkerService,
+                                SpotNeighbourRepository spotNeighbourRepository,
+                                @Value("${spot.neighbours.per-type:5}") int spotsPerType) {
+        if (spotsPerType <= 0) {
+            throw new IllegalArgumentException("Liczba sąsiednich łowisk musi być dodatnia: " + spotsPerType);
+        }
+        this.mapMarkerService = mapMarkerService;
+        this.spotNeighbourRepository = spotNeighbourRepository;
+        this.spotsPerType = spotsPerType;
+    }
+
+    /**
+     * Schedules a recomputation after a new marker snapshot has been published.
+     *
+     * @param event the event describing the new marker snapshot
+     */
+    @EventListener
+    public void onMarkersReloaded(MapMarkersReloadedEvent event) {
+        rebuilder.request();
+    }
+
+    /**
+     * Computes the neighbours of all spots from the current marker snapshot and replaces the stored ones.
+     * Does nothing if the snapshot content has not changed since the last write.
+     */
+    private void rebuild() {
+        MarkerSnapshot snapshot = mapMarkerService.getSnapshot();
+        if (snapshot.size() == 0 || snapshot.fingerprint() == storedFingerprint) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<SpotNeighbour> neighbours = SpotProximityCalculator.compute(
+                snapshot.all(), SpotSpecification.HIDDEN_TYPES, spotsPerType);
+        spotNeighbourRepository.replaceAll(neighbours);
+        storedFingerprint = snapshot.fingerprint();
+
+        log.info("Przeliczono sąsiedztwo łowisk: {} powiązań, wersja znaczników {} ({} ms)",
+                neighbours.size(), snapshot.version(), System.currentTimeMillis() - start);
+    }
+}
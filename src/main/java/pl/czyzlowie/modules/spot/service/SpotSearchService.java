@@ -0,0 +1,135 @@
+package pl.czyzlowie.modules.spot.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.czyzlowie.core.concurrent.CoalescingRebuilder;
+import pl.czyzlowie.modules.map.entity.SpotType;
+import pl.czyzlowie.modules.map.event.MapSpotsChangedEvent;
+import pl.czyzlowie.modules.spot.dto.SpotFilterDto;
+import pl.czyzlowie.modules.spot.dto.SpotListElementDto;
+import pl.czyzlowie.modules.spot.repository.SpotSearchRepository;
+import pl.czyzlowie.modules.spot.search.SpotSearchFilter;
+import pl.czyzlowie.modules.spot.search.SpotSearchIndex;
+import pl.czyzlowie.modules.spot.search.SpotSearchRow;
+import pl.czyzlowie.modules.spot.utils.SpotSpecification;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service answering spot searches from an in-memory {@link SpotSearchIndex}.
+ *
+ * The index covers map spots of every type and is published atomically through an {@link AtomicReference}.
+ * It is built once the application is ready and rebuilt after committed changes of map spots; bursts of
+ * changes are coalesced into a single rebuild running on a virtual thread. Until the first index has been
+ * published, listings report that the index is not available, so callers can fall back to the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpotSearchService {
+
+    private static final Set<SpotType> LISTED_TYPES = EnumSet.copyOf(Arrays.stream(SpotType.values())
+            .filter(type -> !SpotSpecification.HIDDEN_TYPES.contains(type))
+            .toList());
+
+    private final SpotSearchRepository spotSearchRepository;
+    private final AtomicReference<SpotSearchIndex> index = new AtomicReference<>();
+    private final CoalescingRebuilder rebuilder =
+            new CoalescingRebuilder("SpotSearch-rebuild", "Budowa indeksu wyszukiwania łowisk nie powiodła się", this::rebuild);
+
+    /**
+     * Returns the best matches for a typeahead query across all spot types.
+     *
+     * @param query the text typed so far
+     * @param province the voivodeship to limit results to, or {@code null}
+     * @param spotType the spot type to limit results to, or {@code null} for every type
+     * @param limit the maximum number of results
+     * @return the matching spots, best first; empty until the index is available
+     */
+    public List<SpotListElementDto> suggest(String query, String province, SpotType spotType, int limit) {
+        SpotSearchIndex current = index.get();
+        if (current == null) {
+            return List.of();
+        }
+        SpotSearchFilter filter = new SpotSearchFilter(spotType != null ? Set.of(spotType) : null, province, null);
+        return current.search(query, filter, limit).stream().map(this::toDto).toList();
+    }
+
+    /**
+     * Returns one page of the spot listing for the given filter. With a name filter the spots are ranked by
+     * match quality and popularity, otherwise they are listed by name.
+     *
+     * @param filter the listing filter
+     * @param pageable the requested page; only sorting by name is supported
+     * @return the page, or empty if the index is not available yet or the requested sorting is not supported
+     */
+    public Optional<Page<SpotListElementDto>> findPage(SpotFilterDto filter, Pageable pageable) {
+        SpotSearchIndex current = index.get();
+        if (current == null || !isSortedByName(pageable.getSort())) {
+            return Optional.empty();
+        }
+
+        Set<SpotType> types = filter.getSpotType() != null ? Set.of(filter.getSpotType()) : LISTED_TYPES;
+        List<SpotSearchRow> matches = current.search(filter.getName(),
+                new SpotSearchFilter(types, filter.getProvince(), filter.getNearestCity()), Integer.MAX_VALUE);
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<SpotListElementDto> content = matches.subList(from, to).stream().map(this::toDto).toList();
+        return Optional.of(new PageImpl<>(content, pageable, matches.size()));
+    }
+
+    /**
+     * Builds the first index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuilder.request();
+    }
+
+    /**
+     * Rebuilds the index after a committed change of a map spot.
+     *
+     * @param event the event describing the changed spot
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSpotsChanged(MapSpotsChangedEvent event) {
+        rebuilder.request();
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        SpotSearchIndex built = SpotSearchIndex.build(spotSearchRepository.findAll());
+        index.set(built);
+        log.info("Zbudowano indeks wyszukiwania łowisk: {} pozycji ({} ms)", built.size(), System.currentTimeMillis() - start);
+    }
+
+    private static boolean isSortedByName(Sort sort) {
+        return sort.isUnsorted() || sort.stream().allMatch(order -> order.getProperty().equals("name") && order.isAscending());
+    }
+
+    private SpotListElementDto toDto(SpotSearchRow row) {
+        return SpotListElementDto.builder()
+                .id(String.valueOf(row.id()))
+                .name(row.name())
+                .slug(row.slug())
+                .spotType(row.spotType())
+                .province(row.province())
+                .nearestCity(row.nearestCity())
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.domain.Specification;
 import pl.czyzlowie.modules.map.entity.MapSpot;
 import pl.czyzlowie.modules.map.entity.SpotType;
 import pl.czyzlowie.modules.spot.dto.SpotFilterDto;
+import pl.czyzlowie.modules.spot.search.PolishTextFolder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,9 +14,23 @@ import java.util.List;
  * The SpotSpecification class provides a dynamic method for creating query specifications
  * to filter {@code MapSpot} entities based on various criteria encapsulated in {@code SpotFilterDto}.
  * It enables precise and flexible querying of database records by constructing a {@code Specification}.
+ *
+ * Name and city filters compare the folded search text with the {@code name_search} and
+ * {@code nearest_city_search} columns, which the database keeps folded the same way and covers with
+ * trigram indexes, so substring filters do not scan the whole table.
  */
 public class SpotSpecification {
 
+    /**
+     * Spot types left out of listings unless explicitly requested.
+     */
+    public static final List<SpotType> HIDDEN_TYPES = List.of(
+            SpotType.RESTRICTION,
+            SpotType.SLIP,
+            SpotType.FISHING_SHOP,
+            SpotType.RENTALS
+    );
+
     /**
      * Creates a dynamic query specification for filtering {@code MapSpot} entities based on a given
      * {@code SpotFilterDto}. This method builds a {@code Specification} to apply filtering conditions
@@ -33,18 +48,12 @@ public class SpotSpecification {
             if (filter.getSpotType() != null) {
                 predicates.add(cb.equal(root.get("spotType"), filter.getSpotType()));
             } else {
-                List<SpotType> excludedTypes = List.of(
-                        SpotType.RESTRICTION,
-                        SpotType.SLIP,
-                        SpotType.FISHING_SHOP,
-                        SpotType.RENTALS
-                );
-                predicates.add(cb.not(root.get("spotType").in(excludedTypes)));
+                predicates.add(cb.not(root.get("spotType").in(HIDDEN_TYPES)));
             }
 
             // 2. Reszta filtrów
             if (filter.getName() != null && !filter.getName().isBlank()) {
-                predicates.add(cb.like(cb.lower(root.get("name")), "%" + filter.getName().toLowerCase() + "%"));
+                predicates.add(cb.like(root.get("nameSearch"), "%" + PolishTextFolder.fold(filter.getName()) + "%"));
             }
 
             if (filter.getProvince() != null && !filter.getProvince().isBlank()) {
@@ -52,7 +61,7 @@ public class SpotSpecification {
             }
 
             if (filter.getNearestCity() != null && !filter.getNearestCity().isBlank()) {
-                predicates.add(cb.like(cb.lower(root.get("nearestCity")), "%" + filter.getNearestCity().toLowerCase() + "%"));
+                predicates.add(cb.like(root.get("nearestCitySearch"), "%" + PolishTextFolder.fold(filter.getNearestCity()) + "%"));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
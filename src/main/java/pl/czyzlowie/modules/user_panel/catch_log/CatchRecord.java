@@ -72,6 +72,9 @@ public class CatchRecord {
     @Column(name = "ignore_telemetry", nullable = false)
     private boolean ignoreTelemetry;
 
+    @Column(name = "inside_restriction", nullable = false)
+    private boolean insideRestriction;
+
     @Column(name = "air_temperature", precision = 4, scale = 1)
     private BigDecimal airTemperature;
 
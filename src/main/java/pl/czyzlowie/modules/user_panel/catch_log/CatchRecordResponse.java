@@ -48,4 +48,5 @@ public class CatchRecordResponse {
     private BigDecimal windSpeed;
     private String windDirection;
     private BigDecimal discharge;
+    private boolean insideRestriction;
 }
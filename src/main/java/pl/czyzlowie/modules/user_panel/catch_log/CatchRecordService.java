@@ -1,16 +1,20 @@
 package pl.czyzlowie.modules.user_panel.catch_log;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import pl.czyzlowie.modules.map.dto.RestrictionZoneDto;
+import pl.czyzlowie.modules.map.service.RestrictionZoneService;
 import pl.czyzlowie.modules.user.entity.User;
 import pl.czyzlowie.modules.user.repository.UserRepository;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * The CatchRecordService class provides functionalities for managing fishing catch records.
@@ -18,6 +22,7 @@ import java.io.IOException;
  * mapping database entities to response objects. This service is designed to work with
  * repositories and auxiliary services such as telemetry and file storage.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CatchRecordService {
@@ -26,9 +31,11 @@ public class CatchRecordService {
     private final TelemetryService telemetryService;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final RestrictionZoneService restrictionZoneService;
 
     /**
      * Creates a new catch record for the specified user and stores it in the database. Optionally associates a photo with the catch.
+     * Catches made inside a restriction area in force on the day of the catch are flagged.
      *
      * @param username  the email/username of the user creating the catch record
      * @param request   the details of the catch record to be created
@@ -55,6 +62,8 @@ public class CatchRecordService {
                 .ignoreTelemetry(request.isIgnoreTelemetry())
                 .build();
 
+        record.setInsideRestriction(isInsideRestriction(request));
+
         if (!request.isIgnoreTelemetry()) {
             telemetryService.enrichWithMeteoAndMoon(record);
         }
@@ -70,6 +79,26 @@ public class CatchRecordService {
         }
     }
 
+    /**
+     * Checks whether the catch position lies inside a restriction area in force on the day of the catch.
+     *
+     * @param request the details of the catch record
+     * @return {@code true} if at least one restriction applies at the catch position
+     */
+    private boolean isInsideRestriction(CatchRecordCreateRequest request) {
+        if (request.getLat() == null || request.getLng() == null || request.getCatchDate() == null) {
+            return false;
+        }
+
+        List<RestrictionZoneDto> restrictions = restrictionZoneService.findActiveAt(
+                request.getLat().doubleValue(), request.getLng().doubleValue(), request.getCatchDate().toLocalDate());
+        if (!restrictions.isEmpty()) {
+            log.info("Połów zgłoszony w obszarze objętym zakazem: {}",
+                    restrictions.stream().map(RestrictionZoneDto::getName).toList());
+        }
+        return !restrictions.isEmpty();
+    }
+
     /**
      * Retrieves a paginated list of catch records for a specific user, ordered by catch date in descending order.
      *
@@ -140,6 +169,7 @@ public class CatchRecordService {
                 .windSpeed(record.getWindSpeed())
                 .windDirection(record.getWindDirection())
                 .discharge(record.getDischarge())
+                .insideRestriction(record.isInsideRestriction())
                 .build();
     }
 }
\ No newline at end of file
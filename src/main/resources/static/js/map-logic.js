@@ -1,4 +1,61 @@
 import { MAP_CONFIG, CATEGORIES } from './map-data.js';
+import { loadOfflineMarkers } from './map-offline.js';
+
+// Dekoduje wielokąt w formacie encoded polyline: pierścienie rozdzielone ',', wielokąty ';'
+function decodePolygon(encoded) {
+    const polygons = encoded.split(';').map(polygon => polygon.split(',').map(ring => {
+        const points = [];
+        let index = 0, lat = 0, lng = 0;
+        while (index < ring.length) {
+            for (const axis of [0, 1]) {
+                let result = 0, shift = 0, byte;
+                do {
+                    byte = ring.charCodeAt(index++) - 63;
+                    result |= (byte & 0x1f) << shift;
+                    shift += 5;
+                } while (byte >= 0x20);
+                const delta = (result & 1) ? ~(result >> 1) : (result >> 1);
+                if (axis === 0) lat += delta; else lng += delta;
+            }
+            points.push([lat / 1e5, lng / 1e5]);
+        }
+        return points;
+    }));
+    return polygons.length === 1 ? polygons[0] : polygons;
+}
+
+// Do tego przybliżenia serwer grupuje znaczniki w klastry (map.cluster.max-zoom),
+// więc obszary zakazów rysujemy z kafelków wektorowych, a nie z pojedynczych znaczników
+const RESTRICTION_TILES_MAX_ZOOM = 13;
+
+function restrictionStyle(restrictionType) {
+    const isTotal = (!restrictionType || restrictionType === 'TOTAL_BAN');
+    return {
+        isTotal: isTotal,
+        color: isTotal ? '#ef4444' : '#f59e0b',
+        iconName: isTotal ? 'shield-off' : 'info'
+    };
+}
+
+function restrictionPopupContent(restriction) {
+    const style = restrictionStyle(restriction.restrictionType);
+    const dateRange = (restriction.startDate && restriction.endDate)
+        ? `<div class="popup-date" style="font-size: 0.8rem; margin-bottom: 8px; color: #94a3b8;"><i data-lucide="calendar" style="width: 14px; height: 14px; vertical-align: middle;"></i> ${restriction.startDate} — ${restriction.endDate}</div>`
+        : '';
+
+    return `
+        <div class="popup-header">
+            <div class="popup-title">${restriction.name}</div>
+            <div class="popup-badge" style="background: ${style.color}25; color: ${style.color}; border: 1px solid ${style.color}40;">
+                <i data-lucide="${style.iconName}"></i> ${style.isTotal ? 'ZAKAZ CAŁKOWITY' : 'OGRANICZENIA'}
+            </div>
+        </div>
+        <div class="popup-body">
+            ${dateRange}
+            <p class="popup-desc">${restriction.description || 'Brak dodatkowego opisu.'}</p>
+        </div>
+    `;
+}
 
 class MapApplication {
     constructor() {
@@ -9,7 +66,10 @@ class MapApplication {
         this.markersCache = {};
         this.polygonCache = {};
         this.fetchTimeout = null;
-        this.allDataLoaded = false;
+        this.serverClusters = [];
+        this.visibleMarkerIds = null;
+        this.fetchSeq = 0;
+        this.offlineMarkers = null;
         this.isTracking = false;
         this.tempCollectedPoints = [];
         // this.tempMarkersGroup = L.layerGroup();
@@ -59,8 +119,11 @@ class MapApplication {
                 opacity: 0.5,
                 attribution: '&copy; GDOŚ',
                 maxZoom: 19
-            })
+            }),
+            bite: L.layerGroup()
         };
+        this.biteHeatmapHour = 0;
+        this.biteHeatmapImage = null;
 
         this.init();
     }
@@ -76,10 +139,6 @@ class MapApplication {
         this.map.on('moveend', () => {
             this.updateUrlState(); // <-- DODAJ TĘ LINIJKĘ
 
-            if (this.allDataLoaded) {
-                this.updateSidebarForCurrentBounds();
-                return;
-            }
             clearTimeout(this.fetchTimeout);
             this.fetchTimeout = setTimeout(() => {
                 this.fetchLocationsForCurrentBounds();
@@ -148,6 +207,7 @@ class MapApplication {
         this.map = L.map('map', { zoomControl: false, preferCanvas: true });
         this.baseLayers[this.currentBaseLayer].addTo(this.map);
         this.polygonsGroup = L.layerGroup().addTo(this.map);
+        this.setupRestrictionTiles();
 
         this.map.on('locationfound', (e) => this.handleLocationFound(e));
         this.map.on('locationerror', (e) => {
@@ -308,7 +368,45 @@ class MapApplication {
         return btn;
     }
 
+    // Kafelki /api/map/tiles: warstwa "restrictions" z obszarami zakazów; warstwa "markers" jest pomijana,
+    // bo klastry i znaczniki rysujemy z odpowiedzi JSON. Bez biblioteki VectorGrid obszary pojawiają się
+    // dopiero przy przybliżeniach z pojedynczymi znacznikami.
+    setupRestrictionTiles() {
+        if (!L.vectorGrid) return;
+
+        this.restrictionTiles = L.vectorGrid.protobuf('/api/map/tiles/{z}/{x}/{y}', {
+            maxNativeZoom: RESTRICTION_TILES_MAX_ZOOM,
+            maxZoom: RESTRICTION_TILES_MAX_ZOOM,
+            rendererFactory: L.canvas.tile,
+            interactive: true,
+            vectorTileLayerStyles: {
+                markers: [],
+                restrictions: properties => {
+                    const style = restrictionStyle(properties.restrictionType);
+                    return {
+                        color: style.color, fillColor: style.color, fill: true, fillOpacity: 0.35, weight: 2,
+                        dashArray: style.isTotal ? null : '5, 10'
+                    };
+                }
+            }
+        });
+
+        this.restrictionTiles.on('click', (e) => {
+            L.popup({ className: 'custom-popup' })
+                .setLatLng(e.latlng)
+                .setContent(restrictionPopupContent(e.layer.properties))
+                .openOn(this.map);
+            if (window.lucide) lucide.createIcons();
+        });
+    }
+
+    // Przy niskich przybliżeniach obszary zakazów pochodzą z kafelków, więc pomijamy ich kopie z JSON
+    restrictionsFromTiles() {
+        return !!this.restrictionTiles && this.map.getZoom() <= RESTRICTION_TILES_MAX_ZOOM;
+    }
+
     setupClusterGroup() {
+        // Grupowanie w przeglądarce tylko dla paczki offline; online klastry liczy serwer
         this.mainClusterGroup = L.markerClusterGroup({
             disableClusteringAtZoom: 14,
             maxClusterRadius: 50,
@@ -316,6 +414,13 @@ class MapApplication {
         });
         this.map.addLayer(this.mainClusterGroup);
 
+        // Pojedyncze punkty zwrócone przez serwer, rysowane bez ponownego grupowania
+        this.markerGroup = L.layerGroup().addTo(this.map);
+        this.clientClustering = false;
+
+        // Klastry wyliczone po stronie serwera (niskie przybliżenia)
+        this.serverClusterGroup = L.layerGroup().addTo(this.map);
+
         this.mainClusterGroup.on('animationend spiderfied', () => {
             if (window.lucide) lucide.createIcons();
         });
@@ -326,90 +431,173 @@ class MapApplication {
     }
 
     async fetchLocationsForCurrentBounds() {
-        if (!this.map || this.allDataLoaded) return;
+        if (!this.map) return;
         this.toggleLoader(true, 'Pobieram łowiska...');
 
-        const bounds = this.map.getBounds();
-        const north = bounds.getNorth();
-        const south = bounds.getSouth();
-        const east = bounds.getEast();
-        const west = bounds.getWest();
-
-        const latSpread = Math.abs(north - south);
-        const lngSpread = Math.abs(east - west);
-        let url = `/api/map/markers?north=${north}&south=${south}&east=${east}&west=${west}`;
-
-        if (latSpread > 5.5 || lngSpread > 8) {
-            url = `/api/map/markers`;
-            this.allDataLoaded = true;
-            console.log("Oddalono mapę. Pobrano pełną bazę i wyłączono zapytania API.");
-        }
+        const bounds = this.map.getBounds().pad(0.2);
+        const north = Math.min(bounds.getNorth(), 90);
+        const south = Math.max(bounds.getSouth(), -90);
+        const east = Math.min(bounds.getEast(), 180);
+        const west = Math.max(bounds.getWest(), -180);
+        const zoom = this.map.getZoom();
+
+        const url = `/api/map/markers?north=${north}&south=${south}&east=${east}&west=${west}&zoom=${zoom}`;
+        const seq = ++this.fetchSeq;
 
         try {
             const response = await fetch(url);
             if (!response.ok) throw new Error("Błąd pobierania danych");
 
             const data = await response.json();
-            const newLocations = [];
+            if (seq !== this.fetchSeq) return;
 
-            data.forEach(marker => {
-                if (!this.locationIds.has(marker.id)) {
-                    this.locationIds.add(marker.id);
-
-                    const typeLower = marker.type ? marker.type.toLowerCase().trim() : '';
-                    let finalUrl = '';
-
-                    if (['hydro', 'meteo', 'synop'].includes(typeLower)) {
-                        const urlParams = new URLSearchParams();
-                        urlParams.set('lat', marker.lat);
-                        urlParams.set('lon', marker.lng);
-                        urlParams.set('miasto', marker.name.split(/[,-]/)[0].trim());
-                        finalUrl = `/${typeLower}?${urlParams.toString()}`;
-                    } else {
-                        let baseUrl = '';
-                        if (typeLower === 'slip') baseUrl = '/slip';
-                        else if (typeLower === 'lake') baseUrl = '/jezioro';
-                        else if (typeLower === 'river') baseUrl = '/rzeka';
-                        else if (typeLower === 'reservoir') baseUrl = '/zbiornik-zaporowy';
-                        else if (typeLower === 'commercial') baseUrl = '/lowisko-komercyjne';
-                        else if (typeLower === 'oxbow') baseUrl = '/starorzecze';
-                        else if (typeLower === 'specific_spot') baseUrl = '/miejscowka';
-
-                        finalUrl = `${baseUrl}/${marker.slug}`;
-                    }
-
-                    const locObj = {
-                        id: marker.id,
-                        name: marker.name,
-                        cat: typeLower,
-                        lat: marker.lat,
-                        lng: marker.lng,
-                        coords: marker.polygonCoordinates,
-                        description: marker.description,
-                        startDate: marker.startDate,
-                        endDate: marker.endDate,
-                        restrictionType: marker.restrictionType,
-                        url: finalUrl
-                    };
+            const newLocations = [];
+            const visibleIds = new Set();
+            const clusters = [];
 
-                    this.locations.push(locObj);
-                    newLocations.push(locObj);
+            data.forEach(entry => {
+                if (!entry.marker) {
+                    clusters.push(entry);
+                    return;
                 }
+                visibleIds.add(entry.marker.id);
+                const locObj = this.registerLocation(entry.marker);
+                if (locObj) newLocations.push(locObj);
+                else this.refinePolygon(entry.marker);
             });
 
             if (newLocations.length > 0) {
-                const newLeafletMarkers = this.createMarkers(newLocations);
-                this.mainClusterGroup.addLayers(newLeafletMarkers);
-                this.updateSidebarForCurrentBounds();
+                this.createMarkers(newLocations);
             }
 
+            this.serverClusters = clusters;
+            this.clientClustering = false;
+            this.visibleMarkerIds = visibleIds;
+            this.updateMapMarkersVisibility();
+            this.updateSidebarForCurrentBounds();
+
         } catch (error) {
             console.error('Błąd ładowania danych mapy:', error);
+            if (seq === this.fetchSeq) await this.showOfflineLocations(north, south, east, west);
         } finally {
             this.toggleLoader(false);
         }
     }
 
+    // Bez połączenia: znaczniki z paczki offline, grupowane w klastry po stronie przeglądarki
+    async showOfflineLocations(north, south, east, west) {
+        try {
+            this.offlineMarkers = this.offlineMarkers || await loadOfflineMarkers();
+        } catch (error) {
+            console.error('Błąd odczytu paczki offline:', error);
+            return;
+        }
+        if (this.offlineMarkers.length === 0) return;
+
+        const newLocations = [];
+        const visibleIds = new Set();
+        this.offlineMarkers.forEach(marker => {
+            const positioned = marker.lat !== null && marker.lng !== null;
+            const inside = positioned && marker.lat <= north && marker.lat >= south && marker.lng <= east && marker.lng >= west;
+            if (!inside && (positioned || !marker.polygonEncoded && !marker.polygonCoordinates)) return;
+
+            visibleIds.add(marker.id);
+            const locObj = this.registerLocation(marker);
+            if (locObj) newLocations.push(locObj);
+        });
+
+        if (newLocations.length > 0) {
+            this.createMarkers(newLocations);
+        }
+
+        this.serverClusters = [];
+        this.clientClustering = true;
+        this.visibleMarkerIds = visibleIds;
+        this.updateMapMarkersVisibility();
+        this.updateSidebarForCurrentBounds();
+    }
+
+    registerLocation(marker) {
+        if (this.locationIds.has(marker.id)) return null;
+        this.locationIds.add(marker.id);
+
+        const typeLower = marker.type ? marker.type.toLowerCase().trim() : '';
+        let finalUrl = '';
+
+        if (['hydro', 'meteo', 'synop'].includes(typeLower)) {
+            const urlParams = new URLSearchParams();
+            urlParams.set('lat', marker.lat);
+            urlParams.set('lon', marker.lng);
+            urlParams.set('miasto', marker.name.split(/[,-]/)[0].trim());
+            finalUrl = `/${typeLower}?${urlParams.toString()}`;
+        } else {
+            let baseUrl = '';
+            if (typeLower === 'slip') baseUrl = '/slip';
+            else if (typeLower === 'lake') baseUrl = '/jezioro';
+            else if (typeLower === 'river') baseUrl = '/rzeka';
+            else if (typeLower === 'reservoir') baseUrl = '/zbiornik-zaporowy';
+            else if (typeLower === 'commercial') baseUrl = '/lowisko-komercyjne';
+            else if (typeLower === 'oxbow') baseUrl = '/starorzecze';
+            else if (typeLower === 'specific_spot') baseUrl = '/miejscowka';
+
+            finalUrl = `${baseUrl}/${marker.slug}`;
+        }
+
+        const locObj = {
+            id: marker.id,
+            name: marker.name,
+            cat: typeLower,
+            lat: marker.lat,
+            lng: marker.lng,
+            coords: marker.polygonCoordinates,
+            encoded: marker.polygonEncoded,
+            detail: marker.polygonDetail,
+            description: marker.description,
+            startDate: marker.startDate,
+            endDate: marker.endDate,
+            restrictionType: marker.restrictionType,
+            url: finalUrl
+        };
+
+        this.locations.push(locObj);
+        return locObj;
+    }
+
+    // Podmienia kształt obszaru, gdy serwer przysłał go w innym poziomie szczegółowości
+    refinePolygon(marker) {
+        const area = this.polygonCache[marker.id];
+        const loc = this.locations.find(l => l.id === marker.id);
+        if (!area || !loc || !marker.polygonEncoded || loc.detail === marker.polygonDetail) return;
+
+        area.setLatLngs(decodePolygon(marker.polygonEncoded));
+        loc.encoded = marker.polygonEncoded;
+        loc.detail = marker.polygonDetail;
+    }
+
+    renderServerClusters() {
+        this.serverClusterGroup.clearLayers();
+
+        this.serverClusters.forEach(cluster => {
+            const cat = cluster.type ? cluster.type.toLowerCase().trim() : '';
+            if (!this.activeCategories.has(cat)) return;
+
+            const catData = this.categories[cat] || this.categories['restriction'];
+            const size = cluster.count < 10 ? 'small' : (cluster.count < 100 ? 'medium' : 'large');
+            const icon = L.divIcon({
+                className: `marker-cluster marker-cluster-${size}`,
+                html: `<div style="background-color: ${catData.color}; color: #fff;"><span>${cluster.count}</span></div>`,
+                iconSize: [40, 40]
+            });
+
+            const marker = L.marker([cluster.lat, cluster.lng], { icon: icon, title: `${catData.name}: ${cluster.count}` });
+            marker.on('click', () => {
+                const targetZoom = Math.max(cluster.expansionZoom || 0, this.map.getZoom() + 1);
+                this.map.flyTo([cluster.lat, cluster.lng], targetZoom, { duration: 0.8 });
+            });
+            this.serverClusterGroup.addLayer(marker);
+        });
+    }
+
     createMarkers(locationsToProcess) {
         const createdMarkers = [];
 
@@ -419,16 +607,15 @@ class MapApplication {
 
             let marker;
 
-            if (loc.cat === 'restriction' && loc.coords) {
+            if (loc.cat === 'restriction' && (loc.encoded || loc.coords)) {
                 try {
-                    const coordsArr = JSON.parse(loc.coords);
-                    const isTotal = (!loc.restrictionType || loc.restrictionType === 'TOTAL_BAN');
-                    const color = isTotal ? '#ef4444' : '#f59e0b';
-                    const iconName = isTotal ? 'shield-off' : 'info';
+                    const coordsArr = loc.encoded ? decodePolygon(loc.encoded) : JSON.parse(loc.coords);
+                    const style = restrictionStyle(loc.restrictionType);
+                    const color = style.color;
 
                     const area = L.polygon(coordsArr, {
                         color: color, fillColor: color, fillOpacity: 0.35, weight: 2,
-                        dashArray: isTotal ? '0' : '5, 10'
+                        dashArray: style.isTotal ? '0' : '5, 10'
                     });
                     this.polygonCache[loc.id] = area;
 
@@ -437,29 +624,14 @@ class MapApplication {
                     const htmlIcon = L.divIcon({
                         className: 'custom-div-icon',
                         html: `<div class="custom-map-marker restriction-marker" style="background-color: ${color}; border: 2px solid white; box-shadow: 0 0 10px rgba(0,0,0,0.3);">
-                                   <i data-lucide="${iconName}"></i>
+                                   <i data-lucide="${style.iconName}"></i>
                                </div>`,
                         iconSize: [30, 30], iconAnchor: [15, 15]
                     });
 
                     marker = L.marker(centerPoint, { icon: htmlIcon });
 
-                    const dateRange = (loc.startDate && loc.endDate)
-                        ? `<div class="popup-date" style="font-size: 0.8rem; margin-bottom: 8px; color: #94a3b8;"><i data-lucide="calendar" style="width: 14px; height: 14px; vertical-align: middle;"></i> ${loc.startDate} — ${loc.endDate}</div>`
-                        : '';
-
-                    const popupContent = `
-                        <div class="popup-header">
-                            <div class="popup-title">${loc.name}</div>
-                            <div class="popup-badge" style="background: ${color}25; color: ${color}; border: 1px solid ${color}40;">
-                                <i data-lucide="${iconName}"></i> ${isTotal ? 'ZAKAZ CAŁKOWITY' : 'OGRANICZENIA'}
-                            </div>
-                        </div>
-                        <div class="popup-body">
-                            ${dateRange}
-                            <p class="popup-desc">${loc.description || 'Brak dodatkowego opisu.'}</p>
-                        </div>
-                    `;
+                    const popupContent = restrictionPopupContent(loc);
 
                     marker.bindPopup(popupContent, { className: 'custom-popup' });
                     area.bindPopup(popupContent, { className: 'custom-popup' });
@@ -506,7 +678,7 @@ class MapApplication {
                 this.markersCache[loc.id] = marker;
                 if (this.activeCategories.has(loc.cat)) {
                     createdMarkers.push(marker);
-                    if (this.polygonCache[loc.id]) {
+                    if (this.polygonCache[loc.id] && !this.restrictionsFromTiles()) {
                         this.polygonsGroup.addLayer(this.polygonCache[loc.id]);
                     }
                 }
@@ -520,23 +692,37 @@ class MapApplication {
         const clusterItems = [];
 
         this.mainClusterGroup.clearLayers();
+        this.markerGroup.clearLayers();
         this.polygonsGroup.clearLayers();
 
+        const polygonsFromTiles = this.restrictionsFromTiles();
+        if (this.restrictionTiles) {
+            if (this.activeCategories.has('restriction')) this.restrictionTiles.addTo(this.map);
+            else this.restrictionTiles.remove();
+        }
+
         this.locations.forEach(loc => {
             // Zostawiamy tylko filtrowanie po aktywnych kategoriach
             if (!this.activeCategories.has(loc.cat)) return;
+            // Punkty zgrupowane przez serwer w klastrach nie są rysowane osobno
+            if (this.visibleMarkerIds && !this.visibleMarkerIds.has(loc.id)) return;
 
             const item = this.markersCache[loc.id];
             if (item) {
                 clusterItems.push(item);
             }
             const poly = this.polygonCache[loc.id];
-            if (poly) {
+            if (poly && !polygonsFromTiles) {
                 this.polygonsGroup.addLayer(poly);
             }
         });
 
-        this.mainClusterGroup.addLayers(clusterItems);
+        if (this.clientClustering) {
+            this.mainClusterGroup.addLayers(clusterItems);
+        } else {
+            clusterItems.forEach(item => this.markerGroup.addLayer(item));
+        }
+        this.renderServerClusters();
         if (window.lucide) lucide.createIcons();
     }
 
@@ -605,6 +791,8 @@ class MapApplication {
                     setTimeout(() => {
                         if (this.mainClusterGroup.hasLayer(mapItem)) {
                             this.mainClusterGroup.zoomToShowLayer(mapItem, () => mapItem.openPopup());
+                        } else if (this.markerGroup.hasLayer(mapItem)) {
+                            mapItem.openPopup();
                         }
                     }, 1500);
                 }
@@ -721,6 +909,7 @@ class MapApplication {
                     }
                     this.activeOverlays.delete(overlayName);
                     targetBtn.classList.remove('active');
+                    if (overlayName === 'bite') this.toggleBiteHourControl(false);
                     return;
                 }
 
@@ -728,9 +917,103 @@ class MapApplication {
                     this.overlays[overlayName].addTo(this.map);
                     this.activeOverlays.add(overlayName);
                     targetBtn.classList.add('active');
+                    if (overlayName === 'bite') {
+                        this.toggleBiteHourControl(true);
+                        await this.loadBiteHeatmap();
+                    }
                 }
             });
         });
+
+        const biteHourSlider = document.getElementById('biteHourSlider');
+        if (biteHourSlider) {
+            biteHourSlider.addEventListener('change', async (e) => {
+                this.biteHeatmapHour = parseInt(e.target.value, 10) || 0;
+                if (this.activeOverlays.has('bite')) {
+                    await this.loadBiteHeatmap();
+                }
+            });
+        }
+    }
+
+    toggleBiteHourControl(visible) {
+        const control = document.getElementById('biteHourControl');
+        if (control) control.style.display = visible ? 'block' : 'none';
+    }
+
+    async loadBiteHeatmap() {
+        try {
+            const response = await fetch(`/api/map/heatmap?hour=${this.biteHeatmapHour}`);
+            if (response.status === 204) {
+                this.updateBiteHourLabel('Mapa brań jest jeszcze przeliczana...');
+                return;
+            }
+            if (!response.ok) throw new Error(`HTTP ${response.status}`);
+
+            const heatmap = await response.json();
+            this.renderBiteHeatmap(heatmap);
+
+            const hour = new Date(heatmap.hour);
+            this.updateBiteHourLabel(hour.toLocaleString('pl-PL', {
+                weekday: 'short', day: '2-digit', month: '2-digit', hour: '2-digit', minute: '2-digit'
+            }));
+        } catch (error) {
+            console.error('Błąd pobierania mapy brań:', error);
+            this.updateBiteHourLabel('Nie udało się pobrać mapy brań');
+        }
+    }
+
+    updateBiteHourLabel(text) {
+        const label = document.getElementById('biteHourLabel');
+        if (label) label.textContent = text;
+    }
+
+    renderBiteHeatmap(heatmap) {
+        const canvas = document.createElement('canvas');
+        canvas.width = heatmap.cols;
+        canvas.height = heatmap.rows;
+        const ctx = canvas.getContext('2d');
+        const image = ctx.createImageData(heatmap.cols, heatmap.rows);
+
+        for (let i = 0; i < heatmap.values.length; i++) {
+            const value = heatmap.values[i];
+            const offset = i * 4;
+            if (value < 0) {
+                image.data[offset + 3] = 0;
+                continue;
+            }
+            const [r, g, b] = this.biteIndexColor(value);
+            image.data[offset] = r;
+            image.data[offset + 1] = g;
+            image.data[offset + 2] = b;
+            image.data[offset + 3] = 255;
+        }
+        ctx.putImageData(image, 0, 0);
+
+        const half = heatmap.step / 2;
+        const bounds = [
+            [heatmap.south - half, heatmap.west - half],
+            [heatmap.north + half, heatmap.east + half]
+        ];
+
+        const overlay = L.imageOverlay(canvas.toDataURL(), bounds, {
+            opacity: 0.45,
+            interactive: false,
+            className: 'bite-heatmap-overlay'
+        });
+
+        this.overlays.bite.clearLayers();
+        this.overlays.bite.addLayer(overlay);
+        this.biteHeatmapImage = overlay;
+    }
+
+    biteIndexColor(value) {
+        // 0 -> czerwony, 50 -> żółty, 100 -> zielony
+        const t = Math.max(0, Math.min(100, value)) / 100;
+        if (t < 0.5) {
+            return [220, Math.round(50 + 360 * t), 40];
+        }
+        return [Math.round(220 - 380 * (t - 0.5)), 200 + Math.round(20 * (t - 0.5)), 40];
     }
 
     updateUrlState() {
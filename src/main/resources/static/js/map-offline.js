@@ -0,0 +1,127 @@
+// Plik: js/map-offline.js
+// Odczyt paczki znaczników offline, którą service worker trzyma w pamięci podręcznej (sw.js).
+// Format binarny opisuje MarkerBundleWriter: nagłówek, tablica napisów i znaczniki
+// z współrzędnymi zapisanymi jako różnice (varint + zigzag), całość skompresowana gzipem.
+
+const OFFLINE_CACHE = 'czyzlowie-offline-v1';
+const BUNDLE_URL = '/api/map/offline/bundle';
+const CHANGES_URL = '/api/map/offline/changes';
+const VERSION_HEADER = 'X-Bundle-Version';
+const KIND_CHANGES = 1;
+
+class BundleReader {
+    constructor(bytes) {
+        this.bytes = bytes;
+        this.pos = 0;
+    }
+
+    byte() {
+        return this.bytes[this.pos++];
+    }
+
+    // Liczby sięgają 2^48, więc bez operatorów bitowych (działają tylko na 32 bitach)
+    varint() {
+        let result = 0, multiplier = 1, byte;
+        do {
+            byte = this.bytes[this.pos++];
+            result += (byte & 0x7f) * multiplier;
+            multiplier *= 128;
+        } while (byte & 0x80);
+        return result;
+    }
+
+    zigzag() {
+        const value = this.varint();
+        return value % 2 ? -(value + 1) / 2 : value / 2;
+    }
+}
+
+async function gunzip(response) {
+    const stream = response.body.pipeThrough(new DecompressionStream('gzip'));
+    return new Uint8Array(await new Response(stream).arrayBuffer());
+}
+
+function decode(bytes) {
+    const reader = new BundleReader(bytes);
+    const magic = String.fromCharCode(reader.byte(), reader.byte(), reader.byte(), reader.byte());
+    if (magic !== 'CZMB' || reader.byte() !== 1) {
+        throw new Error('Nieznany format paczki offline');
+    }
+    const kind = reader.byte();
+    reader.varint();
+    if (kind === KIND_CHANGES) reader.varint();
+
+    const textDecoder = new TextDecoder();
+    const strings = [];
+    for (let count = reader.varint(); count > 0; count--) {
+        const length = reader.varint();
+        strings.push(textDecoder.decode(bytes.subarray(reader.pos, reader.pos + length)));
+        reader.pos += length;
+    }
+    const string = () => {
+        const ref = reader.varint();
+        return ref === 0 ? null : strings[ref - 1];
+    };
+    const date = () => {
+        const day = reader.varint();
+        return day === 0 ? null : new Date((day - 1) * 86400000).toISOString().slice(0, 10);
+    };
+
+    const markers = [];
+    let lat = 0, lng = 0;
+    for (let count = reader.varint(); count > 0; count--) {
+        const positioned = reader.varint() === 1;
+        if (positioned) {
+            lat += reader.zigzag();
+            lng += reader.zigzag();
+        }
+        const marker = {
+            lat: positioned ? lat / 1e5 : null,
+            lng: positioned ? lng / 1e5 : null,
+            id: string(),
+            type: string(),
+            name: string(),
+            slug: string(),
+            description: string(),
+            restrictionType: string(),
+            polygonEncoded: string(),
+            polygonCoordinates: string(),
+            startDate: date(),
+            endDate: date()
+        };
+        marker.polygonDetail = marker.polygonEncoded ? 'MEDIUM' : null;
+        markers.push(marker);
+    }
+
+    const removed = [];
+    if (kind === KIND_CHANGES) {
+        for (let count = reader.varint(); count > 0; count--) removed.push(string());
+    }
+    return { markers, removed };
+}
+
+// Składa znaczniki z pełnej paczki i kolejnych paczek zmian, w takim formacie jak /api/map/markers
+export async function loadOfflineMarkers() {
+    if (!('caches' in window) || typeof DecompressionStream === 'undefined') return [];
+
+    const cache = await caches.open(OFFLINE_CACHE);
+    const bundleResponse = await cache.match(BUNDLE_URL);
+    if (!bundleResponse) return [];
+
+    const markers = new Map(decode(await gunzip(bundleResponse)).markers.map(m => [m.id, m]));
+    let version = bundleResponse.headers.get(VERSION_HEADER);
+
+    while (version) {
+        const changesResponse = await cache.match(`${CHANGES_URL}?since=${version}`);
+        if (!changesResponse) break;
+
+        const changes = decode(await gunzip(changesResponse));
+        changes.markers.forEach(m => markers.set(m.id, m));
+        changes.removed.forEach(id => markers.delete(id));
+
+        const next = changesResponse.headers.get(VERSION_HEADER);
+        if (next === version) break;
+        version = next;
+    }
+    return [...markers.values()];
+}
@@ -20,6 +20,11 @@ let deferredPrompt;
 document.addEventListener('DOMContentLoaded', () => {
     if ('serviceWorker' in navigator) {
         navigator.serviceWorker.register('/sw.js').catch(() => {});
+        navigator.serviceWorker.ready.then(registration => {
+            if (navigator.onLine && registration.active) {
+                registration.active.postMessage('sync-offline-bundle');
+            }
+        });
     }
 
     const isMobile = /Android|webOS|iPhone|iPad|iPod|BlackBerry|IEMobile|Opera Mini/i.test(navigator.userAgent);
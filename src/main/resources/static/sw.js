@@ -1,6 +1,13 @@
 
 const CACHE_NAME = 'czyzlowie-cache-v3';
 const ASSET_CACHE = 'czyzlowie-assets-v1';
+const TILE_CACHE = 'czyzlowie-tiles-v1';
+const OFFLINE_CACHE = 'czyzlowie-offline-v1';
+const OFFLINE_BUNDLE_URL = '/api/map/offline/bundle';
+const OFFLINE_CHANGES_URL = '/api/map/offline/changes';
+const OFFLINE_VERSION_HEADER = 'X-Bundle-Version';
+const MAX_OFFLINE_CHANGES = 30;
+const OFFLINE_SYNC_INTERVAL_MS = 5 * 60 * 1000;
 const STATIC_ASSETS = ['/css/fragments/navbar.css', '/css/fragments/footer.css'];
 
 self.addEventListener('install', (event) => {
@@ -17,13 +24,54 @@ self.addEventListener('activate', (event) => {
         caches.keys().then(keys => {
             return Promise.all(
                 keys.map(key => {
-                    if (key !== CACHE_NAME && key !== ASSET_CACHE) {
+                    if (key !== CACHE_NAME && key !== ASSET_CACHE && key !== TILE_CACHE && key !== OFFLINE_CACHE) {
                         return caches.delete(key);
                     }
                 })
             );
         }).then(() => self.clients.claim())
     );
+    event.waitUntil(syncOfflineBundle().catch(() => {}));
+});
+
+// Paczka znaczników offline: pełna pobierana raz, potem tylko zmiany od posiadanej wersji.
+// Paczki zmian są zapisywane pod adresem z parametrem since, więc tworzą łańcuch od wersji pełnej paczki.
+let lastOfflineSync = 0;
+
+async function syncOfflineBundle() {
+    lastOfflineSync = Date.now();
+    const cache = await caches.open(OFFLINE_CACHE);
+    const bundle = await cache.match(OFFLINE_BUNDLE_URL);
+    const changeKeys = (await cache.keys()).filter(req => req.url.includes(OFFLINE_CHANGES_URL));
+
+    if (bundle && changeKeys.length < MAX_OFFLINE_CHANGES) {
+        let version = bundle.headers.get(OFFLINE_VERSION_HEADER);
+        for (;;) {
+            const changes = await cache.match(`${OFFLINE_CHANGES_URL}?since=${version}`);
+            const next = changes && changes.headers.get(OFFLINE_VERSION_HEADER);
+            if (!next || next === version) break;
+            version = next;
+        }
+
+        const changesUrl = `${OFFLINE_CHANGES_URL}?since=${version}`;
+        const res = await fetch(changesUrl, { cache: 'no-store' });
+        if (res.ok) {
+            await cache.put(changesUrl, res);
+            return;
+        }
+        // 410: serwer nie potrafi wyliczyć zmian (inny dzień lub wyczyszczony dziennik) - pobieramy całość
+        if (res.status !== 410) return;
+    }
+
+    const res = await fetch(OFFLINE_BUNDLE_URL, { cache: 'no-store' });
+    if (!res.ok) return;
+    await cache.put(OFFLINE_BUNDLE_URL, res);
+    await Promise.all(changeKeys.map(req => cache.delete(req)));
+}
+
+self.addEventListener('message', (event) => {
+    if (event.data !== 'sync-offline-bundle' || Date.now() - lastOfflineSync < OFFLINE_SYNC_INTERVAL_MS) return;
+    event.waitUntil(syncOfflineBundle().catch(() => {}));
 });
 
 self.addEventListener('fetch', (event) => {
@@ -31,6 +79,28 @@ self.addEventListener('fetch', (event) => {
 
     if (req.method !== 'GET') return;
 
+    if (req.url.match(/\/api\/map\/tiles\//)) {
+        event.respondWith(
+            caches.open(TILE_CACHE).then(cache => {
+                return cache.match(req).then(cachedRes => {
+                    const networkFetch = fetch(req).then(networkRes => {
+                        if (networkRes && networkRes.status === 200) {
+                            cache.put(req, networkRes.clone()).catch(() => {});
+                        }
+                        return networkRes;
+                    }).catch(() => cachedRes);
+
+                    if (cachedRes) {
+                        event.waitUntil(networkFetch);
+                        return cachedRes;
+                    }
+                    return networkFetch;
+                });
+            })
+        );
+        return;
+    }
+
     if (req.url.match(/\.(css|js|png|jpg|jpeg|svg|gif|woff2?|ttf|ico|webp)$/i) || 
         req.url.match(/\/assets\//)) {
         event.respondWith(
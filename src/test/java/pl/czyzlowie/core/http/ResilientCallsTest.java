@@ -0,0 +1,101 @@
+package pl.czyzlowie.core.http;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientCallsTest {
+
+    private static final String INTEGRATION = "remote";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private CircuitBreakerRegistry circuitBreakers;
+    private ResilientCalls resilientCalls;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .recordException(new RemoteHttpFailure())
+                .build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(1)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        resilientCalls = new ResilientCalls(circuitBreakers, retries, bulkheads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fullBulkheadDoesNotOpenTheCircuit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> resilientCalls.call(INTEGRATION, () -> {
+            started.countDown();
+            await(release);
+            return "ok";
+        }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> resilientCalls.call(INTEGRATION, () -> "rejected"))
+                    .isInstanceOf(BulkheadFullException.class);
+        }
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(INTEGRATION);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+        assertThat(resilientCalls.call(INTEGRATION, () -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    void serverErrorsOpenTheCircuit() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> resilientCalls.call(INTEGRATION, () -> {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            })).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        assertThat(circuitBreakers.circuitBreaker(INTEGRATION).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
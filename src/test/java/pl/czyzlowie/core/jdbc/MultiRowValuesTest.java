@@ -0,0 +1,62 @@
+package pl.czyzlowie.core.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultiRowValuesTest {
+
+    @Test
+    void placeholdersRepeatOneGroupPerRow() {
+        assertThat(MultiRowValues.placeholders(1, 1)).isEqualTo("(?)");
+        assertThat(MultiRowValues.placeholders(3, 2)).isEqualTo("(?, ?, ?), (?, ?, ?)");
+    }
+
+    @Test
+    void placeholdersRejectEmptyRows() {
+        assertThatThrownBy(() -> MultiRowValues.placeholders(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MultiRowValues.placeholders(2, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void chunksCoverEveryRowOnceInOrder() {
+        List<Integer> rows = IntStream.range(0, 2 * MultiRowValues.MAX_ROWS_PER_STATEMENT + 1).boxed().toList();
+        List<Integer> sizes = new ArrayList<>();
+        List<Integer> seen = new ArrayList<>();
+
+        MultiRowValues.forEachChunk(rows, chunk -> {
+            sizes.add(chunk.size());
+            seen.addAll(chunk);
+        });
+
+        assertThat(sizes).containsExactly(MultiRowValues.MAX_ROWS_PER_STATEMENT, MultiRowValues.MAX_ROWS_PER_STATEMENT, 1);
+        assertThat(seen).isEqualTo(rows);
+    }
+
+    @Test
+    void noChunkForNoRows() {
+        List<List<Object>> chunks = new ArrayList<>();
+
+        MultiRowValues.forEachChunk(List.of(), chunks::add);
+
+        assertThat(chunks).isEmpty();
+    }
+
+    @Test
+    void argumentsFlattenRowsAndKeepNulls() {
+        Object[] args = MultiRowValues.arguments(List.of("a", "b"), 2, s -> new Object[]{s, null});
+
+        assertThat(args).containsExactly("a", null, "b", null);
+    }
+
+    @Test
+    void argumentsRejectRowOfWrongWidth() {
+        assertThatThrownBy(() -> MultiRowValues.arguments(List.of("a"), 2, s -> new Object[]{s}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
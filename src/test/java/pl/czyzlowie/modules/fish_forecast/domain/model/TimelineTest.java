@@ -0,0 +1,114 @@
+package pl.czyzlowie.modules.fish_forecast.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimelineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    private final Random random = new Random(7);
+
+    @Test
+    void emptyTimelineAnswersNull() {
+        Timeline<LocalDateTime> timeline = Timeline.of(null, t -> t);
+
+        assertThat(timeline.isEmpty()).isTrue();
+        assertThat(timeline.nearest(START)).isNull();
+        assertThat(timeline.floor(START)).isNull();
+        assertThat(timeline.ceiling(START)).isNull();
+        assertThat(timeline.range(START, START.plusDays(1))).isEmpty();
+        assertThat(timeline.cursor().nearest(START)).isNull();
+    }
+
+    @Test
+    void sortsSnapshotsAndSkipsMissingTimestamps() {
+        List<LocalDateTime> snapshots = Arrays.asList(START.plusHours(2), null, START, START.plusHours(1));
+
+        Timeline<LocalDateTime> timeline = Timeline.of(snapshots, t -> t);
+
+        assertThat(timeline.items()).containsExactly(START, START.plusHours(1), START.plusHours(2));
+    }
+
+    @Test
+    void nearestPrefersEarlierSnapshotOnTie() {
+        Timeline<LocalDateTime> timeline = Timeline.of(List.of(START, START.plusHours(1)), t -> t);
+
+        assertThat(timeline.nearest(START.plusMinutes(30))).isEqualTo(START);
+        assertThat(timeline.nearest(START.plusMinutes(31))).isEqualTo(START.plusHours(1));
+        assertThat(timeline.nearestWithin(START.plusMinutes(30), 29)).isNull();
+        assertThat(timeline.nearestWithin(START.plusMinutes(30), 30)).isEqualTo(START);
+    }
+
+    @Test
+    void lookupsMatchLinearScan() {
+        List<LocalDateTime> snapshots = randomSnapshots(300);
+        Timeline<LocalDateTime> timeline = Timeline.of(snapshots, t -> t);
+        List<LocalDateTime> sorted = snapshots.stream().sorted().toList();
+
+        for (int i = 0; i < 1_000; i++) {
+            LocalDateTime target = START.plusMinutes(random.nextInt(14 * 24 * 60) - 600);
+
+            assertThat(minutesBetween(timeline.nearest(target), target))
+                    .isEqualTo(sorted.stream().mapToLong(s -> minutesBetween(s, target)).min().orElseThrow());
+            assertThat(timeline.floor(target))
+                    .isEqualTo(sorted.stream().filter(s -> !s.isAfter(target)).reduce((a, b) -> b).orElse(null));
+            assertThat(timeline.ceiling(target))
+                    .isEqualTo(sorted.stream().filter(s -> !s.isBefore(target)).findFirst().orElse(null));
+        }
+    }
+
+    @Test
+    void rangeAndBetweenMatchLinearScan() {
+        List<LocalDateTime> snapshots = randomSnapshots(300);
+        Timeline<LocalDateTime> timeline = Timeline.of(snapshots, t -> t);
+        List<LocalDateTime> sorted = snapshots.stream().sorted().toList();
+
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime from = START.plusMinutes(random.nextInt(14 * 24 * 60));
+            LocalDateTime to = from.plusMinutes(random.nextInt(3 * 24 * 60));
+
+            assertThat(timeline.range(from, to)).containsExactlyElementsOf(
+                    sorted.stream().filter(s -> !s.isBefore(from) && s.isBefore(to)).toList());
+            assertThat(timeline.between(from, to)).containsExactlyElementsOf(
+                    sorted.stream().filter(s -> s.isAfter(from) && s.isBefore(to)).toList());
+        }
+    }
+
+    @Test
+    void cursorMatchesRandomAccessLookups() {
+        Timeline<LocalDateTime> timeline = Timeline.of(randomSnapshots(200), t -> t);
+        Timeline<LocalDateTime>.Cursor cursor = timeline.cursor();
+
+        List<LocalDateTime> targets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            targets.add(START.plusMinutes(random.nextInt(15 * 24 * 60) - 600));
+        }
+        targets.sort(Comparator.naturalOrder());
+
+        for (LocalDateTime target : targets) {
+            assertThat(cursor.nearestWithin(target, 90)).isEqualTo(timeline.nearestWithin(target, 90));
+        }
+    }
+
+    private List<LocalDateTime> randomSnapshots(int count) {
+        List<LocalDateTime> snapshots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            snapshots.add(START.plusMinutes(random.nextInt(14 * 24 * 60)));
+        }
+        return snapshots;
+    }
+
+    private static long minutesBetween(LocalDateTime a, LocalDateTime b) {
+        return Math.abs(Duration.between(a, b).toMinutes());
+    }
+}
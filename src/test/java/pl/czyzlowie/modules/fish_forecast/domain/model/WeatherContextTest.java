@@ -0,0 +1,58 @@
+package pl.czyzlowie.modules.fish_forecast.domain.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherContextTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Test
+    void indexesAreDerivedFromTimelines() {
+        WeatherContext context = WeatherContext.builder()
+                .synopTimeline(List.of(synop(START.plusHours(1)), synop(START)))
+                .hydroTimeline(List.of(hydro(START.plusHours(3)), hydro(START)))
+                .build();
+
+        assertThat(context.synopTimeline()).extracting(SynopSnapshot::timestamp)
+                .containsExactly(START, START.plusHours(1));
+        assertThat(context.synopIndex().items()).isEqualTo(context.synopTimeline());
+        assertThat(context.hydroIndex().items()).isEqualTo(context.hydroTimeline());
+        assertThat(context.hydroIndex().nearest(START.plusHours(2))).isEqualTo(hydro(START.plusHours(3)));
+        assertThat(context.meteoTimeline()).isEmpty();
+        assertThat(context.moonTimeline()).isEmpty();
+    }
+
+    @Test
+    void contextsWithSameTimelinesAreEqual() {
+        WeatherContext first = WeatherContext.builder().synopTimeline(List.of(synop(START))).build();
+        WeatherContext second = WeatherContext.builder().synopTimeline(List.of(synop(START))).build();
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+    }
+
+    @Test
+    void serialisesOnlyTimelines() {
+        WeatherContext context = WeatherContext.builder().synopTimeline(List.of(synop(START))).build();
+
+        JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(context);
+
+        assertThat(json.fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("synopTimeline", "hydroTimeline", "meteoTimeline", "moonTimeline");
+        assertThat(json.get("synopTimeline")).hasSize(1);
+    }
+
+    private static SynopSnapshot synop(LocalDateTime timestamp) {
+        return SynopSnapshot.builder().timestamp(timestamp).build();
+    }
+
+    private static HydroSnapshot hydro(LocalDateTime timestamp) {
+        return HydroSnapshot.builder().timestamp(timestamp).build();
+    }
+}
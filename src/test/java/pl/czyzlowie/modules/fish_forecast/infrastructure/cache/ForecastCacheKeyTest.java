@@ -0,0 +1,39 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForecastCacheKeyTest {
+
+    @Test
+    void sameLocalHourInDifferentOffsetsGivesDifferentKeys() {
+        ForecastCacheKey warsaw = key(ZonedDateTime.parse("2026-06-01T12:00+02:00"), List.of(1));
+        ForecastCacheKey utc = key(ZonedDateTime.parse("2026-06-01T12:00Z"), List.of(1));
+
+        assertThat(warsaw).isNotEqualTo(utc);
+    }
+
+    @Test
+    void sameInstantInDifferentOffsetsGivesTheSameKey() {
+        ForecastCacheKey warsaw = key(ZonedDateTime.parse("2026-06-01T12:00+02:00"), List.of(1));
+        ForecastCacheKey utc = key(ZonedDateTime.parse("2026-06-01T10:00Z"), List.of(1));
+
+        assertThat(warsaw).isEqualTo(utc);
+    }
+
+    @Test
+    void speciesAreSortedDeduplicatedAndStrippedOfNulls() {
+        ForecastCacheKey key = key(ZonedDateTime.parse("2026-06-01T12:00Z"), Arrays.asList(3, null, 1, 3));
+
+        assertThat(key.speciesIds()).containsExactly(1, 3);
+    }
+
+    private static ForecastCacheKey key(ZonedDateTime targetHour, List<Integer> speciesIds) {
+        return new ForecastCacheKey("12375", false, "250180590", null, targetHour.toInstant(), speciesIds, false, false);
+    }
+}
@@ -0,0 +1,80 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.config;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FishForecastAsyncConfigTest {
+
+    private static final int POOL_SIZE = 10;
+    private static final int RESERVED = 4;
+
+    /**
+     * Submits a burst of forecast fetches, each holding one of the {@code POOL_SIZE} connections for a few
+     * milliseconds, while other work keeps borrowing a connection with a short timeout.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {50, 200, 500})
+    void burstOfFetchesLeavesReservedConnectionsFree(int forecasts) throws Exception {
+        Executor executor = new FishForecastAsyncConfig().dataFetchExecutor(true, 0, POOL_SIZE, RESERVED);
+        Semaphore connections = new Semaphore(POOL_SIZE, true);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger minFree = new AtomicInteger(POOL_SIZE);
+
+        AtomicBoolean burstRunning = new AtomicBoolean(true);
+        AtomicInteger otherWorkServed = new AtomicInteger();
+        AtomicInteger otherWorkTimedOut = new AtomicInteger();
+        Thread otherWork = Thread.ofPlatform().start(() -> {
+            while (burstRunning.get()) {
+                try {
+                    if (connections.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                        otherWorkServed.incrementAndGet();
+                        connections.release();
+                    } else {
+                        otherWorkTimedOut.incrementAndGet();
+                    }
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        List<CompletableFuture<Void>> fetches = new ArrayList<>(forecasts);
+        for (int i = 0; i < forecasts; i++) {
+            fetches.add(CompletableFuture.runAsync(() -> {
+                connections.acquireUninterruptibly();
+                try {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    minFree.accumulateAndGet(connections.availablePermits(), Math::min);
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                    connections.release();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(fetches.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        burstRunning.set(false);
+        otherWork.join();
+        ((BulkheadExecutor) executor).close();
+
+        assertThat(maxInFlight.get()).isEqualTo(POOL_SIZE - RESERVED);
+        assertThat(minFree.get()).isGreaterThanOrEqualTo(RESERVED - 1);
+        assertThat(otherWorkTimedOut.get()).isZero();
+        assertThat(otherWorkServed.get()).isPositive();
+    }
+}
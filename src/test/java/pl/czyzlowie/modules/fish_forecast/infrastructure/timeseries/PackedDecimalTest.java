@@ -0,0 +1,73 @@
+package pl.czyzlowie.modules.fish_forecast.infrastructure.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedDecimalTest {
+
+    @Test
+    void decodesEqualValueWithItsScale() {
+        for (String text : new String[]{"1013.20", "-12.5", "0.00", "0", "3.6", "36.0", "12345678.901", "-0.001"}) {
+            BigDecimal value = new BigDecimal(text);
+
+            BigDecimal decoded = PackedDecimal.decimal(PackedDecimal.encode(value));
+
+            assertThat(decoded).isEqualTo(value);
+            assertThat(decoded.scale()).isEqualTo(value.scale());
+        }
+    }
+
+    @Test
+    void keepsValuesFloatCannotRepresent() {
+        BigDecimal value = new BigDecimal("16777217.01");
+
+        assertThat(PackedDecimal.decimal(PackedDecimal.encode(value))).isEqualTo(value);
+        assertThat(new BigDecimal(Float.toString(value.floatValue()))).isNotEqualTo(value);
+    }
+
+    @Test
+    void randomValuesRoundTrip() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal value = BigDecimal.valueOf(random.nextLong() >> 10, random.nextInt(256) - 128);
+
+            assertThat(PackedDecimal.decimal(PackedDecimal.encode(value))).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void integersRoundTrip() {
+        for (int value : new int[]{0, 1, -1, 360, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertThat(PackedDecimal.integer(PackedDecimal.encode(value))).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void nullIsMissing() {
+        assertThat(PackedDecimal.encode((BigDecimal) null)).isEqualTo(PackedDecimal.MISSING);
+        assertThat(PackedDecimal.encode((Integer) null)).isEqualTo(PackedDecimal.MISSING);
+        assertThat(PackedDecimal.decimal(PackedDecimal.MISSING)).isNull();
+        assertThat(PackedDecimal.integer(PackedDecimal.MISSING)).isNull();
+    }
+
+    @Test
+    void smallestValueDoesNotCollideWithMissing() {
+        BigDecimal value = BigDecimal.valueOf(-(1L << 54), 0);
+
+        assertThat(PackedDecimal.encode(value)).isNotEqualTo(PackedDecimal.MISSING);
+        assertThat(PackedDecimal.decimal(PackedDecimal.encode(value))).isEqualTo(value);
+    }
+
+    @Test
+    void rejectsValuesOutOfRange() {
+        assertThatThrownBy(() -> PackedDecimal.encode(BigDecimal.valueOf(1L << 54)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PackedDecimal.encode(BigDecimal.valueOf(1, 128)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package pl.czyzlowie.modules.forecast.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OpenMeteoBatchFetcherTest {
+
+    private static final int BULKHEAD_SIZE = 3;
+
+    private final OpenMeteoClient openMeteoClient = mock(OpenMeteoClient.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(BULKHEAD_SIZE)
+            .build());
+    private final OpenMeteoBatchFetcher fetcher = new OpenMeteoBatchFetcher(openMeteoClient, executor, bulkheadRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void failedGroupIsRetriedInWavesNoLargerThanTheBulkhead() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(openMeteoClient.acquireQuota(anyInt())).thenReturn(true);
+        when(openMeteoClient.fetchLocations(eq(OpenMeteoClient.FORECAST), anyString(), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    String url = invocation.getArgument(1);
+                    if (url.contains(",")) {
+                        return List.of();
+                    }
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    inFlight.decrementAndGet();
+                    return List.of(url);
+                });
+        List<String> stations = IntStream.range(0, 10).mapToObj(i -> "s" + i).toList();
+
+        OpenMeteoBatchResult<String, String> result = fetcher.fetch(
+                OpenMeteoClient.FORECAST, stations, 10, group -> String.join(",", group), String.class);
+
+        assertThat(result.failed()).isEmpty();
+        assertThat(result.responses()).extracting(OpenMeteoBatchResult.StationResponse::response)
+                .containsExactlyElementsOf(stations);
+        assertThat(maxInFlight.get()).isBetween(1, BULKHEAD_SIZE);
+    }
+
+    @Test
+    void stationsFailingAloneAreReportedAsFailed() {
+        when(openMeteoClient.acquireQuota(anyInt())).thenReturn(true);
+        when(openMeteoClient.fetchLocations(eq(OpenMeteoClient.FORECAST), anyString(), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    String url = invocation.getArgument(1);
+                    return url.contains(",") || url.equals("s1") ? List.of() : List.of(url);
+                });
+
+        OpenMeteoBatchResult<String, String> result = fetcher.fetch(
+                OpenMeteoClient.FORECAST, List.of("s0", "s1", "s2"), 3, group -> String.join(",", group), String.class);
+
+        assertThat(result.failed()).containsExactly("s1");
+        assertThat(result.responses()).hasSize(2);
+    }
+}
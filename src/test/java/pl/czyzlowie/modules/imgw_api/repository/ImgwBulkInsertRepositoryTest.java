@@ -0,0 +1,33 @@
+package pl.czyzlowie.modules.imgw_api.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImgwBulkInsertRepositoryTest {
+
+    @Test
+    void blockEndsAtTheValueReturnedBySequence() {
+        List<Long> ids = ImgwBulkInsertRepository.pooledBlocks(List.of(151L));
+
+        assertThat(ids).hasSize(ImgwBulkInsertRepository.SEQUENCE_INCREMENT);
+        assertThat(ids).isEqualTo(LongStream.rangeClosed(102, 151).boxed().toList());
+    }
+
+    @Test
+    void firstValueOfSequenceYieldsOnlyPositiveIds() {
+        assertThat(ImgwBulkInsertRepository.pooledBlocks(List.of(1L))).containsExactly(1L);
+    }
+
+    @Test
+    void consecutiveValuesYieldDisjointBlocks() {
+        List<Long> ids = ImgwBulkInsertRepository.pooledBlocks(List.of(201L, 251L));
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize(2 * ImgwBulkInsertRepository.SEQUENCE_INCREMENT);
+        assertThat(ids.getFirst()).isEqualTo(152L);
+        assertThat(ids.getLast()).isEqualTo(251L);
+    }
+}
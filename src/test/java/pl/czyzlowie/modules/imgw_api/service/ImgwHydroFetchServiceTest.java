@@ -0,0 +1,112 @@
+package pl.czyzlowie.modules.imgw_api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.czyzlowie.modules.imgw_api.client.ImgwClient;
+import pl.czyzlowie.modules.imgw_api.client.dto.ImgwHydroResponseDto;
+import pl.czyzlowie.modules.imgw_api.config.ImgwApiProperties;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroData;
+import pl.czyzlowie.modules.imgw_api.entity.ImgwHydroStation;
+import pl.czyzlowie.modules.imgw_api.event.ImgwStationsLocatedEvent;
+import pl.czyzlowie.modules.imgw_api.mapper.ImgwHydroMapper;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwBulkInsertRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroStationRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwInsertResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImgwHydroFetchServiceTest {
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ImgwHydroStationRepository stationRepo = mock(ImgwHydroStationRepository.class);
+    private final ImgwBulkInsertRepository bulkInsertRepository = mock(ImgwBulkInsertRepository.class);
+    private final ImgwHydroMapper mapper = mock(ImgwHydroMapper.class);
+    private ImgwHydroFetchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImgwHydroFetchService(mock(ImgwClient.class), eventPublisher, mock(TransactionTemplate.class),
+                mock(ImgwApiProperties.class), stationRepo, bulkInsertRepository, mapper);
+        when(mapper.toHydroData(any())).thenAnswer(invocation -> new ImgwHydroData());
+        when(bulkInsertRepository.insertHydro(anyList())).thenReturn(new ImgwInsertResult(0, Set.of()));
+        when(stationRepo.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void newStationWithoutCoordinatesIsNotAnnounced() {
+        ImgwHydroResponseDto dto = dto("150");
+        when(stationRepo.findAllById(any())).thenReturn(List.of());
+        when(mapper.toHydroStation(dto)).thenReturn(station("150", null, null));
+
+        service.process(List.of(dto));
+
+        verify(stationRepo).saveAllAndFlush(anyList());
+        verify(eventPublisher, never()).publishEvent(any(ImgwStationsLocatedEvent.class));
+    }
+
+    @Test
+    void newStationWithCoordinatesIsAnnounced() {
+        ImgwHydroResponseDto dto = dto("150");
+        when(stationRepo.findAllById(any())).thenReturn(List.of());
+        when(mapper.toHydroStation(dto)).thenReturn(station("150", new BigDecimal("52.1"), new BigDecimal("21.0")));
+
+        service.process(List.of(dto));
+
+        assertThat(locatedEvent().stationIds()).containsExactly("150");
+    }
+
+    @Test
+    void storedStationReceivesMissingCoordinatesFromFeed() {
+        ImgwHydroResponseDto dto = dto("150");
+        ImgwHydroStation stored = station("150", null, null);
+        when(stationRepo.findAllById(any())).thenReturn(List.of(stored));
+        when(mapper.toHydroStation(dto)).thenReturn(station("150", new BigDecimal("52.1"), new BigDecimal("21.0")));
+
+        service.process(List.of(dto));
+
+        assertThat(stored.getLatitude()).isEqualByComparingTo("52.1");
+        assertThat(stored.getLongitude()).isEqualByComparingTo("21.0");
+        assertThat(locatedEvent().stationIds()).containsExactly("150");
+    }
+
+    @Test
+    void storedStationWithCoordinatesIsLeftAlone() {
+        ImgwHydroResponseDto dto = dto("150");
+        when(stationRepo.findAllById(any())).thenReturn(List.of(station("150", new BigDecimal("52.1"), new BigDecimal("21.0"))));
+
+        service.process(List.of(dto));
+
+        verify(mapper, never()).toHydroStation(any());
+        verify(eventPublisher, never()).publishEvent(any(ImgwStationsLocatedEvent.class));
+    }
+
+    private ImgwStationsLocatedEvent locatedEvent() {
+        ArgumentCaptor<ImgwStationsLocatedEvent> captor = ArgumentCaptor.forClass(ImgwStationsLocatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ImgwHydroResponseDto dto(String stationId) {
+        ImgwHydroResponseDto dto = new ImgwHydroResponseDto();
+        dto.setStationId(stationId);
+        return dto;
+    }
+
+    private static ImgwHydroStation station(String id, BigDecimal latitude, BigDecimal longitude) {
+        return ImgwHydroStation.builder().id(id).name("Stacja " + id).river("Wisła")
+                .latitude(latitude).longitude(longitude).build();
+    }
+}
@@ -0,0 +1,145 @@
+package pl.czyzlowie.modules.location.index;
+
+import org.junit.jupiter.api.Test;
+import pl.czyzlowie.modules.barometer.entity.StationType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StationKdTreeTest {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void emptyTreeReturnsNoNeighbours() {
+        StationKdTree tree = StationKdTree.build(List.of());
+
+        assertThat(tree.isEmpty()).isTrue();
+        assertThat(tree.nearest(52.0, 19.0)).isNull();
+        assertThat(tree.kNearest(52.0, 19.0, 3)).isEmpty();
+        assertThat(tree.withinRadius(52.0, 19.0, 100)).isEmpty();
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        List<StationPoint> stations = randomStations(2_000);
+        StationKdTree tree = StationKdTree.build(stations);
+
+        for (int i = 0; i < 500; i++) {
+            double lat = 48.0 + random.nextDouble() * 7.0;
+            double lon = 13.0 + random.nextDouble() * 12.0;
+
+            StationKdTree.Neighbour found = tree.nearest(lat, lon);
+            double expected = stations.stream().mapToDouble(s -> haversine(lat, lon, s)).min().orElseThrow();
+
+            assertThat(found.distanceKm()).isCloseTo(expected, within(1e-6));
+            assertThat(haversine(lat, lon, found.station())).isCloseTo(expected, within(1e-6));
+        }
+    }
+
+    @Test
+    void kNearestMatchesBruteForceOrder() {
+        List<StationPoint> stations = randomStations(1_000);
+        StationKdTree tree = StationKdTree.build(stations);
+
+        for (int i = 0; i < 200; i++) {
+            double lat = 48.0 + random.nextDouble() * 7.0;
+            double lon = 13.0 + random.nextDouble() * 12.0;
+
+            List<Double> expected = stations.stream()
+                    .map(s -> haversine(lat, lon, s))
+                    .sorted()
+                    .limit(7)
+                    .toList();
+            List<Double> actual = tree.kNearest(lat, lon, 7).stream()
+                    .map(StationKdTree.Neighbour::distanceKm)
+                    .toList();
+
+            assertThat(actual).hasSize(7);
+            for (int k = 0; k < expected.size(); k++) {
+                assertThat(actual.get(k)).isCloseTo(expected.get(k), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void kNearestIsCappedAtTreeSize() {
+        StationKdTree tree = StationKdTree.build(randomStations(3));
+
+        assertThat(tree.kNearest(52.0, 19.0, 10)).hasSize(3);
+        assertThat(tree.kNearest(52.0, 19.0, 0)).isEmpty();
+    }
+
+    @Test
+    void withinRadiusMatchesBruteForce() {
+        List<StationPoint> stations = randomStations(2_000);
+        StationKdTree tree = StationKdTree.build(stations);
+
+        for (int i = 0; i < 200; i++) {
+            double lat = 48.0 + random.nextDouble() * 7.0;
+            double lon = 13.0 + random.nextDouble() * 12.0;
+            double radius = 5.0 + random.nextDouble() * 60.0;
+
+            List<String> expected = stations.stream()
+                    .filter(s -> haversine(lat, lon, s) <= radius - 1e-6)
+                    .sorted(Comparator.comparingDouble(s -> haversine(lat, lon, s)))
+                    .map(StationPoint::id)
+                    .toList();
+            List<StationKdTree.Neighbour> actual = tree.withinRadius(lat, lon, radius);
+
+            assertThat(actual).extracting(n -> n.station().id()).containsAll(expected);
+            assertThat(actual).allSatisfy(n -> assertThat(n.distanceKm()).isLessThanOrEqualTo(radius + 1e-6));
+            assertThat(actual).isSortedAccordingTo(Comparator.comparingDouble(StationKdTree.Neighbour::distanceKm));
+        }
+    }
+
+    @Test
+    void distanceMatchesKnownCityPair() {
+        StationPoint krakow = new StationPoint("krakow", StationType.IMGW_SYNOP, 50.0647, 19.9450);
+        StationKdTree tree = StationKdTree.build(List.of(krakow));
+
+        // Warszawa - Kraków, about 252 km along the great circle
+        assertThat(tree.nearest(52.2297, 21.0122).distanceKm()).isCloseTo(252.0, within(1.0));
+    }
+
+    @Test
+    void hasSameStationsIgnoresOrder() {
+        List<StationPoint> stations = randomStations(50);
+        StationKdTree tree = StationKdTree.build(stations);
+        List<StationPoint> shuffled = new ArrayList<>(stations);
+        Collections.shuffle(shuffled, random);
+
+        assertThat(tree.hasSameStations(shuffled)).isTrue();
+        assertThat(tree.hasSameStations(shuffled.subList(1, shuffled.size()))).isFalse();
+    }
+
+    private List<StationPoint> randomStations(int count) {
+        List<StationPoint> stations = new ArrayList<>(count);
+        StationType[] types = StationType.values();
+        for (int i = 0; i < count; i++) {
+            stations.add(new StationPoint(
+                    "S" + i,
+                    types[i % types.length],
+                    49.0 + random.nextDouble() * 5.0,
+                    14.0 + random.nextDouble() * 10.0));
+        }
+        return stations;
+    }
+
+    private static double haversine(double lat, double lon, StationPoint station) {
+        double dLat = Math.toRadians(station.lat() - lat);
+        double dLon = Math.toRadians(station.lon() - lon);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(station.lat()))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,62 @@
+package pl.czyzlowie.modules.location.service;
+
+import org.junit.jupiter.api.Test;
+import pl.czyzlowie.modules.forecast.repository.VirtualStationRepository;
+import pl.czyzlowie.modules.imgw_api.entity.enums.ImgwImportType;
+import pl.czyzlowie.modules.imgw_api.event.ImgwStationsLocatedEvent;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwHydroStationRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwMeteoStationRepository;
+import pl.czyzlowie.modules.imgw_api.repository.ImgwSynopStationRepository;
+import pl.czyzlowie.modules.location.enums.StationCategory;
+import pl.czyzlowie.modules.location.index.StationPoint;
+import pl.czyzlowie.modules.moon.projection.StationCoordinatesView;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocationFinderServiceTest {
+
+    private final ImgwHydroStationRepository hydroRepository = mock(ImgwHydroStationRepository.class);
+    private final LocationFinderService service = new LocationFinderService(mock(ImgwSynopStationRepository.class),
+            hydroRepository, mock(ImgwMeteoStationRepository.class), mock(VirtualStationRepository.class));
+
+    @Test
+    void reconciliationDoesNotOverwriteIndexRefreshedDuringItsRead() throws InterruptedException {
+        List<StationCoordinatesView> stale = List.of(station("150", 52.2, 21.0));
+        List<StationCoordinatesView> fresh = List.of(station("150", 52.2, 21.0), station("151", 50.1, 19.9));
+        AtomicInteger reads = new AtomicInteger();
+        Thread[] refresh = new Thread[1];
+
+        when(hydroRepository.findActiveStationCoordinates()).thenAnswer(invocation -> {
+            if (reads.getAndIncrement() > 0) {
+                return fresh;
+            }
+            refresh[0] = new Thread(() -> service.onStationsLocated(
+                    new ImgwStationsLocatedEvent(ImgwImportType.HYDRO, Set.of("151"))));
+            refresh[0].start();
+            refresh[0].join(200);
+            return stale;
+        });
+
+        service.reconcileStationCache();
+        refresh[0].join();
+
+        assertThat(service.getStations(StationCategory.HYDRO))
+                .extracting(StationPoint::id)
+                .containsExactlyInAnyOrder("150", "151");
+    }
+
+    private static StationCoordinatesView station(String id, double lat, double lon) {
+        return new Coordinates(id, BigDecimal.valueOf(lat), BigDecimal.valueOf(lon));
+    }
+
+    private record Coordinates(String getId, BigDecimal getLatitude, BigDecimal getLongitude)
+            implements StationCoordinatesView {
+    }
+}
@@ -0,0 +1,130 @@
+package pl.czyzlowie.modules.map.cluster;
+
+import org.junit.jupiter.api.Test;
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarkerClusterIndexTest {
+
+    private static final int RADIUS_PX = 60;
+    private static final int MAX_ZOOM = 13;
+
+    private final Random random = new Random(3);
+
+    @Test
+    void mergesNearbyMarkersAndKeepsDistantOnesApart() {
+        List<MapMarkerDto> markers = List.of(
+                marker("a", 52.2300, 21.0100),
+                marker("b", 52.2310, 21.0110),
+                marker("c", 50.0600, 19.9400));
+        MarkerClusterIndex index = MarkerClusterIndex.build("spot", markers, RADIUS_PX, MAX_ZOOM);
+
+        List<MarkerCluster> clusters = poland(index, 8);
+
+        assertThat(clusters).extracting(MarkerCluster::count).containsExactlyInAnyOrder(2, 1);
+        MarkerCluster single = clusters.stream().filter(c -> c.count() == 1).findFirst().orElseThrow();
+        assertThat(single.marker().getId()).isEqualTo("c");
+        MarkerCluster pair = clusters.stream().filter(c -> c.count() == 2).findFirst().orElseThrow();
+        assertThat(pair.id()).startsWith("spot_");
+        assertThat(pair.lat()).isBetween(52.2300, 52.2310);
+    }
+
+    @Test
+    void everyLevelAccountsForAllPlacedMarkers() {
+        List<MapMarkerDto> markers = randomMarkers(3_000);
+        markers.add(MapMarkerDto.builder().id("unplaced").build());
+        MarkerClusterIndex index = MarkerClusterIndex.build("spot", markers, RADIUS_PX, MAX_ZOOM);
+
+        assertThat(index.size()).isEqualTo(3_000);
+        for (int zoom = 0; zoom <= MAX_ZOOM + 1; zoom++) {
+            int total = poland(index, zoom).stream().mapToInt(MarkerCluster::count).sum();
+            assertThat(total).as("zoom %d", zoom).isEqualTo(3_000);
+        }
+        assertThat(poland(index, MAX_ZOOM + 1)).hasSize(3_000).allMatch(c -> c.count() == 1);
+    }
+
+    @Test
+    void topLevelClusterCountsMatchBruteForceGreedyPass() {
+        List<MapMarkerDto> markers = randomMarkers(2_000);
+        MarkerClusterIndex index = MarkerClusterIndex.build("spot", markers, RADIUS_PX, MAX_ZOOM);
+
+        List<Integer> expected = greedyCounts(markers, (double) RADIUS_PX / (256 * Math.pow(2, MAX_ZOOM)));
+        List<Integer> actual = poland(index, MAX_ZOOM).stream().map(MarkerCluster::count).toList();
+
+        assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void clusterCountShrinksAsZoomDecreases() {
+        MarkerClusterIndex index = MarkerClusterIndex.build("spot", randomMarkers(3_000), RADIUS_PX, MAX_ZOOM);
+
+        for (int zoom = 1; zoom <= MAX_ZOOM + 1; zoom++) {
+            assertThat(poland(index, zoom - 1).size()).isLessThanOrEqualTo(poland(index, zoom).size());
+        }
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> MarkerClusterIndex.build("spot", List.of(), 0, MAX_ZOOM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MarkerClusterIndex.build("spot", List.of(), RADIUS_PX, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Clusters the markers the straightforward way: every unvisited marker, in input order, absorbs all
+     * unvisited markers within the radius in projected unit-square coordinates.
+     */
+    private static List<Integer> greedyCounts(List<MapMarkerDto> markers, double radius) {
+        int size = markers.size();
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = markers.get(i).getLng() / 360 + 0.5;
+            double sin = Math.sin(Math.toRadians(markers.get(i).getLat()));
+            ys[i] = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        }
+
+        boolean[] visited = new boolean[size];
+        List<Integer> counts = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            visited[i] = true;
+            int count = 1;
+            for (int j = 0; j < size; j++) {
+                double dx = xs[j] - xs[i];
+                double dy = ys[j] - ys[i];
+                if (!visited[j] && dx * dx + dy * dy <= radius * radius) {
+                    visited[j] = true;
+                    count++;
+                }
+            }
+            counts.add(count);
+        }
+        return counts;
+    }
+
+    private static List<MarkerCluster> poland(MarkerClusterIndex index, int zoom) {
+        return index.getClusters(55.0, 49.0, 24.2, 14.0, zoom);
+    }
+
+    private List<MapMarkerDto> randomMarkers(int count) {
+        List<MapMarkerDto> markers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            markers.add(marker("m" + i, 49.5 + random.nextDouble() * 5.0, 14.5 + random.nextDouble() * 9.0));
+        }
+        return markers;
+    }
+
+    private static MapMarkerDto marker(String id, double lat, double lng) {
+        return MapMarkerDto.builder().id(id).lat(lat).lng(lng).type("SPECIFIC_SPOT").build();
+    }
+}
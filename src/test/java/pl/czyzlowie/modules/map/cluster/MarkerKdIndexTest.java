@@ -0,0 +1,99 @@
+package pl.czyzlowie.modules.map.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkerKdIndexTest {
+
+    private final Random random = new Random(11);
+
+    @Test
+    void emptyIndexReportsNothing() {
+        MarkerKdIndex index = new MarkerKdIndex(new double[0], new double[0]);
+        List<Integer> found = new ArrayList<>();
+
+        index.range(0, 0, 1, 1, found::add);
+        index.within(0.5, 0.5, 1, found::add);
+
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void rangeMatchesBruteForce() {
+        double[] xs = randomCoordinates(5_000);
+        double[] ys = randomCoordinates(5_000);
+        MarkerKdIndex index = new MarkerKdIndex(xs, ys);
+
+        for (int q = 0; q < 300; q++) {
+            double minX = random.nextDouble();
+            double minY = random.nextDouble();
+            double maxX = minX + random.nextDouble() * 0.2;
+            double maxY = minY + random.nextDouble() * 0.2;
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < xs.length; i++) {
+                if (xs[i] >= minX && xs[i] <= maxX && ys[i] >= minY && ys[i] <= maxY) {
+                    expected.add(i);
+                }
+            }
+            List<Integer> found = new ArrayList<>();
+            index.range(minX, minY, maxX, maxY, found::add);
+
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void withinMatchesBruteForce() {
+        double[] xs = randomCoordinates(5_000);
+        double[] ys = randomCoordinates(5_000);
+        MarkerKdIndex index = new MarkerKdIndex(xs, ys);
+
+        for (int q = 0; q < 300; q++) {
+            double x = random.nextDouble();
+            double y = random.nextDouble();
+            double radius = random.nextDouble() * 0.1;
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < xs.length; i++) {
+                double dx = xs[i] - x;
+                double dy = ys[i] - y;
+                if (dx * dx + dy * dy <= radius * radius) {
+                    expected.add(i);
+                }
+            }
+            List<Integer> found = new ArrayList<>();
+            index.within(x, y, radius, found::add);
+
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void duplicatePointsAreAllReported() {
+        double[] xs = new double[500];
+        double[] ys = new double[500];
+        Arrays.fill(xs, 0.25);
+        Arrays.fill(ys, 0.75);
+        MarkerKdIndex index = new MarkerKdIndex(xs, ys);
+        List<Integer> found = new ArrayList<>();
+
+        index.range(0.25, 0.75, 0.25, 0.75, found::add);
+
+        assertThat(found).hasSize(500).doesNotHaveDuplicates();
+    }
+
+    private double[] randomCoordinates(int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextDouble();
+        }
+        return values;
+    }
+}
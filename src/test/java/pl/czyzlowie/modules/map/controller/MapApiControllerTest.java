@@ -0,0 +1,75 @@
+package pl.czyzlowie.modules.map.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import pl.czyzlowie.modules.fish_forecast.application.heatmap.BiteHeatmapService;
+import pl.czyzlowie.modules.map.offline.OfflineBundleVersion;
+import pl.czyzlowie.modules.map.service.MapClusterService;
+import pl.czyzlowie.modules.map.service.MapMarkerService;
+import pl.czyzlowie.modules.map.service.MapOfflineBundleService;
+import pl.czyzlowie.modules.map.service.MapTileService;
+import pl.czyzlowie.modules.map.service.RestrictionZoneService;
+import pl.czyzlowie.modules.map.snapshot.ETaggedResult;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MapApiControllerTest {
+
+    private static final OfflineBundleVersion VERSION = new OfflineBundleVersion(LocalDate.of(2025, 5, 1), 42);
+    private static final String ETAG = "W/\"bundle-1\"";
+
+    private final MapOfflineBundleService offlineBundleService = mock(MapOfflineBundleService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MapApiController controller = new MapApiController(
+                mock(MapMarkerService.class),
+                mock(MapClusterService.class),
+                mock(MapTileService.class),
+                mock(RestrictionZoneService.class),
+                mock(BiteHeatmapService.class),
+                offlineBundleService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(offlineBundleService.isReady()).thenReturn(true);
+        when(offlineBundleService.getVersion()).thenReturn(VERSION);
+        when(offlineBundleService.getBundle()).thenReturn(new ETaggedResult<>(ETAG, () -> new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void sendsBundleWithVersionHeader() throws Exception {
+        mockMvc.perform(get("/api/map/offline/bundle"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().stringValues("X-Bundle-Version", String.valueOf(VERSION.token())))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void keepsVersionHeaderOnNotModified() throws Exception {
+        mockMvc.perform(get("/api/map/offline/bundle").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("X-Bundle-Version", String.valueOf(VERSION.token())))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void answersUnavailableBeforeTheFirstBundle() throws Exception {
+        when(offlineBundleService.isReady()).thenReturn(false);
+
+        mockMvc.perform(get("/api/map/offline/bundle"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist("X-Bundle-Version"));
+    }
+}
@@ -0,0 +1,90 @@
+package pl.czyzlowie.modules.map.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EncodedPolylineTest {
+
+    @Test
+    void encodesTheReferenceExampleOfTheAlgorithm() {
+        double[] ring = {38.5, -120.2, 40.7, -120.95, 43.252, -126.453};
+
+        assertThat(EncodedPolyline.encode(List.of(List.of(ring)))).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+    }
+
+    @Test
+    void separatesRingsAndPolygons() {
+        double[] a = {50.0, 19.0, 50.1, 19.0, 50.1, 19.1};
+        double[] b = {50.02, 19.02, 50.05, 19.02, 50.05, 19.05};
+        double[] c = {52.0, 21.0, 52.1, 21.0, 52.1, 21.1};
+
+        String encoded = EncodedPolyline.encode(List.of(List.of(a, b), List.of(c)));
+
+        String[] polygons = encoded.split(String.valueOf(EncodedPolyline.POLYGON_SEPARATOR));
+        assertThat(polygons).hasSize(2);
+        assertThat(polygons[0].split(String.valueOf(EncodedPolyline.RING_SEPARATOR))).hasSize(2);
+        assertThat(decode(polygons[1])).containsExactly(c);
+    }
+
+    @Test
+    void roundTripsRandomRingsToFiveDecimalPlaces() {
+        Random random = new Random(5);
+
+        for (int n = 0; n < 200; n++) {
+            double[] ring = new double[2 * (3 + random.nextInt(200))];
+            for (int i = 0; i < ring.length; i += 2) {
+                ring[i] = -85 + random.nextDouble() * 170;
+                ring[i + 1] = -180 + random.nextDouble() * 360;
+            }
+
+            String encoded = EncodedPolyline.encode(List.of(List.of(ring)));
+            double[] decoded = decode(encoded);
+
+            assertThat(encoded).doesNotContain(String.valueOf(EncodedPolyline.RING_SEPARATOR),
+                    String.valueOf(EncodedPolyline.POLYGON_SEPARATOR));
+            assertThat(decoded).hasSameSizeAs(ring);
+            for (int i = 0; i < ring.length; i++) {
+                assertThat(decoded[i]).isCloseTo(ring[i], within(0.5e-5 + 1e-12));
+            }
+        }
+    }
+
+    /**
+     * Decodes one ring, as the map client does.
+     */
+    static double[] decode(String encoded) {
+        List<Double> values = new ArrayList<>();
+        long lat = 0;
+        long lng = 0;
+        int index = 0;
+        while (index < encoded.length()) {
+            long[] result = new long[1];
+            index = decodeValue(encoded, index, result);
+            lat += result[0];
+            index = decodeValue(encoded, index, result);
+            lng += result[0];
+            values.add(lat / 1e5);
+            values.add(lng / 1e5);
+        }
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static int decodeValue(String encoded, int index, long[] result) {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = encoded.charAt(index++) - 63;
+            value |= (long) (b & 0x1F) << shift;
+            shift += 5;
+        } while (b >= 0x20);
+        result[0] = (value & 1) != 0 ? ~(value >> 1) : value >> 1;
+        return index;
+    }
+}
@@ -0,0 +1,110 @@
+package pl.czyzlowie.modules.map.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedRTreeTest {
+
+    private final Random random = new Random(17);
+
+    @Test
+    void emptyTreeReportsNothing() {
+        PackedRTree tree = new PackedRTree(new double[0], new double[0], new double[0], new double[0]);
+        List<Integer> found = new ArrayList<>();
+
+        tree.search(-180, -90, 180, 90, found::add);
+
+        assertThat(tree.size()).isZero();
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void boxSearchMatchesBruteForceForEveryTreeHeight() {
+        for (int size : new int[]{1, 15, 16, 17, 256, 257, 5_000}) {
+            Boxes boxes = randomBoxes(size);
+            PackedRTree tree = new PackedRTree(boxes.minX, boxes.minY, boxes.maxX, boxes.maxY);
+            assertThat(tree.size()).isEqualTo(size);
+
+            for (int q = 0; q < 200; q++) {
+                double minX = 14 + random.nextDouble() * 10;
+                double minY = 49 + random.nextDouble() * 6;
+                double maxX = minX + random.nextDouble() * 2;
+                double maxY = minY + random.nextDouble() * 2;
+
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    if (boxes.minX[i] <= maxX && boxes.maxX[i] >= minX && boxes.minY[i] <= maxY && boxes.maxY[i] >= minY) {
+                        expected.add(i);
+                    }
+                }
+                List<Integer> found = new ArrayList<>();
+                tree.search(minX, minY, maxX, maxY, found::add);
+
+                assertThat(found).as("size %d", size).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void pointSearchMatchesBruteForce() {
+        Boxes boxes = randomBoxes(3_000);
+        PackedRTree tree = new PackedRTree(boxes.minX, boxes.minY, boxes.maxX, boxes.maxY);
+
+        for (int q = 0; q < 1_000; q++) {
+            double x = 14 + random.nextDouble() * 10;
+            double y = 49 + random.nextDouble() * 6;
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < boxes.minX.length; i++) {
+                if (boxes.minX[i] <= x && boxes.maxX[i] >= x && boxes.minY[i] <= y && boxes.maxY[i] >= y) {
+                    expected.add(i);
+                }
+            }
+            List<Integer> found = new ArrayList<>();
+            tree.search(x, y, found::add);
+
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void pointOnTheEdgeOfABoxMatches() {
+        PackedRTree tree = new PackedRTree(new double[]{0}, new double[]{0}, new double[]{1}, new double[]{1});
+        List<Integer> found = new ArrayList<>();
+
+        tree.search(1, 0.5, found::add);
+        tree.search(1.0000001, 0.5, found::add);
+
+        assertThat(found).containsExactly(0);
+    }
+
+    private Boxes randomBoxes(int size) {
+        Boxes boxes = new Boxes(size);
+        for (int i = 0; i < size; i++) {
+            boxes.minX[i] = 14 + random.nextDouble() * 10;
+            boxes.minY[i] = 49 + random.nextDouble() * 6;
+            boxes.maxX[i] = boxes.minX[i] + random.nextDouble() * 0.3;
+            boxes.maxY[i] = boxes.minY[i] + random.nextDouble() * 0.2;
+        }
+        return boxes;
+    }
+
+    private static final class Boxes {
+        private final double[] minX;
+        private final double[] minY;
+        private final double[] maxX;
+        private final double[] maxY;
+
+        private Boxes(int size) {
+            minX = new double[size];
+            minY = new double[size];
+            maxX = new double[size];
+            maxY = new double[size];
+        }
+    }
+}
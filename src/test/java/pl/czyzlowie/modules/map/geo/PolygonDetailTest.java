@@ -0,0 +1,113 @@
+package pl.czyzlowie.modules.map.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PolygonDetailTest {
+
+    @Test
+    void mapsZoomBandsToLevels() {
+        assertThat(PolygonDetail.forZoom(0)).isEqualTo(PolygonDetail.LOW);
+        assertThat(PolygonDetail.forZoom(8)).isEqualTo(PolygonDetail.LOW);
+        assertThat(PolygonDetail.forZoom(9)).isEqualTo(PolygonDetail.MEDIUM);
+        assertThat(PolygonDetail.forZoom(12)).isEqualTo(PolygonDetail.MEDIUM);
+        assertThat(PolygonDetail.forZoom(13)).isEqualTo(PolygonDetail.HIGH);
+        assertThat(PolygonDetail.forZoom(22)).isEqualTo(PolygonDetail.HIGH);
+    }
+
+    @Test
+    void toleranceIsTheGroundSizeOfOneWebMercatorPixel() {
+        // 156543.03 m per pixel at zoom 0 on the equator, halved with every zoom level
+        assertThat(PolygonDetail.LOW.toleranceMeters(0)).isCloseTo(156_543.03 / 256, within(0.01));
+        assertThat(PolygonDetail.MEDIUM.toleranceMeters(0)).isCloseTo(156_543.03 / 4096, within(0.001));
+        assertThat(PolygonDetail.MEDIUM.toleranceMeters(60)).isCloseTo(156_543.03 / 4096 / 2, within(0.001));
+        assertThat(PolygonDetail.HIGH.toleranceMeters(52)).isZero();
+    }
+
+    @Test
+    void simplifiedLevelsRoundTripThroughEncodedPolylineWithinTolerance() {
+        double[] ring = lake(new Random(21), 52.2, 21.0, 3_000);
+        GeoPolygon polygon = GeoPolygon.parse(toJson(ring)).orElseThrow();
+
+        PreparedPolygon prepared = PreparedPolygon.prepare(polygon);
+
+        double[] high = EncodedPolylineTest.decode(prepared.levels().high());
+        double[] medium = EncodedPolylineTest.decode(prepared.levels().medium());
+        double[] low = EncodedPolylineTest.decode(prepared.levels().low());
+        assertThat(high).hasSameSizeAs(ring);
+        for (int i = 0; i < ring.length; i++) {
+            assertThat(high[i]).isCloseTo(ring[i], within(0.5e-5 + 1e-12));
+        }
+        assertThat(medium.length).isLessThan(high.length);
+        assertThat(low.length).isLessThan(medium.length).isGreaterThanOrEqualTo(6);
+
+        double mediumTolerance = PolygonDetail.MEDIUM.toleranceMeters(52.2);
+        for (int i = 0; i < ring.length; i += 2) {
+            // the decoded outline may additionally be off by the 1e-5 degree rounding, about a metre
+            assertThat(distanceToRingMeters(ring[i], ring[i + 1], medium)).isLessThanOrEqualTo(mediumTolerance + 1.2);
+        }
+    }
+
+    @Test
+    void toleranceIsTheSameGroundDistanceOnBothAxes() {
+        double tolerance = PolygonDetail.LOW.toleranceMeters(54);
+        double degreeLat = 6_371_008.8 * Math.PI / 180;
+        double degreeLng = degreeLat * Math.cos(Math.toRadians(54));
+        // a notch sticking out east by 0.8 tolerance and one sticking out north by 1.2 tolerance
+        double east = 0.8 * tolerance / degreeLng;
+        double north = 1.2 * tolerance / degreeLat;
+        String json = "[[54.0,18.0],[54.0,18.05],[54.025,18.05],[54.05,18.05],[54.05,18.025],[%s,18.0125],[54.05,18.0],[54.025,%s]]"
+                .formatted(54.05 + north, 18.0 - east);
+
+        GeoPolygon simplified = GeoPolygon.parse(json).orElseThrow().simplify(tolerance);
+
+        double[] ring = simplified.polygons().getFirst().getFirst();
+        assertThat(ring.length / 2).isEqualTo(5);
+        assertThat(IntStream.range(0, 5).mapToDouble(i -> ring[2 * i]).max().orElseThrow())
+                .isCloseTo(54.05 + north, within(1e-9));
+        assertThat(IntStream.range(0, 5).mapToDouble(i -> ring[2 * i + 1]).min().orElseThrow())
+                .isCloseTo(18.0, within(1e-9));
+    }
+
+    private static double[] lake(Random random, double lat, double lng, int count) {
+        double[] ring = new double[2 * count];
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double radius = 0.02 * (1 + 0.2 * Math.sin(5 * angle) + random.nextGaussian() * 0.003);
+            ring[2 * i] = lat + radius * Math.sin(angle);
+            ring[2 * i + 1] = lng + radius * Math.cos(angle) / Math.cos(Math.toRadians(lat));
+        }
+        return ring;
+    }
+
+    private static String toJson(double[] ring) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < ring.length; i += 2) {
+            json.append(i > 0 ? "," : "").append('[').append(ring[i]).append(',').append(ring[i + 1]).append(']');
+        }
+        return json.append(']').toString();
+    }
+
+    private static double distanceToRingMeters(double lat, double lng, double[] ring) {
+        double degreeLat = 6_371_008.8 * Math.PI / 180;
+        double degreeLng = degreeLat * Math.cos(Math.toRadians(lat));
+        double best = Double.POSITIVE_INFINITY;
+        int count = ring.length / 2;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            double x1 = (ring[2 * j + 1] - lng) * degreeLng;
+            double y1 = (ring[2 * j] - lat) * degreeLat;
+            double x2 = (ring[2 * i + 1] - lng) * degreeLng;
+            double y2 = (ring[2 * i] - lat) * degreeLat;
+            double dx = x2 - x1;
+            double dy = y2 - y1;
+            double t = dx == 0 && dy == 0 ? 0 : Math.clamp(-(x1 * dx + y1 * dy) / (dx * dx + dy * dy), 0.0, 1.0);
+            best = Math.min(best, Math.hypot(x1 + t * dx, y1 + t * dy));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,91 @@
+package pl.czyzlowie.modules.map.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolylineSimplifierTest {
+
+    @Test
+    void removesCollinearVertices() {
+        double[] ring = {0, 0, 5, 0, 10, 0, 10, 5, 10, 10, 5, 10, 0, 10, 0, 5};
+
+        assertThat(PolylineSimplifier.simplifyRing(ring, 0.1)).containsExactly(0, 0, 10, 0, 10, 10, 0, 10);
+    }
+
+    @Test
+    void keepsVerticesBeyondTheTolerance() {
+        double[] ring = {0, 0, 5, 1, 10, 0, 10, 10, 0, 10};
+
+        assertThat(PolylineSimplifier.simplifyRing(ring, 0.5)).isSameAs(ring);
+        assertThat(PolylineSimplifier.simplifyRing(ring, 2)).containsExactly(0, 0, 10, 0, 10, 10, 0, 10);
+    }
+
+    @Test
+    void leavesTrianglesAndZeroToleranceUntouched() {
+        double[] triangle = {0, 0, 1, 0, 0, 1};
+        double[] square = {0, 0, 1, 0, 1, 1, 0, 1};
+
+        assertThat(PolylineSimplifier.simplifyRing(triangle, 10)).isSameAs(triangle);
+        assertThat(PolylineSimplifier.simplifyRing(square, 0)).isSameAs(square);
+    }
+
+    @Test
+    void everyRemovedVertexLiesWithinToleranceOfTheOutline() {
+        Random random = new Random(9);
+
+        for (int n = 0; n < 100; n++) {
+            int count = 20 + random.nextInt(2_000);
+            double[] ring = noisyCircle(random, count);
+            double tolerance = 0.001 + random.nextDouble() * 0.05;
+
+            double[] simplified = PolylineSimplifier.simplifyRing(ring, tolerance);
+
+            assertThat(simplified.length).isGreaterThanOrEqualTo(6).isLessThanOrEqualTo(ring.length);
+            for (int i = 0; i < ring.length; i += 2) {
+                assertThat(distanceToRing(ring[i], ring[i + 1], simplified)).isLessThanOrEqualTo(tolerance + 1e-12);
+            }
+            assertKeptVerticesInOrder(ring, simplified);
+        }
+    }
+
+    private static void assertKeptVerticesInOrder(double[] ring, double[] simplified) {
+        int j = 0;
+        for (int i = 0; i < ring.length && j < simplified.length; i += 2) {
+            if (ring[i] == simplified[j] && ring[i + 1] == simplified[j + 1]) {
+                j += 2;
+            }
+        }
+        assertThat(j).isEqualTo(simplified.length);
+    }
+
+    private static double[] noisyCircle(Random random, int count) {
+        double[] ring = new double[2 * count];
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double radius = 1 + random.nextGaussian() * 0.02;
+            ring[2 * i] = radius * Math.cos(angle);
+            ring[2 * i + 1] = radius * Math.sin(angle);
+        }
+        return ring;
+    }
+
+    private static double distanceToRing(double x, double y, double[] ring) {
+        double best = Double.POSITIVE_INFINITY;
+        int count = ring.length / 2;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            best = Math.min(best, distanceToSegment(x, y, ring[2 * j], ring[2 * j + 1], ring[2 * i], ring[2 * i + 1]));
+        }
+        return best;
+    }
+
+    private static double distanceToSegment(double x, double y, double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double t = dx == 0 && dy == 0 ? 0 : ((x - x1) * dx + (y - y1) * dy) / (dx * dx + dy * dy);
+        t = Math.clamp(t, 0.0, 1.0);
+        return Math.hypot(x - (x1 + t * dx), y - (y1 + t * dy));
+    }
+}
@@ -0,0 +1,206 @@
+package pl.czyzlowie.modules.map.offline;
+
+import org.junit.jupiter.api.Test;
+import pl.czyzlowie.modules.map.dto.MapMarkerDto;
+import pl.czyzlowie.modules.map.geo.PolygonLevels;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MarkerBundleWriterTest {
+
+    private static final OfflineBundleVersion VERSION = new OfflineBundleVersion(LocalDate.of(2025, 5, 1), 42);
+
+    @Test
+    void writesHeaderWithVersionToken() throws IOException {
+        Decoded bundle = decode(MarkerBundleWriter.writeBundle(VERSION, List.of()));
+
+        assertThat(bundle.kind).isZero();
+        assertThat(bundle.version).isEqualTo(VERSION.token());
+        assertThat(OfflineBundleVersion.fromToken(bundle.version)).isEqualTo(VERSION);
+        assertThat(bundle.markers).isEmpty();
+    }
+
+    @Test
+    void roundTripsMarkersOrderedByPosition() throws IOException {
+        MapMarkerDto restriction = MapMarkerDto.builder()
+                .id("r1").type("RESTRICTION").name("Zakaz połowu").slug("zakaz").restrictionType("NO_FISHING")
+                .startDate(LocalDate.of(2025, 1, 1)).endDate(LocalDate.of(2025, 5, 31))
+                .polygonCoordinates("[[1,2],[3,4],[5,6]]")
+                .polygonLevels(new PolygonLevels("low", "medium", "high"))
+                .build();
+        MapMarkerDto north = marker("b", 54.35202, 18.64664);
+        MapMarkerDto south = marker("a", 49.29899, 19.94885);
+
+        Decoded bundle = decode(MarkerBundleWriter.writeBundle(VERSION, List.of(restriction, north, south)));
+
+        assertThat(bundle.markers).extracting(m -> m.id).containsExactly("a", "b", "r1");
+        assertThat(bundle.markers.get(0).lat).isCloseTo(49.29899, within(1e-9));
+        assertThat(bundle.markers.get(1).lng).isCloseTo(18.64664, within(1e-9));
+        DecodedMarker decoded = bundle.markers.get(2);
+        assertThat(decoded.lat).isNull();
+        assertThat(decoded.name).isEqualTo("Zakaz połowu");
+        assertThat(decoded.polygonEncoded).isEqualTo("medium");
+        assertThat(decoded.polygonJson).isNull();
+        assertThat(decoded.startDate).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(decoded.endDate).isEqualTo(LocalDate.of(2025, 5, 31));
+    }
+
+    @Test
+    void fallsBackToPolygonJsonWithoutPreparedLevels() throws IOException {
+        MapMarkerDto restriction = MapMarkerDto.builder()
+                .id("r1").type("RESTRICTION").polygonCoordinates("[[1,2],[3,4],[5,6]]").build();
+
+        DecodedMarker decoded = decode(MarkerBundleWriter.writeBundle(VERSION, List.of(restriction))).markers.getFirst();
+
+        assertThat(decoded.polygonEncoded).isNull();
+        assertThat(decoded.polygonJson).isEqualTo("[[1,2],[3,4],[5,6]]");
+    }
+
+    @Test
+    void roundTripsRandomPositionsToFiveDecimalPlaces() throws IOException {
+        Random random = new Random(31);
+        List<MapMarkerDto> markers = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            markers.add(marker("m" + i, 49 + random.nextDouble() * 6, 14 + random.nextDouble() * 10));
+        }
+
+        Decoded bundle = decode(MarkerBundleWriter.writeBundle(VERSION, markers));
+
+        assertThat(bundle.markers).hasSize(5_000);
+        for (DecodedMarker decoded : bundle.markers) {
+            MapMarkerDto original = markers.get(Integer.parseInt(decoded.id.substring(1)));
+            assertThat(decoded.lat).isCloseTo(original.getLat(), within(0.5e-5 + 1e-12));
+            assertThat(decoded.lng).isCloseTo(original.getLng(), within(0.5e-5 + 1e-12));
+            assertThat(decoded.type).isEqualTo("SPECIFIC_SPOT");
+        }
+    }
+
+    @Test
+    void writesChangesWithBothVersionsAndRemovedIds() throws IOException {
+        OfflineBundleVersion since = new OfflineBundleVersion(LocalDate.of(2025, 5, 1), 40);
+
+        Decoded changes = decode(MarkerBundleWriter.writeChanges(since, VERSION,
+                List.of(marker("new", 52.0, 21.0)), List.of("gone-1", "gone-2")));
+
+        assertThat(changes.kind).isEqualTo(1);
+        assertThat(changes.version).isEqualTo(VERSION.token());
+        assertThat(changes.since).isEqualTo(since.token());
+        assertThat(changes.markers).extracting(m -> m.id).containsExactly("new");
+        assertThat(changes.removedIds).containsExactly("gone-1", "gone-2");
+    }
+
+    private static MapMarkerDto marker(String id, double lat, double lng) {
+        return MapMarkerDto.builder().id(id).type("SPECIFIC_SPOT").name(id).lat(lat).lng(lng).build();
+    }
+
+    /**
+     * Reads a payload back following the documented layout, as the service worker does.
+     */
+    private static Decoded decode(byte[] payload) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            assertThat(in.readNBytes(4)).containsExactly('C', 'Z', 'M', 'B');
+            assertThat(in.read()).isEqualTo(1);
+
+            Decoded decoded = new Decoded();
+            decoded.kind = in.read();
+            decoded.version = varint(in);
+            if (decoded.kind == 1) {
+                decoded.since = varint(in);
+            }
+
+            List<String> strings = new ArrayList<>();
+            long stringCount = varint(in);
+            for (int i = 0; i < stringCount; i++) {
+                strings.add(new String(in.readNBytes((int) varint(in)), StandardCharsets.UTF_8));
+            }
+
+            long markerCount = varint(in);
+            long lat = 0;
+            long lng = 0;
+            for (int i = 0; i < markerCount; i++) {
+                DecodedMarker marker = new DecodedMarker();
+                if (varint(in) == 1) {
+                    lat += unzigzag(varint(in));
+                    lng += unzigzag(varint(in));
+                    marker.lat = lat / 1e5;
+                    marker.lng = lng / 1e5;
+                }
+                marker.id = string(strings, varint(in));
+                marker.type = string(strings, varint(in));
+                marker.name = string(strings, varint(in));
+                varint(in);
+                varint(in);
+                varint(in);
+                marker.polygonEncoded = string(strings, varint(in));
+                marker.polygonJson = string(strings, varint(in));
+                marker.startDate = date(varint(in));
+                marker.endDate = date(varint(in));
+                decoded.markers.add(marker);
+            }
+
+            if (decoded.kind == 1) {
+                long removed = varint(in);
+                for (int i = 0; i < removed; i++) {
+                    decoded.removedIds.add(string(strings, varint(in)));
+                }
+            }
+            assertThat(in.read()).isEqualTo(-1);
+            return decoded;
+        }
+    }
+
+    private static String string(List<String> strings, long ref) {
+        return ref == 0 ? null : strings.get((int) ref - 1);
+    }
+
+    private static LocalDate date(long value) {
+        return value == 0 ? null : LocalDate.ofEpochDay(value - 1);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long varint(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static final class Decoded {
+        private int kind;
+        private long version;
+        private long since;
+        private final List<DecodedMarker> markers = new ArrayList<>();
+        private final List<String> removedIds = new ArrayList<>();
+    }
+
+    private static final class DecodedMarker {
+        private Double lat;
+        private Double lng;
+        private String id;
+        private String type;
+        private String name;
+        private String polygonEncoded;
+        private String polygonJson;
+        private LocalDate startDate;
+        private LocalDate endDate;
+    }
+}
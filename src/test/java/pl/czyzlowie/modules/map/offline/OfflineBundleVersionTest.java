@@ -0,0 +1,55 @@
+package pl.czyzlowie.modules.map.offline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OfflineBundleVersionTest {
+
+    @Test
+    void packsEpochDayAboveChangeVersion() {
+        OfflineBundleVersion version = new OfflineBundleVersion(LocalDate.of(2025, 5, 1), 7);
+
+        // 2025-05-01 is epoch day 20209
+        assertThat(version.token()).isEqualTo(20209L * 4_294_967_296L + 7);
+    }
+
+    @Test
+    void roundTripsThroughToken() {
+        for (LocalDate day : new LocalDate[]{LocalDate.EPOCH, LocalDate.of(2025, 5, 1), LocalDate.of(2199, 12, 31)}) {
+            for (long change : new long[]{0, 1, 123_456, 0xFFFF_FFFFL}) {
+                OfflineBundleVersion version = new OfflineBundleVersion(day, change);
+
+                assertThat(OfflineBundleVersion.fromToken(version.token())).isEqualTo(version);
+            }
+        }
+    }
+
+    @Test
+    void tokenStaysExactInJavaScript() {
+        long token = new OfflineBundleVersion(LocalDate.of(2199, 12, 31), 0xFFFF_FFFFL).token();
+
+        assertThat(token).isLessThan(1L << 53);
+        assertThat((long) (double) token).isEqualTo(token);
+    }
+
+    @Test
+    void laterDayOrChangeGivesLargerToken() {
+        OfflineBundleVersion base = new OfflineBundleVersion(LocalDate.of(2025, 5, 1), 0xFFFF_FFFFL);
+
+        assertThat(new OfflineBundleVersion(LocalDate.of(2025, 5, 2), 0).token()).isGreaterThan(base.token());
+        assertThat(new OfflineBundleVersion(LocalDate.of(2025, 5, 1), 5).token())
+                .isGreaterThan(new OfflineBundleVersion(LocalDate.of(2025, 5, 1), 4).token());
+    }
+
+    @Test
+    void rejectsChangeVersionsOutsideTheLowerBits() {
+        assertThatThrownBy(() -> new OfflineBundleVersion(LocalDate.EPOCH, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OfflineBundleVersion(LocalDate.EPOCH, 1L << 32))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package pl.czyzlowie.modules.map.restriction;
+
+import org.junit.jupiter.api.Test;
+import pl.czyzlowie.modules.map.dto.RestrictionZoneDto;
+import pl.czyzlowie.modules.map.geo.GeoPolygon;
+import pl.czyzlowie.modules.map.projection.MapMarkerRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestrictionZoneIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 5, 1);
+
+    // A U-shaped lake bay: the notch between the arms lies outside the polygon
+    private static final String U_SHAPE =
+            "[[50.0,19.0],[50.0,19.3],[50.3,19.3],[50.3,19.2],[50.1,19.2],[50.1,19.1],[50.3,19.1],[50.3,19.0]]";
+    // A square with a square island cut out of it
+    private static final String SQUARE_WITH_HOLE =
+            "[[[52.0,21.0],[52.0,21.4],[52.4,21.4],[52.4,21.0]],[[52.1,21.1],[52.1,21.3],[52.3,21.3],[52.3,21.1]]]";
+
+    @Test
+    void answersKnownPointInPolygonCases() {
+        RestrictionZoneIndex index = RestrictionZoneIndex.build(TODAY, List.of(
+                row("u", U_SHAPE, null, null),
+                row("ring", SQUARE_WITH_HOLE, null, null)));
+
+        assertThat(ids(index.findAt(50.05, 19.15))).containsExactly("u");
+        assertThat(ids(index.findAt(50.2, 19.05))).containsExactly("u");
+        assertThat(ids(index.findAt(50.2, 19.15))).isEmpty();
+        assertThat(ids(index.findAt(52.05, 21.2))).containsExactly("ring");
+        assertThat(ids(index.findAt(52.2, 21.2))).isEmpty();
+        assertThat(ids(index.findAt(51.0, 20.0))).isEmpty();
+    }
+
+    @Test
+    void reportsOverlappingRestrictions() {
+        RestrictionZoneIndex index = RestrictionZoneIndex.build(TODAY, List.of(
+                row("a", "[[50.0,19.0],[50.0,19.2],[50.2,19.2],[50.2,19.0]]", null, null),
+                row("b", "[[50.1,19.1],[50.1,19.3],[50.3,19.3],[50.3,19.1]]", null, null)));
+
+        assertThat(ids(index.findAt(50.15, 19.15))).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void skipsRowsWithoutValidPolygon() {
+        RestrictionZoneIndex index = RestrictionZoneIndex.build(TODAY, List.of(
+                row("broken", "not json", null, null),
+                row("line", "[[50.0,19.0],[50.1,19.1]]", null, null),
+                row("ok", U_SHAPE, null, null)));
+
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void filtersByValidityDates() {
+        RestrictionZoneIndex index = RestrictionZoneIndex.build(TODAY, List.of(
+                row("past", U_SHAPE, TODAY.minusMonths(2), TODAY.minusDays(1)),
+                row("current", U_SHAPE, TODAY, TODAY),
+                row("future", U_SHAPE, TODAY.plusDays(1), null)));
+
+        assertThat(ids(index.findAt(50.05, 19.15))).containsExactly("current");
+        assertThat(ids(index.findAt(50.05, 19.15, TODAY.plusDays(5)))).containsExactly("future");
+        assertThat(ids(index.forDay(TODAY.minusDays(1)).findAt(50.05, 19.15))).containsExactly("past");
+        assertThat(index.forDay(TODAY)).isSameAs(index);
+    }
+
+    @Test
+    void matchesLinearScanOverAllPolygons() {
+        Random random = new Random(23);
+        List<MapMarkerRow> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rows.add(row("r" + i, randomStar(random), null, null));
+        }
+        List<GeoPolygon> polygons = rows.stream().map(r -> GeoPolygon.parse(r.polygonCoordinates()).orElseThrow()).toList();
+        RestrictionZoneIndex index = RestrictionZoneIndex.build(TODAY, rows);
+
+        for (int q = 0; q < 5_000; q++) {
+            double lat = 49 + random.nextDouble() * 6;
+            double lng = 14 + random.nextDouble() * 10;
+
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (polygons.get(i).contains(lat, lng)) {
+                    expected.add(rows.get(i).id());
+                }
+            }
+
+            assertThat(ids(index.findAt(lat, lng))).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    /**
+     * Builds a concave star-shaped ring somewhere over Poland.
+     */
+    private static String randomStar(Random random) {
+        double lat = 49.5 + random.nextDouble() * 5;
+        double lng = 14.5 + random.nextDouble() * 9;
+        int points = 5 + random.nextInt(20);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2 * points; i++) {
+            double angle = Math.PI * i / points;
+            double radius = (i % 2 == 0 ? 0.3 : 0.1) * (0.5 + random.nextDouble());
+            json.append(i > 0 ? "," : "")
+                    .append('[').append(lat + radius * Math.sin(angle))
+                    .append(',').append(lng + radius * Math.cos(angle)).append(']');
+        }
+        return json.append(']').toString();
+    }
+
+    private static List<String> ids(List<RestrictionZoneDto> zones) {
+        return zones.stream().map(RestrictionZoneDto::getId).toList();
+    }
+
+    private static MapMarkerRow row(String id, String polygon, LocalDate start, LocalDate end) {
+        return new MapMarkerRow(id, "RESTRICTION", id, id, null, null, null, "NO_KILL", start, end, polygon,
+                null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package pl.czyzlowie.modules.map.tile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProtobufWriterTest {
+
+    @Test
+    void zigzagMapsSignedValuesOntoUnsignedOnes() {
+        assertThat(ProtobufWriter.zigzag(0)).isEqualTo(0);
+        assertThat(ProtobufWriter.zigzag(-1)).isEqualTo(1);
+        assertThat(ProtobufWriter.zigzag(1)).isEqualTo(2);
+        assertThat(ProtobufWriter.zigzag(-2)).isEqualTo(3);
+        assertThat(ProtobufWriter.zigzag(2147483647)).isEqualTo(0xFFFFFFFE);
+        assertThat(ProtobufWriter.zigzag(-2147483648)).isEqualTo(0xFFFFFFFF);
+    }
+
+    @Test
+    void writesVarintsAsInTheProtobufSpecification() {
+        ProtobufWriter writer = new ProtobufWriter();
+
+        writer.writeVarintField(1, 150);
+
+        assertThat(writer.toByteArray()).containsExactly(0x08, 0x96, 0x01);
+    }
+
+    @Test
+    void writesSignedFieldsZigzagEncoded() {
+        ProtobufWriter writer = new ProtobufWriter();
+
+        writer.writeSintField(6, -3);
+
+        assertThat(writer.toByteArray()).containsExactly(0x30, 0x05);
+    }
+
+    @Test
+    void writesStringsLengthDelimited() {
+        ProtobufWriter writer = new ProtobufWriter();
+
+        writer.writeStringField(2, "testing");
+
+        assertThat(writer.toByteArray()).containsExactly(0x12, 0x07, 't', 'e', 's', 't', 'i', 'n', 'g');
+    }
+
+    @Test
+    void writesDoublesLittleEndian() {
+        ProtobufWriter writer = new ProtobufWriter();
+
+        writer.writeDoubleField(3, 1.0);
+
+        assertThat(writer.toByteArray()).containsExactly(0x19, 0, 0, 0, 0, 0, 0, 0xF0, 0x3F);
+    }
+
+    @Test
+    void writesPackedFieldsAndSkipsEmptyOnes() {
+        ProtobufWriter writer = new ProtobufWriter();
+
+        writer.writePackedField(4, new int[]{3, 270, 86942, 99}, 3);
+        writer.writePackedField(5, new int[0], 0);
+
+        assertThat(writer.toByteArray()).containsExactly(0x22, 0x06, 0x03, 0x8E, 0x02, 0x9E, 0xA7, 0x05);
+    }
+}
@@ -0,0 +1,65 @@
+package pl.czyzlowie.modules.map.tile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TileCoordinatesTest {
+
+    @Test
+    void rootTileCoversTheMercatorWorld() {
+        TileCoordinates root = new TileCoordinates(0, 0, 0);
+
+        assertThat(root.west()).isEqualTo(-180.0);
+        assertThat(root.east()).isEqualTo(180.0);
+        assertThat(root.north()).isCloseTo(85.0511, within(1e-4));
+        assertThat(root.south()).isCloseTo(-85.0511, within(1e-4));
+    }
+
+    @Test
+    void containingMatchesSlippyMapFormula() {
+        double[][] places = {{52.2297, 21.0122}, {50.0647, 19.9450}, {54.3520, 18.6466}, {-33.8688, 151.2093}};
+
+        for (double[] place : places) {
+            for (int z = 0; z <= 18; z++) {
+                double n = Math.pow(2, z);
+                double latRad = Math.toRadians(place[0]);
+                int expectedX = (int) Math.floor((place[1] + 180) / 360 * n);
+                int expectedY = (int) Math.floor((1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * n);
+
+                TileCoordinates tile = TileCoordinates.containing(z, place[0], place[1]);
+
+                assertThat(tile).isEqualTo(new TileCoordinates(z, expectedX, expectedY));
+                assertThat(place[0]).isBetween(tile.south(), tile.north());
+                assertThat(place[1]).isBetween(tile.west(), tile.east());
+            }
+        }
+    }
+
+    @Test
+    void projectsTileCornersOntoTheExtent() {
+        TileCoordinates tile = new TileCoordinates(10, 571, 335);
+
+        assertThat(tile.projectX(tile.west(), 4096)).isCloseTo(0, within(1e-6));
+        assertThat(tile.projectX(tile.east(), 4096)).isCloseTo(4096, within(1e-6));
+        assertThat(tile.projectY(tile.north(), 4096)).isCloseTo(0, within(1e-6));
+        assertThat(tile.projectY(tile.south(), 4096)).isCloseTo(4096, within(1e-6));
+    }
+
+    @Test
+    void containingClampsPositionsOutsideTheGrid() {
+        assertThat(TileCoordinates.containing(3, 89.9, 180.0)).isEqualTo(new TileCoordinates(3, 7, 0));
+        assertThat(TileCoordinates.containing(3, -89.9, -180.0)).isEqualTo(new TileCoordinates(3, 0, 7));
+    }
+
+    @Test
+    void rejectsTilesOutsideTheGrid() {
+        assertThat(TileCoordinates.isValid(2, 3, 3)).isTrue();
+        assertThat(TileCoordinates.isValid(2, 4, 0)).isFalse();
+        assertThat(TileCoordinates.isValid(-1, 0, 0)).isFalse();
+        assertThat(TileCoordinates.isValid(TileCoordinates.MAX_ZOOM + 1, 0, 0)).isFalse();
+        assertThatThrownBy(() -> new TileCoordinates(1, 0, 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
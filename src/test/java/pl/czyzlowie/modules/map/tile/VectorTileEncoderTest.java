@@ -0,0 +1,337 @@
+package pl.czyzlowie.modules.map.tile;
+
+import org.junit.jupiter.api.Test;
+import pl.czyzlowie.modules.map.geo.GeoPolygon;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VectorTileEncoderTest {
+
+    private static final TileCoordinates TILE = new TileCoordinates(10, 571, 335);
+
+    @Test
+    void emptyEncoderProducesEmptyTile() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+
+        assertThat(encoder.isEmpty()).isTrue();
+        assertThat(encoder.encode()).isEmpty();
+    }
+
+    @Test
+    void encodesPointAsSingleMoveToWithZigzagDeltas() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+        double lat = latAt(TILE, 0.25);
+        double lng = lngAt(TILE, 0.75);
+
+        assertThat(encoder.addPoint("markers", lat, lng, Map.of("id", "spot-1"))).isTrue();
+
+        Layer layer = decode(encoder.encode()).getFirst();
+        Feature feature = layer.features.getFirst();
+        assertThat(layer.version).isEqualTo(2);
+        assertThat(layer.extent).isEqualTo(VectorTileEncoder.EXTENT);
+        assertThat(layer.name).isEqualTo("markers");
+        assertThat(feature.type).isEqualTo(1);
+        assertThat(feature.geometry).containsExactly(9, zigzag(3072), zigzag(1024));
+        assertThat(layer.properties(feature)).containsExactly(Map.entry("id", "spot-1"));
+    }
+
+    @Test
+    void dropsPointsOutsideTheBufferedTile() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+
+        assertThat(encoder.addPoint("markers", latAt(TILE, 0.5), lngAt(TILE, 1.01), Map.of())).isTrue();
+        assertThat(encoder.addPoint("markers", latAt(TILE, 0.5), lngAt(TILE, 1.05), Map.of())).isFalse();
+        assertThat(encoder.addPoint("markers", latAt(TILE, -0.05), lngAt(TILE, 0.5), Map.of())).isFalse();
+    }
+
+    @Test
+    void sharesPropertyTablesAndSkipsNullValues() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("type", "RESTRICTION");
+        first.put("count", 3);
+        first.put("name", null);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("type", "RESTRICTION");
+        second.put("count", -1L);
+        second.put("open", true);
+
+        encoder.addPoint("markers", latAt(TILE, 0.5), lngAt(TILE, 0.5), first);
+        encoder.addPoint("markers", latAt(TILE, 0.4), lngAt(TILE, 0.4), second);
+
+        Layer layer = decode(encoder.encode()).getFirst();
+        assertThat(layer.keys).containsExactly("type", "count", "open");
+        assertThat(layer.values).containsExactly("RESTRICTION", 3L, -1L, true);
+        assertThat(layer.properties(layer.features.get(0))).containsExactly(
+                Map.entry("type", "RESTRICTION"), Map.entry("count", 3L));
+        assertThat(layer.properties(layer.features.get(1))).containsExactly(
+                Map.entry("type", "RESTRICTION"), Map.entry("count", -1L), Map.entry("open", true));
+    }
+
+    @Test
+    void writesLayersInOrderOfFirstFeature() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+
+        encoder.addPoint("markers", latAt(TILE, 0.5), lngAt(TILE, 0.5), Map.of());
+        encoder.addPolygon("restrictions", square(0.2, 0.2, 0.6, 0.6), Map.of());
+        encoder.addPoint("markers", latAt(TILE, 0.3), lngAt(TILE, 0.3), Map.of());
+
+        assertThat(decode(encoder.encode())).extracting(l -> l.name).containsExactly("markers", "restrictions");
+    }
+
+    @Test
+    void encodesPolygonAsClosedPositiveRing() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+
+        assertThat(encoder.addPolygon("restrictions", square(0.25, 0.25, 0.75, 0.75), Map.of())).isTrue();
+
+        Feature feature = decode(encoder.encode()).getFirst().features.getFirst();
+        List<List<int[]>> rings = rings(feature.geometry);
+        assertThat(feature.type).isEqualTo(3);
+        assertThat(rings).hasSize(1);
+        assertThat(rings.getFirst()).extracting(p -> p[0] + "," + p[1])
+                .containsExactlyInAnyOrder("1024,1024", "3072,1024", "3072,3072", "1024,3072");
+        assertThat(signedArea(rings.getFirst())).isPositive();
+    }
+
+    @Test
+    void clipsPolygonToTheBufferedTile() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+
+        assertThat(encoder.addPolygon("restrictions", square(-1, -1, 2, 0.5), Map.of())).isTrue();
+
+        List<int[]> ring = rings(decode(encoder.encode()).getFirst().features.getFirst().geometry).getFirst();
+        int min = -VectorTileEncoder.BUFFER;
+        int max = VectorTileEncoder.EXTENT + VectorTileEncoder.BUFFER;
+        assertThat(ring).extracting(p -> p[0] + "," + p[1])
+                .containsExactlyInAnyOrder(min + "," + min, max + "," + min, max + ",2048", min + ",2048");
+        assertThat(signedArea(ring)).isPositive();
+    }
+
+    @Test
+    void orientsHolesNegatively() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+        String json = "[" + ring(0.1, 0.1, 0.9, 0.9) + "," + ring(0.4, 0.4, 0.6, 0.6) + "]";
+
+        encoder.addPolygon("restrictions", GeoPolygon.parse(json).orElseThrow(), Map.of());
+
+        List<List<int[]>> rings = rings(decode(encoder.encode()).getFirst().features.getFirst().geometry);
+        assertThat(rings).hasSize(2);
+        assertThat(signedArea(rings.get(0))).isPositive();
+        assertThat(signedArea(rings.get(1))).isNegative();
+    }
+
+    @Test
+    void skipsPolygonsOutsideTheTile() {
+        VectorTileEncoder encoder = new VectorTileEncoder(TILE);
+
+        assertThat(encoder.addPolygon("restrictions", square(1.5, 1.5, 2.0, 2.0), Map.of())).isFalse();
+        assertThat(encoder.isEmpty()).isTrue();
+    }
+
+    /**
+     * Builds a square polygon from fractions of the tile, measured from its north-western corner.
+     */
+    private static GeoPolygon square(double west, double north, double east, double south) {
+        return GeoPolygon.parse(ring(west, north, east, south)).orElseThrow();
+    }
+
+    private static String ring(double west, double north, double east, double south) {
+        double n = latAt(TILE, north);
+        double s = latAt(TILE, south);
+        double w = lngAt(TILE, west);
+        double e = lngAt(TILE, east);
+        return "[[%s,%s],[%s,%s],[%s,%s],[%s,%s]]".formatted(n, w, n, e, s, e, s, w);
+    }
+
+    private static double lngAt(TileCoordinates tile, double fraction) {
+        return tile.west() + (tile.east() - tile.west()) * fraction;
+    }
+
+    private static double latAt(TileCoordinates tile, double fraction) {
+        double n = Math.pow(2, tile.z());
+        double y = tile.y() + fraction;
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y / n))));
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Splits a polygon command stream into rings of absolute tile coordinates.
+     */
+    private static List<List<int[]>> rings(List<Integer> geometry) {
+        List<List<int[]>> rings = new ArrayList<>();
+        List<int[]> current = null;
+        int x = 0;
+        int y = 0;
+        int i = 0;
+        while (i < geometry.size()) {
+            int command = geometry.get(i) & 0x7;
+            int count = geometry.get(i) >>> 3;
+            i++;
+            if (command == 7) {
+                rings.add(current);
+                continue;
+            }
+            if (command == 1) {
+                current = new ArrayList<>();
+            }
+            for (int c = 0; c < count; c++) {
+                x += unzigzag(geometry.get(i++));
+                y += unzigzag(geometry.get(i++));
+                current.add(new int[]{x, y});
+            }
+        }
+        return rings;
+    }
+
+    private static long signedArea(List<int[]> ring) {
+        long area = 0;
+        for (int i = 0, j = ring.size() - 1; i < ring.size(); j = i++) {
+            area += (long) ring.get(j)[0] * ring.get(i)[1] - (long) ring.get(i)[0] * ring.get(j)[1];
+        }
+        return area;
+    }
+
+    private static List<Layer> decode(byte[] tile) {
+        List<Layer> layers = new ArrayList<>();
+        Reader reader = new Reader(tile);
+        while (reader.hasMore()) {
+            long tag = reader.varint();
+            assertThat(tag).isEqualTo((3 << 3) | 2);
+            layers.add(Layer.decode(reader.bytes()));
+        }
+        return layers;
+    }
+
+    private record Feature(int type, List<Integer> tags, List<Integer> geometry) {}
+
+    /**
+     * A decoded vector tile layer, read back with the field numbers of the MVT 2.1 schema.
+     */
+    private static final class Layer {
+
+        private int version;
+        private String name;
+        private int extent;
+        private final List<Feature> features = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+
+        private static Layer decode(byte[] bytes) {
+            Layer layer = new Layer();
+            Reader reader = new Reader(bytes);
+            while (reader.hasMore()) {
+                long tag = reader.varint();
+                switch ((int) (tag >>> 3)) {
+                    case 15 -> layer.version = (int) reader.varint();
+                    case 1 -> layer.name = new String(reader.bytes(), StandardCharsets.UTF_8);
+                    case 2 -> layer.features.add(decodeFeature(reader.bytes()));
+                    case 3 -> layer.keys.add(new String(reader.bytes(), StandardCharsets.UTF_8));
+                    case 4 -> layer.values.add(decodeValue(reader.bytes()));
+                    case 5 -> layer.extent = (int) reader.varint();
+                    default -> throw new IllegalStateException("Nieznane pole warstwy: " + tag);
+                }
+            }
+            return layer;
+        }
+
+        private Map<String, Object> properties(Feature feature) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            for (int i = 0; i < feature.tags.size(); i += 2) {
+                properties.put(keys.get(feature.tags.get(i)), values.get(feature.tags.get(i + 1)));
+            }
+            return properties;
+        }
+
+        private static Feature decodeFeature(byte[] bytes) {
+            Reader reader = new Reader(bytes);
+            int type = 0;
+            List<Integer> tags = List.of();
+            List<Integer> geometry = List.of();
+            while (reader.hasMore()) {
+                long tag = reader.varint();
+                switch ((int) (tag >>> 3)) {
+                    case 2 -> tags = reader.packed();
+                    case 3 -> type = (int) reader.varint();
+                    case 4 -> geometry = reader.packed();
+                    default -> throw new IllegalStateException("Nieznane pole obiektu: " + tag);
+                }
+            }
+            return new Feature(type, tags, geometry);
+        }
+
+        private static Object decodeValue(byte[] bytes) {
+            Reader reader = new Reader(bytes);
+            long tag = reader.varint();
+            return switch ((int) (tag >>> 3)) {
+                case 1 -> new String(reader.bytes(), StandardCharsets.UTF_8);
+                case 3 -> reader.fixed64();
+                case 6 -> {
+                    long raw = reader.varint();
+                    yield (raw >>> 1) ^ -(raw & 1);
+                }
+                case 7 -> reader.varint() != 0;
+                default -> throw new IllegalStateException("Nieznany typ wartości: " + tag);
+            };
+        }
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+
+        private Reader(byte[] bytes) {
+            this.buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private boolean hasMore() {
+            return buffer.hasRemaining();
+        }
+
+        private long varint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private byte[] bytes() {
+            byte[] bytes = new byte[(int) varint()];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        private double fixed64() {
+            return buffer.getDouble();
+        }
+
+        private List<Integer> packed() {
+            Reader reader = new Reader(bytes());
+            List<Integer> values = new ArrayList<>();
+            while (reader.hasMore()) {
+                values.add((int) reader.varint());
+            }
+            return values;
+        }
+    }
+}
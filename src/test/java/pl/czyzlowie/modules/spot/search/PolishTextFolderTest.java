@@ -0,0 +1,54 @@
+package pl.czyzlowie.modules.spot.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolishTextFolderTest {
+
+    private static final String SEARCH_COLUMNS_CHANGELOG = "/db/changelog/releases/v1-0-0/43-map-spots-search-folding.xml";
+
+    @Test
+    void foldsPolishLettersCaseAndSeparators() {
+        assertThat(PolishTextFolder.fold("Łąka-Wielka")).isEqualTo("laka wielka");
+        assertThat(PolishTextFolder.fold("  ZAŻÓŁĆ gęślą   jaźń!  ")).isEqualTo("zazolc gesla jazn");
+        assertThat(PolishTextFolder.fold("Jezioro Śniardwy 2")).isEqualTo("jezioro sniardwy 2");
+    }
+
+    @Test
+    void foldsBlankAndNullToEmpty() {
+        assertThat(PolishTextFolder.fold(null)).isEmpty();
+        assertThat(PolishTextFolder.fold("   ")).isEmpty();
+        assertThat(PolishTextFolder.fold("--")).isEmpty();
+    }
+
+    @Test
+    void treatsOtherLettersAsSeparatorsLikeTheDatabase() {
+        assertThat(PolishTextFolder.fold("Müritz")).isEqualTo("m ritz");
+        assertThat(PolishTextFolder.fold("café")).isEqualTo("caf");
+    }
+
+    @Test
+    void tableCoversEveryPolishLetterInBothCases() {
+        assertThat(PolishTextFolder.DIACRITICS).hasSameSizeAs(PolishTextFolder.REPLACEMENTS);
+        assertThat(PolishTextFolder.fold(PolishTextFolder.DIACRITICS)).isEqualTo("acelnoszzacelnoszz");
+    }
+
+    @Test
+    void generatedColumnsUseTheSameTable() throws IOException {
+        String changelog;
+        try (InputStream in = getClass().getResourceAsStream(SEARCH_COLUMNS_CHANGELOG)) {
+            assertThat(in).isNotNull();
+            changelog = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String table = "'" + PolishTextFolder.DIACRITICS + "', '" + PolishTextFolder.REPLACEMENTS + "'), '[^a-z0-9]+', ' ', 'g'";
+        assertThat(changelog)
+                .contains("translate(lower(name), " + table)
+                .contains("translate(lower(nearest_city), " + table);
+    }
+}